@@ -5,6 +5,7 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.mikejacks.international_currency_converter.landedcost.entity.Country;
 import com.mikejacks.international_currency_converter.localization.entity.Currency;
@@ -17,6 +18,7 @@ import com.mikejacks.international_currency_converter.localization.repository.Cu
  * It also initializes the application with some predefined countries and currencies if the repositories are empty.</p>
  */
 @SpringBootApplication
+@EnableScheduling
 public class InternationalCurrencyConverterApplication {
 
 
@@ -0,0 +1,275 @@
+package com.mikejacks.international_currency_converter.landedcost.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.mikejacks.international_currency_converter.landedcost.model.LandedCost;
+import com.mikejacks.international_currency_converter.localization.graph.CurrencyRatesChangedEvent;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of calculated landed costs, keyed by product, country and currency pair.
+ *
+ * <p>Results are held in a size-bounded Caffeine cache, whose W-TinyLFU eviction keeps the tuples the storefront asks
+ * for again and again and lets one-off tuples pass through without displacing them. Entries also expire after a
+ * configurable time-to-live. Concurrent misses for the same key share a single calculation, and failed calculations
+ * are not cached. The cache holds the futures of the calculations rather than their results, so a pending calculation
+ * that is evicted or invalidated is dropped from the index like any other entry.</p>
+ *
+ * <p>Every cached key is indexed by the product ID, the country ID and the currency pair it was calculated from, so a
+ * change to one of them discards only the results that used it. The product and country services invalidate after
+ * they store a change, and rate changes arrive as a {@link CurrencyRatesChangedEvent} from the currency graph, which
+ * covers triangulated pairs too. A key is indexed before its calculation starts, so a calculation that may have read
+ * the data before a change is always found and discarded by the invalidation that follows the change.</p>
+ *
+ * <p>Hit, miss and eviction statistics are published to Micrometer under the cache name {@code landedcost.results}.
+ * When {@code landedcost.result-cache.enabled} is {@code false}, every call runs its calculation directly.</p>
+ *
+ * @see LandedCost
+ * @see CurrencyRatesChangedEvent
+ */
+@Component
+public class LandedCostResultCache {
+    private final boolean enabled;
+    private final Cache<Key, CompletableFuture<LandedCost>> cache;
+    private final Map<Key, Integer> registrations = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Key>> keysByProduct = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Key>> keysByCountry = new ConcurrentHashMap<>();
+    private final Map<CurrencyPair, Set<Key>> keysByPair = new ConcurrentHashMap<>();
+
+    /**
+     * The inputs a landed cost is calculated from.
+     *
+     * @param productId The UUID of the product.
+     * @param countryId The UUID of the country.
+     * @param currencyPair The base currency of the product price and the target currency.
+     */
+    public record Key(UUID productId, UUID countryId, CurrencyPair currencyPair) {
+    }
+
+    /**
+     * Constructs a new {@code LandedCostResultCache}.
+     *
+     * @param meterRegistry The registry the cache statistics are published to.
+     * @param enabled Whether results are cached at all.
+     * @param maximumSize The maximum number of landed costs held in the cache.
+     * @param timeToLive How long a calculated landed cost may be served.
+     */
+    @Autowired
+    public LandedCostResultCache(MeterRegistry meterRegistry,
+                                 @Value("${landedcost.result-cache.enabled:true}") boolean enabled,
+                                 @Value("${landedcost.result-cache.maximum-size:100000}") long maximumSize,
+                                 @Value("${landedcost.result-cache.ttl:10m}") Duration timeToLive) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .evictionListener((Key key, CompletableFuture<LandedCost> landedCost, RemovalCause cause) -> unregister(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "landedcost.results");
+    }
+
+    /**
+     * Returns the cached landed cost for the specified key, calculating it on the calling thread on a miss.
+     *
+     * @param key The product, country and currency pair of the landed cost.
+     * @param calculation The calculation run on a miss.
+     * @return The cached or calculated {@code LandedCost}.
+     * @throws RuntimeException if the calculation failed.
+     */
+    public LandedCost get(Key key, Supplier<LandedCost> calculation) {
+        try {
+            return getAsync(key, () -> CompletableFuture.completedFuture(calculation.get())).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a future of the landed cost for the specified key, starting the calculation on a miss.
+     *
+     * <p>The key is indexed by its dependencies and a pending future is cached in one atomic step, then the
+     * calculation is started outside of the cache's lock. Callers asking for the same key in the meantime receive the
+     * same pending future. A failed calculation is removed before its future completes, so the next caller
+     * calculates again.</p>
+     *
+     * @param key The product, country and currency pair of the landed cost.
+     * @param calculation The calculation started on a miss.
+     * @return A {@code CompletableFuture} completed with the cached or calculated {@code LandedCost}.
+     */
+    public CompletableFuture<LandedCost> getAsync(Key key, Supplier<CompletableFuture<LandedCost>> calculation) {
+        if (!enabled) {
+            return calculation.get();
+        }
+        CompletableFuture<LandedCost> pending = new CompletableFuture<>();
+        CompletableFuture<LandedCost> cached = cache.asMap().computeIfAbsent(key, k -> {
+            register(k);
+            return pending;
+        });
+        if (cached != pending) {
+            return cached;
+        }
+
+        CompletableFuture<LandedCost> result;
+        try {
+            result = calculation.get();
+        } catch (Throwable e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((landedCost, error) -> {
+            if (error != null) {
+                cache.asMap().computeIfPresent(key, (k, value) -> {
+                    if (value != pending) {
+                        return value;
+                    }
+                    unregister(k);
+                    return null;
+                });
+                pending.completeExceptionally(error);
+            } else {
+                pending.complete(landedCost);
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * Discards the cached landed costs of the specified products.
+     *
+     * @param productIds The UUIDs of the products that changed.
+     */
+    public void invalidateProducts(Collection<UUID> productIds) {
+        for (UUID productId : productIds) {
+            invalidate(keysByProduct.get(productId));
+        }
+    }
+
+    /**
+     * Discards the cached landed costs of the specified countries.
+     *
+     * @param countryIds The UUIDs of the countries that changed.
+     */
+    public void invalidateCountries(Collection<UUID> countryIds) {
+        for (UUID countryId : countryIds) {
+            invalidate(keysByCountry.get(countryId));
+        }
+    }
+
+    /**
+     * Discards the cached landed costs converted with the specified currency pairs.
+     *
+     * @param currencyPairs The currency pairs whose rate changed.
+     */
+    public void invalidatePairs(Collection<CurrencyPair> currencyPairs) {
+        for (CurrencyPair currencyPair : currencyPairs) {
+            invalidate(keysByPair.get(currencyPair));
+        }
+    }
+
+    /**
+     * Discards the cached landed costs converted with the currency pairs whose rate changed.
+     *
+     * <p>This listener runs after the rate cache has discarded the changed rates, so a result calculated again right
+     * away uses the new rate.</p>
+     *
+     * @param event The event listing the changed currency pairs.
+     */
+    @EventListener
+    @Order(1)
+    public void onCurrencyRatesChanged(CurrencyRatesChangedEvent event) {
+        invalidatePairs(event.pairs());
+    }
+
+    /**
+     * Returns the number of landed costs currently cached, including pending calculations.
+     *
+     * @return The approximate number of cached entries.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Discards the specified keys, along with their index entries.
+     *
+     * @param keys The keys to discard, or {@code null} if none are indexed.
+     */
+    private void invalidate(Set<Key> keys) {
+        if (keys == null) {
+            return;
+        }
+        for (Key key : List.copyOf(keys)) {
+            cache.asMap().computeIfPresent(key, (k, value) -> {
+                unregister(k);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Indexes a key by its product, country and currency pair.
+     *
+     * <p>Registrations are counted, and this method and {@link #unregister(Key)} are only called under the cache's lock
+     * on the key. When an expired entry is replaced, the new entry may be registered before the expired one is
+     * unregistered, and the count keeps the key indexed either way.</p>
+     *
+     * @param key The key to index.
+     */
+    private void register(Key key) {
+        if (registrations.merge(key, 1, Integer::sum) == 1) {
+            index(keysByProduct, key.productId(), key);
+            index(keysByCountry, key.countryId(), key);
+            index(keysByPair, key.currencyPair(), key);
+        }
+    }
+
+    /**
+     * Removes a key from the index once its last registration is gone.
+     *
+     * @param key The key to remove.
+     */
+    private void unregister(Key key) {
+        if (registrations.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1) == null) {
+            unindex(keysByProduct, key.productId(), key);
+            unindex(keysByCountry, key.countryId(), key);
+            unindex(keysByPair, key.currencyPair(), key);
+        }
+    }
+
+    private static <D> void index(Map<D, Set<Key>> keysByDependency, D dependency, Key key) {
+        keysByDependency.compute(dependency, (d, keys) -> {
+            Set<Key> indexedKeys = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            indexedKeys.add(key);
+            return indexedKeys;
+        });
+    }
+
+    private static <D> void unindex(Map<D, Set<Key>> keysByDependency, D dependency, Key key) {
+        keysByDependency.computeIfPresent(dependency, (d, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+}
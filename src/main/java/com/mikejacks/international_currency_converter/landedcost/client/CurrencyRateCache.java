@@ -0,0 +1,148 @@
+package com.mikejacks.international_currency_converter.landedcost.client;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import com.mikejacks.international_currency_converter.localization.graph.CurrencyRatesChangedEvent;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * In-process cache of currency conversion rates fetched through the {@link LocalizationGraphQLClient}.
+ *
+ * <p>Rates are keyed by {@link CurrencyPair} and held in a size-bounded cache. Entries expire after a configurable
+ * time-to-live and are refreshed in the background once they are older than the refresh interval, so a hot pair is
+ * reloaded before it expires instead of blocking a caller on the remote round trip. Concurrent misses for the same
+ * pair share a single in-flight load, so only one remote call is made per pair. Loads are non-blocking, so no thread
+ * is held while a rate is in flight.</p>
+ *
+ * <p>Hit, miss, eviction and load-latency statistics are published to Micrometer under the cache name
+ * {@code localization.rates}.</p>
+ *
+ * <p>When the currency graph reports changed rates, the changed pairs are discarded, so the next read loads the new
+ * rate instead of serving the old one until it is refreshed.</p>
+ *
+ * @see LocalizationGraphQLClient
+ * @see CurrencyPair
+ */
+@Component
+public class CurrencyRateCache {
+    private final AsyncLoadingCache<CurrencyPair, Currency> cache;
+
+    /**
+     * Constructs a new {@code CurrencyRateCache} backed by the specified GraphQL client.
+     *
+     * @param localizationGraphQLClient The client used to load conversion rates on a cache miss or refresh.
+     * @param meterRegistry The registry the cache statistics are published to.
+     * @param maximumSize The maximum number of currency pairs held in the cache.
+     * @param timeToLive How long a loaded rate may be served before it must be loaded again.
+     * @param refreshAfter How long after loading a rate is refreshed in the background on its next read.
+     */
+    @Autowired
+    public CurrencyRateCache(LocalizationGraphQLClient localizationGraphQLClient,
+                             MeterRegistry meterRegistry,
+                             @Value("${localization.rate-cache.maximum-size:1000}") long maximumSize,
+                             @Value("${localization.rate-cache.ttl:10m}") Duration timeToLive,
+                             @Value("${localization.rate-cache.refresh-after:1m}") Duration refreshAfter) {
+        this(localizationGraphQLClient, meterRegistry, maximumSize, timeToLive, refreshAfter, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new {@code CurrencyRateCache} that reads time from the specified ticker and runs its maintenance
+     * and background refreshes on the specified executor.
+     *
+     * @param localizationGraphQLClient The client used to load conversion rates on a cache miss or refresh.
+     * @param meterRegistry The registry the cache statistics are published to.
+     * @param maximumSize The maximum number of currency pairs held in the cache.
+     * @param timeToLive How long a loaded rate may be served before it must be loaded again.
+     * @param refreshAfter How long after loading a rate is refreshed in the background on its next read.
+     * @param ticker The source of time for expiry and refresh.
+     * @param executor The executor background work of the cache runs on.
+     */
+    CurrencyRateCache(LocalizationGraphQLClient localizationGraphQLClient,
+                      MeterRegistry meterRegistry,
+                      long maximumSize,
+                      Duration timeToLive,
+                      Duration refreshAfter,
+                      Ticker ticker,
+                      Executor executor) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .refreshAfterWrite(refreshAfter)
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .buildAsync((pair, loadExecutor) -> localizationGraphQLClient.getCurrencyAsync(pair.baseCode(), pair.targetCode()).toFuture());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "localization.rates");
+    }
+
+    /**
+     * Returns the currency conversion data for the specified base and target currency codes.
+     *
+     * <p>A cached rate is returned immediately. On a miss the calling thread waits for the load, which is shared with
+     * any other caller currently waiting on the same pair.</p>
+     *
+     * @param baseCode The base currency code.
+     * @param targetCode The target currency code.
+     * @return A {@code Currency} object containing the conversion details.
+     * @throws RuntimeException if the rate could not be loaded.
+     */
+    public Currency getCurrency(String baseCode, String targetCode) {
+        try {
+            return getCurrencyAsync(baseCode, targetCode).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a future of the currency conversion data for the specified base and target currency codes.
+     *
+     * @param baseCode The base currency code.
+     * @param targetCode The target currency code.
+     * @return A {@code CompletableFuture} completed with the conversion details.
+     */
+    public CompletableFuture<Currency> getCurrencyAsync(String baseCode, String targetCode) {
+        return cache.get(new CurrencyPair(baseCode, targetCode));
+    }
+
+    /**
+     * Discards the cached rate for the specified currency pair, if present.
+     *
+     * @param currencyPair The currency pair to discard.
+     */
+    public void invalidate(CurrencyPair currencyPair) {
+        cache.synchronous().invalidate(currencyPair);
+    }
+
+    /**
+     * Discards the cached rates of the currency pairs whose rate changed.
+     *
+     * <p>This listener runs before the listeners caching results calculated from the rates, so those results are not
+     * recalculated from a rate that is about to be discarded.</p>
+     *
+     * @param event The event listing the changed currency pairs.
+     */
+    @EventListener
+    @Order(0)
+    public void onCurrencyRatesChanged(CurrencyRatesChangedEvent event) {
+        cache.synchronous().invalidateAll(event.pairs());
+    }
+}
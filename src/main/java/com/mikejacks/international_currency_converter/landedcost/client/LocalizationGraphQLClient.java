@@ -1,13 +1,17 @@
 package com.mikejacks.international_currency_converter.landedcost.client;
 
 import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
@@ -18,28 +22,40 @@ import java.util.logging.Logger;
  * Client class for interacting with the Localization GraphQL API.
  *
  * <p>This class provides methods to fetch currency conversion data from a GraphQL endpoint.
- * It utilizes Spring's {@code WebClient} to send requests and handle responses.</p>
+ * It utilizes a single long-lived, pooled {@code WebClient} to send requests and handle responses.</p>
+ *
+ * <p>Every request is recorded under the {@code localization.graphql.client.requests} timer, tagged with its
+ * {@code outcome}, from subscription until the response has been converted or the request has failed.</p>
+ *
+ * @see com.mikejacks.international_currency_converter.landedcost.config.LocalizationClientConfiguration
  */
 @Component
 public class LocalizationGraphQLClient {
     private static final Logger logger = Logger.getLogger(LocalizationGraphQLClient.class.getName());
-    private final String endpoint;
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final Meter.MeterProvider<Timer> requestTimers;
 
     /**
-     * Constructs a new {@code LocalizationGraphQLClient} with the specified GraphQL endpoint.
+     * Constructs a new {@code LocalizationGraphQLClient} with the specified {@code WebClient}.
      *
-     * @param endpoint The URL of the GraphQL endpoint.
+     * @param webClient The {@code WebClient} configured with the URL of the GraphQL endpoint.
+     * @param meterRegistry The registry the request timers are published to.
      */
     @Autowired
-    public LocalizationGraphQLClient(@Value("${localization.graphql.endpoint}") String endpoint) {
-        this.endpoint = endpoint;
+    public LocalizationGraphQLClient(@Qualifier("localizationWebClient") WebClient webClient, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+        this.requestTimers = Timer.builder("localization.graphql.client.requests")
+                .description("Time taken by one currency request to the localization GraphQL API")
+                .withRegistry(meterRegistry);
     }
 
     /**
      * Fetches currency conversion data for the specified base and target currency codes.
      *
      * <p>This method sends a GraphQL query to the configured endpoint to retrieve currency conversion data.
-     * It returns a {@code Currency} object containing the conversion details.</p>
+     * It blocks until the response arrives and returns a {@code Currency} object containing the conversion details.</p>
      *
      * @param baseCode The base currency code.
      * @param targetCode The target currency code.
@@ -47,20 +63,52 @@ public class LocalizationGraphQLClient {
      * @throws RuntimeException if the response format is invalid or if an error occurs during the request.
      */
     public Currency getCurrency(String baseCode, String targetCode) {
-        String query = "{ currency(baseCode: \"" + baseCode + "\", targetCode: \"" + targetCode + "\") { baseCode targetCode conversionRate } }";
-        WebClient webClient = WebClient.create(endpoint);
+        return getCurrencyAsync(baseCode, targetCode).block();
+    }
 
-        Mono<Map<String, Object>> response = webClient.post()
-                .bodyValue(Collections.singletonMap("query", query))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {});
+    /**
+     * Fetches currency conversion data for the specified base and target currency codes without blocking.
+     *
+     * <p>This method sends a GraphQL query to the configured endpoint to retrieve currency conversion data.
+     * The returned {@code Mono} emits a {@code Currency} object containing the conversion details once the
+     * response arrives, without holding a thread while the request is in flight.</p>
+     *
+     * @param baseCode The base currency code.
+     * @param targetCode The target currency code.
+     * @return A {@code Mono} emitting a {@code Currency} object containing the conversion details.
+     */
+    public Mono<Currency> getCurrencyAsync(String baseCode, String targetCode) {
+        String query = "{ currency(baseCode: \"" + baseCode + "\", targetCode: \"" + targetCode + "\") { baseCode targetCode conversionRate rateUpdatedAt } }";
+
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return webClient.post()
+                    .bodyValue(Collections.singletonMap("query", query))
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                    .map(LocalizationGraphQLClient::toCurrency)
+                    .doOnSuccess(currency -> sample.stop(requestTimers.withTags("outcome", "success")))
+                    .doOnError(error -> sample.stop(requestTimers.withTags("outcome", "error")));
+        });
+    }
 
-        Map<String, Object> data = response.block();
-        logger.info("GraphQL Response: " + data.toString());
+    /**
+     * Converts a GraphQL response body into a {@code Currency} object.
+     *
+     * @param data The GraphQL response body.
+     * @return A {@code Currency} object containing the conversion details.
+     * @throws RuntimeException if the response format is invalid.
+     */
+    @SuppressWarnings("unchecked")
+    private static Currency toCurrency(Map<String, Object> data) {
+        logger.fine("GraphQL Response: " + data);
         Optional<Map<String, Object>> optionalCurrencyData = castToMap(data.get("data"));
-        if (optionalCurrencyData.isPresent()) {
+        if (optionalCurrencyData.isPresent() && optionalCurrencyData.get().get("currency") != null) {
             Map<String, Object> currencyData = (Map<String, Object>) optionalCurrencyData.get().get("currency");
-            Currency currency = new Currency((UUID) currencyData.get("id"), (String) currencyData.get("baseCode"), (String) currencyData.get("targetCode"), (Double) currencyData.get("conversionRate"));
+            Currency currency = new Currency((UUID) currencyData.get("id"), (String) currencyData.get("baseCode"), (String) currencyData.get("targetCode"), ((Number) currencyData.get("conversionRate")).doubleValue());
+            if (currencyData.get("rateUpdatedAt") != null) {
+                currency.setRateUpdatedAt(Instant.parse((String) currencyData.get("rateUpdatedAt")));
+            }
             return currency;
         } else {
             throw new RuntimeException("Invalid response format");
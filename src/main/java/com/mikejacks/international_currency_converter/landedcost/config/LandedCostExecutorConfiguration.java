@@ -0,0 +1,34 @@
+package com.mikejacks.international_currency_converter.landedcost.config;
+
+import com.mikejacks.international_currency_converter.util.BlockingTaskExecutors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * Configuration of the executor used to run blocking landed-cost lookups concurrently.
+ *
+ * <p>This class defines the {@code landedCostExecutor}, on which the asynchronous landed-cost pipeline runs its
+ * blocking JPA lookups so that they proceed in parallel with each other and with the non-blocking rate fetch.
+ * The executor is created by {@link BlockingTaskExecutors}.</p>
+ */
+@Configuration
+public class LandedCostExecutorConfiguration {
+
+    /**
+     * Creates the executor used to run blocking landed-cost lookups.
+     *
+     * @param virtualThreadsEnabled Whether lookups should run on virtual threads.
+     * @param poolSize The number of threads in the pool when virtual threads are disabled.
+     * @param queueCapacity The number of lookups allowed to wait for a thread when virtual threads are disabled.
+     * @return The executor for blocking landed-cost lookups.
+     */
+    @Bean
+    public AsyncTaskExecutor landedCostExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+            @Value("${landedcost.executor.pool-size:16}") int poolSize,
+            @Value("${landedcost.executor.queue-capacity:10000}") int queueCapacity) {
+        return BlockingTaskExecutors.create("landed-cost-", virtualThreadsEnabled, poolSize, queueCapacity);
+    }
+}
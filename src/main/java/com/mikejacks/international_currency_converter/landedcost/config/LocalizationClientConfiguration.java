@@ -0,0 +1,114 @@
+package com.mikejacks.international_currency_converter.landedcost.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the HTTP client used to call the localization GraphQL API.
+ *
+ * <p>This class defines a single long-lived {@code WebClient} backed by a pooled Reactor Netty connection provider.
+ * Connections are kept alive and reused across landed-cost requests, so TCP and TLS setup is not paid on every call.
+ * Pool size, timeouts and protocol are configurable through the {@code localization.graphql.*} properties. When
+ * metrics are enabled, the pool publishes its active, idle and pending connection counts to Micrometer under the
+ * {@code reactor.netty.connection.provider} meters, tagged with the pool name {@code localization-graphql}.</p>
+ */
+@Configuration
+public class LocalizationClientConfiguration {
+
+    /**
+     * Creates the pooled connection provider for the localization GraphQL API.
+     *
+     * @param maxConnections The maximum number of connections held in the pool.
+     * @param pendingAcquireMaxCount The maximum number of requests allowed to wait for a connection.
+     * @param pendingAcquireTimeout How long a request may wait for a connection before failing.
+     * @param maxIdleTime How long an idle connection is kept before it is closed.
+     * @param maxLifeTime How long a connection is kept before it is closed, whether idle or not.
+     * @param evictInBackground How often idle and expired connections are evicted in the background.
+     * @param metricsEnabled Whether pool metrics are published to Micrometer.
+     * @return The connection provider, which is disposed with the application context.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider localizationConnectionProvider(
+            @Value("${localization.graphql.pool.max-connections:50}") int maxConnections,
+            @Value("${localization.graphql.pool.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+            @Value("${localization.graphql.pool.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${localization.graphql.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${localization.graphql.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${localization.graphql.pool.evict-in-background:30s}") Duration evictInBackground,
+            @Value("${localization.graphql.pool.metrics-enabled:true}") boolean metricsEnabled) {
+        return ConnectionProvider.builder("localization-graphql")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(metricsEnabled)
+                .build();
+    }
+
+    /**
+     * Creates the {@code WebClient} used by the localization GraphQL client.
+     *
+     * <p>HTTP/2 is negotiated when {@code localization.graphql.http2-enabled} is set: over TLS through ALPN, and over
+     * plain HTTP through an upgrade, in both cases falling back to HTTP/1.1 if the server does not support it.</p>
+     *
+     * @param localizationConnectionProvider The pooled connection provider.
+     * @param endpoint The URL of the GraphQL endpoint.
+     * @param connectTimeout How long to wait for a connection to be established.
+     * @param readTimeout How long to wait for the response to each request.
+     * @param http2Enabled Whether HTTP/2 should be negotiated.
+     * @return The {@code WebClient} for the localization GraphQL API.
+     */
+    @Bean
+    public WebClient localizationWebClient(
+            ConnectionProvider localizationConnectionProvider,
+            @Value("${localization.graphql.endpoint}") String endpoint,
+            @Value("${localization.graphql.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${localization.graphql.read-timeout:5s}") Duration readTimeout,
+            @Value("${localization.graphql.http2-enabled:false}") boolean http2Enabled) {
+        return WebClient.builder()
+                .baseUrl(endpoint)
+                .clientConnector(new ReactorClientHttpConnector(localizationHttpClient(localizationConnectionProvider, endpoint, connectTimeout, readTimeout, http2Enabled)))
+                .build();
+    }
+
+    /**
+     * Creates the Reactor Netty client behind the localization {@code WebClient}.
+     *
+     * <p>The read timeout is applied per request, as a response timeout that starts once the request has been sent.
+     * No timeout handlers are installed on the channels themselves, since they would stay on a pooled connection
+     * between requests and close it once it had been idle for longer than the read timeout, well before the pool's
+     * {@code max-idle-time}.</p>
+     *
+     * @param connectionProvider The pooled connection provider.
+     * @param endpoint The URL of the GraphQL endpoint.
+     * @param connectTimeout How long to wait for a connection to be established.
+     * @param readTimeout How long to wait for the response to each request.
+     * @param http2Enabled Whether HTTP/2 should be negotiated.
+     * @return The configured {@code HttpClient}.
+     */
+    static HttpClient localizationHttpClient(ConnectionProvider connectionProvider, String endpoint, Duration connectTimeout,
+                                             Duration readTimeout, boolean http2Enabled) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(readTimeout);
+        if (http2Enabled) {
+            httpClient = endpoint.startsWith("https")
+                    ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure()
+                    : httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return httpClient;
+    }
+}
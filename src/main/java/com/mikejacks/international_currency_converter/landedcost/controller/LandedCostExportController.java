@@ -0,0 +1,96 @@
+package com.mikejacks.international_currency_converter.landedcost.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mikejacks.international_currency_converter.landedcost.service.LandedCostService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * REST controller for exporting the landed costs of the whole product catalog.
+ *
+ * <p>This class exposes an endpoint that streams the landed cost of every product against every country as
+ * newline-delimited JSON (NDJSON), utilizing the {@code LandedCostService} to calculate the costs incrementally.
+ * Each line of the response is one {@code LandedCost} object.</p>
+ */
+@RestController
+@RequestMapping("/landed-costs")
+public class LandedCostExportController {
+    /**
+     * The media type of newline-delimited JSON.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final LandedCostService landedCostService;
+
+    private final ObjectWriter objectWriter;
+
+    /**
+     * Constructs a new {@code LandedCostExportController} with the specified {@code LandedCostService}.
+     *
+     * @param landedCostService The service used to calculate the landed costs.
+     * @param objectMapper The mapper used to serialize each landed cost.
+     */
+    @Autowired
+    public LandedCostExportController(LandedCostService landedCostService, ObjectMapper objectMapper) {
+        this.landedCostService = landedCostService;
+        this.objectWriter = objectMapper.writer();
+    }
+
+    /**
+     * Streams the landed cost of every product against every country in the specified target currency.
+     *
+     * <p>The response body is written while the catalog is read, so the server never holds the whole export in memory.
+     * When the client reads slowly, writes to the response block and reading from the database pauses with them.</p>
+     *
+     * <p>Example usage:</p>
+     * <pre>{@code
+     * curl "http://localhost:8080/landed-costs/export?targetCurrencyCode=USD"
+     * }</pre>
+     *
+     * @param targetCurrencyCode The currency code to which the landed costs should be converted. Must not be null.
+     * @return A response whose body streams one JSON encoded {@code LandedCost} per line.
+     */
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLandedCosts(@RequestParam String targetCurrencyCode) {
+        StreamingResponseBody body = outputStream -> writeLandedCosts(targetCurrencyCode, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * Writes the landed cost of every product against every country to the specified output stream as NDJSON.
+     *
+     * @param targetCurrencyCode The currency code to which the landed costs should be converted.
+     * @param outputStream The stream the NDJSON lines are written to.
+     * @throws IOException if writing to the output stream fails.
+     */
+    void writeLandedCosts(String targetCurrencyCode, OutputStream outputStream) throws IOException {
+        BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
+        try {
+            landedCostService.streamLandedCosts(targetCurrencyCode, landedCost -> {
+                try {
+                    bufferedOutputStream.write(objectWriter.writeValueAsBytes(landedCost));
+                    bufferedOutputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        bufferedOutputStream.flush();
+    }
+}
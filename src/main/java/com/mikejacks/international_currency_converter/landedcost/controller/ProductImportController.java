@@ -0,0 +1,211 @@
+package com.mikejacks.international_currency_converter.landedcost.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportResult;
+import com.mikejacks.international_currency_converter.landedcost.service.ProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * REST controller for importing a product catalog in bulk.
+ *
+ * <p>This class exposes an endpoint that accepts either CSV or newline-delimited JSON (NDJSON), utilizing the
+ * {@code ProductService} to import the rows. The request body is read line by line while the import runs, so the
+ * server never holds the whole catalog in memory. Rows that cannot be parsed or are invalid are reported in the
+ * response instead of failing the request. Rows are numbered from 1 in the order they appear in the body, skipping
+ * blank lines and the CSV header.</p>
+ */
+@RestController
+@RequestMapping("/products")
+public class ProductImportController {
+    /**
+     * The media type of comma-separated values.
+     */
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ProductService productService;
+
+    private final ObjectReader objectReader;
+
+    /**
+     * Constructs a new {@code ProductImportController} with the specified {@code ProductService}.
+     *
+     * @param productService The service used to import the products.
+     * @param objectMapper The mapper used to read each NDJSON row.
+     */
+    @Autowired
+    public ProductImportController(ProductService productService, ObjectMapper objectMapper) {
+        this.productService = productService;
+        this.objectReader = objectMapper.readerFor(ProductImportInput.class);
+    }
+
+    /**
+     * Imports the products of a CSV body.
+     *
+     * <p>The first line is a header naming the {@code name}, {@code price} and {@code currencyCode} columns, in any
+     * order. Fields may be quoted, with quotes inside a quoted field written twice.</p>
+     *
+     * <p>Example usage:</p>
+     * <pre>{@code
+     * curl -X POST -H "Content-Type: text/csv" --data-binary @products.csv "http://localhost:8080/products/import"
+     * }</pre>
+     *
+     * @param body The request body.
+     * @return A {@code ProductImportResult} with the number of imported products and the errors of the rejected rows.
+     * @throws IOException if reading the request body fails.
+     * @throws IllegalArgumentException if the header is missing or lacks a required column.
+     */
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ProductImportResult importCsv(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV body must start with a header row");
+        }
+        CsvColumns columns = CsvColumns.of(parseCsvLine(header));
+        try (Stream<String> lines = reader.lines()) {
+            return productService.importProducts(lines.filter(line -> !line.isBlank()), columns::parse);
+        }
+    }
+
+    /**
+     * Imports the products of an NDJSON body.
+     *
+     * <p>Each line is one JSON object with the {@code name}, {@code price} and {@code currencyCode} of a product.</p>
+     *
+     * <p>Example usage:</p>
+     * <pre>{@code
+     * curl -X POST -H "Content-Type: application/x-ndjson" --data-binary @products.ndjson "http://localhost:8080/products/import"
+     * }</pre>
+     *
+     * @param body The request body.
+     * @return A {@code ProductImportResult} with the number of imported products and the errors of the rejected rows.
+     */
+    @PostMapping(value = "/import", consumes = LandedCostExportController.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ProductImportResult importNdjson(InputStream body) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try (Stream<String> lines = reader.lines()) {
+            return productService.importProducts(lines.filter(line -> !line.isBlank()), this::parseJsonLine);
+        }
+    }
+
+    /**
+     * Reads one NDJSON line into a {@code ProductImportInput}.
+     *
+     * @param line The line.
+     * @return The import row.
+     * @throws IllegalArgumentException if the line is not a valid product object.
+     */
+    private ProductImportInput parseJsonLine(String line) {
+        try {
+            return objectReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Splits one CSV line into its fields.
+     *
+     * @param line The line.
+     * @return The fields of the line, unquoted.
+     * @throws IllegalArgumentException if a quoted field is not closed.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Positions of the product columns in a CSV header.
+     *
+     * @param name The position of the name column.
+     * @param price The position of the price column.
+     * @param currencyCode The position of the currency code column.
+     */
+    private record CsvColumns(int name, int price, int currencyCode) {
+        /**
+         * Locates the product columns in a CSV header, ignoring case, surrounding whitespace and underscores.
+         *
+         * @throws IllegalArgumentException if a column is missing.
+         */
+        private static CsvColumns of(List<String> header) {
+            List<String> normalized = header.stream()
+                    .map(column -> column.trim().replace("_", "").toLowerCase(Locale.ROOT))
+                    .toList();
+            return new CsvColumns(indexOf(normalized, "name"), indexOf(normalized, "price"), indexOf(normalized, "currencycode"));
+        }
+
+        private static int indexOf(List<String> header, String column) {
+            int index = header.indexOf(column);
+            if (index < 0) {
+                throw new IllegalArgumentException("CSV header is missing the " + column + " column");
+            }
+            return index;
+        }
+
+        /**
+         * Reads one CSV line into a {@code ProductImportInput}.
+         *
+         * @throws IllegalArgumentException if the line has too few fields or an invalid price.
+         */
+        private ProductImportInput parse(String line) {
+            List<String> fields = parseCsvLine(line);
+            if (fields.size() <= Math.max(name, Math.max(price, currencyCode))) {
+                throw new IllegalArgumentException("Expected at least " + (Math.max(name, Math.max(price, currencyCode)) + 1) + " fields, found " + fields.size());
+            }
+            String priceField = fields.get(price).trim();
+            Double parsedPrice = null;
+            if (!priceField.isEmpty()) {
+                try {
+                    parsedPrice = Double.parseDouble(priceField);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid price: " + priceField);
+                }
+            }
+            return new ProductImportInput(fields.get(name), parsedPrice, fields.get(currencyCode));
+        }
+    }
+}
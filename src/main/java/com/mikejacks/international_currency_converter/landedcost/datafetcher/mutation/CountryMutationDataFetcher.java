@@ -10,6 +10,7 @@ import com.netflix.graphql.dgs.DgsMutation;
 import com.netflix.graphql.dgs.InputArgument;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -43,6 +44,17 @@ public class CountryMutationDataFetcher {
         return countryService.addCountry(country);
     }
 
+    /**
+     * Adds or updates many countries at once, keyed by country code.
+     *
+     * @param countries The {@code CountryCreateInput} objects of the countries to add or update.
+     * @return The added and updated {@code Country} objects, one per distinct code.
+     */
+    @DgsMutation
+    public List<Country> upsertCountries(@InputArgument List<CountryCreateInput> countries) {
+        return countryService.upsertCountries(countries);
+    }
+
     /**
      * Updates an existing country identified by the specified ID or name with the provided input data.
      *
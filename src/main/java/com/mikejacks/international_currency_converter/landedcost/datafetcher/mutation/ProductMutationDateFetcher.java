@@ -3,6 +3,8 @@ package com.mikejacks.international_currency_converter.landedcost.datafetcher.mu
 import com.mikejacks.international_currency_converter.landedcost.entity.Product;
 import com.mikejacks.international_currency_converter.landedcost.model.DeleteItemResponse;
 import com.mikejacks.international_currency_converter.landedcost.model.ProductCreateInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportResult;
 import com.mikejacks.international_currency_converter.landedcost.model.ProductUpdateInput;
 import com.mikejacks.international_currency_converter.landedcost.service.ProductService;
 import com.netflix.graphql.dgs.DgsComponent;
@@ -10,7 +12,9 @@ import com.netflix.graphql.dgs.DgsMutation;
 import com.netflix.graphql.dgs.InputArgument;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Data fetcher for product mutations in the GraphQL API.
@@ -44,6 +48,20 @@ public class ProductMutationDateFetcher {
         return productService.addProduct(product);
     }
 
+    /**
+     * Imports many products at once.
+     *
+     * <p>Invalid rows are reported in the result instead of failing the mutation. Catalogs too large for a single
+     * request are imported through the streaming {@code /products/import} endpoint instead.</p>
+     *
+     * @param products The {@code ProductImportInput} rows of the products to import.
+     * @return A {@code ProductImportResult} with the number of imported products and the errors of the rejected rows.
+     */
+    @DgsMutation
+    public ProductImportResult importProducts(@InputArgument List<ProductImportInput> products) {
+        return productService.importProducts(products.stream(), Function.identity());
+    }
+
     /**
      * Updates an existing product identified by the specified ID or name with the provided input data.
      *
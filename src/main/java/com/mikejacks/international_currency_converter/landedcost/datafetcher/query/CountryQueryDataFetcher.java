@@ -1,14 +1,20 @@
 package com.mikejacks.international_currency_converter.landedcost.datafetcher.query;
 
+import com.mikejacks.international_currency_converter.landedcost.dataloader.CountryByCodeDataLoader;
+import com.mikejacks.international_currency_converter.landedcost.dataloader.CountryByIdDataLoader;
 import com.mikejacks.international_currency_converter.landedcost.entity.Country;
 import com.mikejacks.international_currency_converter.landedcost.service.CountryService;
+import com.mikejacks.international_currency_converter.pagination.Connection;
 import com.netflix.graphql.dgs.DgsComponent;
+import com.netflix.graphql.dgs.DgsDataFetchingEnvironment;
 import com.netflix.graphql.dgs.DgsQuery;
 import com.netflix.graphql.dgs.InputArgument;
+import org.dataloader.DataLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data fetcher for country queries in the GraphQL API.
@@ -31,17 +37,30 @@ public class CountryQueryDataFetcher {
     }
 
     /**
-     * Retrieves a list of all countries.
+     * Retrieves a list of countries, up to the server-enforced list cap.
      *
-     * <p>This method fetches all {@code Country} objects from the service and returns them as a list.</p>
+     * <p>This method fetches at most {@code pagination.list-cap} {@code Country} objects from the service and returns
+     * them as a list.</p>
      *
-     * @return A list of all {@code Country} objects.
+     * @return A list of {@code Country} objects.
      */
     @DgsQuery
     public List<Country> countries() {
         return countryService.countries();
     }
 
+    /**
+     * Retrieves one page of countries in ID order.
+     *
+     * @param first The number of countries of the page. Can be null for the default page size.
+     * @param after The cursor of the country after which the page starts. Can be null for the first page.
+     * @return The page of countries.
+     */
+    @DgsQuery
+    public Connection<Country> countriesConnection(@InputArgument Integer first, @InputArgument String after) {
+        return countryService.countriesConnection(first, after);
+    }
+
     /**
      * Retrieves a country based on the specified country ID, name, or code.
      *
@@ -62,14 +81,17 @@ public class CountryQueryDataFetcher {
     /**
      * Retrieves a country based on the specified country ID.
      *
-     * <p>This method fetches a {@code Country} object from the service based on the provided country ID.</p>
+     * <p>This method fetches a {@code Country} object through the {@code CountryByIdDataLoader}, so every
+     * {@code countryById} field of one request is resolved with a single query.</p>
      *
      * @param countryId The unique ID of the country. Must not be null.
-     * @return The {@code Country} object matching the specified ID, or {@code null} if no such country is found.
+     * @param dfe The data fetching environment holding the data loaders of the request.
+     * @return A future of the {@code Country} object matching the specified ID, or of {@code null} if no such country is found.
      */
     @DgsQuery
-    public Country countryById(@InputArgument final UUID countryId) {
-        return countryService.country(countryId, null, null);
+    public CompletableFuture<Country> countryById(@InputArgument final UUID countryId, final DgsDataFetchingEnvironment dfe) {
+        DataLoader<UUID, Country> countryByIdDataLoader = dfe.getDataLoader(CountryByIdDataLoader.NAME);
+        return countryByIdDataLoader.load(countryId);
     }
 
     /**
@@ -88,14 +110,17 @@ public class CountryQueryDataFetcher {
     /**
      * Retrieves a country based on the specified country code.
      *
-     * <p>This method fetches a {@code Country} object from the service based on the provided country code.</p>
+     * <p>This method fetches a {@code Country} object through the {@code CountryByCodeDataLoader}, so every
+     * {@code countryByCode} field of one request is resolved with a single query.</p>
      *
      * @param code The code of the country. Must not be null.
-     * @return The {@code Country} object matching the specified code, or {@code null} if no such country is found.
+     * @param dfe The data fetching environment holding the data loaders of the request.
+     * @return A future of the {@code Country} object matching the specified code, or of {@code null} if no such country is found.
      */
     @DgsQuery
-    public Country countryByCode(@InputArgument final String code) {
-        return countryService.country(null, null, code);
+    public CompletableFuture<Country> countryByCode(@InputArgument final String code, final DgsDataFetchingEnvironment dfe) {
+        DataLoader<String, Country> countryByCodeDataLoader = dfe.getDataLoader(CountryByCodeDataLoader.NAME);
+        return countryByCodeDataLoader.load(code);
     }
 
 }
\ No newline at end of file
@@ -7,7 +7,9 @@ import com.netflix.graphql.dgs.DgsQuery;
 import com.netflix.graphql.dgs.InputArgument;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data fetcher for landed cost queries in the GraphQL API.
@@ -36,15 +38,34 @@ public class LandedCostQueryDataFetcher {
      * <p>This method retrieves the product and country information based on their UUIDs,
      * and calculates the landed cost considering the specified target and base currency codes.</p>
      *
+     * <p>The calculation runs asynchronously, so the request thread is not held while the product, country and
+     * conversion rate are being fetched.</p>
+     *
      * @param productId The unique ID of the product. Must not be null.
      * @param countryId The unique ID of the country. Must not be null.
      * @param targetCurrencyCode The currency code to which the landed cost should be converted. Must not be null.
      * @param baseCurrencyCode The base currency code of the product. Must not be null.
-     * @return The {@code LandedCost} object containing the total cost.
+     * @return A {@code CompletableFuture} completed with the {@code LandedCost} object containing the total cost.
+     */
+    @DgsQuery
+    public CompletableFuture<LandedCost> calculateLandedCost(@InputArgument UUID productId, @InputArgument UUID countryId, @InputArgument String targetCurrencyCode, @InputArgument String baseCurrencyCode) {
+        return landedCostService.calculateLandedCostAsync(productId, countryId, targetCurrencyCode, baseCurrencyCode);
+    }
+
+    /**
+     * Calculates the landed cost of every combination of the specified products, countries and target currencies.
+     *
+     * <p>This method prices a whole set of products for several destination markets in one request. Each product's
+     * price is converted from the product's own currency code.</p>
+     *
+     * @param productIds The unique IDs of the products. Must not be null.
+     * @param countryIds The unique IDs of the countries. Must not be null.
+     * @param targetCurrencyCodes The currency codes to which the landed costs should be converted. Must not be null.
+     * @return A list of {@code LandedCost} objects, one for each product, country and target currency combination.
      */
     @DgsQuery
-    public LandedCost calculateLandedCost(@InputArgument UUID productId, @InputArgument UUID countryId, @InputArgument String targetCurrencyCode, @InputArgument String baseCurrencyCode) {
-        return landedCostService.calculateLandedCost(productId, countryId, targetCurrencyCode, baseCurrencyCode);
+    public List<LandedCost> calculateLandedCosts(@InputArgument List<UUID> productIds, @InputArgument List<UUID> countryIds, @InputArgument List<String> targetCurrencyCodes) {
+        return landedCostService.calculateLandedCosts(productIds, countryIds, targetCurrencyCodes);
     }
 
 
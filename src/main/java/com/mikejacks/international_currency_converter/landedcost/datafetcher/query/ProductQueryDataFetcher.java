@@ -1,14 +1,20 @@
 package com.mikejacks.international_currency_converter.landedcost.datafetcher.query;
 
+import com.mikejacks.international_currency_converter.landedcost.dataloader.ProductDataLoader;
 import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductOrder;
 import com.mikejacks.international_currency_converter.landedcost.service.ProductService;
+import com.mikejacks.international_currency_converter.pagination.Connection;
 import com.netflix.graphql.dgs.DgsComponent;
+import com.netflix.graphql.dgs.DgsDataFetchingEnvironment;
 import com.netflix.graphql.dgs.DgsQuery;
 import com.netflix.graphql.dgs.InputArgument;
+import org.dataloader.DataLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data fetcher for product queries in the GraphQL API.
@@ -31,15 +37,28 @@ public class ProductQueryDataFetcher {
     }
 
     /**
-     * Retrieves a list of all products.
+     * Retrieves a list of products, up to the server-enforced list cap.
      *
-     * @return A list of all {@code Product} objects.
+     * @return A list of at most {@code pagination.list-cap} {@code Product} objects.
      */
     @DgsQuery
     public List<Product> products() {
         return productService.products();
     }
 
+    /**
+     * Retrieves one page of products in the specified order.
+     *
+     * @param first The number of products of the page. Can be null for the default page size.
+     * @param after The cursor of the product after which the page starts. Can be null for the first page.
+     * @param orderBy The order of the products. Can be null for ID order.
+     * @return The page of products.
+     */
+    @DgsQuery
+    public Connection<Product> productsConnection(@InputArgument Integer first, @InputArgument String after, @InputArgument ProductOrder orderBy) {
+        return productService.productsConnection(first, after, orderBy);
+    }
+
     /**
      * Retrieves a product based on the specified product ID or name.
      *
@@ -59,12 +78,17 @@ public class ProductQueryDataFetcher {
     /**
      * Retrieves a product based on the specified product ID.
      *
+     * <p>The lookup goes through the {@code ProductDataLoader}, so every {@code productById} field of one request is
+     * resolved with a single query.</p>
+     *
      * @param productId The unique ID of the product to retrieve. Must not be null.
-     * @return The {@code Product} object matching the specified ID.
+     * @param dfe The data fetching environment holding the data loaders of the request.
+     * @return A future of the {@code Product} object matching the specified ID, or of {@code null} if there is none.
      */
     @DgsQuery
-    public Product productById(@InputArgument UUID productId) {
-       return productService.productById(productId);
+    public CompletableFuture<Product> productById(@InputArgument UUID productId, DgsDataFetchingEnvironment dfe) {
+        DataLoader<UUID, Product> productDataLoader = dfe.getDataLoader(ProductDataLoader.NAME);
+        return productDataLoader.load(productId);
     }
 
     /**
@@ -111,4 +135,31 @@ public class ProductQueryDataFetcher {
     public List<Product> productsByPriceBetween(@InputArgument Double minPrice, @InputArgument Double maxPrice) {
         return productService.productsByPriceBetween(minPrice, maxPrice);
     }
+
+    /**
+     * Retrieves a list of products whose prices, converted to the specified currency, are between the specified
+     * minimum and maximum prices.
+     *
+     * @param minPrice The minimum price, in the specified currency, to filter products by. Must not be null.
+     * @param maxPrice The maximum price, in the specified currency, to filter products by. Must not be null.
+     * @param currencyCode The code of the currency the prices are compared in. Must not be null.
+     * @return A list of {@code Product} objects ordered by their price in the specified currency.
+     */
+    @DgsQuery
+    public List<Product> productsByConvertedPriceBetween(@InputArgument Double minPrice, @InputArgument Double maxPrice,
+                                                         @InputArgument String currencyCode) {
+        return productService.productsByConvertedPriceBetween(minPrice, maxPrice, currencyCode);
+    }
+
+    /**
+     * Counts the products with a price between the specified minimum and maximum prices.
+     *
+     * @param minPrice The minimum price to filter products by. Must not be null.
+     * @param maxPrice The maximum price to filter products by. Must not be null.
+     * @return The number of products with a price between the specified minimum and maximum prices.
+     */
+    @DgsQuery
+    public long productCountByPriceBetween(@InputArgument Double minPrice, @InputArgument Double maxPrice) {
+        return productService.countProductsByPriceBetween(minPrice, maxPrice);
+    }
 }
@@ -0,0 +1,59 @@
+package com.mikejacks.international_currency_converter.landedcost.dataloader;
+
+import com.mikejacks.international_currency_converter.landedcost.entity.Country;
+import com.mikejacks.international_currency_converter.landedcost.service.CountryService;
+import com.mikejacks.international_currency_converter.util.DataLoaderMetrics;
+import com.netflix.graphql.dgs.DgsDataLoader;
+import org.dataloader.MappedBatchLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Data loader resolving countries by code.
+ *
+ * <p>All {@code countryByCode} lookups made while executing one GraphQL request are collected and resolved with a
+ * single {@code IN (...)} query through the {@code CountryService}. Codes that do not match a country resolve to
+ * {@code null}.</p>
+ */
+@DgsDataLoader(name = CountryByCodeDataLoader.NAME)
+public class CountryByCodeDataLoader implements MappedBatchLoader<String, Country> {
+    /**
+     * The name the data loader is registered under.
+     */
+    public static final String NAME = "countriesByCode";
+
+    private final CountryService countryService;
+    private final DataLoaderMetrics dataLoaderMetrics;
+    private final Executor executor;
+
+    /**
+     * Constructs a new {@code CountryByCodeDataLoader} with the specified {@code CountryService}.
+     *
+     * @param countryService The service used to load the countries.
+     * @param dataLoaderMetrics The metrics recorded for every batch.
+     * @param executor The executor the blocking batch query runs on.
+     */
+    @Autowired
+    public CountryByCodeDataLoader(CountryService countryService, DataLoaderMetrics dataLoaderMetrics, @Qualifier("landedCostExecutor") Executor executor) {
+        this.countryService = countryService;
+        this.dataLoaderMetrics = dataLoaderMetrics;
+        this.executor = executor;
+    }
+
+    /**
+     * Loads the countries with the specified codes.
+     *
+     * @param codes The codes of the countries to load.
+     * @return A future of the found countries by code.
+     */
+    @Override
+    public CompletionStage<Map<String, Country>> load(Set<String> codes) {
+        return CompletableFuture.supplyAsync(() -> dataLoaderMetrics.record(NAME, codes, countryService::countriesByCodes), executor);
+    }
+}
@@ -0,0 +1,59 @@
+package com.mikejacks.international_currency_converter.landedcost.dataloader;
+
+import com.mikejacks.international_currency_converter.landedcost.entity.Country;
+import com.mikejacks.international_currency_converter.landedcost.service.CountryService;
+import com.mikejacks.international_currency_converter.util.DataLoaderMetrics;
+import com.netflix.graphql.dgs.DgsDataLoader;
+import org.dataloader.MappedBatchLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Data loader resolving countries by ID.
+ *
+ * <p>All {@code countryById} lookups made while executing one GraphQL request are collected and resolved with a single
+ * {@code IN (...)} query through the {@code CountryService}. IDs that do not match a country resolve to {@code null}.</p>
+ */
+@DgsDataLoader(name = CountryByIdDataLoader.NAME)
+public class CountryByIdDataLoader implements MappedBatchLoader<UUID, Country> {
+    /**
+     * The name the data loader is registered under.
+     */
+    public static final String NAME = "countriesById";
+
+    private final CountryService countryService;
+    private final DataLoaderMetrics dataLoaderMetrics;
+    private final Executor executor;
+
+    /**
+     * Constructs a new {@code CountryByIdDataLoader} with the specified {@code CountryService}.
+     *
+     * @param countryService The service used to load the countries.
+     * @param dataLoaderMetrics The metrics recorded for every batch.
+     * @param executor The executor the blocking batch query runs on.
+     */
+    @Autowired
+    public CountryByIdDataLoader(CountryService countryService, DataLoaderMetrics dataLoaderMetrics, @Qualifier("landedCostExecutor") Executor executor) {
+        this.countryService = countryService;
+        this.dataLoaderMetrics = dataLoaderMetrics;
+        this.executor = executor;
+    }
+
+    /**
+     * Loads the countries with the specified IDs.
+     *
+     * @param countryIds The IDs of the countries to load.
+     * @return A future of the found countries by ID.
+     */
+    @Override
+    public CompletionStage<Map<UUID, Country>> load(Set<UUID> countryIds) {
+        return CompletableFuture.supplyAsync(() -> dataLoaderMetrics.record(NAME, countryIds, countryService::countriesByIds), executor);
+    }
+}
@@ -0,0 +1,59 @@
+package com.mikejacks.international_currency_converter.landedcost.dataloader;
+
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.service.ProductService;
+import com.mikejacks.international_currency_converter.util.DataLoaderMetrics;
+import com.netflix.graphql.dgs.DgsDataLoader;
+import org.dataloader.MappedBatchLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Data loader resolving products by ID.
+ *
+ * <p>All {@code productById} lookups made while executing one GraphQL request are collected and resolved with a single
+ * {@code IN (...)} query through the {@code ProductService}. IDs that do not match a product resolve to {@code null}.</p>
+ */
+@DgsDataLoader(name = ProductDataLoader.NAME)
+public class ProductDataLoader implements MappedBatchLoader<UUID, Product> {
+    /**
+     * The name the data loader is registered under.
+     */
+    public static final String NAME = "productsById";
+
+    private final ProductService productService;
+    private final DataLoaderMetrics dataLoaderMetrics;
+    private final Executor executor;
+
+    /**
+     * Constructs a new {@code ProductDataLoader} with the specified {@code ProductService}.
+     *
+     * @param productService The service used to load the products.
+     * @param dataLoaderMetrics The metrics recorded for every batch.
+     * @param executor The executor the blocking batch query runs on.
+     */
+    @Autowired
+    public ProductDataLoader(ProductService productService, DataLoaderMetrics dataLoaderMetrics, @Qualifier("landedCostExecutor") Executor executor) {
+        this.productService = productService;
+        this.dataLoaderMetrics = dataLoaderMetrics;
+        this.executor = executor;
+    }
+
+    /**
+     * Loads the products with the specified IDs.
+     *
+     * @param productIds The IDs of the products to load.
+     * @return A future of the found products by ID.
+     */
+    @Override
+    public CompletionStage<Map<UUID, Product>> load(Set<UUID> productIds) {
+        return CompletableFuture.supplyAsync(() -> dataLoaderMetrics.record(NAME, productIds, productService::productsByIds), executor);
+    }
+}
@@ -22,9 +22,9 @@ public class Country {
     @GeneratedValue(generator = "UUID")
     @GenericGenerator(
             name = "UUID",
-            strategy = "org.hibernate.id.UUIDGenerator"
+            strategy = "com.mikejacks.international_currency_converter.util.EntityIdGenerator"
     )
-    @JdbcTypeCode(SqlTypes.CHAR)
+    @JdbcTypeCode(SqlTypes.UUID)
     @Column(nullable = false, updatable = false)
     private UUID id;
     @Column()
@@ -0,0 +1,435 @@
+package com.mikejacks.international_currency_converter.landedcost.index;
+
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * In-memory index of products by price that answers price range queries without a database round trip.
+ *
+ * <p>Prices are held in a sorted primitive {@code double[]}, with the products in a parallel array in the same order,
+ * ties broken by ID. A range is located with two binary searches, so counting the products in a range takes
+ * {@code O(log n)} and reading a page of it additionally copies only the page. The products of each currency are
+ * also held in a partition of their own, in the same order, so that a range of prices in one currency is located
+ * without visiting products priced in any other currency.</p>
+ *
+ * <p>The index is published as an immutable snapshot, so queries never lock. Product mutations replace the snapshot
+ * with a copy that has the product inserted, moved or removed, which costs {@code O(n)} per mutation and suits a
+ * catalog that is read far more often than it is written. The index is enabled by
+ * {@code landedcost.price-index.enabled}; while it is disabled or not yet loaded, {@link #isReady()} is {@code false}
+ * and callers query the database instead.</p>
+ */
+@Component
+public class ProductPriceIndex {
+    private static final Logger logger = Logger.getLogger(ProductPriceIndex.class.getName());
+    private static final Comparator<Product> PRICE_ORDER = Comparator.comparingDouble(Product::getPrice).thenComparing(Product::getId);
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructs a new {@code ProductPriceIndex} backed by the specified repository.
+     *
+     * @param productRepository The repository the products are loaded from.
+     * @param enabled Whether the index is loaded and used.
+     */
+    @Autowired
+    public ProductPriceIndex(ProductRepository productRepository,
+                             @Value("${landedcost.price-index.enabled:false}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Loads the index once the application has started, if it is enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads every product from the repository and rebuilds the index.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        snapshot = Snapshot.of(productRepository.findAll());
+        logger.info(String.format("Loaded %d products into the price index in %d ms",
+                snapshot.size(), (System.nanoTime() - start) / 1_000_000));
+    }
+
+    /**
+     * Returns whether the index is loaded and can answer queries.
+     *
+     * @return {@code true} if the index is loaded, otherwise {@code false}.
+     */
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Adds a new product to the index, or moves an existing product to its new price.
+     *
+     * <p>Does nothing while the index is not loaded.</p>
+     *
+     * @param product The added or updated product.
+     */
+    public synchronized void put(Product product) {
+        if (snapshot != null) {
+            snapshot = snapshot.without(product.getId()).with(copyOf(product));
+        }
+    }
+
+    /**
+     * Adds or moves several products in one copy of the index.
+     *
+     * <p>Does nothing while the index is not loaded.</p>
+     *
+     * @param products The added or updated products.
+     */
+    public synchronized void putAll(Collection<Product> products) {
+        if (snapshot == null || products.isEmpty()) {
+            return;
+        }
+        List<Product> merged = new ArrayList<>(snapshot.size() + products.size());
+        Set<UUID> replaced = new HashSet<>();
+        for (Product product : products) {
+            replaced.add(product.getId());
+        }
+        for (Product existing : snapshot.all.products) {
+            if (!replaced.contains(existing.getId())) {
+                merged.add(existing);
+            }
+        }
+        for (Product product : products) {
+            merged.add(copyOf(product));
+        }
+        snapshot = Snapshot.of(merged);
+    }
+
+    /**
+     * Removes a product from the index.
+     *
+     * <p>Does nothing while the index is not loaded.</p>
+     *
+     * @param productId The ID of the removed product.
+     */
+    public synchronized void remove(UUID productId) {
+        if (snapshot != null) {
+            snapshot = snapshot.without(productId);
+        }
+    }
+
+    /**
+     * Counts the products with a price between the specified bounds, inclusive.
+     *
+     * @param minPrice The minimum price, or {@code null} for no lower bound.
+     * @param maxPrice The maximum price, or {@code null} for no upper bound.
+     * @return The number of products in the range.
+     * @throws IllegalStateException if the index is not loaded.
+     */
+    public int count(Double minPrice, Double maxPrice) {
+        SortedProducts all = loadedSnapshot().all;
+        return Math.max(0, all.upperBound(maxPrice) - all.lowerBound(minPrice));
+    }
+
+    /**
+     * Returns the products with a price between the specified bounds, inclusive, ordered by price, then ID.
+     *
+     * @param minPrice The minimum price, or {@code null} for no lower bound.
+     * @param maxPrice The maximum price, or {@code null} for no upper bound.
+     * @return The products in the range.
+     * @throws IllegalStateException if the index is not loaded.
+     */
+    public List<Product> range(Double minPrice, Double maxPrice) {
+        return page(minPrice, maxPrice, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns one page of the products with a price between the specified bounds, inclusive, ordered by price, then ID.
+     *
+     * @param minPrice The minimum price, or {@code null} for no lower bound.
+     * @param maxPrice The maximum price, or {@code null} for no upper bound.
+     * @param offset The number of products of the range to skip.
+     * @param limit The maximum number of products to return.
+     * @return The products of the page.
+     * @throws IllegalArgumentException if the offset is negative or the limit is less than 0.
+     * @throws IllegalStateException if the index is not loaded.
+     */
+    public List<Product> page(Double minPrice, Double maxPrice, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative");
+        }
+        SortedProducts all = loadedSnapshot().all;
+        int from = all.lowerBound(minPrice);
+        int to = all.upperBound(maxPrice);
+        int pageFrom = (int) Math.min((long) from + offset, to);
+        int pageTo = (int) Math.min((long) pageFrom + limit, to);
+        return all.slice(pageFrom, pageTo);
+    }
+
+    /**
+     * Returns the currency codes of the indexed products.
+     *
+     * @return The distinct currency codes of the indexed products.
+     * @throws IllegalStateException if the index is not loaded.
+     */
+    public Set<String> currencyCodes() {
+        return Set.copyOf(loadedSnapshot().byCurrency.keySet());
+    }
+
+    /**
+     * Returns the products in the specified currency with a price between the specified bounds, inclusive, ordered by
+     * price, then ID.
+     *
+     * <p>Each currency has its own partition of the index, so the range is located with two binary searches over the
+     * products in that currency only.</p>
+     *
+     * @param currencyCode The currency code of the products.
+     * @param minPrice The minimum price, or {@code null} for no lower bound.
+     * @param maxPrice The maximum price, or {@code null} for no upper bound.
+     * @return The products in the currency and range.
+     * @throws IllegalStateException if the index is not loaded.
+     */
+    public List<Product> range(String currencyCode, Double minPrice, Double maxPrice) {
+        SortedProducts partition = loadedSnapshot().partition(currencyCode);
+        return partition.slice(partition.lowerBound(minPrice), partition.upperBound(maxPrice));
+    }
+
+    private Snapshot loadedSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("The product price index is not loaded");
+        }
+        return current;
+    }
+
+    /**
+     * Copies a product, so that later changes to a managed entity do not alter the index behind its back.
+     */
+    private static Product copyOf(Product product) {
+        return new Product(product.getId(), product.getName(), product.getPrice(), product.getCurrencyCode());
+    }
+
+    /**
+     * Immutable index of all products, together with one partition per currency code.
+     */
+    private static final class Snapshot {
+        private final SortedProducts all;
+        private final Map<String, SortedProducts> byCurrency;
+
+        private Snapshot(SortedProducts all, Map<String, SortedProducts> byCurrency) {
+            this.all = all;
+            this.byCurrency = byCurrency;
+        }
+
+        private static Snapshot of(Collection<Product> products) {
+            SortedProducts all = SortedProducts.of(products.stream()
+                    .filter(product -> product.getPrice() != null)
+                    .map(ProductPriceIndex::copyOf)
+                    .sorted(PRICE_ORDER)
+                    .toArray(Product[]::new));
+            Map<String, List<Product>> grouped = new HashMap<>();
+            for (Product product : all.products) {
+                if (product.getCurrencyCode() != null) {
+                    grouped.computeIfAbsent(product.getCurrencyCode(), code -> new ArrayList<>()).add(product);
+                }
+            }
+            Map<String, SortedProducts> byCurrency = new HashMap<>();
+            grouped.forEach((code, partition) -> byCurrency.put(code, SortedProducts.of(partition.toArray(Product[]::new))));
+            return new Snapshot(all, byCurrency);
+        }
+
+        private int size() {
+            return all.size();
+        }
+
+        private SortedProducts partition(String currencyCode) {
+            return byCurrency.getOrDefault(currencyCode, SortedProducts.EMPTY);
+        }
+
+        /**
+         * Returns a copy with the specified product inserted at its position.
+         */
+        private Snapshot with(Product product) {
+            if (product.getPrice() == null) {
+                return this;
+            }
+            Map<String, SortedProducts> nextByCurrency = byCurrency;
+            if (product.getCurrencyCode() != null) {
+                nextByCurrency = new HashMap<>(byCurrency);
+                nextByCurrency.put(product.getCurrencyCode(), partition(product.getCurrencyCode()).with(product));
+            }
+            return new Snapshot(all.with(product), nextByCurrency);
+        }
+
+        /**
+         * Returns a copy without the product with the specified ID, or this snapshot if there is no such product.
+         */
+        private Snapshot without(UUID productId) {
+            int position = all.indexOf(productId);
+            if (position < 0) {
+                return this;
+            }
+            String currencyCode = all.products[position].getCurrencyCode();
+            Map<String, SortedProducts> nextByCurrency = byCurrency;
+            if (currencyCode != null) {
+                nextByCurrency = new HashMap<>(byCurrency);
+                SortedProducts partition = partition(currencyCode).without(productId);
+                if (partition.size() == 0) {
+                    nextByCurrency.remove(currencyCode);
+                } else {
+                    nextByCurrency.put(currencyCode, partition);
+                }
+            }
+            return new Snapshot(all.without(position), nextByCurrency);
+        }
+    }
+
+    /**
+     * Immutable sorted arrays of prices and products.
+     */
+    private static final class SortedProducts {
+        private static final SortedProducts EMPTY = new SortedProducts(new double[0], new Product[0]);
+
+        private final double[] prices;
+        private final Product[] products;
+
+        private SortedProducts(double[] prices, Product[] products) {
+            this.prices = prices;
+            this.products = products;
+        }
+
+        /**
+         * Wraps products that are already sorted in {@code PRICE_ORDER}.
+         */
+        private static SortedProducts of(Product[] sorted) {
+            double[] prices = new double[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                prices[i] = sorted[i].getPrice();
+            }
+            return new SortedProducts(prices, sorted);
+        }
+
+        private int size() {
+            return prices.length;
+        }
+
+        /**
+         * Returns the products between the specified positions, or an empty list if the range is empty.
+         */
+        private List<Product> slice(int from, int to) {
+            return from >= to ? List.of() : List.of(Arrays.copyOfRange(products, from, to));
+        }
+
+        /**
+         * Returns the position of the first product with a price of at least the specified price.
+         */
+        private int lowerBound(Double minPrice) {
+            if (minPrice == null) {
+                return 0;
+            }
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] < minPrice) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the position after the last product with a price of at most the specified price.
+         */
+        private int upperBound(Double maxPrice) {
+            if (maxPrice == null) {
+                return prices.length;
+            }
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] <= maxPrice) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the position of the product with the specified ID, or {@code -1} if there is no such product.
+         */
+        private int indexOf(UUID productId) {
+            for (int i = 0; i < products.length; i++) {
+                if (products[i].getId().equals(productId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns a copy with the specified product inserted at its position.
+         */
+        private SortedProducts with(Product product) {
+            int position = Arrays.binarySearch(products, product, PRICE_ORDER);
+            int insertion = position >= 0 ? position : -position - 1;
+            double[] nextPrices = new double[prices.length + 1];
+            Product[] nextProducts = new Product[products.length + 1];
+            System.arraycopy(prices, 0, nextPrices, 0, insertion);
+            System.arraycopy(products, 0, nextProducts, 0, insertion);
+            nextPrices[insertion] = product.getPrice();
+            nextProducts[insertion] = product;
+            System.arraycopy(prices, insertion, nextPrices, insertion + 1, prices.length - insertion);
+            System.arraycopy(products, insertion, nextProducts, insertion + 1, products.length - insertion);
+            return new SortedProducts(nextPrices, nextProducts);
+        }
+
+        /**
+         * Returns a copy without the product with the specified ID, or this instance if there is no such product.
+         */
+        private SortedProducts without(UUID productId) {
+            int position = indexOf(productId);
+            return position < 0 ? this : without(position);
+        }
+
+        /**
+         * Returns a copy without the product at the specified position.
+         */
+        private SortedProducts without(int position) {
+            double[] nextPrices = new double[prices.length - 1];
+            Product[] nextProducts = new Product[products.length - 1];
+            System.arraycopy(prices, 0, nextPrices, 0, position);
+            System.arraycopy(products, 0, nextProducts, 0, position);
+            System.arraycopy(prices, position + 1, nextPrices, position, prices.length - position - 1);
+            System.arraycopy(products, position + 1, nextProducts, position, products.length - position - 1);
+            return new SortedProducts(nextPrices, nextProducts);
+        }
+    }
+}
@@ -1,14 +1,32 @@
 package com.mikejacks.international_currency_converter.landedcost.model;
 
+import java.time.Instant;
+import java.util.UUID;
+
 /**
  * Model class representing the landed cost of a product.
  *
  * <p>The {@code LandedCost} class encapsulates the total cost associated with a product,
- * including all relevant fees, duties, and taxes. It provides getter and setter methods
- * for accessing and modifying the total cost.</p>
+ * including all relevant fees, duties, and taxes. It also identifies the product, destination country and
+ * currency pair the cost was calculated for, so that results of a batch calculation can be told apart.
+ * It provides getter and setter methods for accessing and modifying these values.</p>
+ *
+ * <p>The total cost is itemized into the duty and the tax, both in the base currency, and their subtotal with the
+ * product price before conversion. The conversion rate applied to the subtotal and the time that rate was last
+ * updated are included, so the total can be reproduced as {@code subtotal * conversionRate}, rounded to the minor
+ * unit of the target currency.</p>
  */
 public class LandedCost {
+    private UUID productId;
+    private UUID countryId;
+    private String baseCurrencyCode;
+    private String targetCurrencyCode;
     private Double totalCost;
+    private Double duty;
+    private Double tax;
+    private Double subtotal;
+    private Double conversionRate;
+    private Instant rateUpdatedAt;
 
     /**
      * Default constructor.
@@ -26,6 +44,119 @@ public class LandedCost {
         this.setTotalCost(totalCost);
     }
 
+    /**
+     * Constructs a new {@code LandedCost} for the specified product, country and currency pair.
+     *
+     * @param productId The UUID of the product the cost was calculated for.
+     * @param countryId The UUID of the destination country.
+     * @param baseCurrencyCode The currency code the product price was converted from.
+     * @param targetCurrencyCode The currency code the total cost is expressed in.
+     * @param totalCost The total cost of the product.
+     */
+    public LandedCost(UUID productId, UUID countryId, String baseCurrencyCode, String targetCurrencyCode, Double totalCost) {
+        this.setProductId(productId);
+        this.setCountryId(countryId);
+        this.setBaseCurrencyCode(baseCurrencyCode);
+        this.setTargetCurrencyCode(targetCurrencyCode);
+        this.setTotalCost(totalCost);
+    }
+
+    /**
+     * Constructs a new itemized {@code LandedCost} for the specified product, country and currency pair.
+     *
+     * @param productId The UUID of the product the cost was calculated for.
+     * @param countryId The UUID of the destination country.
+     * @param baseCurrencyCode The currency code the product price was converted from.
+     * @param targetCurrencyCode The currency code the total cost is expressed in.
+     * @param totalCost The total cost of the product, in the target currency.
+     * @param duty The duty on the product, in the base currency.
+     * @param tax The tax on the product, in the base currency.
+     * @param subtotal The sum of the product price, the duty and the tax, in the base currency.
+     * @param conversionRate The conversion rate applied to the subtotal.
+     * @param rateUpdatedAt The time the conversion rate was last updated, or {@code null} if it is not known.
+     */
+    public LandedCost(UUID productId, UUID countryId, String baseCurrencyCode, String targetCurrencyCode, Double totalCost,
+                      Double duty, Double tax, Double subtotal, Double conversionRate, Instant rateUpdatedAt) {
+        this(productId, countryId, baseCurrencyCode, targetCurrencyCode, totalCost);
+        this.setDuty(duty);
+        this.setTax(tax);
+        this.setSubtotal(subtotal);
+        this.setConversionRate(conversionRate);
+        this.setRateUpdatedAt(rateUpdatedAt);
+    }
+
+    /**
+     * Gets the UUID of the product the cost was calculated for.
+     *
+     * @return The UUID of the product.
+     */
+    public UUID getProductId() {
+        return productId;
+    }
+
+    /**
+     * Sets the UUID of the product the cost was calculated for.
+     *
+     * @param productId The UUID of the product.
+     */
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    /**
+     * Gets the UUID of the destination country.
+     *
+     * @return The UUID of the country.
+     */
+    public UUID getCountryId() {
+        return countryId;
+    }
+
+    /**
+     * Sets the UUID of the destination country.
+     *
+     * @param countryId The UUID of the country.
+     */
+    public void setCountryId(UUID countryId) {
+        this.countryId = countryId;
+    }
+
+    /**
+     * Gets the currency code the product price was converted from.
+     *
+     * @return The base currency code.
+     */
+    public String getBaseCurrencyCode() {
+        return baseCurrencyCode;
+    }
+
+    /**
+     * Sets the currency code the product price was converted from.
+     *
+     * @param baseCurrencyCode The base currency code.
+     */
+    public void setBaseCurrencyCode(String baseCurrencyCode) {
+        this.baseCurrencyCode = baseCurrencyCode;
+    }
+
+    /**
+     * Gets the currency code the total cost is expressed in.
+     *
+     * @return The target currency code.
+     */
+    public String getTargetCurrencyCode() {
+        return targetCurrencyCode;
+    }
+
+    /**
+     * Sets the currency code the total cost is expressed in.
+     *
+     * @param targetCurrencyCode The target currency code.
+     */
+    public void setTargetCurrencyCode(String targetCurrencyCode) {
+        this.targetCurrencyCode = targetCurrencyCode;
+    }
+
     /**
      * Gets the total cost of the product.
      *
@@ -43,5 +174,94 @@ public class LandedCost {
     public void setTotalCost(Double totalCost) {
         this.totalCost = totalCost;
     }
-}
 
+    /**
+     * Gets the duty on the product, in the base currency.
+     *
+     * @return The duty.
+     */
+    public Double getDuty() {
+        return duty;
+    }
+
+    /**
+     * Sets the duty on the product, in the base currency.
+     *
+     * @param duty The duty.
+     */
+    public void setDuty(Double duty) {
+        this.duty = duty;
+    }
+
+    /**
+     * Gets the tax on the product, in the base currency.
+     *
+     * @return The tax.
+     */
+    public Double getTax() {
+        return tax;
+    }
+
+    /**
+     * Sets the tax on the product, in the base currency.
+     *
+     * @param tax The tax.
+     */
+    public void setTax(Double tax) {
+        this.tax = tax;
+    }
+
+    /**
+     * Gets the sum of the product price, the duty and the tax before conversion, in the base currency.
+     *
+     * @return The subtotal.
+     */
+    public Double getSubtotal() {
+        return subtotal;
+    }
+
+    /**
+     * Sets the sum of the product price, the duty and the tax before conversion, in the base currency.
+     *
+     * @param subtotal The subtotal.
+     */
+    public void setSubtotal(Double subtotal) {
+        this.subtotal = subtotal;
+    }
+
+    /**
+     * Gets the conversion rate applied to the subtotal.
+     *
+     * @return The conversion rate.
+     */
+    public Double getConversionRate() {
+        return conversionRate;
+    }
+
+    /**
+     * Sets the conversion rate applied to the subtotal.
+     *
+     * @param conversionRate The conversion rate.
+     */
+    public void setConversionRate(Double conversionRate) {
+        this.conversionRate = conversionRate;
+    }
+
+    /**
+     * Gets the time the applied conversion rate was last updated.
+     *
+     * @return The time the rate was last updated, or {@code null} if it is not known, such as for a triangulated rate.
+     */
+    public Instant getRateUpdatedAt() {
+        return rateUpdatedAt;
+    }
+
+    /**
+     * Sets the time the applied conversion rate was last updated.
+     *
+     * @param rateUpdatedAt The time the rate was last updated, or {@code null} if it is not known.
+     */
+    public void setRateUpdatedAt(Instant rateUpdatedAt) {
+        this.rateUpdatedAt = rateUpdatedAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.mikejacks.international_currency_converter.landedcost.model;
+
+/**
+ * Record class representing a row that was rejected by a bulk product import.
+ *
+ * @param row     The 1-based position of the row among the imported rows.
+ * @param message A message describing why the row was rejected.
+ */
+public record ProductImportError(long row, String message) {
+}
@@ -0,0 +1,100 @@
+package com.mikejacks.international_currency_converter.landedcost.model;
+
+/**
+ * Model class for one row of a bulk product import.
+ *
+ * <p>Unlike {@code ProductCreateInput}, this class does not validate its fields when they are set, so that a single
+ * malformed row is reported as an error of that row instead of failing the whole import. The rows are validated by
+ * the import itself.</p>
+ */
+public class ProductImportInput {
+    private String name;
+    private Double price;
+    private String currencyCode;
+
+    /**
+     * Default constructor.
+     */
+    public ProductImportInput() {}
+
+    /**
+     * Constructs a new {@code ProductImportInput} with the specified name, price, and currency code.
+     *
+     * @param name The name of the product.
+     * @param price The price of the product.
+     * @param currencyCode The currency code for the product's price.
+     */
+    public ProductImportInput(String name, Double price, String currencyCode) {
+        this.name = name;
+        this.price = price;
+        this.currencyCode = currencyCode;
+    }
+
+    /**
+     * Gets the name of the product.
+     *
+     * @return The name of the product.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the product.
+     *
+     * @param name The new name of the product.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the price of the product.
+     *
+     * @return The price of the product.
+     */
+    public Double getPrice() {
+        return price;
+    }
+
+    /**
+     * Sets the price of the product.
+     *
+     * @param price The new price of the product.
+     */
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    /**
+     * Gets the currency code of the product's price.
+     *
+     * @return The currency code of the product's price.
+     */
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    /**
+     * Sets the currency code of the product's price.
+     *
+     * @param currencyCode The new currency code of the product's price.
+     */
+    public void setCurrencyCode(String currencyCode) {
+        this.currencyCode = currencyCode;
+    }
+
+    /**
+     * Returns a string representation of the import row.
+     *
+     * @return String representation of the import row.
+     */
+    @Override
+    public String toString() {
+        return "ProductImportInput{" +
+                "name='" + name + '\'' +
+                ", price=" + price +
+                ", currencyCode='" + currencyCode + '\'' +
+                '}';
+    }
+}
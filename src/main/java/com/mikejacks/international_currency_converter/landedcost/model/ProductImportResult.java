@@ -0,0 +1,14 @@
+package com.mikejacks.international_currency_converter.landedcost.model;
+
+import java.util.List;
+
+/**
+ * Record class representing the outcome of a bulk product import.
+ *
+ * <p>Rejected rows do not abort the import, so a result can report both imported products and errors.</p>
+ *
+ * @param importedCount The number of products that were imported.
+ * @param errors        The rows that were rejected, in row order.
+ */
+public record ProductImportResult(int importedCount, List<ProductImportError> errors) {
+}
@@ -0,0 +1,14 @@
+package com.mikejacks.international_currency_converter.landedcost.model;
+
+/**
+ * Enum representing the orders in which a product connection can be paged.
+ *
+ * <ul>
+ *     <li>{@link #ID}: Ordered by product ID.</li>
+ *     <li>{@link #PRICE}: Ordered by price, with products of the same price ordered by ID.</li>
+ * </ul>
+ */
+public enum ProductOrder {
+    ID,
+    PRICE
+}
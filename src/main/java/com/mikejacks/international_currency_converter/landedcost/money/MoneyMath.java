@@ -0,0 +1,289 @@
+package com.mikejacks.international_currency_converter.landedcost.money;
+
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exact fixed-point arithmetic on money amounts and rates.
+ *
+ * <p>Amounts are {@code long} counts of the minor unit of their currency, such as cents for USD and yen for JPY, with
+ * the number of fraction digits given by the ISO 4217 exponent of the currency. Rates, such as conversion rates and
+ * duty or tax rates, are {@code long} values scaled by 10<sup>{@value #RATE_DECIMALS}</sup>. Every operation rounds
+ * its exact result once, with the specified {@code RoundingMode}, so a calculation gives the same result as the same
+ * calculation in {@code BigDecimal} with the same rounding.</p>
+ *
+ * <p>The operations work on primitives only and allocate nothing. A product of an amount and a rate is computed in
+ * 128 bits, so intermediate results never overflow. An {@code ArithmeticException} is thrown if a result does not fit
+ * in a {@code long}, or if {@code RoundingMode.UNNECESSARY} is specified and a result is not exact.</p>
+ *
+ * <p>The {@code Double} prices and rates stored on the entities are converted at the edges with
+ * {@link #toMinorUnits(double, int, RoundingMode)}, {@link #toScaledRate(double)} and
+ * {@link #percentToScaledRate(double)}, and results are converted back with {@link #toMajorUnits(long, int)} and
+ * {@link #toRate(long)}.</p>
+ */
+public final class MoneyMath {
+    /**
+     * The number of decimal digits of a scaled rate.
+     */
+    public static final int RATE_DECIMALS = 9;
+
+    /**
+     * The scaled rate representing a rate of 1.
+     */
+    public static final long RATE_SCALE = 1_000_000_000L;
+
+    /**
+     * The number of fraction digits used for currency codes without an ISO 4217 minor unit.
+     */
+    public static final int DEFAULT_FRACTION_DIGITS = 2;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    /**
+     * The tolerance, in minor units, within which a scaled {@code double} is taken to be the integer or half it is
+     * closest to.
+     */
+    private static final double DOUBLE_TOLERANCE = 1e-6;
+
+    private static final Map<String, Integer> FRACTION_DIGITS = new ConcurrentHashMap<>();
+
+    private MoneyMath() {
+    }
+
+    /**
+     * Returns the number of fraction digits of the minor unit of a currency.
+     *
+     * <p>The ISO 4217 exponent of the currency is used, such as 2 for USD, 0 for JPY and 3 for KWD. Codes that are not
+     * ISO 4217 currencies, or that have no minor unit, use {@value #DEFAULT_FRACTION_DIGITS}. Lookups are cached.</p>
+     *
+     * @param currencyCode The currency code.
+     * @return The number of fraction digits of the currency.
+     */
+    public static int fractionDigits(String currencyCode) {
+        return FRACTION_DIGITS.computeIfAbsent(currencyCode, MoneyMath::lookupFractionDigits);
+    }
+
+    private static int lookupFractionDigits(String currencyCode) {
+        try {
+            int fractionDigits = java.util.Currency.getInstance(currencyCode).getDefaultFractionDigits();
+            return fractionDigits < 0 ? DEFAULT_FRACTION_DIGITS : fractionDigits;
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_FRACTION_DIGITS;
+        }
+    }
+
+    /**
+     * Converts an amount in major units to a count of minor units.
+     *
+     * <p>A {@code double} such as {@code 19.99} is not exactly the decimal it was parsed from, so the scaled amount is
+     * taken to be the nearest integer when it is within a millionth of a minor unit of it. Otherwise the amount has
+     * more fraction digits than the currency and is rounded with the specified rounding mode, where an amount within
+     * a millionth of a minor unit of a half, such as {@code 10.135}, is rounded as an exact tie.</p>
+     *
+     * @param amount The amount in major units.
+     * @param fractionDigits The number of fraction digits of the currency of the amount.
+     * @param roundingMode The rounding applied to amounts with more fraction digits than the currency.
+     * @return The amount in minor units.
+     * @throws ArithmeticException if the amount is not finite or does not fit in a {@code long} of minor units.
+     */
+    public static long toMinorUnits(double amount, int fractionDigits, RoundingMode roundingMode) {
+        return roundDouble(amount * POWERS_OF_TEN[fractionDigits], roundingMode);
+    }
+
+    /**
+     * Converts a count of minor units to the {@code double} closest to the amount in major units.
+     *
+     * @param minorUnits The amount in minor units.
+     * @param fractionDigits The number of fraction digits of the currency of the amount.
+     * @return The amount in major units.
+     */
+    public static double toMajorUnits(long minorUnits, int fractionDigits) {
+        return minorUnits / (double) POWERS_OF_TEN[fractionDigits];
+    }
+
+    /**
+     * Converts a rate, such as a conversion rate, to a scaled rate, rounding it to {@value #RATE_DECIMALS} decimals.
+     *
+     * @param rate The rate.
+     * @return The rate scaled by {@link #RATE_SCALE}.
+     * @throws ArithmeticException if the rate is not finite or is too large to scale.
+     */
+    public static long toScaledRate(double rate) {
+        return roundDouble(rate * RATE_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Converts a scaled rate back to the {@code double} closest to the rate it represents.
+     *
+     * @param scaledRate The rate scaled by {@link #RATE_SCALE}.
+     * @return The rate.
+     */
+    public static double toRate(long scaledRate) {
+        return scaledRate / (double) RATE_SCALE;
+    }
+
+    /**
+     * Converts a percentage, such as a duty or tax rate, to a scaled rate, rounding it to {@value #RATE_DECIMALS}
+     * decimals of the fraction it represents.
+     *
+     * @param percent The percentage, where 100 is a rate of 1.
+     * @return The rate scaled by {@link #RATE_SCALE}.
+     * @throws ArithmeticException if the percentage is not finite or is too large to scale.
+     */
+    public static long percentToScaledRate(double percent) {
+        return roundDouble(percent * (RATE_SCALE / 100), RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Multiplies an amount by a rate.
+     *
+     * @param minorUnits The amount in minor units.
+     * @param scaledRate The rate scaled by {@link #RATE_SCALE}.
+     * @param roundingMode The rounding applied to the product.
+     * @return The product, in minor units of the currency of the amount.
+     * @throws ArithmeticException if the product does not fit in a {@code long}, or rounding is necessary with
+     *         {@code RoundingMode.UNNECESSARY}.
+     */
+    public static long multiply(long minorUnits, long scaledRate, RoundingMode roundingMode) {
+        return multiplyAndDivide(minorUnits, scaledRate, RATE_DECIMALS, roundingMode);
+    }
+
+    /**
+     * Converts an amount into another currency.
+     *
+     * @param minorUnits The amount in minor units of the currency converted from.
+     * @param fromFractionDigits The number of fraction digits of the currency converted from.
+     * @param scaledRate The conversion rate, in units of the currency converted to per unit of the currency converted
+     *                   from, scaled by {@link #RATE_SCALE}.
+     * @param toFractionDigits The number of fraction digits of the currency converted to.
+     * @param roundingMode The rounding applied to the converted amount.
+     * @return The converted amount, in minor units of the currency converted to.
+     * @throws ArithmeticException if the converted amount does not fit in a {@code long}, or rounding is necessary with
+     *         {@code RoundingMode.UNNECESSARY}.
+     */
+    public static long convert(long minorUnits, int fromFractionDigits, long scaledRate, int toFractionDigits, RoundingMode roundingMode) {
+        return multiplyAndDivide(minorUnits, scaledRate, RATE_DECIMALS + fromFractionDigits - toFractionDigits, roundingMode);
+    }
+
+    /**
+     * Computes {@code a * b / 10^decimals}, rounded once.
+     *
+     * <p>The product is computed in 128 bits. When it fits in a {@code long}, which is the case for all but very large
+     * amounts, it is divided with a single {@code long} division. Otherwise the 128-bit product is divided bit by
+     * bit.</p>
+     *
+     * @param a The first factor.
+     * @param b The second factor.
+     * @param decimals The power of ten the product is divided by, from 0 to 18.
+     * @param roundingMode The rounding applied to the quotient.
+     * @return The rounded quotient.
+     * @throws ArithmeticException if the quotient does not fit in a {@code long}, or rounding is necessary with
+     *         {@code RoundingMode.UNNECESSARY}.
+     */
+    static long multiplyAndDivide(long a, long b, int decimals, RoundingMode roundingMode) {
+        long divisor = POWERS_OF_TEN[decimals];
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return round(low / divisor, low % divisor, divisor, roundingMode);
+        }
+
+        boolean negative = high < 0;
+        if (negative) {
+            high = ~high + (low == 0 ? 1 : 0);
+            low = -low;
+        }
+        if (Long.compareUnsigned(high, divisor) >= 0) {
+            throw new ArithmeticException("Money arithmetic overflow");
+        }
+        long quotient = 0;
+        long remainder = high;
+        for (int bit = 63; bit >= 0; bit--) {
+            boolean carry = remainder < 0;
+            remainder = (remainder << 1) | ((low >>> bit) & 1);
+            quotient <<= 1;
+            if (carry || Long.compareUnsigned(remainder, divisor) >= 0) {
+                remainder -= divisor;
+                quotient |= 1;
+            }
+        }
+        if (quotient < 0) {
+            throw new ArithmeticException("Money arithmetic overflow");
+        }
+        return negative
+                ? round(-quotient, -remainder, divisor, roundingMode)
+                : round(quotient, remainder, divisor, roundingMode);
+    }
+
+    /**
+     * Rounds a quotient truncated towards zero, given the remainder of the division.
+     *
+     * @param quotient The quotient, truncated towards zero.
+     * @param remainder The remainder, with the sign of the dividend.
+     * @param divisor The positive divisor.
+     * @param roundingMode The rounding applied to the quotient.
+     * @return The rounded quotient.
+     * @throws ArithmeticException if the rounded quotient does not fit in a {@code long}, or the remainder is not zero
+     *         with {@code RoundingMode.UNNECESSARY}.
+     */
+    private static long round(long quotient, long remainder, long divisor, RoundingMode roundingMode) {
+        if (remainder == 0) {
+            return quotient;
+        }
+        int signum = remainder > 0 ? 1 : -1;
+        long magnitude = Math.abs(remainder);
+        int half = Long.compare(magnitude, divisor - magnitude);
+        boolean awayFromZero = switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> signum > 0;
+            case FLOOR -> signum < 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? Math.addExact(quotient, signum) : quotient;
+    }
+
+    /**
+     * Rounds a scaled {@code double} to a {@code long}, taking it to be the nearest integer or half when it is within
+     * {@link #DOUBLE_TOLERANCE} of it.
+     *
+     * @param scaled The scaled value.
+     * @param roundingMode The rounding applied to values that are not within the tolerance of an integer.
+     * @return The rounded value.
+     * @throws ArithmeticException if the value is not finite or does not fit in a {@code long}.
+     */
+    private static long roundDouble(double scaled, RoundingMode roundingMode) {
+        if (!Double.isFinite(scaled) || Math.abs(scaled) >= 0x1p63) {
+            throw new ArithmeticException("Money amount out of range: " + scaled);
+        }
+        double nearest = Math.rint(scaled);
+        if (Math.abs(scaled - nearest) <= DOUBLE_TOLERANCE) {
+            return (long) nearest;
+        }
+        double truncated = scaled < 0 ? Math.ceil(scaled) : Math.floor(scaled);
+        double fraction = Math.abs(scaled - truncated);
+        if (Math.abs(fraction - 0.5) <= DOUBLE_TOLERANCE) {
+            fraction = 0.5;
+        }
+        int signum = scaled > 0 ? 1 : -1;
+        boolean awayFromZero = switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> signum > 0;
+            case FLOOR -> signum < 0;
+            case HALF_UP -> fraction >= 0.5;
+            case HALF_DOWN -> fraction > 0.5;
+            case HALF_EVEN -> fraction > 0.5 || (fraction == 0.5 && ((long) truncated & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return (long) truncated + (awayFromZero ? signum : 0);
+    }
+}
@@ -0,0 +1,103 @@
+package com.mikejacks.international_currency_converter.landedcost.repository;
+
+import com.mikejacks.international_currency_converter.landedcost.entity.Country;
+import com.mikejacks.international_currency_converter.util.EntityIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for inserting or updating many countries at once, keyed by country code.
+ *
+ * <p>Each chunk of {@code landedcost.upsert.chunk-size} countries is written with a single
+ * {@code INSERT ... ON CONFLICT (code) DO UPDATE} statement whose rows are passed as one array parameter per column
+ * and expanded with {@code unnest}. A chunk therefore costs one round trip and one statement regardless of how many of
+ * its countries already exist, instead of a lookup and a save per country, and the statement text is the same for
+ * every chunk size.</p>
+ *
+ * <p>Countries written here bypass the persistence context. IDs of new countries are generated with
+ * {@link EntityIdGenerator}, honouring the same {@code app.id.uuid-version} setting as entities saved through
+ * Hibernate; existing countries keep their ID.</p>
+ */
+@Repository
+public class CountryBatchRepository {
+    private static final String UPSERT_COUNTRIES = """
+            INSERT INTO country (id, name, code, duty_rate, tax_rate)
+            SELECT * FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::float8[], ?::float8[])
+            ON CONFLICT (code) DO UPDATE
+            SET name = EXCLUDED.name, duty_rate = EXCLUDED.duty_rate, tax_rate = EXCLUDED.tax_rate
+            RETURNING id, name, code, duty_rate, tax_rate""";
+
+    private static final RowMapper<Country> COUNTRY_ROW_MAPPER = (resultSet, rowNumber) -> new Country(
+            resultSet.getObject("id", UUID.class),
+            resultSet.getString("name"),
+            resultSet.getString("code"),
+            resultSet.getObject("duty_rate", Double.class),
+            resultSet.getObject("tax_rate", Double.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final boolean timeOrderedIds;
+
+    /**
+     * Constructs a new {@code CountryBatchRepository} using the specified {@code JdbcTemplate}.
+     *
+     * @param jdbcTemplate The template used to execute the upserts.
+     * @param chunkSize The number of countries written per statement.
+     * @param uuidVersion The UUID version of generated IDs: 7 (time-ordered) or 4 (random).
+     * @throws IllegalArgumentException if the chunk size is less than 1, or the UUID version is neither 4 nor 7.
+     */
+    @Autowired
+    public CountryBatchRepository(JdbcTemplate jdbcTemplate,
+                                  @Value("${landedcost.upsert.chunk-size:1000}") int chunkSize,
+                                  @Value("${spring.jpa.properties." + EntityIdGenerator.UUID_VERSION_SETTING + ":7}") String uuidVersion) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.timeOrderedIds = EntityIdGenerator.isTimeOrdered(uuidVersion);
+    }
+
+    /**
+     * Generates the ID a country gets if it does not exist yet.
+     *
+     * @return A new country ID.
+     */
+    public UUID nextId() {
+        return EntityIdGenerator.newId(timeOrderedIds);
+    }
+
+    /**
+     * Inserts the specified countries, or updates the name, duty rate and tax rate of those whose code already exists,
+     * in a single transaction.
+     *
+     * @param countries The countries to write, with distinct codes.
+     * @return The written countries as stored, with the ID of the existing country for every updated code.
+     */
+    @Transactional
+    public List<Country> upsertAll(List<Country> countries) {
+        List<Country> upserted = new ArrayList<>(countries.size());
+        for (int from = 0; from < countries.size(); from += chunkSize) {
+            List<Country> chunk = countries.subList(from, Math.min(from + chunkSize, countries.size()));
+            upserted.addAll(jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(UPSERT_COUNTRIES);
+                statement.setArray(1, connection.createArrayOf("uuid", chunk.stream().map(Country::getId).toArray()));
+                statement.setArray(2, connection.createArrayOf("varchar", chunk.stream().map(Country::getName).toArray()));
+                statement.setArray(3, connection.createArrayOf("varchar", chunk.stream().map(Country::getCode).toArray()));
+                statement.setArray(4, connection.createArrayOf("float8", chunk.stream().map(Country::getDutyRate).toArray()));
+                statement.setArray(5, connection.createArrayOf("float8", chunk.stream().map(Country::getTaxRate).toArray()));
+                return statement;
+            }, COUNTRY_ROW_MAPPER));
+        }
+        return upserted;
+    }
+}
@@ -1,8 +1,11 @@
 package com.mikejacks.international_currency_converter.landedcost.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.mikejacks.international_currency_converter.landedcost.entity.Country;
@@ -38,4 +41,32 @@ public interface CountryRepository extends JpaRepository<Country, UUID> {
      */
     Optional<Country> findCountryByCode(String code);
 
+    /**
+     * Finds the countries with any of the specified codes.
+     *
+     * @param codes The codes of the countries.
+     * @return A list of the found countries, which is empty if no country is found.
+     */
+    List<Country> findCountriesByCodeIn(Collection<String> codes);
+
+    /**
+     * Finds the first countries in ID order.
+     *
+     * @param limit The maximum number of countries to find.
+     * @return A list of at most {@code limit} countries, ordered by ID.
+     */
+    List<Country> findAllByOrderByIdAsc(Limit limit);
+
+    /**
+     * Finds the countries following the specified ID in ID order.
+     *
+     * <p>The query starts at the specified ID in the primary-key index, so its cost does not depend on how many
+     * countries precede it.</p>
+     *
+     * @param id The ID after which to start, exclusive.
+     * @param limit The maximum number of countries to find.
+     * @return A list of at most {@code limit} countries with an ID greater than the specified ID, ordered by ID.
+     */
+    List<Country> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
 }
@@ -0,0 +1,78 @@
+package com.mikejacks.international_currency_converter.landedcost.repository;
+
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.util.EntityIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for writing many products at once through JDBC batches.
+ *
+ * <p>Saving products one at a time through {@code ProductRepository} costs a round trip per product, and because new
+ * products already carry an ID, Spring Data merges them, which adds a select per product. This class instead sends
+ * plain inserts in JDBC batches of {@code landedcost.import.batch-size} rows. With the {@code reWriteBatchedInserts}
+ * driver property the Postgres driver rewrites each batch into multi-row inserts.</p>
+ *
+ * <p>Products written here bypass the persistence context, so IDs are generated with {@link EntityIdGenerator}
+ * directly, honouring the same {@code app.id.uuid-version} setting as entities saved through Hibernate.</p>
+ */
+@Repository
+public class ProductBatchRepository {
+    private static final String INSERT_PRODUCT = "INSERT INTO product (id, name, price, currency_code) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final boolean timeOrderedIds;
+
+    /**
+     * Constructs a new {@code ProductBatchRepository} using the specified {@code JdbcTemplate}.
+     *
+     * @param jdbcTemplate The template used to execute the batches.
+     * @param batchSize The number of inserts sent to the database per JDBC batch.
+     * @param uuidVersion The UUID version of generated IDs: 7 (time-ordered) or 4 (random).
+     * @throws IllegalArgumentException if the batch size is less than 1, or the UUID version is neither 4 nor 7.
+     */
+    @Autowired
+    public ProductBatchRepository(JdbcTemplate jdbcTemplate,
+                                  @Value("${landedcost.import.batch-size:1000}") int batchSize,
+                                  @Value("${spring.jpa.properties." + EntityIdGenerator.UUID_VERSION_SETTING + ":7}") String uuidVersion) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.timeOrderedIds = EntityIdGenerator.isTimeOrdered(uuidVersion);
+    }
+
+    /**
+     * Generates the ID of a new product.
+     *
+     * @return A new product ID.
+     */
+    public UUID nextId() {
+        return EntityIdGenerator.newId(timeOrderedIds);
+    }
+
+    /**
+     * Inserts the specified products in a single transaction.
+     *
+     * <p>Either all of the products are inserted or, if any insert fails, none of them.</p>
+     *
+     * @param products The products to insert, with their IDs already assigned.
+     */
+    @Transactional
+    public void insertAll(List<Product> products) {
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, products, batchSize, (statement, product) -> {
+            statement.setObject(1, product.getId());
+            statement.setString(2, product.getName());
+            statement.setDouble(3, product.getPrice());
+            statement.setString(4, product.getCurrencyCode());
+        });
+    }
+}
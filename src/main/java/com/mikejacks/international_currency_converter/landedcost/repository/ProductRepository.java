@@ -3,8 +3,15 @@ package com.mikejacks.international_currency_converter.landedcost.repository;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.mikejacks.international_currency_converter.landedcost.entity.Product;
 
@@ -57,4 +64,104 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
      * @return A list of products with prices between the specified minimum and maximum prices.
      */
     List<Product> findProductsByPriceBetween(Double minPrice, Double maxPrice);
+
+    /**
+     * Finds the products in the specified currency with prices between the specified minimum and maximum prices.
+     *
+     * <p>The query reads a single range of the {@code (currency_code, price)} index.</p>
+     *
+     * @param currencyCode The currency code of the products to find.
+     * @param minPrice The minimum price of the products to find.
+     * @param maxPrice The maximum price of the products to find.
+     * @return A list of products in the specified currency with prices between the specified minimum and maximum prices.
+     */
+    List<Product> findProductsByCurrencyCodeAndPriceBetween(String currencyCode, Double minPrice, Double maxPrice);
+
+    /**
+     * Finds the distinct currency codes of all products.
+     *
+     * <p>The query walks the {@code (currency_code, price)} index with one index probe per distinct currency code,
+     * rather than reading every product, so its cost depends on the number of currencies, not the number of
+     * products.</p>
+     *
+     * @return The distinct currency codes of all products, in ascending order.
+     */
+    @Query(value = """
+            WITH RECURSIVE codes(currency_code) AS (
+                (SELECT currency_code FROM product WHERE currency_code IS NOT NULL ORDER BY currency_code LIMIT 1)
+                UNION ALL
+                SELECT (SELECT p.currency_code FROM product p WHERE p.currency_code > c.currency_code ORDER BY p.currency_code LIMIT 1)
+                FROM codes c
+                WHERE c.currency_code IS NOT NULL
+            )
+            SELECT currency_code FROM codes WHERE currency_code IS NOT NULL
+            """, nativeQuery = true)
+    List<String> findDistinctCurrencyCodes();
+
+    /**
+     * Counts the products with prices between the specified minimum and maximum prices.
+     *
+     * @param minPrice The minimum price of the products to count.
+     * @param maxPrice The maximum price of the products to count.
+     * @return The number of products with prices between the specified minimum and maximum prices.
+     */
+    long countByPriceBetween(Double minPrice, Double maxPrice);
+
+    /**
+     * Finds the first products in ID order.
+     *
+     * @param limit The maximum number of products to find.
+     * @return A list of at most {@code limit} products, ordered by ID.
+     */
+    List<Product> findAllByOrderByIdAsc(Limit limit);
+
+    /**
+     * Finds the products following the specified ID in ID order.
+     *
+     * <p>The query starts at the specified ID in the primary-key index, so its cost does not depend on how many
+     * products precede it.</p>
+     *
+     * @param id The ID after which to start, exclusive.
+     * @param limit The maximum number of products to find.
+     * @return A list of at most {@code limit} products with an ID greater than the specified ID, ordered by ID.
+     */
+    List<Product> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
+    /**
+     * Finds the first products in price order, with ties broken by ID.
+     *
+     * @param limit The maximum number of products to find.
+     * @return A list of at most {@code limit} products, ordered by price, then ID.
+     */
+    List<Product> findAllByOrderByPriceAscIdAsc(Limit limit);
+
+    /**
+     * Finds the products following the specified price and ID in price order, with ties broken by ID.
+     *
+     * <p>The {@code price >= :price} bound lets the query start at the specified price in the {@code (price, id)}
+     * index, so its cost does not depend on how many products precede it.</p>
+     *
+     * @param price The price after which to start.
+     * @param id The ID after which to start among products with the specified price, exclusive.
+     * @param limit The maximum number of products to find.
+     * @return A list of at most {@code limit} products following the specified price and ID, ordered by price, then ID.
+     */
+    @Query("select p from Product p where p.price >= :price and (p.price > :price or p.id > :id) order by p.price, p.id")
+    List<Product> findProductsAfterPriceAndId(@Param("price") Double price, @Param("id") UUID id, Limit limit);
+
+    /**
+     * Streams every product using a server-side cursor.
+     *
+     * <p>Rows are fetched from the database in batches of the configured fetch size as the stream is consumed, rather
+     * than loading the whole table at once. The returned entities are read-only. The stream must be consumed inside a
+     * transaction and closed after use.</p>
+     *
+     * @return A stream of all products.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p")
+    Stream<Product> streamAllProducts();
 }
@@ -4,9 +4,12 @@ import com.mikejacks.international_currency_converter.landedcost.entity.Country;
 import com.mikejacks.international_currency_converter.landedcost.model.CountryCreateInput;
 import com.mikejacks.international_currency_converter.landedcost.model.CountryUpdateInput;
 import com.mikejacks.international_currency_converter.landedcost.model.DeleteItemResponse;
+import com.mikejacks.international_currency_converter.pagination.Connection;
 
 import javax.validation.constraints.NotNull;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -19,14 +22,28 @@ public interface CountryService {
     // Query Services
 
     /**
-     * Retrieves a list of all countries.
+     * Retrieves a list of countries, up to the server-enforced list cap.
      *
-     * <p>This method fetches all {@code Country} objects and returns them as a list.</p>
+     * <p>This method fetches {@code Country} objects in ID order and returns them as a list. Clients that need every
+     * country page through {@link #countriesConnection(Integer, String)} instead.</p>
      *
-     * @return A list of all {@code Country} objects.
+     * @return A list of at most {@code pagination.list-cap} {@code Country} objects.
      */
     List<Country> countries();
 
+    /**
+     * Retrieves one page of countries in ID order.
+     *
+     * <p>Pages are read with keyset queries that start at the {@code after} cursor in the primary-key index, so
+     * fetching a page takes the same time however deep it is.</p>
+     *
+     * @param first The number of countries of the page, or {@code null} for the default page size.
+     * @param after The cursor of the country after which the page starts, or {@code null} for the first page.
+     * @return The page of countries.
+     * @throws IllegalArgumentException if {@code first} is out of range, or the cursor is invalid.
+     */
+    Connection<Country> countriesConnection(Integer first, String after);
+
     /**
      * Retrieves a country based on the specified criteria.
      *
@@ -41,6 +58,22 @@ public interface CountryService {
      */
     Country country(UUID countryId, String name, String code);
 
+    /**
+     * Retrieves the countries with the specified IDs.
+     *
+     * @param countryIds The IDs of the countries to retrieve. Must not be null.
+     * @return A map of the found {@code Country} objects by ID. IDs that do not match a country are absent.
+     */
+    Map<UUID, Country> countriesByIds(@NotNull Collection<UUID> countryIds);
+
+    /**
+     * Retrieves the countries with the specified codes.
+     *
+     * @param codes The codes of the countries to retrieve. Must not be null.
+     * @return A map of the found {@code Country} objects by code. Codes that do not match a country are absent.
+     */
+    Map<String, Country> countriesByCodes(@NotNull Collection<String> codes);
+
     // Mutation Services
 
     /**
@@ -54,6 +87,17 @@ public interface CountryService {
      */
     Country addCountry(@NotNull CountryCreateInput countryCreateInput);
 
+    /**
+     * Adds or updates many countries at once, keyed by country code.
+     *
+     * <p>A country whose code already exists has its name, duty rate and tax rate replaced and keeps its ID; any other
+     * country is added. If a code appears more than once, its last occurrence wins.</p>
+     *
+     * @param countries The {@code CountryCreateInput} objects of the countries to add or update.
+     * @return The added and updated {@code Country} objects, one per distinct code, in the order of their first occurrence.
+     */
+    List<Country> upsertCountries(@NotNull List<CountryCreateInput> countries);
+
     /**
      * Updates an existing country's details by its ID or name.
      *
@@ -2,7 +2,10 @@ package com.mikejacks.international_currency_converter.landedcost.service;
 
 import com.mikejacks.international_currency_converter.landedcost.model.LandedCost;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Service interface for calculating landed costs.
@@ -26,4 +29,45 @@ public interface LandedCostService {
      * @return The {@code LandedCost} object containing the calculated total cost.
      */
     LandedCost calculateLandedCost(UUID productId, UUID countryId, String targetCurrencyCode, String baseCurrencyCode);
+
+    /**
+     * Calculates the landed cost of a product when shipped to a specific country without blocking the caller.
+     *
+     * <p>This method performs the same calculation as
+     * {@link #calculateLandedCost(UUID, UUID, String, String)}, but returns immediately. The product lookup,
+     * country lookup and currency conversion rate fetch run concurrently, so the result is available as soon as the
+     * slowest of the three completes.</p>
+     *
+     * @param productId The UUID of the product for which the landed cost is being calculated. Must not be null.
+     * @param countryId The UUID of the country to which the product is being shipped. Must not be null.
+     * @param targetCurrencyCode The currency code in which the landed cost is to be calculated. Must not be null.
+     * @param baseCurrencyCode The base currency code used for conversion. Must not be null.
+     * @return A {@code CompletableFuture} completed with the {@code LandedCost} object containing the calculated total cost.
+     */
+    CompletableFuture<LandedCost> calculateLandedCostAsync(UUID productId, UUID countryId, String targetCurrencyCode, String baseCurrencyCode);
+
+    /**
+     * Calculates the landed cost of every combination of the specified products, countries and target currencies.
+     *
+     * <p>Each product's price is converted from the product's own currency code. The result contains one
+     * {@code LandedCost} per product, country and target currency combination, identified by its product ID,
+     * country ID and currency codes.</p>
+     *
+     * @param productIds The UUIDs of the products for which the landed costs are being calculated. Must not be null.
+     * @param countryIds The UUIDs of the countries to which the products are being shipped. Must not be null.
+     * @param targetCurrencyCodes The currency codes in which the landed costs are to be calculated. Must not be null.
+     * @return A list of {@code LandedCost} objects, one for each product, country and target currency combination.
+     */
+    List<LandedCost> calculateLandedCosts(List<UUID> productIds, List<UUID> countryIds, List<String> targetCurrencyCodes);
+
+    /**
+     * Calculates the landed cost of every product against every country and passes each result to a consumer.
+     *
+     * <p>Results are produced incrementally while the product catalog is read, so memory use does not grow with the
+     * size of the catalog. Each product's price is converted from the product's own currency code.</p>
+     *
+     * @param targetCurrencyCode The currency code in which the landed costs are to be calculated. Must not be null.
+     * @param consumer The consumer each calculated {@code LandedCost} is passed to, in catalog order. Must not be null.
+     */
+    void streamLandedCosts(String targetCurrencyCode, Consumer<LandedCost> consumer);
 }
@@ -3,11 +3,19 @@ package com.mikejacks.international_currency_converter.landedcost.service;
 import com.mikejacks.international_currency_converter.landedcost.entity.Product;
 import com.mikejacks.international_currency_converter.landedcost.model.DeleteItemResponse;
 import com.mikejacks.international_currency_converter.landedcost.model.ProductCreateInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportResult;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductOrder;
 import com.mikejacks.international_currency_converter.landedcost.model.ProductUpdateInput;
+import com.mikejacks.international_currency_converter.pagination.Connection;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service interface for managing products.
@@ -19,12 +27,29 @@ public interface ProductService {
     // Query Services
 
     /**
-     * Retrieves a list of all products.
+     * Retrieves a list of products, up to the server-enforced list cap.
      *
-     * @return A list of all {@code Product} objects.
+     * <p>Products are returned in ID order. Clients that need every product page through
+     * {@link #productsConnection(Integer, String, ProductOrder)} instead.</p>
+     *
+     * @return A list of at most {@code pagination.list-cap} {@code Product} objects.
      */
     List<Product> products();
 
+    /**
+     * Retrieves one page of products in the specified order.
+     *
+     * <p>Pages are read with keyset queries that start at the {@code after} cursor in the index, so fetching a page
+     * takes the same time however deep it is.</p>
+     *
+     * @param first The number of products of the page, or {@code null} for the default page size.
+     * @param after The cursor of the product after which the page starts, or {@code null} for the first page.
+     * @param orderBy The order of the products, or {@code null} for ID order.
+     * @return The page of products.
+     * @throws IllegalArgumentException if {@code first} is out of range, or the cursor is invalid for the order.
+     */
+    Connection<Product> productsConnection(Integer first, String after, ProductOrder orderBy);
+
     /**
      * Retrieves a product based on the specified ID or name.
      *
@@ -50,6 +75,17 @@ public interface ProductService {
      */
     Product productById(@NotNull UUID id);
 
+    /**
+     * Retrieves the products with the specified IDs.
+     *
+     * <p>This method fetches all matching {@code Product} objects from the repository with a single query. IDs that do
+     * not match a product are absent from the returned map.</p>
+     *
+     * @param ids The IDs of the products to retrieve. Must not be null.
+     * @return A map of the found {@code Product} objects by ID.
+     */
+    Map<UUID, Product> productsByIds(@NotNull Collection<UUID> ids);
+
     /**
      * Retrieves a product based on the specified name.
      *
@@ -95,6 +131,31 @@ public interface ProductService {
      */
     List<Product> productsByPriceBetween(@NotNull Double minPrice, @NotNull Double maxPrice);
 
+    /**
+     * Retrieves a list of products whose prices, converted to the specified currency, are between the specified
+     * minimum and maximum prices.
+     *
+     * <p>Unlike {@link #productsByPriceBetween(Double, Double)}, which compares the raw price of each product
+     * regardless of its currency, this method compares every price in the specified reference currency at current
+     * conversion rates.</p>
+     *
+     * @param minPrice The minimum price, in the reference currency, of the products to retrieve. Must not be null.
+     * @param maxPrice The maximum price, in the reference currency, of the products to retrieve. Must not be null.
+     * @param currencyCode The code of the reference currency. Must not be null.
+     * @return A list of {@code Product} objects ordered by their price in the reference currency.
+     * @throws RuntimeException if the conversion rate of a product currency could not be resolved.
+     */
+    List<Product> productsByConvertedPriceBetween(@NotNull Double minPrice, @NotNull Double maxPrice, @NotNull String currencyCode);
+
+    /**
+     * Counts the products with prices between the specified minimum and maximum prices.
+     *
+     * @param minPrice The minimum price of the products to count. Must not be null.
+     * @param maxPrice The maximum price of the products to count. Must not be null.
+     * @return The number of products with prices between the specified minimum and maximum prices.
+     */
+    long countProductsByPriceBetween(@NotNull Double minPrice, @NotNull Double maxPrice);
+
     // Mutation Services
 
     /**
@@ -108,6 +169,20 @@ public interface ProductService {
      */
     Product addProduct(@NotNull ProductCreateInput productCreateInput);
 
+    /**
+     * Imports many products at once.
+     *
+     * <p>Rows are parsed and validated, and the valid ones are inserted in batches. A row that cannot be parsed, fails
+     * validation or belongs to a batch that could not be inserted is reported as an error of that row, and the import
+     * continues with the next row.</p>
+     *
+     * @param rows The rows to import, read as they are consumed.
+     * @param parser The function that turns a row into a {@code ProductImportInput}, which may throw to reject the row.
+     * @param <T> The type of the rows.
+     * @return The number of imported products and the errors of the rejected rows.
+     */
+    <T> ProductImportResult importProducts(@NotNull Stream<T> rows, @NotNull Function<T, ProductImportInput> parser);
+
     /**
      * Updates an existing product's details by its ID or name.
      *
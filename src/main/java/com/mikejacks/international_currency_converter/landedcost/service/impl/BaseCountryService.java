@@ -1,18 +1,29 @@
 package com.mikejacks.international_currency_converter.landedcost.service.impl;
 
+import com.mikejacks.international_currency_converter.landedcost.cache.LandedCostResultCache;
 import com.mikejacks.international_currency_converter.landedcost.entity.Country;
 import com.mikejacks.international_currency_converter.landedcost.model.CountryCreateInput;
 import com.mikejacks.international_currency_converter.landedcost.model.CountryUpdateInput;
 import com.mikejacks.international_currency_converter.landedcost.model.DeleteItemResponse;
+import com.mikejacks.international_currency_converter.landedcost.repository.CountryBatchRepository;
 import com.mikejacks.international_currency_converter.landedcost.repository.CountryRepository;
 import com.mikejacks.international_currency_converter.landedcost.service.CountryService;
+import com.mikejacks.international_currency_converter.pagination.Connection;
+import com.mikejacks.international_currency_converter.pagination.Cursors;
+import com.mikejacks.international_currency_converter.pagination.PaginationSettings;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import javax.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for handling operations related to countries.
@@ -21,26 +32,54 @@ import java.util.Optional;
 public class BaseCountryService implements CountryService {
 
     private final CountryRepository countryRepository;
+    private final PaginationSettings paginationSettings;
+    private final CountryBatchRepository countryBatchRepository;
+    private final LandedCostResultCache landedCostResultCache;
 
     /**
      * Constructs a new {@code BaseCountryService} with the specified {@code CountryRepository}.
      *
      * @param countryRepository The repository used to handle country data operations.
+     * @param paginationSettings The limits on the number of countries returned by list and connection queries.
+     * @param countryBatchRepository The repository used to upsert many countries at once.
+     * @param landedCostResultCache The cache of landed costs that is invalidated when a country changes.
      */
     @Autowired
-    public BaseCountryService(CountryRepository countryRepository) {
+    public BaseCountryService(CountryRepository countryRepository, PaginationSettings paginationSettings,
+                              CountryBatchRepository countryBatchRepository,
+                              LandedCostResultCache landedCostResultCache) {
         this.countryRepository = countryRepository;
+        this.paginationSettings = paginationSettings;
+        this.countryBatchRepository = countryBatchRepository;
+        this.landedCostResultCache = landedCostResultCache;
     }
 
     // Query Services
 
     /**
-     * Retrieves a list of all countries.
+     * Retrieves a list of countries, up to the server-enforced list cap.
      *
-     * @return A list of all {@code Country} objects.
+     * @return A list of at most {@code pagination.list-cap} {@code Country} objects, ordered by ID.
      */
     @Override public List<Country> countries() {
-        return countryRepository.findAll();
+        return countryRepository.findAllByOrderByIdAsc(Limit.of(paginationSettings.listCap()));
+    }
+
+    /**
+     * Retrieves one page of countries in ID order.
+     *
+     * @param first The number of countries of the page, or {@code null} for the default page size.
+     * @param after The cursor of the country after which the page starts, or {@code null} for the first page.
+     * @return The page of countries.
+     * @throws IllegalArgumentException if {@code first} is out of range, or the cursor is invalid.
+     */
+    @Override public Connection<Country> countriesConnection(Integer first, String after) {
+        int pageSize = paginationSettings.pageSize(first);
+        UUID afterId = Cursors.decodeId(after);
+        List<Country> rows = afterId == null
+                ? countryRepository.findAllByOrderByIdAsc(Limit.of(pageSize + 1))
+                : countryRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        return Cursors.connection(rows, pageSize, after, country -> Cursors.encodeId(country.getId()));
     }
 
     /**
@@ -69,6 +108,33 @@ public class BaseCountryService implements CountryService {
         }
     }
 
+    /**
+     * Retrieves the countries with the specified IDs.
+     *
+     * <p>This method fetches all matching {@code Country} objects from the repository with a single {@code IN (...)}
+     * query.</p>
+     *
+     * @param countryIds The UUIDs of the countries to retrieve.
+     * @return A map of the found {@code Country} objects by ID. IDs that do not match a country are absent.
+     */
+    @Override public Map<UUID, Country> countriesByIds(@NotNull final Collection<UUID> countryIds) {
+        return countryRepository.findAllById(countryIds).stream().collect(Collectors.toMap(Country::getId, Function.identity()));
+    }
+
+    /**
+     * Retrieves the countries with the specified codes.
+     *
+     * <p>This method fetches all matching {@code Country} objects from the repository with a single {@code IN (...)}
+     * query. If several countries share a code, the first one found is returned for it.</p>
+     *
+     * @param codes The codes of the countries to retrieve.
+     * @return A map of the found {@code Country} objects by code. Codes that do not match a country are absent.
+     */
+    @Override public Map<String, Country> countriesByCodes(@NotNull final Collection<String> codes) {
+        return countryRepository.findCountriesByCodeIn(codes).stream()
+                .collect(Collectors.toMap(Country::getCode, Function.identity(), (first, second) -> first));
+    }
+
     // Mutation Services
 
     /**
@@ -78,7 +144,6 @@ public class BaseCountryService implements CountryService {
      * @return The newly added {@code Country} object.
      */
     @Override public Country addCountry(@NotNull final CountryCreateInput countryCreateInput) {
-        System.out.println("Adding country: " + countryCreateInput);
         Country newCountry = new Country(
                 countryCreateInput.getName(),
                 countryCreateInput.getCode(),
@@ -86,10 +151,36 @@ public class BaseCountryService implements CountryService {
                 countryCreateInput.getTaxRate()
         );
         Country savedCountry = countryRepository.save(newCountry);
-        System.out.println("Country saved: " + savedCountry);
         return savedCountry;
     }
 
+    /**
+     * Adds or updates many countries at once, keyed by country code.
+     *
+     * <p>Every input is validated before anything is written. The countries are then written by the
+     * {@code CountryBatchRepository} with one {@code INSERT ... ON CONFLICT (code)} statement per chunk, in a single
+     * transaction, so either every country is written or none is. No country is read beforehand to decide between an
+     * insert and an update. The landed costs of the written countries are then discarded from the result cache.</p>
+     *
+     * @param countries The {@code CountryCreateInput} objects of the countries to add or update.
+     * @return The added and updated {@code Country} objects, one per distinct code, in the order of their first occurrence.
+     * @throws IllegalArgumentException if any input has an invalid code.
+     */
+    @Override public List<Country> upsertCountries(@NotNull List<CountryCreateInput> countries) {
+        Map<String, Country> countriesByCode = new LinkedHashMap<>();
+        for (CountryCreateInput input : countries) {
+            Country country = new Country(countryBatchRepository.nextId(), input.getName(), input.getCode(), input.getDutyRate(), input.getTaxRate());
+            countriesByCode.put(country.getCode(), country);
+        }
+        if (countriesByCode.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Country> upserted = countryBatchRepository.upsertAll(List.copyOf(countriesByCode.values())).stream()
+                .collect(Collectors.toMap(Country::getCode, Function.identity()));
+        landedCostResultCache.invalidateCountries(upserted.values().stream().map(Country::getId).toList());
+        return countriesByCode.keySet().stream().map(upserted::get).toList();
+    }
+
     /**
      * Updates an existing country based on the provided ID or name with the provided input data.
      *
@@ -121,7 +212,9 @@ public class BaseCountryService implements CountryService {
         if (country.getTaxRate() != null) {
             existingCountry.setTaxRate(country.getTaxRate());
         }
-        return countryRepository.save(existingCountry);
+        Country savedCountry = countryRepository.save(existingCountry);
+        landedCostResultCache.invalidateCountries(List.of(savedCountry.getId()));
+        return savedCountry;
     }
 
     /**
@@ -139,6 +232,7 @@ public class BaseCountryService implements CountryService {
        }
        Country existingCountry = existingCountryOptional.get();
        countryRepository.delete(existingCountry);
+       landedCostResultCache.invalidateCountries(List.of(countryId));
        return new DeleteItemResponse(true, String.format("'%s' has been successfully deleted.", existingCountry.getName()), countryId);
     }
 }
@@ -1,18 +1,44 @@
 package com.mikejacks.international_currency_converter.landedcost.service.impl;
 
+import com.mikejacks.international_currency_converter.landedcost.cache.LandedCostResultCache;
 import com.mikejacks.international_currency_converter.landedcost.entity.Country;
 import com.mikejacks.international_currency_converter.landedcost.entity.Product;
 import com.mikejacks.international_currency_converter.landedcost.model.LandedCost;
+import com.mikejacks.international_currency_converter.landedcost.money.MoneyMath;
 import com.mikejacks.international_currency_converter.landedcost.service.LandedCostService;
 import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 
-import com.mikejacks.international_currency_converter.landedcost.client.LocalizationGraphQLClient;
+import com.mikejacks.international_currency_converter.landedcost.client.CurrencyRateCache;
 import com.mikejacks.international_currency_converter.landedcost.repository.CountryRepository;
 import com.mikejacks.international_currency_converter.landedcost.repository.ProductRepository;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the {@link LandedCostService} interface for calculating the landed cost of products.
@@ -20,15 +46,28 @@ import java.util.UUID;
  * <p>This service calculates the landed cost of a product, which includes the product price, duty, and tax,
  * converted into a target currency.</p>
  *
- * <p>The service relies on database tables for accessing product and country data, and a GraphQL client
- * for fetching currency conversion rates.</p>
+ * <p>The service relies on database tables for accessing product and country data, and an in-process rate cache
+ * in front of the localization GraphQL client for fetching currency conversion rates.</p>
+ *
+ * <p>Amounts are calculated with {@link MoneyMath} in exact fixed-point minor units of their currency. The price,
+ * duty, tax and converted total are each rounded to the minor unit with the {@code landedcost.money.rounding-mode},
+ * half-even by default, so totals do not drift with floating-point error. Every landed cost is itemized into its
+ * duty, tax, pre-conversion subtotal and applied rate in the same pass.</p>
+ *
+ * <p>Single landed costs are served from the {@link LandedCostResultCache}, which is invalidated when a product,
+ * country or rate they were calculated from changes. The batch and streaming calculations always calculate.</p>
+ *
+ * <p>Every calculation is recorded under the {@code landedcost.calculation} timer, tagged with the {@code operation}
+ * that ran it and its {@code outcome}. The asynchronous calculation is timed until its future completes. Results
+ * served from the result cache are not timed.</p>
  *
  * @see LandedCostService
  * @see LandedCost
  * @see Product
  * @see Country
  * @see Currency
- * @see LocalizationGraphQLClient
+ * @see CurrencyRateCache
+ * @see LandedCostResultCache
  */
 @Service
 public class BaseLandedCostService implements LandedCostService {
@@ -37,32 +76,60 @@ public class BaseLandedCostService implements LandedCostService {
 
     private CountryRepository countryRepository;
 
-    private LocalizationGraphQLClient localizationGraphQLClient;
+    private CurrencyRateCache currencyRateCache;
+
+    private LandedCostResultCache landedCostResultCache;
+
+    private Executor landedCostExecutor;
+
+    private MeterRegistry meterRegistry;
+
+    private Meter.MeterProvider<Timer> calculationTimers;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${landedcost.export.chunk-size:500}")
+    private int exportChunkSize;
+
+    @Value("${landedcost.money.rounding-mode:HALF_EVEN}")
+    private RoundingMode roundingMode = RoundingMode.HALF_EVEN;
 
     /**
-     * Constructs a new {@code BaseLandedCostService} with the specified repositories and GraphQL client.
+     * Constructs a new {@code BaseLandedCostService} with the specified repositories, rate cache and executor.
      *
      * @param productRepository the repository for accessing product data
      * @param countryRepository the repository for accessing country data
-     * @param localizationGraphQLClient the GraphQL client for fetching currency conversion rates
+     * @param currencyRateCache the cache used for fetching currency conversion rates
+     * @param landedCostResultCache the cache single landed costs are served from
+     * @param landedCostExecutor the executor the blocking lookups of the asynchronous pipeline run on
+     * @param meterRegistry the registry the calculation timers are published to
      */
     @Autowired
-    public BaseLandedCostService(ProductRepository productRepository, CountryRepository countryRepository, LocalizationGraphQLClient localizationGraphQLClient) {
+    public BaseLandedCostService(ProductRepository productRepository, CountryRepository countryRepository, CurrencyRateCache currencyRateCache, LandedCostResultCache landedCostResultCache, @Qualifier("landedCostExecutor") Executor landedCostExecutor, MeterRegistry meterRegistry) {
         this.productRepository = productRepository;
         this.countryRepository = countryRepository;
-        this.localizationGraphQLClient = localizationGraphQLClient;
-
+        this.currencyRateCache = currencyRateCache;
+        this.landedCostResultCache = landedCostResultCache;
+        this.landedCostExecutor = landedCostExecutor;
+        this.meterRegistry = meterRegistry;
+        this.calculationTimers = Timer.builder("landedcost.calculation")
+                .description("Time taken to calculate landed costs, including the product, country and rate lookups")
+                .withRegistry(meterRegistry);
     }
 
     /**
      * Calculates the landed cost of a product in a specified country, converting the cost to a target currency.
      *
      * <p>This method retrieves the product and country details based on their UUIDs. It then fetches the currency
-     * conversion rate from the base currency to the target currency using the localizationGraphQLClient. The method
+     * conversion rate from the base currency to the target currency using the currencyRateCache. The method
      * calculates the duty and tax for the product based on the country's duty and tax rates. The total cost is then
      * computed by adding the product price, duty, and tax, and converting this total to the target currency using the
      * conversion rate.</p>
      *
+     * <p>A landed cost already calculated for the same product, country and currency pair is returned from the
+     * landedCostResultCache without recalculating it.</p>
+     *
      * @param productId The UUID of the product for which the landed cost is being calculated.
      * @param countryId The UUID of the country where the product is being imported.
      * @param targetCurrencyCode The currency code to which the cost should be converted.
@@ -71,20 +138,293 @@ public class BaseLandedCostService implements LandedCostService {
      * @throws RuntimeException if the product or country cannot be found.
      */
     @Override public LandedCost calculateLandedCost(UUID productId, UUID countryId, String targetCurrencyCode, String baseCurrencyCode) {
-        Product product = productRepository.findById(productId).orElseThrow(() -> new RuntimeException("Product not found"));
+        LandedCostResultCache.Key key = new LandedCostResultCache.Key(productId, countryId, new CurrencyPair(baseCurrencyCode, targetCurrencyCode));
+        return landedCostResultCache.get(key, () -> timed("calculateLandedCost", () -> {
+            Product product = findProduct(productId);
 
-        Country country = countryRepository.findById(countryId).orElseThrow(() -> new RuntimeException("Country not found"));
+            Country country = findCountry(countryId);
 
-        Currency currency = localizationGraphQLClient.getCurrency(baseCurrencyCode, targetCurrencyCode);
+            Currency currency = currencyRateCache.getCurrency(baseCurrencyCode, targetCurrencyCode);
 
-        Double duty = product.getPrice() * (country.getDutyRate() / 100);
-        Double tax = product.getPrice() * (country.getTaxRate() / 100);
-        Double totalCost = product.getPrice() + duty + tax;
+            return landedCost(product, country, currency);
+        }));
+    }
 
-        Double calculatedTotalCost = totalCost * currency.getConversionRate();
+    /**
+     * Calculates the landed cost of a product in a specified country without blocking the caller.
+     *
+     * <p>This method starts the product lookup and the country lookup on the landedCostExecutor and the conversion
+     * rate fetch through the non-blocking currencyRateCache at the same time. The landed cost is computed once all
+     * three have completed, so the latency is that of the slowest of the three rather than their sum. A landed cost
+     * already calculated, or being calculated, for the same product, country and currency pair is shared through the
+     * landedCostResultCache instead.</p>
+     *
+     * @param productId The UUID of the product for which the landed cost is being calculated.
+     * @param countryId The UUID of the country where the product is being imported.
+     * @param targetCurrencyCode The currency code to which the cost should be converted.
+     * @param baseCurrencyCode The base currency code of the product price.
+     * @return A {@code CompletableFuture} completed with the calculated {@code LandedCost}, or completed exceptionally
+     *         if the product, country or conversion rate cannot be found.
+     */
+    @Override public CompletableFuture<LandedCost> calculateLandedCostAsync(UUID productId, UUID countryId, String targetCurrencyCode, String baseCurrencyCode) {
+        LandedCostResultCache.Key key = new LandedCostResultCache.Key(productId, countryId, new CurrencyPair(baseCurrencyCode, targetCurrencyCode));
+        return landedCostResultCache.getAsync(key, () -> landedCostAsync(productId, countryId, targetCurrencyCode, baseCurrencyCode));
+    }
 
-        return new LandedCost(calculatedTotalCost);
+    /**
+     * Starts the product, country and conversion rate lookups concurrently and calculates the landed cost once all
+     * three have completed.
+     *
+     * @param productId The UUID of the product for which the landed cost is being calculated.
+     * @param countryId The UUID of the country where the product is being imported.
+     * @param targetCurrencyCode The currency code to which the cost should be converted.
+     * @param baseCurrencyCode The base currency code of the product price.
+     * @return A {@code CompletableFuture} completed with the calculated {@code LandedCost}.
+     * @see #calculateLandedCostAsync(UUID, UUID, String, String)
+     */
+    private CompletableFuture<LandedCost> landedCostAsync(UUID productId, UUID countryId, String targetCurrencyCode, String baseCurrencyCode) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<Product> product = CompletableFuture.supplyAsync(() -> findProduct(productId), landedCostExecutor);
+        CompletableFuture<Country> country = CompletableFuture.supplyAsync(() -> findCountry(countryId), landedCostExecutor);
+        CompletableFuture<Currency> currency = currencyRateCache.getCurrencyAsync(baseCurrencyCode, targetCurrencyCode);
+
+        return CompletableFuture.allOf(product, country, currency)
+                .thenApply(ignored -> landedCost(product.join(), country.join(), currency.join()))
+                .whenComplete((landedCost, error) -> sample.stop(calculationTimers.withTags(
+                        "operation", "calculateLandedCostAsync", "outcome", error == null ? "success" : "error")));
     }
 
+    /**
+     * Calculates the landed cost of every combination of the specified products, countries and target currencies.
+     *
+     * <p>This method loads all requested products and countries with one bulk query each. It then resolves every
+     * distinct pair of product currency and target currency once through the currencyRateCache, issuing all rate
+     * lookups concurrently, before computing the whole product, country and target currency matrix in a single pass.
+     * Duplicate IDs and currency codes are only calculated once.</p>
+     *
+     * @param productIds The UUIDs of the products for which the landed costs are being calculated.
+     * @param countryIds The UUIDs of the countries where the products are being imported.
+     * @param targetCurrencyCodes The currency codes to which the costs should be converted.
+     * @return A list of {@code LandedCost} objects, one for each product, country and target currency combination.
+     * @throws RuntimeException if any of the products or countries cannot be found.
+     */
+    @Override public List<LandedCost> calculateLandedCosts(List<UUID> productIds, List<UUID> countryIds, List<String> targetCurrencyCodes) {
+        return timed("calculateLandedCosts", () -> landedCostMatrix(productIds, countryIds, targetCurrencyCodes));
+    }
+
+    /**
+     * Calculates the landed cost of every combination of the specified products, countries and target currencies.
+     *
+     * @param productIds The UUIDs of the products for which the landed costs are being calculated.
+     * @param countryIds The UUIDs of the countries where the products are being imported.
+     * @param targetCurrencyCodes The currency codes to which the costs should be converted.
+     * @return A list of {@code LandedCost} objects, one for each product, country and target currency combination.
+     * @throws RuntimeException if any of the products or countries cannot be found.
+     * @see #calculateLandedCosts(List, List, List)
+     */
+    private List<LandedCost> landedCostMatrix(List<UUID> productIds, List<UUID> countryIds, List<String> targetCurrencyCodes) {
+        Set<UUID> distinctProductIds = new LinkedHashSet<>(productIds);
+        Set<UUID> distinctCountryIds = new LinkedHashSet<>(countryIds);
+        Set<String> distinctTargetCodes = new LinkedHashSet<>();
+        for (String targetCurrencyCode : targetCurrencyCodes) {
+            distinctTargetCodes.add(targetCurrencyCode.trim().toUpperCase());
+        }
+
+        Map<UUID, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(distinctProductIds)) {
+            products.put(product.getId(), product);
+        }
+        Map<UUID, Country> countries = new HashMap<>();
+        for (Country country : countryRepository.findAllById(distinctCountryIds)) {
+            countries.put(country.getId(), country);
+        }
+        for (UUID productId : distinctProductIds) {
+            if (!products.containsKey(productId)) {
+                throw new RuntimeException("Product " + productId + " not found");
+            }
+        }
+        for (UUID countryId : distinctCountryIds) {
+            if (!countries.containsKey(countryId)) {
+                throw new RuntimeException("Country " + countryId + " not found");
+            }
+        }
+
+        Map<CurrencyPair, Currency> rates = resolveRates(products.values(), distinctTargetCodes);
+
+        List<LandedCost> landedCosts = new ArrayList<>(distinctProductIds.size() * distinctCountryIds.size() * distinctTargetCodes.size());
+        for (UUID productId : distinctProductIds) {
+            Product product = products.get(productId);
+            for (UUID countryId : distinctCountryIds) {
+                Country country = countries.get(countryId);
+                for (String targetCode : distinctTargetCodes) {
+                    Currency currency = rates.get(new CurrencyPair(product.getCurrencyCode(), targetCode));
+                    landedCosts.add(landedCost(product, country, currency));
+                }
+            }
+        }
+        return landedCosts;
+    }
 
+    /**
+     * Calculates the landed cost of every product against every country and passes each result to a consumer.
+     *
+     * <p>This method reads the product table through a server-side cursor inside a read-only transaction and processes
+     * it in fixed-size chunks. For each chunk the distinct currency pairs are resolved through the currencyRateCache,
+     * the landed costs are passed to the consumer, and the persistence context is cleared so that processed products
+     * can be garbage collected. Memory use therefore stays flat regardless of the size of the catalog. Countries are
+     * loaded once up front.</p>
+     *
+     * <p>The consumer is called on the calling thread. A consumer that writes to a slow client blocks the cursor,
+     * so no more rows are read than the client can accept.</p>
+     *
+     * @param targetCurrencyCode The currency code to which the costs should be converted.
+     * @param consumer The consumer each calculated {@code LandedCost} is passed to.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamLandedCosts(String targetCurrencyCode, Consumer<LandedCost> consumer) {
+        timed("streamLandedCosts", () -> {
+            exportLandedCosts(targetCurrencyCode, consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Calculates the landed cost of every product against every country, chunk by chunk, and passes each result to a
+     * consumer.
+     *
+     * @param targetCurrencyCode The currency code to which the costs should be converted.
+     * @param consumer The consumer each calculated {@code LandedCost} is passed to.
+     * @see #streamLandedCosts(String, Consumer)
+     */
+    private void exportLandedCosts(String targetCurrencyCode, Consumer<LandedCost> consumer) {
+        Set<String> targetCodes = Set.of(targetCurrencyCode.trim().toUpperCase());
+        List<Country> countries = countryRepository.findAll();
+        List<Product> chunk = new ArrayList<>(exportChunkSize);
+
+        try (Stream<Product> products = productRepository.streamAllProducts()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() >= exportChunkSize || !iterator.hasNext()) {
+                    Map<CurrencyPair, Currency> rates = resolveRates(chunk, targetCodes);
+                    for (Product product : chunk) {
+                        Currency currency = rates.get(new CurrencyPair(product.getCurrencyCode(), targetCurrencyCode));
+                        for (Country country : countries) {
+                            consumer.accept(landedCost(product, country, currency));
+                        }
+                    }
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a calculation and records its duration and outcome under the {@code landedcost.calculation} timer.
+     *
+     * @param operation The name of the operation, used as the {@code operation} tag.
+     * @param calculation The calculation to run.
+     * @param <T> The type of the result of the calculation.
+     * @return The result of the calculation.
+     */
+    private <T> T timed(String operation, Supplier<T> calculation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = calculation.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(calculationTimers.withTags("operation", operation, "outcome", outcome));
+        }
+    }
+
+    /**
+     * Finds a product by its ID.
+     *
+     * @param productId The UUID of the product.
+     * @return The found {@code Product}.
+     * @throws RuntimeException if the product cannot be found.
+     */
+    private Product findProduct(UUID productId) {
+        return productRepository.findById(productId).orElseThrow(() -> new RuntimeException("Product not found"));
+    }
+
+    /**
+     * Finds a country by its ID.
+     *
+     * @param countryId The UUID of the country.
+     * @return The found {@code Country}.
+     * @throws RuntimeException if the country cannot be found.
+     */
+    private Country findCountry(UUID countryId) {
+        return countryRepository.findById(countryId).orElseThrow(() -> new RuntimeException("Country not found"));
+    }
+
+    /**
+     * Resolves the conversion rate of every distinct pair of product currency and target currency.
+     *
+     * <p>All rate lookups are issued concurrently through the currencyRateCache, and each distinct pair is only looked
+     * up once.</p>
+     *
+     * @param products The products whose currency codes are the base currencies.
+     * @param targetCurrencyCodes The target currency codes.
+     * @return A map of each currency pair to its resolved conversion rate.
+     * @throws RuntimeException if a conversion rate could not be resolved.
+     */
+    private Map<CurrencyPair, Currency> resolveRates(Collection<Product> products, Collection<String> targetCurrencyCodes) {
+        Map<CurrencyPair, CompletableFuture<Currency>> pendingRates = new HashMap<>();
+        for (Product product : products) {
+            for (String targetCode : targetCurrencyCodes) {
+                pendingRates.computeIfAbsent(new CurrencyPair(product.getCurrencyCode(), targetCode),
+                        pair -> currencyRateCache.getCurrencyAsync(pair.baseCode(), pair.targetCode()));
+            }
+        }
+        Map<CurrencyPair, Currency> rates = new HashMap<>();
+        for (Map.Entry<CurrencyPair, CompletableFuture<Currency>> pendingRate : pendingRates.entrySet()) {
+            try {
+                rates.put(pendingRate.getKey(), pendingRate.getValue().join());
+            } catch (CompletionException e) {
+                throw new RuntimeException("Unable to resolve conversion rate " + pendingRate.getKey() + ": " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * Computes the itemized landed cost of a product in a country using an already resolved conversion rate.
+     *
+     * <p>The price is taken in minor units of the base currency. The duty and the tax are each a percentage of the
+     * price, rounded to the minor unit of the base currency. Their subtotal with the price is converted to the target
+     * currency and rounded to its minor unit. All rounding uses the configured rounding mode. The duty, the tax, the
+     * subtotal and the applied rate are returned with the total, along with the time the rate was last updated.</p>
+     *
+     * @param product The product being imported.
+     * @param country The country the product is being imported into.
+     * @param currency The conversion rate from the base currency to the target currency.
+     * @return A {@code LandedCost} object containing the calculated total cost in the target currency and its items.
+     * @throws ArithmeticException if an amount is out of range.
+     */
+    private LandedCost landedCost(Product product, Country country, Currency currency) {
+        int baseFractionDigits = MoneyMath.fractionDigits(currency.getBaseCode());
+        int targetFractionDigits = MoneyMath.fractionDigits(currency.getTargetCode());
+
+        long price = MoneyMath.toMinorUnits(product.getPrice(), baseFractionDigits, roundingMode);
+        long duty = MoneyMath.multiply(price, MoneyMath.percentToScaledRate(country.getDutyRate()), roundingMode);
+        long tax = MoneyMath.multiply(price, MoneyMath.percentToScaledRate(country.getTaxRate()), roundingMode);
+        long subtotal = Math.addExact(Math.addExact(price, duty), tax);
+
+        long conversionRate = MoneyMath.toScaledRate(currency.getConversionRate());
+        long calculatedTotalCost = MoneyMath.convert(subtotal, baseFractionDigits, conversionRate, targetFractionDigits, roundingMode);
+
+        return new LandedCost(product.getId(), country.getId(), currency.getBaseCode(), currency.getTargetCode(),
+                MoneyMath.toMajorUnits(calculatedTotalCost, targetFractionDigits),
+                MoneyMath.toMajorUnits(duty, baseFractionDigits),
+                MoneyMath.toMajorUnits(tax, baseFractionDigits),
+                MoneyMath.toMajorUnits(subtotal, baseFractionDigits),
+                MoneyMath.toRate(conversionRate),
+                currency.getRateUpdatedAt());
+    }
 }
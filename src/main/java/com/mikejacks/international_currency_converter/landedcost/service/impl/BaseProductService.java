@@ -1,18 +1,45 @@
 package com.mikejacks.international_currency_converter.landedcost.service.impl;
 
+import com.mikejacks.international_currency_converter.landedcost.cache.LandedCostResultCache;
+import com.mikejacks.international_currency_converter.landedcost.client.CurrencyRateCache;
 import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.index.ProductPriceIndex;
 import com.mikejacks.international_currency_converter.landedcost.model.DeleteItemResponse;
 import com.mikejacks.international_currency_converter.landedcost.model.ProductCreateInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportError;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportResult;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductOrder;
 import com.mikejacks.international_currency_converter.landedcost.model.ProductUpdateInput;
+import com.mikejacks.international_currency_converter.landedcost.repository.ProductBatchRepository;
 import com.mikejacks.international_currency_converter.landedcost.repository.ProductRepository;
 import com.mikejacks.international_currency_converter.landedcost.service.ProductService;
+import com.mikejacks.international_currency_converter.pagination.Connection;
+import com.mikejacks.international_currency_converter.pagination.Cursors;
+import com.mikejacks.international_currency_converter.pagination.PaginationSettings;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing products.
@@ -22,29 +49,87 @@ import java.util.UUID;
  */
 @Service
 public class BaseProductService implements ProductService {
+    private static final Logger logger = Logger.getLogger(BaseProductService.class.getName());
+
     private final ProductRepository productRepository;
+    private final PaginationSettings paginationSettings;
+    private final ProductPriceIndex productPriceIndex;
+    private final CurrencyRateCache currencyRateCache;
+    private final ProductBatchRepository productBatchRepository;
+    private final LandedCostResultCache landedCostResultCache;
+    private final int importChunkSize;
 
     /**
      * Constructs a new {@code BaseProductService} with the specified {@code ProductRepository}.
      *
      * @param productRepository The repository used to handle product data operations.
+     * @param paginationSettings The limits on the number of products returned by list and connection queries.
+     * @param productPriceIndex The in-memory index answering price range queries when it is enabled.
+     * @param currencyRateCache The cache of conversion rates used to compare prices in a reference currency.
+     * @param productBatchRepository The repository used to insert imported products in JDBC batches.
+     * @param landedCostResultCache The cache of landed costs that is invalidated when a product changes.
+     * @param importChunkSize The number of rows of an import that are validated together and inserted in one transaction.
+     * @throws IllegalArgumentException if the import chunk size is less than 1.
      */
     @Autowired
-    public BaseProductService(ProductRepository productRepository) {
+    public BaseProductService(ProductRepository productRepository, PaginationSettings paginationSettings,
+                              ProductPriceIndex productPriceIndex, CurrencyRateCache currencyRateCache,
+                              ProductBatchRepository productBatchRepository,
+                              LandedCostResultCache landedCostResultCache,
+                              @Value("${landedcost.import.chunk-size:5000}") int importChunkSize) {
+        if (importChunkSize < 1) {
+            throw new IllegalArgumentException("importChunkSize must be at least 1");
+        }
         this.productRepository = productRepository;
+        this.paginationSettings = paginationSettings;
+        this.productPriceIndex = productPriceIndex;
+        this.currencyRateCache = currencyRateCache;
+        this.productBatchRepository = productBatchRepository;
+        this.landedCostResultCache = landedCostResultCache;
+        this.importChunkSize = importChunkSize;
     }
 
     // Query Services
 
     /**
-     * Retrieves a list of all products.
+     * Retrieves a list of products, up to the server-enforced list cap.
      *
-     * <p>This method fetches all {@code Product} objects from the repository and returns them as a list.</p>
+     * <p>This method fetches the first {@code pagination.list-cap} {@code Product} objects in ID order from the
+     * repository and returns them as a list.</p>
      *
-     * @return A list of all {@code Product} objects.
+     * @return A list of at most {@code pagination.list-cap} {@code Product} objects.
      */
     @Override public List<Product> products() {
-        return productRepository.findAll();
+        return productRepository.findAllByOrderByIdAsc(Limit.of(paginationSettings.listCap()));
+    }
+
+    /**
+     * Retrieves one page of products in the specified order.
+     *
+     * <p>One more product than requested is read, so that the presence of a next page is known without a count
+     * query.</p>
+     *
+     * @param first The number of products of the page, or {@code null} for the default page size.
+     * @param after The cursor of the product after which the page starts, or {@code null} for the first page.
+     * @param orderBy The order of the products, or {@code null} for ID order.
+     * @return The page of products.
+     * @throws IllegalArgumentException if {@code first} is out of range, or the cursor is invalid for the order.
+     */
+    @Override public Connection<Product> productsConnection(Integer first, String after, ProductOrder orderBy) {
+        int pageSize = paginationSettings.pageSize(first);
+        Limit limit = Limit.of(pageSize + 1);
+        if (orderBy == ProductOrder.PRICE) {
+            Cursors.PriceCursor cursor = Cursors.decodePrice(after);
+            List<Product> rows = cursor == null
+                    ? productRepository.findAllByOrderByPriceAscIdAsc(limit)
+                    : productRepository.findProductsAfterPriceAndId(cursor.price(), cursor.id(), limit);
+            return Cursors.connection(rows, pageSize, after, product -> Cursors.encodePrice(product.getPrice(), product.getId()));
+        }
+        UUID afterId = Cursors.decodeId(after);
+        List<Product> rows = afterId == null
+                ? productRepository.findAllByOrderByIdAsc(limit)
+                : productRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+        return Cursors.connection(rows, pageSize, after, product -> Cursors.encodeId(product.getId()));
     }
 
     /**
@@ -84,6 +169,19 @@ public class BaseProductService implements ProductService {
         return productRepository.findProductById(id).orElse(null);
     }
 
+    /**
+     * Retrieves the products with the specified IDs.
+     *
+     * <p>This method fetches all matching {@code Product} objects from the repository with a single {@code IN (...)}
+     * query. IDs that do not match a product are absent from the returned map.</p>
+     *
+     * @param ids The IDs of the products to retrieve.
+     * @return A map of the found {@code Product} objects by ID.
+     */
+    @Override public Map<UUID, Product> productsByIds(Collection<UUID> ids) {
+        return productRepository.findAllById(ids).stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
     /**
      * Retrieves a product based on the specified product name.
      *
@@ -100,43 +198,148 @@ public class BaseProductService implements ProductService {
     /**
      * Retrieves a list of products with prices less than or equal to the specified maximum price.
      *
-     * <p>This method fetches {@code Product} objects from the repository with prices less than or equal to the specified
-     * maximum price and returns them as a list.</p>
+     * <p>This method fetches {@code Product} objects from the {@code ProductPriceIndex} when it is loaded, and otherwise
+     * from the repository, with prices less than or equal to the specified maximum price and returns them as a list.</p>
      *
      * @param maxPrice The maximum price of the products to retrieve. Must not be null.
      * @return A list of {@code Product} objects with prices less than or equal to the specified maximum price.
      */
     @Override public List<Product> productsByPriceLessThanOrEqualTo(@NotNull Double maxPrice) {
+        if (productPriceIndex.isReady()) {
+            return productPriceIndex.range(null, maxPrice);
+        }
         return productRepository.findProductsByPriceLessThanEqual(maxPrice);
     }
 
     /**
      * Retrieves a list of products with prices greater than or equal to the specified minimum price.
      *
-     * <p>This method fetches {@code Product} objects from the repository with prices greater than or equal to the specified
-     * minimum price and returns them as a list.</p>
+     * <p>This method fetches {@code Product} objects from the {@code ProductPriceIndex} when it is loaded, and otherwise
+     * from the repository, with prices greater than or equal to the specified minimum price and returns them as a list.</p>
      *
      * @param minPrice The minimum price of the products to retrieve. Must not be null.
      * @return A list of {@code Product} objects with prices greater than or equal to the specified minimum price.
      */
     @Override public List<Product> productsByPriceGreaterThanOrEqualTo(@NotNull Double minPrice) {
+        if (productPriceIndex.isReady()) {
+            return productPriceIndex.range(minPrice, null);
+        }
         return productRepository.findProductsByPriceGreaterThanEqual(minPrice);
     }
 
     /**
      * Retrieves a list of products with prices between the specified minimum and maximum prices.
      *
-     * <p>This method fetches {@code Product} objects from the repository with prices between the specified minimum and
-     * maximum prices and returns them as a list.</p>
+     * <p>This method fetches {@code Product} objects from the {@code ProductPriceIndex} when it is loaded, and otherwise
+     * from the repository, with prices between the specified minimum and maximum prices and returns them as a list.</p>
      *
      * @param minPrice The minimum price of the products to retrieve. Must not be null.
      * @param maxPrice The maximum price of the products to retrieve. Must not be null.
      * @return A list of {@code Product} objects with prices between the specified minimum and maximum prices.
      */
     @Override public List<Product> productsByPriceBetween(@NotNull Double minPrice, @NotNull Double maxPrice) {
+        if (productPriceIndex.isReady()) {
+            return productPriceIndex.range(minPrice, maxPrice);
+        }
         return productRepository.findProductsByPriceBetween(minPrice, maxPrice);
     }
 
+    /**
+     * Retrieves a list of products whose prices, converted to the specified currency, are between the specified
+     * minimum and maximum prices.
+     *
+     * <p>Instead of converting the price of every product, this method converts the bounds of the range into each
+     * product currency at the current rate from that currency to the reference currency, and reads one price range
+     * per product currency, from the {@code ProductPriceIndex} when it is loaded and otherwise through the
+     * {@code (currency_code, price)} index. The cost therefore depends on the number of currencies and matching
+     * products, not on the size of the catalog, and a rate change takes effect on the next query without anything
+     * having to be re-indexed. The converted bounds are widened by a few ulps to absorb rounding, and the candidates
+     * are then filtered on their exactly converted price.</p>
+     *
+     * @param minPrice The minimum price, in the reference currency, of the products to retrieve. Must not be null.
+     * @param maxPrice The maximum price, in the reference currency, of the products to retrieve. Must not be null.
+     * @param currencyCode The code of the reference currency. Must not be null.
+     * @return A list of {@code Product} objects ordered by their price in the reference currency, then ID.
+     * @throws RuntimeException if the conversion rate of a product currency could not be resolved, or is not positive.
+     */
+    @Override public List<Product> productsByConvertedPriceBetween(@NotNull Double minPrice, @NotNull Double maxPrice, @NotNull String currencyCode) {
+        if (minPrice > maxPrice) {
+            return List.of();
+        }
+        boolean indexed = productPriceIndex.isReady();
+        Collection<String> productCurrencyCodes = indexed ? productPriceIndex.currencyCodes() : productRepository.findDistinctCurrencyCodes();
+        Map<String, Double> rates = resolveRatesTo(productCurrencyCodes, currencyCode);
+        List<ConvertedProduct> matches = new ArrayList<>();
+        for (Map.Entry<String, Double> rate : rates.entrySet()) {
+            double lowerBound = minPrice / rate.getValue();
+            double upperBound = maxPrice / rate.getValue();
+            lowerBound -= 4 * Math.ulp(lowerBound);
+            upperBound += 4 * Math.ulp(upperBound);
+            List<Product> candidates = indexed
+                    ? productPriceIndex.range(rate.getKey(), lowerBound, upperBound)
+                    : productRepository.findProductsByCurrencyCodeAndPriceBetween(rate.getKey(), lowerBound, upperBound);
+            for (Product candidate : candidates) {
+                double convertedPrice = candidate.getPrice() * rate.getValue();
+                if (convertedPrice >= minPrice && convertedPrice <= maxPrice) {
+                    matches.add(new ConvertedProduct(candidate, convertedPrice));
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(ConvertedProduct::convertedPrice).thenComparing(match -> match.product().getId()));
+        return matches.stream().map(ConvertedProduct::product).toList();
+    }
+
+    /**
+     * Counts the products with prices between the specified minimum and maximum prices.
+     *
+     * <p>When the {@code ProductPriceIndex} is loaded the count is answered with two binary searches, otherwise with a
+     * count query.</p>
+     *
+     * @param minPrice The minimum price of the products to count. Must not be null.
+     * @param maxPrice The maximum price of the products to count. Must not be null.
+     * @return The number of products with prices between the specified minimum and maximum prices.
+     */
+    @Override public long countProductsByPriceBetween(@NotNull Double minPrice, @NotNull Double maxPrice) {
+        if (productPriceIndex.isReady()) {
+            return productPriceIndex.count(minPrice, maxPrice);
+        }
+        return productRepository.countByPriceBetween(minPrice, maxPrice);
+    }
+
+    /**
+     * Resolves the conversion rate from each of the specified currencies to the reference currency.
+     *
+     * <p>All rate lookups are issued concurrently through the {@code CurrencyRateCache}. The rate of the reference
+     * currency to itself is 1.</p>
+     *
+     * @param baseCodes The currency codes to convert from.
+     * @param targetCode The code of the reference currency.
+     * @return A map of each currency code to its conversion rate to the reference currency.
+     * @throws RuntimeException if a conversion rate could not be resolved, or is not positive.
+     */
+    private Map<String, Double> resolveRatesTo(Collection<String> baseCodes, String targetCode) {
+        Map<String, CompletableFuture<Double>> pendingRates = new HashMap<>();
+        for (String baseCode : baseCodes) {
+            pendingRates.put(baseCode, baseCode.equals(targetCode)
+                    ? CompletableFuture.completedFuture(1.0)
+                    : currencyRateCache.getCurrencyAsync(baseCode, targetCode).thenApply(currency -> currency.getConversionRate()));
+        }
+        Map<String, Double> rates = new HashMap<>();
+        for (Map.Entry<String, CompletableFuture<Double>> pendingRate : pendingRates.entrySet()) {
+            Double rate;
+            try {
+                rate = pendingRate.getValue().join();
+            } catch (CompletionException e) {
+                throw new RuntimeException("Unable to resolve conversion rate from " + pendingRate.getKey() + " to " + targetCode + ": " + e.getCause().getMessage(), e.getCause());
+            }
+            if (rate == null || !(rate > 0)) {
+                throw new RuntimeException("Invalid conversion rate from " + pendingRate.getKey() + " to " + targetCode + ": " + rate);
+            }
+            rates.put(pendingRate.getKey(), rate);
+        }
+        return rates;
+    }
+
     // Mutation Services
 
     /**
@@ -150,7 +353,103 @@ public class BaseProductService implements ProductService {
      */
     @Override public Product addProduct(@NotNull ProductCreateInput productCreateInput) {
         Product newProduct = new Product(productCreateInput.getName(), productCreateInput.getPrice(), productCreateInput.getCurrencyCode());
-        return productRepository.save(newProduct);
+        Product savedProduct = productRepository.save(newProduct);
+        productPriceIndex.put(savedProduct);
+        return savedProduct;
+    }
+
+    /**
+     * Imports many products at once.
+     *
+     * <p>The rows are consumed in chunks of {@code landedcost.import.chunk-size}, so only one chunk is held in memory
+     * at a time. The rows of a chunk are parsed and validated in parallel, and its valid products are then inserted
+     * through the {@code ProductBatchRepository} in JDBC batches, in a transaction of their own. If a chunk cannot be
+     * inserted, each of its valid rows is reported as an error and the import continues with the next chunk, so a
+     * failure never rolls back chunks that were already committed.</p>
+     *
+     * <p>When the {@code ProductPriceIndex} is loaded, the imported products are added to it in one copy once every
+     * chunk has been committed.</p>
+     *
+     * @param rows The rows to import, read as they are consumed.
+     * @param parser The function that turns a row into a {@code ProductImportInput}, which may throw to reject the row.
+     * @param <T> The type of the rows.
+     * @return The number of imported products and the errors of the rejected rows, in row order.
+     */
+    @Override public <T> ProductImportResult importProducts(@NotNull Stream<T> rows, @NotNull Function<T, ProductImportInput> parser) {
+        List<ProductImportError> errors = new ArrayList<>();
+        List<Product> indexedProducts = new ArrayList<>();
+        boolean indexed = productPriceIndex.isReady();
+        int importedCount = 0;
+        long rowCount = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            List<T> chunk = new ArrayList<>(importChunkSize);
+            while (chunk.size() < importChunkSize && iterator.hasNext()) {
+                chunk.add(iterator.next());
+            }
+            long firstRow = rowCount + 1;
+            rowCount += chunk.size();
+
+            List<ImportedRow> importedRows = IntStream.range(0, chunk.size())
+                    .parallel()
+                    .mapToObj(i -> importRow(firstRow + i, chunk.get(i), parser))
+                    .toList();
+            List<Product> products = new ArrayList<>(importedRows.size());
+            for (ImportedRow importedRow : importedRows) {
+                if (importedRow.product() != null) {
+                    products.add(importedRow.product());
+                }
+            }
+            if (!products.isEmpty()) {
+                try {
+                    productBatchRepository.insertAll(products);
+                    importedCount += products.size();
+                    if (indexed) {
+                        indexedProducts.addAll(products);
+                    }
+                } catch (DataAccessException e) {
+                    logger.warning("Failed to insert rows " + firstRow + " to " + rowCount + " of a product import: " + e.getMessage());
+                    importedRows = importedRows.stream()
+                            .map(importedRow -> importedRow.product() == null ? importedRow
+                                    : new ImportedRow(importedRow.row(), null, "Batch insert failed: " + e.getMostSpecificCause().getMessage()))
+                            .toList();
+                }
+            }
+            for (ImportedRow importedRow : importedRows) {
+                if (importedRow.error() != null) {
+                    errors.add(new ProductImportError(importedRow.row(), importedRow.error()));
+                }
+            }
+        }
+        productPriceIndex.putAll(indexedProducts);
+        return new ProductImportResult(importedCount, errors);
+    }
+
+    /**
+     * Parses and validates one row of an import.
+     *
+     * @param row The 1-based position of the row.
+     * @param value The row.
+     * @param parser The function that turns the row into a {@code ProductImportInput}.
+     * @param <T> The type of the row.
+     * @return The row with either the product to insert or the reason it was rejected.
+     */
+    private <T> ImportedRow importRow(long row, T value, Function<T, ProductImportInput> parser) {
+        try {
+            ProductImportInput input = parser.apply(value);
+            if (input == null) {
+                throw new IllegalArgumentException("Row is empty");
+            }
+            if (input.getName() == null || input.getName().isBlank()) {
+                throw new IllegalArgumentException("Name must not be blank");
+            }
+            if (input.getPrice() == null || !Double.isFinite(input.getPrice()) || input.getPrice() < 0) {
+                throw new IllegalArgumentException("Price must be a non-negative number");
+            }
+            return new ImportedRow(row, new Product(productBatchRepository.nextId(), input.getName().trim(), input.getPrice(), input.getCurrencyCode()), null);
+        } catch (RuntimeException e) {
+            return new ImportedRow(row, null, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
     }
 
     /**
@@ -158,7 +457,8 @@ public class BaseProductService implements ProductService {
      *
      * <p>This method finds an existing {@code Product} object by its ID or name. If the product exists, it updates its details
      * with the information provided in the {@code ProductUpdateInput} object. If the product does not exist, an {@code IllegalArgumentException}
-     * is thrown. The updated product is then saved to the database and returned.</p>
+     * is thrown. The updated product is then saved to the database and returned, and the landed costs calculated from
+     * it are discarded from the result cache.</p>
      *
      * @param productId The UUID of the product to be updated. Can be null if name is provided.
      * @param name The name of the product to be updated. Can be null if productId is provided.
@@ -183,14 +483,18 @@ public class BaseProductService implements ProductService {
         if (productUpdateInput.getPrice() != null) {
             existingProduct.setPrice(productUpdateInput.getPrice());
         }
-        return productRepository.save(existingProduct);
+        Product savedProduct = productRepository.save(existingProduct);
+        productPriceIndex.put(savedProduct);
+        landedCostResultCache.invalidateProducts(List.of(savedProduct.getId()));
+        return savedProduct;
     }
 
     /**
      * Deletes a product by its ID.
      *
      * <p>This method attempts to find a {@code Product} object by its ID. If the product is found, it is deleted from the
-     * repository. If the product is not found, a {@code DeleteItemResponse} indicating failure is returned.</p>
+     * repository and its landed costs are discarded from the result cache. If the product is not found, a
+     * {@code DeleteItemResponse} indicating failure is returned.</p>
      *
      * @param productId The UUID of the product to be deleted. Must not be null.
      * @return A {@code DeleteItemResponse} indicating the success or failure of the deletion operation.
@@ -204,6 +508,27 @@ public class BaseProductService implements ProductService {
        }
        Product existingProduct = productOptional.get();
        productRepository.delete(existingProduct);
+       productPriceIndex.remove(productId);
+       landedCostResultCache.invalidateProducts(List.of(productId));
        return new DeleteItemResponse(true, String.format("product %s successfully deleted", existingProduct.getName()),productId);
     }
+
+    /**
+     * A product together with its price in a reference currency.
+     *
+     * @param product The product.
+     * @param convertedPrice The price of the product in the reference currency.
+     */
+    private record ConvertedProduct(Product product, double convertedPrice) {
+    }
+
+    /**
+     * One parsed and validated row of an import.
+     *
+     * @param row The 1-based position of the row.
+     * @param product The product to insert, or {@code null} if the row was rejected.
+     * @param error The reason the row was rejected, or {@code null} if it was not.
+     */
+    private record ImportedRow(long row, Product product, String error) {
+    }
 }
@@ -0,0 +1,228 @@
+package com.mikejacks.international_currency_converter.localization.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Client for fetching live currency conversion rates from the FreecurrencyAPI.
+ *
+ * <p>This class holds a single {@code HttpClient} for the lifetime of the application, so connections to the API are
+ * pooled and reused across rate refreshes instead of being opened for every request. Every request is bounded by a
+ * connect and a request timeout. Failed requests caused by I/O errors, timeouts, rate limiting or server errors are
+ * retried with exponential backoff and full jitter, so that concurrent refreshes do not retry in lockstep.</p>
+ *
+ * <p>The response body is read with a streaming JSON parser. Only the rates of the requested target currencies are
+ * extracted from the {@code data} object, and the rest of the document is skipped without being materialized.</p>
+ *
+ * <p>Every attempt is recorded under the {@code localization.live-rates.requests} timer, tagged with the HTTP
+ * {@code status} of the response, or {@code IO_ERROR} if no response arrived, so retries show up as separate
+ * samples.</p>
+ */
+@Component
+public class LiveRateFetcher {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final HttpClient httpClient;
+    private final String apiUrlHost;
+    private final String apiKey;
+    private final Duration requestTimeout;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final MeterRegistry meterRegistry;
+    private final Meter.MeterProvider<Timer> requestTimers;
+
+    /**
+     * Constructs a new {@code LiveRateFetcher} for the specified API host and key.
+     *
+     * @param apiUrlHost The URL of the latest-rates endpoint, up to and including the {@code apikey=} parameter.
+     * @param apiKey The FreecurrencyAPI key.
+     * @param connectTimeout How long to wait for a connection to be established.
+     * @param requestTimeout How long to wait for a response to each request.
+     * @param maxAttempts The maximum number of attempts per fetch, including the first.
+     * @param initialBackoff The upper bound of the delay before the first retry.
+     * @param maxBackoff The upper bound of the delay before any retry.
+     * @param meterRegistry The registry the request timers are published to.
+     */
+    @Autowired
+    public LiveRateFetcher(@Value("${FREECURRENCY_API_URL_HOST}") String apiUrlHost,
+                           @Value("${FREECURRENCY_API_KEY}") String apiKey,
+                           @Value("${localization.live-rates.connect-timeout:2s}") Duration connectTimeout,
+                           @Value("${localization.live-rates.request-timeout:5s}") Duration requestTimeout,
+                           @Value("${localization.live-rates.max-attempts:3}") int maxAttempts,
+                           @Value("${localization.live-rates.initial-backoff:200ms}") Duration initialBackoff,
+                           @Value("${localization.live-rates.max-backoff:2s}") Duration maxBackoff,
+                           MeterRegistry meterRegistry) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.apiUrlHost = apiUrlHost;
+        this.apiKey = apiKey;
+        this.requestTimeout = requestTimeout;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.meterRegistry = meterRegistry;
+        this.requestTimers = Timer.builder("localization.live-rates.requests")
+                .description("Time taken by one request attempt to the FreecurrencyAPI")
+                .withRegistry(meterRegistry);
+    }
+
+    /**
+     * Fetches the live conversion rate from the specified base currency to the specified target currency.
+     *
+     * @param baseCode The base currency code.
+     * @param targetCode The target currency code.
+     * @return The live conversion rate.
+     * @throws RuntimeException if the rate could not be fetched after all attempts.
+     */
+    public double fetchRate(String baseCode, String targetCode) {
+        return fetchRates(baseCode, List.of(targetCode)).get(targetCode);
+    }
+
+    /**
+     * Fetches the live conversion rates from the specified base currency to each of the specified target currencies in
+     * a single request.
+     *
+     * @param baseCode The base currency code.
+     * @param targetCodes The target currency codes.
+     * @return A map of each target currency code to its live conversion rate.
+     * @throws RuntimeException if the rates could not be fetched after all attempts, or if the response is missing the
+     *         rate of any requested target currency.
+     */
+    public Map<String, Double> fetchRates(String baseCode, Collection<String> targetCodes) {
+        Set<String> targets = new LinkedHashSet<>(targetCodes);
+        if (targets.isEmpty()) {
+            return Map.of();
+        }
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(apiUrlHost + apiKey + "&base_currency=" + baseCode + "&currencies=" + String.join(",", targets)))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        for (int attempt = 1; ; attempt++) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String status = "IO_ERROR";
+            try {
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                try (InputStream body = response.body()) {
+                    int statusCode = response.statusCode();
+                    status = Integer.toString(statusCode);
+                    if (statusCode == 200) {
+                        return parseRates(body, targets, baseCode);
+                    }
+                    if (!isRetryable(statusCode) || attempt == maxAttempts) {
+                        throw new RuntimeException("Failed to fetch live rates for " + baseCode + ": HTTP error code : " + statusCode);
+                    }
+                }
+            } catch (IOException e) {
+                if (attempt == maxAttempts) {
+                    throw new RuntimeException("Failed to fetch live rates for " + baseCode + " after " + attempt + " attempts: " + e.getMessage(), e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while fetching live rates for " + baseCode, e);
+            } finally {
+                sample.stop(requestTimers.withTags("status", status));
+            }
+            backOff(attempt);
+        }
+    }
+
+    /**
+     * Reads the rates of the specified target currencies from the {@code data} object of a response body.
+     *
+     * @param body The response body.
+     * @param targets The target currency codes to read.
+     * @param baseCode The base currency code, used in error messages.
+     * @return A map of each target currency code to its conversion rate.
+     * @throws IOException If the body is not valid JSON.
+     * @throws RuntimeException if the response is missing the rate of any requested target currency.
+     */
+    private static Map<String, Double> parseRates(InputStream body, Set<String> targets, String baseCode) throws IOException {
+        Map<String, Double> rates = new HashMap<>(targets.size() * 2);
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new RuntimeException("Unexpected live rates response for " + baseCode);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"data".equals(field) || value != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String code = parser.currentName();
+                    JsonToken rate = parser.nextToken();
+                    if (targets.contains(code) && rate.isNumeric()) {
+                        rates.put(code, parser.getDoubleValue());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                break;
+            }
+        }
+        for (String target : targets) {
+            if (!rates.containsKey(target)) {
+                throw new RuntimeException("Live rates response for " + baseCode + " has no rate for " + target);
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * Returns whether a request that failed with the specified status code may succeed when retried.
+     *
+     * @param statusCode The HTTP status code of the failed request.
+     * @return {@code true} for rate limiting and server errors, otherwise {@code false}.
+     */
+    private static boolean isRetryable(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    /**
+     * Sleeps for a random delay between zero and an exponentially growing bound before the next attempt.
+     *
+     * @param attempt The number of the attempt that just failed.
+     * @throws RuntimeException if the thread is interrupted while sleeping.
+     */
+    private void backOff(int attempt) {
+        long bound = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while backing off before retrying a live rates request", e);
+        }
+    }
+}
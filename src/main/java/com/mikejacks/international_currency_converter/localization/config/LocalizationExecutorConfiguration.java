@@ -0,0 +1,35 @@
+package com.mikejacks.international_currency_converter.localization.config;
+
+import com.mikejacks.international_currency_converter.util.BlockingTaskExecutors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * Configuration of the executor used to run blocking localization lookups off the GraphQL execution thread.
+ *
+ * <p>This class defines the {@code localizationExecutor}, on which the currency data loader runs its batched
+ * repository queries. The executor is created by {@link BlockingTaskExecutors}, like the
+ * {@code landedCostExecutor}, but has its own threads so that currency lookups are not queued behind landed-cost
+ * lookups.</p>
+ */
+@Configuration
+public class LocalizationExecutorConfiguration {
+
+    /**
+     * Creates the executor used to run blocking localization lookups.
+     *
+     * @param virtualThreadsEnabled Whether lookups should run on virtual threads.
+     * @param poolSize The number of threads in the pool when virtual threads are disabled.
+     * @param queueCapacity The number of lookups allowed to wait for a thread when virtual threads are disabled.
+     * @return The executor for blocking localization lookups.
+     */
+    @Bean
+    public AsyncTaskExecutor localizationExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+            @Value("${localization.executor.pool-size:8}") int poolSize,
+            @Value("${localization.executor.queue-capacity:10000}") int queueCapacity) {
+        return BlockingTaskExecutors.create("localization-", virtualThreadsEnabled, poolSize, queueCapacity);
+    }
+}
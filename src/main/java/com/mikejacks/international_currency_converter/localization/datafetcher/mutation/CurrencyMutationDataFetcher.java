@@ -9,6 +9,7 @@ import com.netflix.graphql.dgs.DgsMutation;
 import com.netflix.graphql.dgs.InputArgument;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -45,6 +46,20 @@ public class CurrencyMutationDataFetcher {
         return currencyService.addCurrency(currency);
     }
 
+    /**
+     * Adds or updates many currency pairs at once, keyed by base and target code.
+     *
+     * <p>Existing pairs have their conversion rate replaced; new pairs are added. The whole batch is written in one
+     * statement per chunk by the {@code currencyService}.</p>
+     *
+     * @param currencies The {@code CurrencyCreateInput} objects of the currency pairs to add or update.
+     * @return The added and updated {@code Currency} objects, one per distinct pair.
+     */
+    @DgsMutation
+    public List<Currency> upsertCurrencies(@InputArgument List<CurrencyCreateInput> currencies) {
+        return currencyService.upsertCurrencies(currencies);
+    }
+
     /**
      * Updates an existing currency identified by the specified ID with the provided input data.
      *
@@ -89,4 +104,30 @@ public class CurrencyMutationDataFetcher {
     public Currency updateCurrencyRateToLiveById(@InputArgument UUID currencyId) {
         return currencyService.updateCurrencyRateToLiveById(currencyId);
     }
+
+    /**
+     * Updates the conversion rate of every stored currency to its live rate.
+     *
+     * <p>This mutation method refreshes the whole currency table, fetching the live rates of all target currencies of a
+     * base currency in a single request. The update operation is delegated to the {@code currencyService}.</p>
+     *
+     * <p>Example usage:</p>
+     * <pre>{@code
+     * mutation {
+     *     updateAllCurrencyRatesToLive {
+     *         id
+     *         baseCode
+     *         targetCode
+     *         conversionRate
+     *     }
+     * }
+     * }</pre>
+     *
+     * @return The list of updated {@code Currency} objects with their new live conversion rates.
+     * @throws RuntimeException if the update operation fails due to an error in fetching the live rates.
+     */
+    @DgsMutation
+    public List<Currency> updateAllCurrencyRatesToLive() {
+        return currencyService.updateAllCurrencyRatesToLive();
+    }
 }
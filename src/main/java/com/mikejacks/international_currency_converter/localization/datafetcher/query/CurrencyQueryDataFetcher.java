@@ -1,14 +1,20 @@
 package com.mikejacks.international_currency_converter.localization.datafetcher.query;
 
+import com.netflix.graphql.dgs.DgsDataFetchingEnvironment;
 import com.netflix.graphql.dgs.InputArgument;
+import org.dataloader.DataLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.mikejacks.international_currency_converter.localization.dataloader.CurrencyDataLoader;
 import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
 import com.mikejacks.international_currency_converter.localization.service.CurrencyService;
+import com.mikejacks.international_currency_converter.pagination.Connection;
 import com.netflix.graphql.dgs.DgsComponent;
 import com.netflix.graphql.dgs.DgsQuery;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data fetcher for currency queries in the GraphQL API.
@@ -32,28 +38,45 @@ public class CurrencyQueryDataFetcher {
 
 
     /**
-     * Fetches a list of all available currencies.
+     * Fetches a list of available currencies, up to the server-enforced list cap.
      *
-     * <p>This method queries the CurrencyService to retrieve a list of all currency entities.
+     * <p>This method queries the CurrencyService to retrieve at most {@code pagination.list-cap} currency entities.
      * It does not require any input arguments and returns a list of Currency objects.</p>
      *
-     * @return a list of Currency objects representing all available currencies
+     * @return a list of Currency objects
      */
     @DgsQuery
     public List<Currency> currencies() {
         return currencyService.currencies();
     }
 
+    /**
+     * Fetches one page of currencies in ID order.
+     *
+     * @param first the number of currencies of the page, or null for the default page size
+     * @param after the cursor of the currency after which the page starts, or null for the first page
+     * @return the page of currencies
+     */
+    @DgsQuery
+    public Connection<Currency> currenciesConnection(@InputArgument Integer first, @InputArgument String after) {
+        return currencyService.currenciesConnection(first, after);
+    }
+
     /**
      * Retrieves a currency based on the specified base code and target code.
      *
+     * <p>The lookup goes through the {@code CurrencyDataLoader}, so every {@code currency} field of one request is
+     * resolved with a single query.</p>
+     *
      * @param baseCode The base currency code.
      * @param targetCode The target currency code.
-     * @return The {@code Currency} object matching the specified base code and target code.
+     * @param dfe The data fetching environment holding the data loaders of the request.
+     * @return A future of the {@code Currency} object matching the specified base code and target code.
      */
     @DgsQuery
-    public Currency currency(@InputArgument final String baseCode, @InputArgument final String targetCode) {
-        return currencyService.currency(baseCode, targetCode);
+    public CompletableFuture<Currency> currency(@InputArgument final String baseCode, @InputArgument final String targetCode, final DgsDataFetchingEnvironment dfe) {
+        DataLoader<CurrencyPair, Currency> currencyDataLoader = dfe.getDataLoader(CurrencyDataLoader.NAME);
+        return currencyDataLoader.load(new CurrencyPair(baseCode, targetCode));
     }
 
     /**
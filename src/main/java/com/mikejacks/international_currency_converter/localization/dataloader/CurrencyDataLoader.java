@@ -0,0 +1,60 @@
+package com.mikejacks.international_currency_converter.localization.dataloader;
+
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
+import com.mikejacks.international_currency_converter.localization.service.CurrencyService;
+import com.mikejacks.international_currency_converter.util.DataLoaderMetrics;
+import com.netflix.graphql.dgs.DgsDataLoader;
+import org.dataloader.MappedBatchLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Data loader resolving currencies by base and target code.
+ *
+ * <p>All {@code currency} lookups made while executing one GraphQL request are collected and resolved with a single
+ * query through the {@code CurrencyService}. Pairs that are neither stored nor reachable through the currency graph
+ * resolve to {@code null}.</p>
+ */
+@DgsDataLoader(name = CurrencyDataLoader.NAME)
+public class CurrencyDataLoader implements MappedBatchLoader<CurrencyPair, Currency> {
+    /**
+     * The name the data loader is registered under.
+     */
+    public static final String NAME = "currenciesByPair";
+
+    private final CurrencyService currencyService;
+    private final DataLoaderMetrics dataLoaderMetrics;
+    private final Executor executor;
+
+    /**
+     * Constructs a new {@code CurrencyDataLoader} with the specified {@code CurrencyService}.
+     *
+     * @param currencyService The service used to load the currencies.
+     * @param dataLoaderMetrics The metrics recorded for every batch.
+     * @param executor The executor the blocking batch query runs on.
+     */
+    @Autowired
+    public CurrencyDataLoader(CurrencyService currencyService, DataLoaderMetrics dataLoaderMetrics, @Qualifier("localizationExecutor") Executor executor) {
+        this.currencyService = currencyService;
+        this.dataLoaderMetrics = dataLoaderMetrics;
+        this.executor = executor;
+    }
+
+    /**
+     * Loads the currencies of the specified pairs.
+     *
+     * @param pairs The currency pairs to load.
+     * @return A future of the found currencies by pair.
+     */
+    @Override
+    public CompletionStage<Map<CurrencyPair, Currency>> load(Set<CurrencyPair> pairs) {
+        return CompletableFuture.supplyAsync(() -> dataLoaderMetrics.record(NAME, pairs, currencyService::currenciesByPairs), executor);
+    }
+}
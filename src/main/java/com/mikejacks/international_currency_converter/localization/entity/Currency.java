@@ -1,5 +1,6 @@
 package com.mikejacks.international_currency_converter.localization.entity;
 
+import java.time.Instant;
 import java.util.UUID;
 
 import jakarta.persistence.Column;
@@ -25,9 +26,9 @@ public class Currency {
     @GeneratedValue(generator = "UUID")
     @GenericGenerator(
             name = "UUID",
-            strategy = "org.hibernate.id.UUIDGenerator"
+            strategy = "com.mikejacks.international_currency_converter.util.EntityIdGenerator"
     )
-    @JdbcTypeCode(SqlTypes.CHAR)
+    @JdbcTypeCode(SqlTypes.UUID)
     @Column(nullable = false, updatable = false)
     private UUID id;
 
@@ -40,6 +41,9 @@ public class Currency {
     @Column()
     private Double conversionRate;
 
+    @Column()
+    private Instant rateUpdatedAt;
+
     /**
      * Default constructor. Generates a new unique ID.
      */
@@ -154,6 +158,24 @@ public class Currency {
         this.conversionRate = conversionRate;
     }
 
+    /**
+     * Gets the time at which the conversion rate was last refreshed from the live rates API.
+     *
+     * @return The time of the last live refresh, or {@code null} if the rate has never been refreshed.
+     */
+    public Instant getRateUpdatedAt() {
+        return rateUpdatedAt;
+    }
+
+    /**
+     * Sets the time at which the conversion rate was last refreshed from the live rates API.
+     *
+     * @param rateUpdatedAt The time of the last live refresh.
+     */
+    public void setRateUpdatedAt(Instant rateUpdatedAt) {
+        this.rateUpdatedAt = rateUpdatedAt;
+    }
+
     @Override
     public String toString() {
         return "Currency{" +
@@ -161,6 +183,7 @@ public class Currency {
                 ", baseCode='" + baseCode + '\'' +
                 ", targetCode='" + targetCode + '\'' +
                 ", conversionRate=" + conversionRate +
+                ", rateUpdatedAt=" + rateUpdatedAt +
                 '}';
     }
 }
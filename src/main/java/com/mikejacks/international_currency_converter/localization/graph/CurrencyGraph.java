@@ -0,0 +1,458 @@
+package com.mikejacks.international_currency_converter.localization.graph;
+
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
+import com.mikejacks.international_currency_converter.localization.repository.CurrencyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * In-memory graph of the stored currency conversion rates that answers the rate of any reachable currency pair.
+ *
+ * <p>Every stored {@code Currency} is an edge from its base to its target currency. Where only one direction of a pair
+ * is stored, the reciprocal rate is used for the other direction. The rate of a pair that is not stored is triangulated
+ * along the path with the fewest conversions, for example EUR→USD→JPY for EUR→JPY, since every extra conversion
+ * compounds rounding in the stored rates. Ties are broken by currency code, so the same path is always chosen.</p>
+ *
+ * <p>Currency codes are interned to dense ordinals, and the rates of all pairs are precomputed into a
+ * {@code double[][]} matrix, so a lookup is two map reads and an array read. The graph is published as an immutable
+ * snapshot, so lookups never lock. When only the rate of stored pairs changes, the paths stay the same and only the
+ * matrix rows whose paths use a changed edge are recomputed. Adding a pair or a currency rebuilds the snapshot.</p>
+ *
+ * <p>Whenever a rebuild or update changes the rate of any pair, stored or triangulated, a
+ * {@link CurrencyRatesChangedEvent} listing those pairs is published.</p>
+ */
+@Component
+public class CurrencyGraph {
+    private static final int NONE = -1;
+
+    private final CurrencyRepository currencyRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructs a new {@code CurrencyGraph} backed by the specified repository.
+     *
+     * @param currencyRepository The repository the stored rates are loaded from.
+     * @param eventPublisher The publisher of the {@code CurrencyRatesChangedEvent} raised when rates change.
+     */
+    @Autowired
+    public CurrencyGraph(CurrencyRepository currencyRepository, ApplicationEventPublisher eventPublisher) {
+        this.currencyRepository = currencyRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Loads the graph once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every stored rate from the repository and rebuilds the graph.
+     *
+     * @return The currency pairs whose rate changed, appeared or disappeared.
+     */
+    public synchronized Set<CurrencyPair> rebuild() {
+        Map<CurrencyPair, Double> storedRates = new HashMap<>();
+        for (Currency currency : currencyRepository.findAll()) {
+            putStoredRate(storedRates, currency);
+        }
+        Snapshot previous = snapshot;
+        Snapshot next = Snapshot.build(storedRates);
+        snapshot = next;
+        return published(previous == null ? next.pairs() : previous.changedPairs(next));
+    }
+
+    /**
+     * Applies new or changed stored rates to the graph.
+     *
+     * @param currency The stored currency that was added or whose rate changed.
+     * @return The currency pairs whose rate changed or appeared.
+     */
+    public Set<CurrencyPair> update(Currency currency) {
+        return update(List.of(currency));
+    }
+
+    /**
+     * Applies new or changed stored rates to the graph.
+     *
+     * <p>If every currency is a pair the graph already stores, only the matrix rows whose paths use one of the changed
+     * edges are recomputed. Otherwise the graph is rebuilt from its stored rates and the new ones.</p>
+     *
+     * @param currencies The stored currencies that were added or whose rate changed.
+     * @return The currency pairs whose rate changed or appeared.
+     */
+    public synchronized Set<CurrencyPair> update(Collection<Currency> currencies) {
+        Map<CurrencyPair, Double> changedRates = new LinkedHashMap<>();
+        for (Currency currency : currencies) {
+            putStoredRate(changedRates, currency);
+        }
+        if (changedRates.isEmpty()) {
+            return Set.of();
+        }
+        Snapshot current = snapshot();
+        Snapshot next;
+        if (changedRates.keySet().stream().allMatch(current::hasStoredRate)) {
+            next = current.withRates(changedRates);
+        } else {
+            Map<CurrencyPair, Double> storedRates = current.storedRates();
+            storedRates.putAll(changedRates);
+            next = Snapshot.build(storedRates);
+        }
+        snapshot = next;
+        return published(current.changedPairs(next));
+    }
+
+    /**
+     * Publishes a {@code CurrencyRatesChangedEvent} for the specified pairs, unless there are none.
+     *
+     * @param changedPairs The currency pairs whose rate changed.
+     * @return The same pairs.
+     */
+    private Set<CurrencyPair> published(Set<CurrencyPair> changedPairs) {
+        if (!changedPairs.isEmpty()) {
+            eventPublisher.publishEvent(new CurrencyRatesChangedEvent(changedPairs));
+        }
+        return changedPairs;
+    }
+
+    /**
+     * Returns the conversion rate from the specified base currency to the specified target currency.
+     *
+     * @param baseCode The base currency code.
+     * @param targetCode The target currency code.
+     * @return The stored or triangulated rate, or an empty {@code OptionalDouble} if the target is not reachable.
+     */
+    public OptionalDouble rate(String baseCode, String targetCode) {
+        CurrencyPair pair = new CurrencyPair(baseCode, targetCode);
+        double rate = snapshot().rate(pair.baseCode(), pair.targetCode());
+        return Double.isNaN(rate) ? OptionalDouble.empty() : OptionalDouble.of(rate);
+    }
+
+    /**
+     * Returns the currencies the conversion from the specified base currency to the specified target currency goes
+     * through, including both ends.
+     *
+     * @param baseCode The base currency code.
+     * @param targetCode The target currency code.
+     * @return The currency codes along the path, or an empty list if the target is not reachable.
+     */
+    public List<String> path(String baseCode, String targetCode) {
+        CurrencyPair pair = new CurrencyPair(baseCode, targetCode);
+        return snapshot().path(pair.baseCode(), pair.targetCode());
+    }
+
+    /**
+     * Returns the current snapshot, loading the graph first if it has not been loaded yet.
+     *
+     * @return The current snapshot.
+     */
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Adds the rate of the specified currency to the map, unless it cannot be used as an edge of the graph.
+     *
+     * @param storedRates The map of stored rates to add to.
+     * @param currency The stored currency.
+     */
+    private static void putStoredRate(Map<CurrencyPair, Double> storedRates, Currency currency) {
+        Double rate = currency.getConversionRate();
+        if (currency.getBaseCode() == null || currency.getTargetCode() == null || rate == null || !(rate > 0) || rate.isInfinite()) {
+            return;
+        }
+        CurrencyPair pair = new CurrencyPair(currency.getBaseCode(), currency.getTargetCode());
+        if (!pair.baseCode().equals(pair.targetCode())) {
+            storedRates.put(pair, rate);
+        }
+    }
+
+    /**
+     * Immutable state of the graph.
+     *
+     * <p>Row {@code s} of {@code predecessors} and {@code orders} is the breadth-first search tree from currency
+     * {@code s}, which fixes the path to every other currency. Row {@code s} of {@code rates} holds the rates along
+     * those paths. Missing edges and unreachable pairs are {@code NaN}.</p>
+     */
+    private static final class Snapshot {
+        private final String[] codes;
+        private final Map<String, Integer> ordinals;
+        private final double[][] storedRates;
+        private final double[][] edges;
+        private final double[][] rates;
+        private final int[][] predecessors;
+        private final int[][] orders;
+
+        private Snapshot(String[] codes, Map<String, Integer> ordinals, double[][] storedRates, double[][] edges,
+                         double[][] rates, int[][] predecessors, int[][] orders) {
+            this.codes = codes;
+            this.ordinals = ordinals;
+            this.storedRates = storedRates;
+            this.edges = edges;
+            this.rates = rates;
+            this.predecessors = predecessors;
+            this.orders = orders;
+        }
+
+        /**
+         * Builds a snapshot from scratch, searching the paths from every currency.
+         *
+         * @param storedRates The stored rates by currency pair.
+         * @return The new snapshot.
+         */
+        static Snapshot build(Map<CurrencyPair, Double> storedRates) {
+            TreeSet<String> codeSet = new TreeSet<>();
+            for (CurrencyPair pair : storedRates.keySet()) {
+                codeSet.add(pair.baseCode());
+                codeSet.add(pair.targetCode());
+            }
+            String[] codes = codeSet.toArray(new String[0]);
+            int size = codes.length;
+            Map<String, Integer> ordinals = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                ordinals.put(codes[i], i);
+            }
+
+            double[][] stored = new double[size][size];
+            for (double[] row : stored) {
+                Arrays.fill(row, Double.NaN);
+            }
+            storedRates.forEach((pair, rate) -> stored[ordinals.get(pair.baseCode())][ordinals.get(pair.targetCode())] = rate);
+
+            double[][] edges = new double[size][];
+            for (int u = 0; u < size; u++) {
+                edges[u] = edgeRow(stored, u);
+            }
+
+            double[][] rates = new double[size][];
+            int[][] predecessors = new int[size][];
+            int[][] orders = new int[size][];
+            for (int source = 0; source < size; source++) {
+                int[] predecessor = new int[size];
+                Arrays.fill(predecessor, NONE);
+                int[] order = new int[size];
+                int head = 0;
+                int tail = 0;
+                predecessor[source] = source;
+                order[tail++] = source;
+                while (head < tail) {
+                    int u = order[head++];
+                    double[] edgeRow = edges[u];
+                    for (int v = 0; v < size; v++) {
+                        if (predecessor[v] == NONE && !Double.isNaN(edgeRow[v])) {
+                            predecessor[v] = u;
+                            order[tail++] = v;
+                        }
+                    }
+                }
+                predecessors[source] = predecessor;
+                orders[source] = Arrays.copyOf(order, tail);
+                rates[source] = ratesAlong(edges, predecessor, orders[source], size);
+            }
+            return new Snapshot(codes, ordinals, stored, edges, rates, predecessors, orders);
+        }
+
+        /**
+         * Returns a snapshot with the rates of already stored pairs changed, keeping every path.
+         *
+         * @param changedRates The new rates of stored currency pairs.
+         * @return The new snapshot.
+         */
+        Snapshot withRates(Map<CurrencyPair, Double> changedRates) {
+            int size = codes.length;
+            double[][] nextStored = storedRates.clone();
+            BitSet dirtyRows = new BitSet(size);
+            int[][] changedEdges = new int[changedRates.size()][];
+            int index = 0;
+            for (Map.Entry<CurrencyPair, Double> entry : changedRates.entrySet()) {
+                int u = ordinals.get(entry.getKey().baseCode());
+                int v = ordinals.get(entry.getKey().targetCode());
+                if (nextStored[u] == storedRates[u]) {
+                    nextStored[u] = storedRates[u].clone();
+                }
+                nextStored[u][v] = entry.getValue();
+                dirtyRows.set(u);
+                dirtyRows.set(v);
+                changedEdges[index++] = new int[]{u, v};
+            }
+
+            double[][] nextEdges = edges.clone();
+            for (int row = dirtyRows.nextSetBit(0); row >= 0; row = dirtyRows.nextSetBit(row + 1)) {
+                nextEdges[row] = edgeRow(nextStored, row);
+            }
+
+            double[][] nextRates = rates.clone();
+            for (int source = 0; source < size; source++) {
+                int[] predecessor = predecessors[source];
+                for (int[] edge : changedEdges) {
+                    if (predecessor[edge[1]] == edge[0] || predecessor[edge[0]] == edge[1]) {
+                        nextRates[source] = ratesAlong(nextEdges, predecessor, orders[source], size);
+                        break;
+                    }
+                }
+            }
+            return new Snapshot(codes, ordinals, nextStored, nextEdges, nextRates, predecessors, orders);
+        }
+
+        /**
+         * Computes the effective outgoing edges of a currency: the stored rate where there is one, otherwise the
+         * reciprocal of the stored rate in the opposite direction.
+         *
+         * @param stored The stored rates.
+         * @param u The ordinal of the currency.
+         * @return The outgoing edge rates, {@code NaN} where there is no edge.
+         */
+        private static double[] edgeRow(double[][] stored, int u) {
+            int size = stored.length;
+            double[] row = new double[size];
+            for (int v = 0; v < size; v++) {
+                if (u == v) {
+                    row[v] = Double.NaN;
+                } else if (!Double.isNaN(stored[u][v])) {
+                    row[v] = stored[u][v];
+                } else if (!Double.isNaN(stored[v][u])) {
+                    row[v] = 1.0 / stored[v][u];
+                } else {
+                    row[v] = Double.NaN;
+                }
+            }
+            return row;
+        }
+
+        /**
+         * Computes the rates from one currency to every other along its search tree.
+         *
+         * @param edges The effective edge rates.
+         * @param predecessor The predecessor of every currency in the search tree.
+         * @param order The currencies in the order they were reached, starting with the source.
+         * @param size The number of currencies.
+         * @return The rates from the source, {@code NaN} for unreachable currencies.
+         */
+        private static double[] ratesAlong(double[][] edges, int[] predecessor, int[] order, int size) {
+            double[] row = new double[size];
+            Arrays.fill(row, Double.NaN);
+            row[order[0]] = 1.0;
+            for (int i = 1; i < order.length; i++) {
+                int v = order[i];
+                int u = predecessor[v];
+                row[v] = row[u] * edges[u][v];
+            }
+            return row;
+        }
+
+        double rate(String baseCode, String targetCode) {
+            Integer base = ordinals.get(baseCode);
+            Integer target = ordinals.get(targetCode);
+            return base == null || target == null ? Double.NaN : rates[base][target];
+        }
+
+        List<String> path(String baseCode, String targetCode) {
+            Integer base = ordinals.get(baseCode);
+            Integer target = ordinals.get(targetCode);
+            if (base == null || target == null || predecessors[base][target] == NONE) {
+                return List.of();
+            }
+            List<String> path = new ArrayList<>();
+            for (int v = target; v != base; v = predecessors[base][v]) {
+                path.add(codes[v]);
+            }
+            path.add(codes[base]);
+            Collections.reverse(path);
+            return path;
+        }
+
+        boolean hasStoredRate(CurrencyPair pair) {
+            Integer base = ordinals.get(pair.baseCode());
+            Integer target = ordinals.get(pair.targetCode());
+            return base != null && target != null && !Double.isNaN(storedRates[base][target]);
+        }
+
+        Map<CurrencyPair, Double> storedRates() {
+            Map<CurrencyPair, Double> stored = new HashMap<>();
+            for (int u = 0; u < codes.length; u++) {
+                for (int v = 0; v < codes.length; v++) {
+                    if (!Double.isNaN(storedRates[u][v])) {
+                        stored.put(new CurrencyPair(codes[u], codes[v]), storedRates[u][v]);
+                    }
+                }
+            }
+            return stored;
+        }
+
+        Set<CurrencyPair> pairs() {
+            Set<CurrencyPair> pairs = new LinkedHashSet<>();
+            for (int u = 0; u < codes.length; u++) {
+                for (int v = 0; v < codes.length; v++) {
+                    if (u != v && !Double.isNaN(rates[u][v])) {
+                        pairs.add(new CurrencyPair(codes[u], codes[v]));
+                    }
+                }
+            }
+            return pairs;
+        }
+
+        /**
+         * Returns the pairs whose rate differs between this snapshot and the specified one, including pairs that are
+         * reachable in only one of them.
+         *
+         * @param next The snapshot to compare with.
+         * @return The changed currency pairs.
+         */
+        Set<CurrencyPair> changedPairs(Snapshot next) {
+            Set<CurrencyPair> changed = new LinkedHashSet<>();
+            boolean sameCodes = next.codes == codes;
+            for (int u = 0; u < next.codes.length; u++) {
+                if (sameCodes && next.rates[u] == rates[u]) {
+                    continue;
+                }
+                for (int v = 0; v < next.codes.length; v++) {
+                    if (u != v && Double.compare(next.rates[u][v], rate(next.codes[u], next.codes[v])) != 0) {
+                        changed.add(new CurrencyPair(next.codes[u], next.codes[v]));
+                    }
+                }
+            }
+            if (!sameCodes) {
+                for (int u = 0; u < codes.length; u++) {
+                    for (int v = 0; v < codes.length; v++) {
+                        if (u != v && !Double.isNaN(rates[u][v]) && Double.isNaN(next.rate(codes[u], codes[v]))) {
+                            changed.add(new CurrencyPair(codes[u], codes[v]));
+                        }
+                    }
+                }
+            }
+            return changed;
+        }
+    }
+}
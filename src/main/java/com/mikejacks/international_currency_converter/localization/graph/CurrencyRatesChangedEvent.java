@@ -0,0 +1,18 @@
+package com.mikejacks.international_currency_converter.localization.graph;
+
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
+
+import java.util.Set;
+
+/**
+ * Application event published by the {@link CurrencyGraph} when the rates it answers change.
+ *
+ * <p>The pairs include every triangulated pair whose rate changed along with a stored one, so listeners holding rates
+ * or results derived from them can discard exactly the affected entries. The event is published synchronously on the
+ * thread that updated the graph, after the update, which is after the transaction that stored the rates has
+ * committed.</p>
+ *
+ * @param pairs The currency pairs whose rate changed, appeared or disappeared.
+ */
+public record CurrencyRatesChangedEvent(Set<CurrencyPair> pairs) {
+}
@@ -0,0 +1,41 @@
+package com.mikejacks.international_currency_converter.localization.model;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Record class representing a base/target currency pair.
+ *
+ * <p>The {@code CurrencyPair} record is used as a lookup key wherever a conversion rate is identified by its base and
+ * target currency codes. Both codes are trimmed and converted to uppercase so that {@code "usd"/"eur"} and
+ * {@code "USD"/"EUR"} resolve to the same pair.</p>
+ *
+ * @param baseCode   The base currency code.
+ * @param targetCode The target currency code.
+ */
+public record CurrencyPair(String baseCode, String targetCode) {
+
+    /**
+     * Constructs a new {@code CurrencyPair}, normalizing both currency codes.
+     *
+     * @param baseCode The base currency code. Must not be null.
+     * @param targetCode The target currency code. Must not be null.
+     * @throws IllegalArgumentException if either currency code is null.
+     */
+    public CurrencyPair {
+        if (baseCode == null || targetCode == null) {
+            throw new IllegalArgumentException("Both a baseCode and a targetCode must be provided.");
+        }
+        baseCode = baseCode.trim().toUpperCase();
+        targetCode = targetCode.trim().toUpperCase();
+    }
+
+    /**
+     * Returns a string representation of the currency pair, for example {@code USD/EUR}.
+     *
+     * @return String representation of the currency pair.
+     */
+    @Override
+    public @NotNull String toString() {
+        return baseCode + "/" + targetCode;
+    }
+}
@@ -0,0 +1,112 @@
+package com.mikejacks.international_currency_converter.localization.repository;
+
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import com.mikejacks.international_currency_converter.util.EntityIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for inserting or updating many currency pairs at once, keyed by base and target code.
+ *
+ * <p>Each chunk of {@code localization.upsert.chunk-size} pairs is written with a single
+ * {@code INSERT ... ON CONFLICT (base_code, target_code) DO UPDATE} statement whose rows are passed as one array
+ * parameter per column and expanded with {@code unnest}. A chunk therefore costs one round trip and one statement
+ * regardless of how many of its pairs already exist, instead of a lookup and a save per pair.</p>
+ *
+ * <p>Currencies written here bypass the persistence context. IDs of new pairs are generated with
+ * {@link EntityIdGenerator}, honouring the same {@code app.id.uuid-version} setting as entities saved through
+ * Hibernate; existing pairs keep their ID.</p>
+ */
+@Repository
+public class CurrencyBatchRepository {
+    private static final String UPSERT_CURRENCIES = """
+            INSERT INTO currency (id, base_code, target_code, conversion_rate, rate_updated_at)
+            SELECT u.id, u.base_code, u.target_code, u.conversion_rate, ?::timestamptz
+            FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::float8[]) AS u(id, base_code, target_code, conversion_rate)
+            ON CONFLICT (base_code, target_code) DO UPDATE
+            SET conversion_rate = EXCLUDED.conversion_rate, rate_updated_at = EXCLUDED.rate_updated_at
+            RETURNING id, base_code, target_code, conversion_rate, rate_updated_at""";
+
+    private static final RowMapper<Currency> CURRENCY_ROW_MAPPER = (resultSet, rowNumber) -> {
+        Currency currency = new Currency(
+                resultSet.getObject("id", UUID.class),
+                resultSet.getString("base_code"),
+                resultSet.getString("target_code"),
+                resultSet.getObject("conversion_rate", Double.class));
+        OffsetDateTime rateUpdatedAt = resultSet.getObject("rate_updated_at", OffsetDateTime.class);
+        currency.setRateUpdatedAt(rateUpdatedAt == null ? null : rateUpdatedAt.toInstant());
+        return currency;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final boolean timeOrderedIds;
+
+    /**
+     * Constructs a new {@code CurrencyBatchRepository} using the specified {@code JdbcTemplate}.
+     *
+     * @param jdbcTemplate The template used to execute the upserts.
+     * @param chunkSize The number of currency pairs written per statement.
+     * @param uuidVersion The UUID version of generated IDs: 7 (time-ordered) or 4 (random).
+     * @throws IllegalArgumentException if the chunk size is less than 1, or the UUID version is neither 4 nor 7.
+     */
+    @Autowired
+    public CurrencyBatchRepository(JdbcTemplate jdbcTemplate,
+                                   @Value("${localization.upsert.chunk-size:1000}") int chunkSize,
+                                   @Value("${spring.jpa.properties." + EntityIdGenerator.UUID_VERSION_SETTING + ":7}") String uuidVersion) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.timeOrderedIds = EntityIdGenerator.isTimeOrdered(uuidVersion);
+    }
+
+    /**
+     * Generates the ID a currency pair gets if it does not exist yet.
+     *
+     * @return A new currency ID.
+     */
+    public UUID nextId() {
+        return EntityIdGenerator.newId(timeOrderedIds);
+    }
+
+    /**
+     * Inserts the specified currency pairs, or updates the conversion rate of those that already exist, in a single
+     * transaction.
+     *
+     * @param currencies The currency pairs to write, with distinct pairs.
+     * @param rateUpdatedAt The time the rates were obtained, stored as the update time of every written rate.
+     * @return The written currencies as stored, with the ID of the existing pair for every updated pair.
+     */
+    @Transactional
+    public List<Currency> upsertAll(List<Currency> currencies, Instant rateUpdatedAt) {
+        OffsetDateTime updatedAt = rateUpdatedAt.atOffset(ZoneOffset.UTC);
+        List<Currency> upserted = new ArrayList<>(currencies.size());
+        for (int from = 0; from < currencies.size(); from += chunkSize) {
+            List<Currency> chunk = currencies.subList(from, Math.min(from + chunkSize, currencies.size()));
+            upserted.addAll(jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(UPSERT_CURRENCIES);
+                statement.setObject(1, updatedAt);
+                statement.setArray(2, connection.createArrayOf("uuid", chunk.stream().map(Currency::getId).toArray()));
+                statement.setArray(3, connection.createArrayOf("varchar", chunk.stream().map(Currency::getBaseCode).toArray()));
+                statement.setArray(4, connection.createArrayOf("varchar", chunk.stream().map(Currency::getTargetCode).toArray()));
+                statement.setArray(5, connection.createArrayOf("float8", chunk.stream().map(Currency::getConversionRate).toArray()));
+                return statement;
+            }, CURRENCY_ROW_MAPPER));
+        }
+        return upserted;
+    }
+}
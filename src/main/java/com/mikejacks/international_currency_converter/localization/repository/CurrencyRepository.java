@@ -1,9 +1,15 @@
 package com.mikejacks.international_currency_converter.localization.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.mikejacks.international_currency_converter.localization.entity.Currency;
 
@@ -19,6 +25,10 @@ import com.mikejacks.international_currency_converter.localization.entity.Curren
  *     <li>{@link #findCurrenciesByBaseCodeAndTargetCode(String, String)}: Retrieves a {@code Currency} based on the base code and target code.</li>
  *     <li>{@link #findCurrenciesByBaseCode(String)}: Retrieves currencies that have the specified base code.</li>
  *     <li>{@link #findCurrenciesByTargetCode(String)}: Retrieves currencies that have the specified target code.</li>
+ *     <li>{@link #findCurrenciesByBaseCodeInAndTargetCodeIn(Collection, Collection)}: Retrieves currencies with any of the specified base codes and any of the specified target codes.</li>
+ *     <li>{@link #findBaseCodesWithRateUpdatedBefore(Instant)}: Retrieves the base codes that have a rate not refreshed since the specified time.</li>
+ *     <li>{@link #findAllByOrderByIdAsc(Limit)}: Retrieves the first currencies in ID order.</li>
+ *     <li>{@link #findByIdGreaterThanOrderByIdAsc(UUID, Limit)}: Retrieves the currencies following an ID in ID order.</li>
  * </ul>
  *
  * <p>Example usage:</p>
@@ -49,16 +59,58 @@ public interface CurrencyRepository extends JpaRepository<Currency, UUID> {
      * Retrieves currencies that have the specified base code.
      *
      * @param baseCode The base code of the currencies to retrieve. Must not be null.
-     * @return An {@code Optional} containing the found {@code Currency}, or {@code Optional.empty()} if no currency is found.
+     * @return A list of the found {@code Currency} objects, which is empty if no currency is found.
      */
-    Optional<Currency> findCurrenciesByBaseCode(String baseCode);
+    List<Currency> findCurrenciesByBaseCode(String baseCode);
 
     /**
      * Retrieves currencies that have the specified target code.
      *
      * @param targetCode The target code of the currencies to retrieve. Must not be null.
-     * @return An {@code Optional} containing the found {@code Currency}, or {@code Optional.empty()} if no currency is found.
+     * @return A list of the found {@code Currency} objects, which is empty if no currency is found.
+     */
+    List<Currency> findCurrenciesByTargetCode(String targetCode);
+
+    /**
+     * Retrieves currencies that have any of the specified base codes and any of the specified target codes.
+     *
+     * <p>The result may include pairs that combine a base code and a target code of two different requested pairs,
+     * so callers looking up specific pairs filter it.</p>
+     *
+     * @param baseCodes The base codes of the currencies to retrieve. Must not be null.
+     * @param targetCodes The target codes of the currencies to retrieve. Must not be null.
+     * @return A list of the found {@code Currency} objects, which is empty if no currency is found.
+     */
+    List<Currency> findCurrenciesByBaseCodeInAndTargetCodeIn(Collection<String> baseCodes, Collection<String> targetCodes);
+
+    /**
+     * Retrieves the distinct base codes of the currencies whose rate has never been refreshed from the live rates API,
+     * or was last refreshed before the specified time.
+     *
+     * @param threshold The time before which a refresh is considered stale. Must not be null.
+     * @return A list of the base codes that have at least one stale rate.
+     */
+    @Query("select distinct c.baseCode from Currency c where c.rateUpdatedAt is null or c.rateUpdatedAt < :threshold")
+    List<String> findBaseCodesWithRateUpdatedBefore(@Param("threshold") Instant threshold);
+
+    /**
+     * Finds the first currencies in ID order.
+     *
+     * @param limit The maximum number of currencies to find.
+     * @return A list of at most {@code limit} currencies, ordered by ID.
+     */
+    List<Currency> findAllByOrderByIdAsc(Limit limit);
+
+    /**
+     * Finds the currencies following the specified ID in ID order.
+     *
+     * <p>The query starts at the specified ID in the primary-key index, so its cost does not depend on how many
+     * currencies precede it.</p>
+     *
+     * @param id The ID after which to start, exclusive.
+     * @param limit The maximum number of currencies to find.
+     * @return A list of at most {@code limit} currencies with an ID greater than the specified ID, ordered by ID.
      */
-    Optional<Currency> findCurrenciesByTargetCode(String targetCode);
+    List<Currency> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
 
 }
@@ -0,0 +1,196 @@
+package com.mikejacks.international_currency_converter.localization.scheduler;
+
+import com.mikejacks.international_currency_converter.localization.repository.CurrencyRepository;
+import com.mikejacks.international_currency_converter.localization.service.CurrencyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Background job that keeps stored currency conversion rates within a staleness budget.
+ *
+ * <p>At a fixed interval this class looks for base currencies that have at least one rate which would exceed the
+ * maximum staleness before the next run, and refreshes all rates of each such base from the live rates API with one
+ * request per base. Bases are refreshed concurrently, up to a configurable limit. A base whose refresh fails is backed
+ * off exponentially, with jitter, and skipped until its backoff has elapsed, so an upstream outage does not turn into
+ * a request storm. Runs are single-flight: a run that is triggered while another is in progress is skipped.</p>
+ *
+ * <p>With this job enabled, readers of stored rates, such as the landed-cost pipeline, see rates that are at most
+ * {@code localization.rate-refresh.max-staleness} old while upstream is healthy, without ever waiting on the live
+ * rates API themselves. The job is enabled by {@code localization.rate-refresh.enabled}.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "localization.rate-refresh.enabled", havingValue = "true")
+public class CurrencyRateRefresher {
+    private static final Logger logger = Logger.getLogger(CurrencyRateRefresher.class.getName());
+
+    private final CurrencyRepository currencyRepository;
+    private final CurrencyService currencyService;
+    private final Clock clock;
+    private final Duration interval;
+    private final Duration maxStaleness;
+    private final int maxConcurrency;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<String, Backoff> backoffs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code CurrencyRateRefresher} using the system clock.
+     *
+     * @param currencyRepository The repository used to find stale rates.
+     * @param currencyService The service used to refresh the rates of a base currency.
+     * @param interval The delay between the end of one run and the start of the next.
+     * @param maxStaleness The maximum age a stored rate should reach before it is refreshed.
+     * @param maxConcurrency The maximum number of base currencies refreshed at the same time.
+     * @param initialBackoff The delay before a base currency is retried after its first failed refresh.
+     * @param maxBackoff The maximum delay before a base currency is retried after a failed refresh.
+     */
+    @Autowired
+    public CurrencyRateRefresher(CurrencyRepository currencyRepository,
+                                 CurrencyService currencyService,
+                                 @Value("${localization.rate-refresh.interval:PT30S}") Duration interval,
+                                 @Value("${localization.rate-refresh.max-staleness:PT5M}") Duration maxStaleness,
+                                 @Value("${localization.rate-refresh.max-concurrency:4}") int maxConcurrency,
+                                 @Value("${localization.rate-refresh.initial-backoff:PT30S}") Duration initialBackoff,
+                                 @Value("${localization.rate-refresh.max-backoff:PT15M}") Duration maxBackoff) {
+        this(currencyRepository, currencyService, Clock.systemUTC(), interval, maxStaleness, maxConcurrency, initialBackoff, maxBackoff);
+    }
+
+    /**
+     * Constructs a new {@code CurrencyRateRefresher} using the specified clock.
+     *
+     * @param currencyRepository The repository used to find stale rates.
+     * @param currencyService The service used to refresh the rates of a base currency.
+     * @param clock The clock used to measure staleness and backoff.
+     * @param interval The delay between the end of one run and the start of the next.
+     * @param maxStaleness The maximum age a stored rate should reach before it is refreshed.
+     * @param maxConcurrency The maximum number of base currencies refreshed at the same time.
+     * @param initialBackoff The delay before a base currency is retried after its first failed refresh.
+     * @param maxBackoff The maximum delay before a base currency is retried after a failed refresh.
+     * @throws IllegalArgumentException if the maximum concurrency is less than 1.
+     */
+    CurrencyRateRefresher(CurrencyRepository currencyRepository, CurrencyService currencyService, Clock clock,
+                          Duration interval, Duration maxStaleness, int maxConcurrency,
+                          Duration initialBackoff, Duration maxBackoff) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.currencyRepository = currencyRepository;
+        this.currencyService = currencyService;
+        this.clock = clock;
+        this.interval = interval;
+        this.maxStaleness = maxStaleness;
+        this.maxConcurrency = maxConcurrency;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Refreshes the rates of every base currency that would exceed the staleness budget before the next run.
+     *
+     * <p>Returns immediately if another run is still in progress.</p>
+     */
+    @Scheduled(fixedDelayString = "${localization.rate-refresh.interval:PT30S}",
+            initialDelayString = "${localization.rate-refresh.initial-delay:PT10S}")
+    public void refreshStaleRates() {
+        if (!running.compareAndSet(false, true)) {
+            logger.fine("Skipping currency rate refresh, a previous run is still in progress");
+            return;
+        }
+        try {
+            Instant now = clock.instant();
+            List<String> dueBaseCodes = currencyRepository.findBaseCodesWithRateUpdatedBefore(now.minus(maxStaleness).plus(interval)).stream()
+                    .filter(baseCode -> isDue(baseCode, now))
+                    .toList();
+            if (dueBaseCodes.isEmpty()) {
+                return;
+            }
+            try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, dueBaseCodes.size()),
+                    Thread.ofVirtual().name("rate-refresh-", 0).factory())) {
+                for (String baseCode : dueBaseCodes) {
+                    executor.execute(() -> refreshBaseCode(baseCode));
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Returns whether the specified base currency is not backing off after a failed refresh.
+     *
+     * @param baseCode The base currency code.
+     * @param now The current time.
+     * @return {@code true} if the base currency may be refreshed now, otherwise {@code false}.
+     */
+    private boolean isDue(String baseCode, Instant now) {
+        Backoff backoff = backoffs.get(baseCode);
+        return backoff == null || !now.isBefore(backoff.retryAt());
+    }
+
+    /**
+     * Refreshes the rates of the specified base currency, backing it off if the refresh fails.
+     *
+     * @param baseCode The base currency code.
+     */
+    private void refreshBaseCode(String baseCode) {
+        try {
+            currencyService.updateCurrencyRatesToLiveByBaseCode(baseCode);
+            backoffs.remove(baseCode);
+        } catch (RuntimeException e) {
+            Backoff backoff = backoffs.compute(baseCode, (code, previous) -> nextBackoff(previous == null ? 1 : previous.failures() + 1));
+            logger.warning("Failed to refresh rates for base currency " + baseCode + " (failure " + backoff.failures()
+                    + "), retrying after " + backoff.retryAt() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the backoff after the specified number of consecutive failures.
+     *
+     * @param failures The number of consecutive failed refreshes.
+     * @return The backoff of the base currency.
+     */
+    private Backoff nextBackoff(int failures) {
+        return new Backoff(failures, clock.instant().plus(backoffDelay(failures)));
+    }
+
+    /**
+     * Computes the delay before a base currency is refreshed again after the specified number of consecutive failures.
+     *
+     * <p>The full delay doubles with every failure up to the maximum backoff. The returned delay is drawn at random
+     * between half of the full delay and the full delay, so that base currencies that failed together are not retried
+     * together, while every retry still waits at least half of the full delay.</p>
+     *
+     * @param failures The number of consecutive failed refreshes.
+     * @return A delay between half of the full delay and the full delay, inclusive.
+     */
+    Duration backoffDelay(int failures) {
+        long delayMillis = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(failures - 1, 20));
+        return Duration.ofMillis(delayMillis / 2 + ThreadLocalRandom.current().nextLong(delayMillis - delayMillis / 2 + 1));
+    }
+
+    /**
+     * Backoff state of a base currency whose refresh has failed.
+     *
+     * @param failures The number of consecutive failed refreshes.
+     * @param retryAt The time before which the base currency is not refreshed again.
+     */
+    private record Backoff(int failures, Instant retryAt) {
+    }
+}
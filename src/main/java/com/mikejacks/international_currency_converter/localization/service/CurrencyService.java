@@ -2,9 +2,13 @@ package com.mikejacks.international_currency_converter.localization.service;
 
 import com.mikejacks.international_currency_converter.localization.entity.Currency;
 import com.mikejacks.international_currency_converter.localization.model.CurrencyCreateInput;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
 import com.mikejacks.international_currency_converter.localization.model.CurrencyUpdateInput;
+import com.mikejacks.international_currency_converter.pagination.Connection;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -16,12 +20,28 @@ import java.util.UUID;
 public interface CurrencyService {
 
     /**
-     * Retrieves a list of all currencies.
+     * Retrieves a list of currencies, up to the server-enforced list cap.
      *
-     * @return A list of all {@code Currency} objects.
+     * <p>Currencies are returned in ID order. Clients that need every currency page through
+     * {@link #currenciesConnection(Integer, String)} instead.</p>
+     *
+     * @return A list of at most {@code pagination.list-cap} {@code Currency} objects.
      */
     List<Currency> currencies();
 
+    /**
+     * Retrieves one page of currencies in ID order.
+     *
+     * <p>Pages are read with keyset queries that start at the {@code after} cursor in the primary-key index, so
+     * fetching a page takes the same time however deep it is.</p>
+     *
+     * @param first The number of currencies of the page, or {@code null} for the default page size.
+     * @param after The cursor of the currency after which the page starts, or {@code null} for the first page.
+     * @return The page of currencies.
+     * @throws IllegalArgumentException if {@code first} is out of range, or the cursor is invalid.
+     */
+    Connection<Currency> currenciesConnection(Integer first, String after);
+
     /**
      * Retrieves a currency based on the specified base code and target code.
      *
@@ -32,13 +52,21 @@ public interface CurrencyService {
      */
     Currency currency(String baseCode, String targetCode);
 
+    /**
+     * Retrieves the currencies of the specified base and target code pairs.
+     *
+     * @param pairs The currency pairs to retrieve.
+     * @return A map of the found {@code Currency} objects by pair. Pairs that are not found are absent.
+     */
+    Map<CurrencyPair, Currency> currenciesByPairs(Collection<CurrencyPair> pairs);
+
     /**
      * Retrieves a list of currencies based on the specified base code or target code.
      *
      * @param baseCode The base code of the currencies to retrieve. Can be null.
      * @param targetCode The target code of the currencies to retrieve. Can be null.
      * @return A list of {@code Currency} objects matching the specified criteria,
-     *         or all currencies if no criteria are specified.
+     *         or the currencies returned by {@link #currencies()} if no criteria are specified.
      */
     List<Currency> currenciesBy(String baseCode, String targetCode);
 
@@ -50,6 +78,17 @@ public interface CurrencyService {
      */
     Currency addCurrency(CurrencyCreateInput currency);
 
+    /**
+     * Adds or updates many currency pairs at once, keyed by base and target code.
+     *
+     * <p>A pair that already exists has its conversion rate replaced and keeps its ID; any other pair is added. If a
+     * pair appears more than once, its last occurrence wins.</p>
+     *
+     * @param currencies The {@code CurrencyCreateInput} objects of the currency pairs to add or update.
+     * @return The added and updated {@code Currency} objects, one per distinct pair, in the order of their first occurrence.
+     */
+    List<Currency> upsertCurrencies(List<CurrencyCreateInput> currencies);
+
     /**
      * Updates an existing currency's details by its ID.
      *
@@ -66,4 +105,19 @@ public interface CurrencyService {
      * @return The updated {@code Currency} object with the new conversion rate.
      */
     Currency updateCurrencyRateToLiveById(UUID currencyId);
+
+    /**
+     * Updates the conversion rate of every stored currency to its live rate.
+     *
+     * @return The list of updated {@code Currency} objects with their new conversion rates.
+     */
+    List<Currency> updateAllCurrencyRatesToLive();
+
+    /**
+     * Updates the conversion rate of every currency with the specified base code to its live rate.
+     *
+     * @param baseCode The base code of the currencies to update.
+     * @return The list of updated {@code Currency} objects with their new conversion rates.
+     */
+    List<Currency> updateCurrencyRatesToLiveByBaseCode(String baseCode);
 }
@@ -1,21 +1,41 @@
 package com.mikejacks.international_currency_converter.localization.service.impl;
 
+import com.mikejacks.international_currency_converter.localization.client.LiveRateFetcher;
+import com.mikejacks.international_currency_converter.localization.graph.CurrencyGraph;
 import com.mikejacks.international_currency_converter.localization.model.CurrencyCreateInput;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
 import com.mikejacks.international_currency_converter.localization.model.CurrencyUpdateInput;
 import com.mikejacks.international_currency_converter.localization.service.CurrencyService;
+import com.mikejacks.international_currency_converter.pagination.Connection;
+import com.mikejacks.international_currency_converter.pagination.Cursors;
+import com.mikejacks.international_currency_converter.pagination.PaginationSettings;
 import org.jetbrains.annotations.NotNull;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import com.mikejacks.international_currency_converter.localization.repository.CurrencyBatchRepository;
 import com.mikejacks.international_currency_converter.localization.repository.CurrencyRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
 import java.util.UUID;
-
-import com.mikejacks.international_currency_converter.util.HttpUtils;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the CurrencyService interface.
@@ -24,37 +44,72 @@ import com.mikejacks.international_currency_converter.util.HttpUtils;
  */
 @Service
 public class BaseCurrencyService implements CurrencyService {
-    @Value("${FREECURRENCY_API_KEY}")
-    private String FREECURRENCY_API_KEY;
+    private final CurrencyRepository currencyRepository;
 
-    @Value("${FREECURRENCY_API_URL_HOST}")
-    private String FREECURRENCY_API_URL_HOST;
+    private final LiveRateFetcher liveRateFetcher;
 
+    private final CurrencyGraph currencyGraph;
 
-    private final CurrencyRepository currencyRepository;
+    private final PaginationSettings paginationSettings;
+
+    private final CurrencyBatchRepository currencyBatchRepository;
+
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Constructs a new instance of {@code BaseCurrencyService} with the specified currency repository.
+     * Constructs a new instance of {@code BaseCurrencyService} with the specified currency repository, live rate fetcher,
+     * currency graph, pagination settings, batch repository and transaction manager.
      *
      * @param currencyRepository The repository used for currency data access and management.
+     * @param liveRateFetcher The client used to fetch live conversion rates from the external API.
+     * @param currencyGraph The graph used to triangulate the rates of pairs that are not stored.
+     * @param paginationSettings The limits on the number of currencies returned by list and connection queries.
+     * @param currencyBatchRepository The repository used to upsert many currency pairs at once.
+     * @param transactionManager The transaction manager the live rates are written with, after they have been fetched.
      */
     @Autowired
-    public BaseCurrencyService(CurrencyRepository currencyRepository) {
+    public BaseCurrencyService(CurrencyRepository currencyRepository, LiveRateFetcher liveRateFetcher, CurrencyGraph currencyGraph,
+                               PaginationSettings paginationSettings, CurrencyBatchRepository currencyBatchRepository,
+                               PlatformTransactionManager transactionManager) {
         this.currencyRepository = currencyRepository;
+        this.liveRateFetcher = liveRateFetcher;
+        this.currencyGraph = currencyGraph;
+        this.paginationSettings = paginationSettings;
+        this.currencyBatchRepository = currencyBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     // Query Methods
 
     /**
-     * Retrieves a list of all currencies.
+     * Retrieves a list of currencies, up to the server-enforced list cap.
      *
-     * <p>This method fetches all {@code Currency} objects from the repository and returns them as a list.</p>
+     * <p>This method fetches the first {@code pagination.list-cap} {@code Currency} objects in ID order from the
+     * repository and returns them as a list.</p>
      *
-     * @return A list of all {@code Currency} objects.
+     * @return A list of at most {@code pagination.list-cap} {@code Currency} objects.
      */
     @Override
     public List<Currency> currencies() {
-        return currencyRepository.findAll();
+        return currencyRepository.findAllByOrderByIdAsc(Limit.of(paginationSettings.listCap()));
+    }
+
+    /**
+     * Retrieves one page of currencies in ID order.
+     *
+     * @param first The number of currencies of the page, or {@code null} for the default page size.
+     * @param after The cursor of the currency after which the page starts, or {@code null} for the first page.
+     * @return The page of currencies.
+     * @throws IllegalArgumentException if {@code first} is out of range, or the cursor is invalid.
+     */
+    @Override
+    public Connection<Currency> currenciesConnection(Integer first, String after) {
+        int pageSize = paginationSettings.pageSize(first);
+        UUID afterId = Cursors.decodeId(after);
+        List<Currency> rows = afterId == null
+                ? currencyRepository.findAllByOrderByIdAsc(Limit.of(pageSize + 1))
+                : currencyRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        return Cursors.connection(rows, pageSize, after, currency -> Cursors.encodeId(currency.getId()));
     }
 
 
@@ -62,7 +117,10 @@ public class BaseCurrencyService implements CurrencyService {
      * Retrieves a currency based on the specified base code and target code.
      *
      * <p>This method fetches a {@code Currency} object from the repository based on the provided base code and target code.
-     * If a currency with the specified base code and target code is found, it is returned. Otherwise, {@code null} is returned.</p>
+     * If a currency with the specified base code and target code is found, it is returned. Otherwise the rate is
+     * triangulated through the {@code CurrencyGraph}, for example EUR→JPY through EUR→USD and USD→JPY, and returned as a
+     * {@code Currency} that is not stored, with an ID derived from the pair. If the target cannot be reached from the
+     * base, {@code null} is returned.</p>
      *
      * @param baseCode The base code of the currency to retrieve. Must not be null.
      * @param targetCode The target code of the currency to retrieve. Must not be null.
@@ -70,7 +128,56 @@ public class BaseCurrencyService implements CurrencyService {
      */
     @Override
     public Currency currency(@NotNull String baseCode,@NotNull String targetCode) {
-        return currencyRepository.findCurrenciesByBaseCodeAndTargetCode(baseCode, targetCode).orElse(null);
+        Currency storedCurrency = currencyRepository.findCurrenciesByBaseCodeAndTargetCode(baseCode, targetCode).orElse(null);
+        if (storedCurrency != null) {
+            return storedCurrency;
+        }
+        return triangulatedCurrency(new CurrencyPair(baseCode, targetCode));
+    }
+
+    /**
+     * Retrieves the currencies of the specified base and target code pairs.
+     *
+     * <p>This method fetches the stored currencies of all pairs from the repository with a single query, and
+     * triangulates the rate of every pair that is not stored through the {@code CurrencyGraph}, as {@link #currency}
+     * does. Pairs that are neither stored nor reachable are absent from the returned map.</p>
+     *
+     * @param pairs The currency pairs to retrieve.
+     * @return A map of the found {@code Currency} objects by pair.
+     */
+    @Override
+    public Map<CurrencyPair, Currency> currenciesByPairs(Collection<CurrencyPair> pairs) {
+        Set<String> baseCodes = pairs.stream().map(CurrencyPair::baseCode).collect(Collectors.toSet());
+        Set<String> targetCodes = pairs.stream().map(CurrencyPair::targetCode).collect(Collectors.toSet());
+        Map<CurrencyPair, Currency> storedCurrencies = new HashMap<>();
+        for (Currency currency : currencyRepository.findCurrenciesByBaseCodeInAndTargetCodeIn(baseCodes, targetCodes)) {
+            storedCurrencies.put(new CurrencyPair(currency.getBaseCode(), currency.getTargetCode()), currency);
+        }
+
+        Map<CurrencyPair, Currency> currencies = new HashMap<>();
+        for (CurrencyPair pair : pairs) {
+            Currency currency = storedCurrencies.containsKey(pair) ? storedCurrencies.get(pair) : triangulatedCurrency(pair);
+            if (currency != null) {
+                currencies.put(pair, currency);
+            }
+        }
+        return currencies;
+    }
+
+    /**
+     * Returns a {@code Currency} that is not stored, holding the rate of the specified pair triangulated through the
+     * {@code CurrencyGraph}, with an ID derived from the pair.
+     *
+     * @param pair The currency pair.
+     * @return The triangulated {@code Currency}, or {@code null} if the target cannot be reached from the base.
+     */
+    private Currency triangulatedCurrency(CurrencyPair pair) {
+        OptionalDouble triangulatedRate = currencyGraph.rate(pair.baseCode(), pair.targetCode());
+        if (triangulatedRate.isEmpty()) {
+            return null;
+        }
+        UUID pairId = UUID.nameUUIDFromBytes(pair.toString().getBytes(StandardCharsets.UTF_8));
+        return new Currency(pairId, pair.baseCode(), pair.targetCode(), triangulatedRate.getAsDouble());
     }
 
     /**
@@ -84,7 +191,7 @@ public class BaseCurrencyService implements CurrencyService {
      *
      * @param baseCode The base code of the currencies to retrieve. Can be null.
      * @param targetCode The target code of the currencies to retrieve. Can be null.
-     * @return A list of {@code Currency} objects matching the specified criteria, or all currencies if no criteria are specified.
+     * @return A list of {@code Currency} objects matching the specified criteria, or the currencies returned by {@code currencies()} if no criteria are specified.
      * @throws IllegalArgumentException if both base code and target code are specified.
      */
     @Override
@@ -96,7 +203,7 @@ public class BaseCurrencyService implements CurrencyService {
         } else if (targetCode != null) {
             return currencyRepository.findCurrenciesByTargetCode(targetCode).stream().toList();
         } else {
-            return currencyRepository.findAll();
+            return currencies();
         }
     }
 
@@ -121,7 +228,40 @@ public class BaseCurrencyService implements CurrencyService {
         if (existingCurrency != null) {
             throw new IllegalArgumentException("Currency wth base code: " + currencyCreateInput.getBaseCode() + ", and target code:" + currencyCreateInput.getTargetCode() + " already exists.");
         }
-        return currencyRepository.save(newCurrency);
+        Currency savedCurrency = currencyRepository.save(newCurrency);
+        currencyGraph.update(savedCurrency);
+        return savedCurrency;
+    }
+
+    /**
+     * Adds or updates many currency pairs at once, keyed by base and target code.
+     *
+     * <p>Every input is validated before anything is written. The pairs are then written by the
+     * {@code CurrencyBatchRepository} with one {@code INSERT ... ON CONFLICT (base_code, target_code)} statement per
+     * chunk, in a single transaction, so either every pair is written or none is. Unlike {@link #addCurrency}, no pair
+     * is read beforehand to detect duplicates. Every written rate is stamped with the current time as its update time,
+     * and the changed rates are applied to the {@code CurrencyGraph} once the transaction has committed.</p>
+     *
+     * @param currencies The {@code CurrencyCreateInput} objects of the currency pairs to add or update.
+     * @return The added and updated {@code Currency} objects, one per distinct pair, in the order of their first occurrence.
+     * @throws IllegalArgumentException if any input has an invalid currency code.
+     */
+    @Override
+    @Transactional
+    public List<Currency> upsertCurrencies(List<CurrencyCreateInput> currencies) {
+        Map<CurrencyPair, Currency> currenciesByPair = new LinkedHashMap<>();
+        for (CurrencyCreateInput input : currencies) {
+            Currency currency = new Currency(currencyBatchRepository.nextId(), input.getBaseCode(), input.getTargetCode(), input.getConversionRate());
+            currenciesByPair.put(new CurrencyPair(currency.getBaseCode(), currency.getTargetCode()), currency);
+        }
+        if (currenciesByPair.isEmpty()) {
+            return List.of();
+        }
+        Map<CurrencyPair, Currency> upserted = currencyBatchRepository.upsertAll(List.copyOf(currenciesByPair.values()), Instant.now()).stream()
+                .collect(Collectors.toMap(currency -> new CurrencyPair(currency.getBaseCode(), currency.getTargetCode()), Function.identity()));
+        List<Currency> savedCurrencies = currenciesByPair.keySet().stream().map(upserted::get).toList();
+        afterCommit(() -> currencyGraph.update(savedCurrencies));
+        return savedCurrencies;
     }
 
     /**
@@ -151,7 +291,13 @@ public class BaseCurrencyService implements CurrencyService {
        if (currencyUpdateInput.getConversionRate() != null) {
            existingCurrency.setConversionRate(currencyUpdateInput.getConversionRate());
        }
-       return currencyRepository.save(existingCurrency);
+       Currency savedCurrency = currencyRepository.save(existingCurrency);
+       if (currencyUpdateInput.getBaseCode() != null || currencyUpdateInput.getTargetCode() != null) {
+           currencyGraph.rebuild();
+       } else {
+           currencyGraph.update(savedCurrency);
+       }
+       return savedCurrency;
     }
 
     /**
@@ -171,19 +317,131 @@ public class BaseCurrencyService implements CurrencyService {
        if (existingCurrency == null) {
            throw new IllegalArgumentException("Currency with id " + currencyId + " does not exist.");
        }
-       String baseCode = existingCurrency.getBaseCode();
-       String targetCode = existingCurrency.getTargetCode();
-       String urlString = FREECURRENCY_API_URL_HOST + FREECURRENCY_API_KEY + "&base_currency=" + baseCode + "&currencies=" + targetCode;
-
        try {
-           String response = HttpUtils.getJsonResponse(urlString);
-           JSONObject responseData = HttpUtils.parseJsonResponse(response);
-           Double liveConversionRate = responseData.getDouble(targetCode);
+           double liveConversionRate = liveRateFetcher.fetchRate(existingCurrency.getBaseCode(), existingCurrency.getTargetCode());
            existingCurrency.setConversionRate(liveConversionRate);
-           return currencyRepository.save(existingCurrency);
-       } catch (Exception e) {
-           e.printStackTrace();
-           throw new RuntimeException("Failed to update currency to live rate: " + e.getMessage());
+           existingCurrency.setRateUpdatedAt(Instant.now());
+       } catch (RuntimeException e) {
+           throw new RuntimeException("Failed to update currency to live rate: " + e.getMessage(), e);
        }
+       Currency savedCurrency = currencyRepository.save(existingCurrency);
+       currencyGraph.update(savedCurrency);
+       return savedCurrency;
+    }
+
+    /**
+     * Updates the conversion rate of every stored currency to its live rate.
+     *
+     * <p>This method loads all currencies and groups them by base code. For each base it fetches the live rates of all
+     * of its target codes in a single request to the external API, so refreshing the whole table costs one request per
+     * base currency rather than one per currency. No transaction is open while the rates are fetched, so a slow API
+     * holds no database connection. All rates are fetched before any currency is modified, and are then written in
+     * one short transaction, flushed together at commit as one JDBC batch. If the rates of any base cannot be fetched,
+     * no currency is updated.</p>
+     *
+     * @return The list of updated {@code Currency} objects with their new conversion rates.
+     * @throws RuntimeException if the live rates of any base currency could not be fetched.
+     */
+    @Override
+    public List<Currency> updateAllCurrencyRatesToLive() {
+        return applyLiveRates(currencyRepository.findAll());
+    }
+
+    /**
+     * Updates the conversion rate of every currency with the specified base code to its live rate.
+     *
+     * <p>This method fetches the live rates of all target codes of the base currency in a single request to the external
+     * API, outside of any transaction, and then writes the updated currencies as one JDBC batch in a short
+     * transaction.</p>
+     *
+     * @param baseCode The base code of the currencies to update.
+     * @return The list of updated {@code Currency} objects with their new conversion rates.
+     * @throws RuntimeException if the live rates of the base currency could not be fetched.
+     */
+    @Override
+    public List<Currency> updateCurrencyRatesToLiveByBaseCode(String baseCode) {
+        return applyLiveRates(currencyRepository.findCurrenciesByBaseCode(baseCode));
+    }
+
+    /**
+     * Fetches the live rates of the specified currencies, one request per base code, and saves them.
+     *
+     * <p>The currencies have already been read, and the rates are fetched without a transaction. Only then is a
+     * transaction started to write them.</p>
+     *
+     * @param currencies The currencies to update.
+     * @return The list of updated {@code Currency} objects.
+     * @throws RuntimeException if the live rates of any base currency could not be fetched.
+     */
+    private List<Currency> applyLiveRates(List<Currency> currencies) {
+        if (currencies.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<Currency>> currenciesByBaseCode = currencies.stream()
+                .collect(Collectors.groupingBy(Currency::getBaseCode, LinkedHashMap::new, Collectors.toList()));
+
+        Map<String, Map<String, Double>> liveRatesByBaseCode = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Currency>> entry : currenciesByBaseCode.entrySet()) {
+            List<String> targetCodes = entry.getValue().stream().map(Currency::getTargetCode).toList();
+            try {
+                liveRatesByBaseCode.put(entry.getKey(), liveRateFetcher.fetchRates(entry.getKey(), targetCodes));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Failed to update currencies with base code " + entry.getKey() + " to live rates: " + e.getMessage(), e);
+            }
+        }
+
+        Instant rateUpdatedAt = Instant.now();
+        return transactionTemplate.execute(status -> saveLiveRates(currencies, liveRatesByBaseCode, rateUpdatedAt));
+    }
+
+    /**
+     * Writes fetched live rates to the specified currencies, inside the current transaction.
+     *
+     * <p>The currencies are read again by ID, so the rates are written to their current state. Currencies that were
+     * deleted, or whose pair was changed, since the rates were fetched are skipped. The changed rates are applied to
+     * the {@code CurrencyGraph} once the transaction has committed.</p>
+     *
+     * @param currencies The currencies the rates were fetched for.
+     * @param liveRatesByBaseCode The fetched rates, by base code and then by target code.
+     * @param rateUpdatedAt The update time the rates are stamped with.
+     * @return The list of updated {@code Currency} objects.
+     */
+    private List<Currency> saveLiveRates(List<Currency> currencies, Map<String, Map<String, Double>> liveRatesByBaseCode, Instant rateUpdatedAt) {
+        Map<UUID, Currency> storedCurrencies = currencyRepository.findAllById(currencies.stream().map(Currency::getId).toList()).stream()
+                .collect(Collectors.toMap(Currency::getId, Function.identity()));
+        List<Currency> updatedCurrencies = new ArrayList<>(currencies.size());
+        for (Currency currency : currencies) {
+            Currency storedCurrency = storedCurrencies.get(currency.getId());
+            if (storedCurrency == null || !storedCurrency.getBaseCode().equals(currency.getBaseCode())
+                    || !storedCurrency.getTargetCode().equals(currency.getTargetCode())) {
+                continue;
+            }
+            storedCurrency.setConversionRate(liveRatesByBaseCode.get(currency.getBaseCode()).get(currency.getTargetCode()));
+            storedCurrency.setRateUpdatedAt(rateUpdatedAt);
+            updatedCurrencies.add(storedCurrency);
+        }
+        List<Currency> savedCurrencies = currencyRepository.saveAll(updatedCurrencies);
+        afterCommit(() -> currencyGraph.update(savedCurrencies));
+        return savedCurrencies;
+    }
+
+    /**
+     * Runs the specified action once the current transaction has committed, or immediately if there is none.
+     *
+     * <p>This keeps the {@code CurrencyGraph} from serving rates that were rolled back.</p>
+     *
+     * @param action The action to run.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
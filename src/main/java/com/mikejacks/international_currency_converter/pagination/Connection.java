@@ -0,0 +1,13 @@
+package com.mikejacks.international_currency_converter.pagination;
+
+import java.util.List;
+
+/**
+ * Record class representing one page of a Relay-style cursor connection.
+ *
+ * @param edges    The items of the page, each with its cursor.
+ * @param pageInfo Information about the page, used to request the next one.
+ * @param <T>      The type of the items.
+ */
+public record Connection<T>(List<Edge<T>> edges, PageInfo pageInfo) {
+}
@@ -0,0 +1,140 @@
+package com.mikejacks.international_currency_converter.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Utility class for encoding keyset cursors and assembling cursor connections.
+ *
+ * <p>A cursor holds the sort key of the last item a client has seen, so the next page is read with a
+ * {@code WHERE key > cursor ORDER BY key LIMIT n} query that starts at the cursor in the index. Unlike an offset, the
+ * cost of such a query does not grow with the depth of the page. Cursors are base64url encoded so that clients treat
+ * them as opaque.</p>
+ */
+public final class Cursors {
+    private static final String ID_PREFIX = "id:";
+    private static final String PRICE_PREFIX = "price:";
+
+    private Cursors() {
+    }
+
+    /**
+     * Encodes a cursor for a connection ordered by ID.
+     *
+     * @param id The ID of the item.
+     * @return The cursor of the item.
+     */
+    public static String encodeId(UUID id) {
+        return encode(ID_PREFIX + id);
+    }
+
+    /**
+     * Decodes a cursor of a connection ordered by ID.
+     *
+     * @param cursor The cursor, or {@code null} for the first page.
+     * @return The ID held by the cursor, or {@code null} if the cursor is {@code null}.
+     * @throws IllegalArgumentException if the cursor is not a cursor of a connection ordered by ID.
+     */
+    public static UUID decodeId(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String decoded = decode(cursor);
+        if (!decoded.startsWith(ID_PREFIX)) {
+            throw invalidCursor(cursor);
+        }
+        try {
+            return UUID.fromString(decoded.substring(ID_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    /**
+     * Encodes a cursor for a connection ordered by price, then ID.
+     *
+     * @param price The price of the item.
+     * @param id The ID of the item.
+     * @return The cursor of the item.
+     */
+    public static String encodePrice(double price, UUID id) {
+        return encode(PRICE_PREFIX + price + ":" + id);
+    }
+
+    /**
+     * Decodes a cursor of a connection ordered by price, then ID.
+     *
+     * @param cursor The cursor, or {@code null} for the first page.
+     * @return The price and ID held by the cursor, or {@code null} if the cursor is {@code null}.
+     * @throws IllegalArgumentException if the cursor is not a cursor of a connection ordered by price.
+     */
+    public static PriceCursor decodePrice(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String decoded = decode(cursor);
+        int separator = decoded.lastIndexOf(':');
+        if (!decoded.startsWith(PRICE_PREFIX) || separator <= PRICE_PREFIX.length()) {
+            throw invalidCursor(cursor);
+        }
+        try {
+            return new PriceCursor(Double.parseDouble(decoded.substring(PRICE_PREFIX.length(), separator)),
+                    UUID.fromString(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    /**
+     * Assembles a connection from the rows read for a page.
+     *
+     * <p>The rows are expected to have been read with a limit of one more than the page size, so that an extra row
+     * indicates that a next page exists without a separate count query.</p>
+     *
+     * @param rows The rows read for the page, at most {@code pageSize + 1}.
+     * @param pageSize The number of items requested.
+     * @param after The cursor the page was requested after, or {@code null} for the first page.
+     * @param cursorOf The function encoding the cursor of an item.
+     * @param <T> The type of the items.
+     * @return The connection holding at most {@code pageSize} items.
+     */
+    public static <T> Connection<T> connection(List<T> rows, int pageSize, String after, Function<T, String> cursorOf) {
+        List<Edge<T>> edges = rows.stream()
+                .limit(pageSize)
+                .map(row -> new Edge<>(cursorOf.apply(row), row))
+                .toList();
+        return new Connection<>(edges, new PageInfo(
+                rows.size() > pageSize,
+                after != null,
+                edges.isEmpty() ? null : edges.getFirst().cursor(),
+                edges.isEmpty() ? null : edges.getLast().cursor()));
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    private static IllegalArgumentException invalidCursor(String cursor) {
+        return new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
+    /**
+     * The position of an item in a connection ordered by price, then ID.
+     *
+     * @param price The price of the item.
+     * @param id The ID of the item.
+     */
+    public record PriceCursor(double price, UUID id) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.mikejacks.international_currency_converter.pagination;
+
+/**
+ * Record class representing an item of a cursor connection.
+ *
+ * @param cursor The opaque cursor of the item, passed as {@code after} to request the items following it.
+ * @param node   The item.
+ * @param <T>    The type of the item.
+ */
+public record Edge<T>(String cursor, T node) {
+}
@@ -0,0 +1,12 @@
+package com.mikejacks.international_currency_converter.pagination;
+
+/**
+ * Record class representing the page information of a cursor connection.
+ *
+ * @param hasNextPage     Indicates whether more items follow the page.
+ * @param hasPreviousPage Indicates whether the page was requested after a cursor, and so items precede it.
+ * @param startCursor     The cursor of the first item of the page, or {@code null} if the page is empty.
+ * @param endCursor       The cursor of the last item of the page, or {@code null} if the page is empty.
+ */
+public record PageInfo(boolean hasNextPage, boolean hasPreviousPage, String startCursor, String endCursor) {
+}
@@ -0,0 +1,71 @@
+package com.mikejacks.international_currency_converter.pagination;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Server-enforced limits on the number of items returned by list and connection queries.
+ *
+ * <p>Connections return {@code pagination.default-page-size} items when {@code first} is not specified, and reject a
+ * {@code first} above {@code pagination.max-page-size}. The legacy list queries, which predate connections and cannot
+ * be paged, return at most {@code pagination.list-cap} items.</p>
+ */
+@Component
+public class PaginationSettings {
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int listCap;
+
+    /**
+     * Constructs a new {@code PaginationSettings} with the specified limits.
+     *
+     * @param defaultPageSize The number of items of a page when {@code first} is not specified.
+     * @param maxPageSize The maximum number of items of a page.
+     * @param listCap The maximum number of items returned by a list query.
+     * @throws IllegalArgumentException if a limit is less than 1, or the default page size exceeds the maximum.
+     */
+    @Autowired
+    public PaginationSettings(@Value("${pagination.default-page-size:50}") int defaultPageSize,
+                              @Value("${pagination.max-page-size:500}") int maxPageSize,
+                              @Value("${pagination.list-cap:1000}") int listCap) {
+        if (defaultPageSize < 1 || maxPageSize < 1 || listCap < 1) {
+            throw new IllegalArgumentException("Pagination limits must be at least 1");
+        }
+        if (defaultPageSize > maxPageSize) {
+            throw new IllegalArgumentException("pagination.default-page-size must not exceed pagination.max-page-size");
+        }
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.listCap = listCap;
+    }
+
+    /**
+     * Resolves the number of items of a page.
+     *
+     * @param first The number of items requested by the client, or {@code null} for the default.
+     * @return The number of items of the page.
+     * @throws IllegalArgumentException if {@code first} is less than 1 or exceeds the maximum page size.
+     */
+    public int pageSize(Integer first) {
+        if (first == null) {
+            return defaultPageSize;
+        }
+        if (first < 1) {
+            throw new IllegalArgumentException("first must be at least 1");
+        }
+        if (first > maxPageSize) {
+            throw new IllegalArgumentException("first must not exceed " + maxPageSize);
+        }
+        return first;
+    }
+
+    /**
+     * Returns the maximum number of items returned by a list query.
+     *
+     * @return The list cap.
+     */
+    public int listCap() {
+        return listCap;
+    }
+}
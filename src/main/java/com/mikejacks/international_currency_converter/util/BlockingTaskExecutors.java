@@ -0,0 +1,41 @@
+package com.mikejacks.international_currency_converter.util;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Factory of the executors that run blocking lookups off the calling thread.
+ *
+ * <p>When {@code spring.threads.virtual.enabled} is set, every task runs on its own virtual thread; otherwise a
+ * fixed-size platform-thread pool with a bounded queue is used. Each module defines its own executor bean through this
+ * factory, so a backlog of lookups in one module cannot take the threads of the other.</p>
+ */
+public final class BlockingTaskExecutors {
+
+    private BlockingTaskExecutors() {
+    }
+
+    /**
+     * Creates an executor for blocking lookups.
+     *
+     * @param threadNamePrefix The prefix of the names of the executor's threads.
+     * @param virtualThreadsEnabled Whether tasks should run on virtual threads.
+     * @param poolSize The number of threads in the pool when virtual threads are disabled.
+     * @param queueCapacity The number of tasks allowed to wait for a thread when virtual threads are disabled.
+     * @return The executor for blocking lookups.
+     */
+    public static AsyncTaskExecutor create(String threadNamePrefix, boolean virtualThreadsEnabled, int poolSize, int queueCapacity) {
+        if (virtualThreadsEnabled) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        return executor;
+    }
+}
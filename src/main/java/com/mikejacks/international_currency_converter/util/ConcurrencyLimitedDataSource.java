@@ -0,0 +1,83 @@
+package com.mikejacks.international_currency_converter.util;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code DataSource} that takes a permit from a {@link JdbcConcurrencyLimiter} for every connection it hands out.
+ *
+ * <p>The permit is taken before a connection is requested from the target data source and returned when the
+ * connection is closed, or right away if the target fails to provide one. Closing a connection more than once returns
+ * its permit only once. A caller that asks for a second connection while holding one waits for a second permit, just as
+ * it would wait for a second connection from the pool.</p>
+ *
+ * @see ConcurrencyLimitedDataSourceWrapper
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+    private final JdbcConcurrencyLimiter jdbcConcurrencyLimiter;
+
+    /**
+     * Constructs a new {@code ConcurrencyLimitedDataSource}.
+     *
+     * @param targetDataSource The data source connections are obtained from.
+     * @param jdbcConcurrencyLimiter The limiter the permits are taken from.
+     */
+    public ConcurrencyLimitedDataSource(DataSource targetDataSource, JdbcConcurrencyLimiter jdbcConcurrencyLimiter) {
+        super(targetDataSource);
+        this.jdbcConcurrencyLimiter = jdbcConcurrencyLimiter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        jdbcConcurrencyLimiter.acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            jdbcConcurrencyLimiter.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        jdbcConcurrencyLimiter.acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            jdbcConcurrencyLimiter.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps a connection so that closing it returns its permit.
+     *
+     * @param connection The connection obtained from the target data source.
+     * @return A connection delegating to the specified one.
+     */
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            try {
+                if (method.getName().equals("close")) {
+                    try {
+                        return method.invoke(connection, args);
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            jdbcConcurrencyLimiter.release();
+                        }
+                    }
+                }
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.mikejacks.international_currency_converter.util;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Post-processor that routes every {@code DataSource} bean through a {@link ConcurrencyLimitedDataSource}.
+ *
+ * <p>Wrapping the data source limits every way the application reaches the database, JPA, {@code JdbcTemplate} and
+ * Flyway alike, without the callers having to know about the limit. Connection pool metrics still see the underlying
+ * pool, since the wrapper unwraps to it. The limiter is looked up only when a data source is wrapped.</p>
+ */
+@Component
+public class ConcurrencyLimitedDataSourceWrapper implements BeanPostProcessor {
+    private final ObjectProvider<JdbcConcurrencyLimiter> jdbcConcurrencyLimiter;
+
+    /**
+     * Constructs a new {@code ConcurrencyLimitedDataSourceWrapper} taking permits from the specified limiter.
+     *
+     * @param jdbcConcurrencyLimiter The provider of the limiter every connection takes a permit from.
+     */
+    @Autowired
+    public ConcurrencyLimitedDataSourceWrapper(ObjectProvider<JdbcConcurrencyLimiter> jdbcConcurrencyLimiter) {
+        this.jdbcConcurrencyLimiter = jdbcConcurrencyLimiter;
+    }
+
+    /**
+     * Wraps a {@code DataSource} bean in a concurrency-limited data source; any other bean is returned as is.
+     *
+     * @param bean The initialized bean.
+     * @param beanName The name of the bean.
+     * @return The concurrency-limited data source, or the bean itself.
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+            return bean;
+        }
+        return new ConcurrencyLimitedDataSource(dataSource, jdbcConcurrencyLimiter.getObject());
+    }
+}
@@ -0,0 +1,58 @@
+package com.mikejacks.international_currency_converter.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Micrometer instrumentation shared by the GraphQL data loaders.
+ *
+ * <p>Every dispatched batch is recorded under two meters tagged with the name of the data loader:
+ * {@code graphql.dataloader.batch.size}, the number of keys resolved by the batch, and
+ * {@code graphql.dataloader.dispatch}, the time taken to load it. The count of the timer is the number of dispatches,
+ * so comparing it with the total batch size shows how many field lookups each query replaced.</p>
+ */
+@Component
+public class DataLoaderMetrics {
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new {@code DataLoaderMetrics} publishing to the specified registry.
+     *
+     * @param meterRegistry The registry the batch metrics are published to.
+     */
+    @Autowired
+    public DataLoaderMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Loads a batch of keys, recording its size and duration.
+     *
+     * @param loaderName The name of the data loader dispatching the batch.
+     * @param keys The keys of the batch.
+     * @param load The function resolving the keys of the batch.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     * @return The values resolved for the keys of the batch.
+     */
+    public <K, V> Map<K, V> record(String loaderName, Set<K> keys, Function<Set<K>, Map<K, V>> load) {
+        DistributionSummary.builder("graphql.dataloader.batch.size")
+                .description("Number of keys resolved by one data loader dispatch")
+                .baseUnit("keys")
+                .tag("loader", loaderName)
+                .register(meterRegistry)
+                .record(keys.size());
+        return Timer.builder("graphql.dataloader.dispatch")
+                .description("Time taken to resolve one data loader batch")
+                .tag("loader", loaderName)
+                .register(meterRegistry)
+                .record(() -> load.apply(keys));
+    }
+}
@@ -0,0 +1,79 @@
+package com.mikejacks.international_currency_converter.util;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Hibernate identifier generator for the UUID primary keys of the entities.
+ *
+ * <p>By default this class generates time-ordered version 7 UUIDs with {@link UuidV7}, so that inserts append to the
+ * primary-key index instead of scattering across it. Setting {@code spring.jpa.properties.app.id.uuid-version} to
+ * {@code 4} switches back to random version 4 UUIDs.</p>
+ */
+public class EntityIdGenerator implements IdentifierGenerator {
+    /**
+     * The Hibernate setting selecting the UUID version of generated ids.
+     */
+    public static final String UUID_VERSION_SETTING = "app.id.uuid-version";
+
+    private boolean timeOrdered = true;
+
+    /**
+     * Reads the UUID version of generated ids from the Hibernate settings.
+     *
+     * @param type The type of the identifier.
+     * @param parameters The parameters of the generator declaration.
+     * @param serviceRegistry The service registry holding the Hibernate settings.
+     * @throws IllegalArgumentException if the configured UUID version is neither {@code 4} nor {@code 7}.
+     */
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        timeOrdered = isTimeOrdered(serviceRegistry.getService(ConfigurationService.class).getSettings().get(UUID_VERSION_SETTING));
+    }
+
+    /**
+     * Returns whether the specified value of the UUID version setting selects time-ordered ids.
+     *
+     * @param version The configured UUID version, or {@code null} for the default.
+     * @return {@code true} for version 7 or no configured version, {@code false} for version 4.
+     * @throws IllegalArgumentException if the UUID version is neither {@code 4} nor {@code 7}.
+     */
+    public static boolean isTimeOrdered(Object version) {
+        if (version == null) {
+            return true;
+        }
+        return switch (version.toString().trim()) {
+            case "7" -> true;
+            case "4" -> false;
+            default -> throw new IllegalArgumentException(UUID_VERSION_SETTING + " must be 4 or 7, was " + version);
+        };
+    }
+
+    /**
+     * Generates a new id outside of Hibernate, for rows that are written directly through JDBC.
+     *
+     * @param timeOrdered Whether to generate a time-ordered version 7 UUID instead of a random version 4 UUID.
+     * @return A new id.
+     */
+    public static UUID newId(boolean timeOrdered) {
+        return timeOrdered ? UuidV7.generate() : UUID.randomUUID();
+    }
+
+    /**
+     * Generates the id of a new entity.
+     *
+     * @param session The session the entity is persisted in.
+     * @param entity The entity being persisted.
+     * @return A new version 7 UUID, or a random version 4 UUID if configured.
+     */
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entity) {
+        return newId(timeOrdered);
+    }
+}
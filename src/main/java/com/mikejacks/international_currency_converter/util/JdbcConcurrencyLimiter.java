@@ -0,0 +1,85 @@
+package com.mikejacks.international_currency_converter.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guard that limits how many JDBC connections may be checked out at the same time.
+ *
+ * <p>With request handling, GraphQL data fetchers and data loaders on virtual threads, concurrency is no longer capped
+ * by the size of a platform-thread pool, so thousands of callers can reach the JDBC connection pool at once. This class
+ * admits at most as many connections as the pool holds, by default the configured Hikari {@code maximum-pool-size}.
+ * Further callers wait in FIFO order for a permit, which is cheap on a virtual thread, instead of timing out inside the
+ * connection pool.</p>
+ *
+ * <p>A permit is taken for every connection obtained from the application's {@code DataSource} and returned when the
+ * connection is closed, see {@link ConcurrencyLimitedDataSource}. Every JDBC entry point is therefore limited: JPA
+ * repositories and transactions, the batch repositories, the export stream and the data loaders alike.</p>
+ */
+@Component
+public class JdbcConcurrencyLimiter {
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    /**
+     * Constructs a new {@code JdbcConcurrencyLimiter} with the specified number of permits.
+     *
+     * @param maxConcurrency The maximum number of connections allowed to be checked out at the same time.
+     * @param acquireTimeout How long a caller may wait for a permit before giving up.
+     */
+    @Autowired
+    public JdbcConcurrencyLimiter(@Value("${jdbc.concurrency-limit:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+                                  @Value("${jdbc.acquire-timeout:60s}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Waits for a permit to check out a connection.
+     *
+     * @throws SQLTransientConnectionException if no permit became available within the acquire timeout.
+     * @throws SQLException if the waiting thread was interrupted.
+     */
+    public void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Timed out after " + acquireTimeout + " waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    /**
+     * Returns a permit taken by {@link #acquire()}.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Returns the number of callers currently waiting for a permit.
+     *
+     * @return An estimate of the number of waiting callers.
+     */
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Returns the number of permits currently available.
+     *
+     * @return The number of connections that can be checked out without waiting.
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,148 @@
+package com.mikejacks.international_currency_converter.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Micrometer instrumentation of every SQL statement run through the application {@code DataSource}.
+ *
+ * <p>This listener replaces {@code spring.jpa.show-sql}, which printed every statement synchronously to standard out.
+ * Each statement, or JDBC batch, is instead recorded under the {@code jdbc.statement} timer, tagged with its
+ * {@code operation} ({@code select}, {@code insert}, {@code update}, {@code delete} or {@code other}), whether it was a
+ * {@code batch}, and its {@code outcome}. The timer publishes a percentile histogram, so latency percentiles can be
+ * aggregated across instances. Statements from Hibernate and from the {@code JdbcTemplate} batch repositories are
+ * recorded alike, since both go through the same {@code DataSource}.</p>
+ *
+ * <p>Statements that take at least {@code jdbc.slow-statement-threshold} are also counted under
+ * {@code jdbc.statement.slow}, and a sample of them, {@code jdbc.slow-statement-log-sample-rate}, is logged with its
+ * SQL text. Bind parameters are never logged. Only slow statements are logged at all, so a healthy database produces
+ * no log output here.</p>
+ */
+@Component
+public class SqlStatementMetrics implements QueryExecutionListener {
+    private static final Logger logger = Logger.getLogger(SqlStatementMetrics.class.getName());
+
+    private static final String START_NANOS = SqlStatementMetrics.class.getName() + ".startNanos";
+
+    /**
+     * The longest SQL text included in a slow statement log record.
+     */
+    static final int MAX_LOGGED_SQL_LENGTH = 1000;
+
+    private final Meter.MeterProvider<Timer> statementTimers;
+    private final Meter.MeterProvider<Counter> slowStatementCounters;
+    private final long slowThresholdNanos;
+    private final double logSampleRate;
+
+    /**
+     * Constructs a new {@code SqlStatementMetrics} publishing to the specified registry.
+     *
+     * @param meterRegistry The registry the statement metrics are published to.
+     * @param slowThreshold The duration from which a statement counts as slow.
+     * @param logSampleRate The fraction of slow statements that are logged, from 0 (none) to 1 (all).
+     * @throws IllegalArgumentException if the threshold is negative or the sample rate is outside 0 to 1.
+     */
+    @Autowired
+    public SqlStatementMetrics(MeterRegistry meterRegistry,
+                               @Value("${jdbc.slow-statement-threshold:200ms}") Duration slowThreshold,
+                               @Value("${jdbc.slow-statement-log-sample-rate:0.1}") double logSampleRate) {
+        if (slowThreshold.isNegative()) {
+            throw new IllegalArgumentException("slowThreshold must not be negative");
+        }
+        if (logSampleRate < 0 || logSampleRate > 1) {
+            throw new IllegalArgumentException("logSampleRate must be between 0 and 1");
+        }
+        this.statementTimers = Timer.builder("jdbc.statement")
+                .description("Time taken to execute one SQL statement or JDBC batch")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .withRegistry(meterRegistry);
+        this.slowStatementCounters = Counter.builder("jdbc.statement.slow")
+                .description("Number of SQL statements or JDBC batches at or above the slow statement threshold")
+                .withRegistry(meterRegistry);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.logSampleRate = logSampleRate;
+    }
+
+    /**
+     * Notes the start time of a statement.
+     *
+     * @param execInfo The execution being started.
+     * @param queryInfoList The statements of the execution.
+     */
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    /**
+     * Records the duration of a statement, and counts and samples it if it was slow.
+     *
+     * @param execInfo The execution that finished.
+     * @param queryInfoList The statements of the execution.
+     */
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsedNanos = startNanos != null ? System.nanoTime() - startNanos : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.getFirst().getQuery();
+        String operation = operation(sql);
+        statementTimers.withTags("operation", operation,
+                        "batch", Boolean.toString(execInfo.isBatch()),
+                        "outcome", execInfo.isSuccess() ? "success" : "error")
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos >= slowThresholdNanos) {
+            slowStatementCounters.withTags("operation", operation).increment();
+            if (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+                logger.warning(String.format("Slow SQL %s took %d ms%s: %s", operation,
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        execInfo.isBatch() ? " for a batch of " + execInfo.getBatchSize() : "",
+                        truncate(sql)));
+            }
+        }
+    }
+
+    /**
+     * Classifies a statement by its leading keyword.
+     *
+     * @param sql The SQL text of the statement.
+     * @return {@code select}, {@code insert}, {@code update}, {@code delete}, or {@code other} for anything else,
+     *         including common table expressions.
+     */
+    static String operation(String sql) {
+        int start = 0;
+        while (start < sql.length() && !Character.isLetter(sql.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        String keyword = sql.substring(start, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete" -> keyword;
+            default -> "other";
+        };
+    }
+
+    private static String truncate(String sql) {
+        String singleLine = sql.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= MAX_LOGGED_SQL_LENGTH ? singleLine : singleLine.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,51 @@
+package com.mikejacks.international_currency_converter.util;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Post-processor that routes every {@code DataSource} bean through a proxy timed by {@link SqlStatementMetrics}.
+ *
+ * <p>The proxy wraps the connection pool, so JPA, Flyway and {@code JdbcTemplate} all run their statements through it
+ * without further configuration. Connection pool metrics still see the underlying pool, since the proxy unwraps to
+ * it. The metrics listener is looked up only when a data source is wrapped, so that the meter registry is not created
+ * during post-processor registration.</p>
+ */
+@Component
+public class SqlTimingDataSourceWrapper implements BeanPostProcessor {
+    private final ObjectProvider<SqlStatementMetrics> sqlStatementMetrics;
+
+    /**
+     * Constructs a new {@code SqlTimingDataSourceWrapper} recording statements with the specified listener.
+     *
+     * @param sqlStatementMetrics The provider of the listener recording every statement.
+     */
+    @Autowired
+    public SqlTimingDataSourceWrapper(ObjectProvider<SqlStatementMetrics> sqlStatementMetrics) {
+        this.sqlStatementMetrics = sqlStatementMetrics;
+    }
+
+    /**
+     * Wraps a {@code DataSource} bean in a timed proxy; any other bean is returned as is.
+     *
+     * @param bean The initialized bean.
+     * @param beanName The name of the bean.
+     * @return The timed proxy of a data source, or the bean itself.
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(sqlStatementMetrics.getObject())
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+-- Store every id as a native 16-byte UUID. The tables created by earlier migrations already do, so this only rewrites
+-- id columns that were created as text, for example by Hibernate schema generation with the former CHAR mapping.
+DO $$
+DECLARE
+    id_column RECORD;
+BEGIN
+    FOR id_column IN
+        SELECT table_name
+        FROM information_schema.columns
+        WHERE table_schema = current_schema()
+          AND table_name IN ('currency', 'country', 'product')
+          AND column_name = 'id'
+          AND data_type <> 'uuid'
+    LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id TYPE UUID USING trim(id)::uuid', id_column.table_name);
+    END LOOP;
+END $$;
@@ -0,0 +1,4 @@
+-- Keyset pagination of products in price order reads (price, id) ranges; this index serves those pages as well as
+-- the price range queries served by ix_product_price, which it replaces
+CREATE INDEX IF NOT EXISTS ix_product_price_id ON product (price, id);
+DROP INDEX IF EXISTS ix_product_price;
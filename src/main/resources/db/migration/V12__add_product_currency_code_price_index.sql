@@ -0,0 +1,3 @@
+-- Price range searches in a reference currency read one price range per product currency, and the distinct product
+-- currencies are found by walking this index
+CREATE INDEX IF NOT EXISTS ix_product_currency_code_price ON product (currency_code, price);
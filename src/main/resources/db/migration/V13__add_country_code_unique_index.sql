@@ -0,0 +1,29 @@
+-- The duty and tax rate columns were only ever created by Hibernate; declare them so the schema no longer depends on it
+ALTER TABLE country ADD COLUMN IF NOT EXISTS duty_rate FLOAT;
+ALTER TABLE country ADD COLUMN IF NOT EXISTS tax_rate FLOAT;
+
+-- Refuse to enforce uniqueness over duplicate country codes rather than pick a survivor: ids are random, so no row
+-- is more canonical than another, and other tables or clients may reference any of them. Resolve the listed codes by
+-- hand, keeping the row that is referenced, and run the migration again.
+DO $$
+DECLARE
+    duplicate_codes TEXT;
+BEGIN
+    SELECT string_agg(code || ' (' || copies || ' rows)', ', ' ORDER BY code)
+    INTO duplicate_codes
+    FROM (
+        SELECT code, COUNT(*) AS copies
+        FROM country
+        GROUP BY code
+        HAVING COUNT(*) > 1
+    ) duplicates;
+
+    IF duplicate_codes IS NOT NULL THEN
+        RAISE EXCEPTION 'Cannot add a unique index on country.code: duplicate codes %', duplicate_codes
+            USING HINT = 'Delete or recode all but one country of each listed code, then rerun the migration.';
+    END IF;
+END $$;
+
+-- One country per code, the conflict target of country upserts; replaces the plain lookup index
+CREATE UNIQUE INDEX IF NOT EXISTS ux_country_code ON country (code);
+DROP INDEX IF EXISTS ix_country_code;
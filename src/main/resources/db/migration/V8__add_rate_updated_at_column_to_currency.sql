@@ -0,0 +1 @@
+ALTER TABLE currency ADD COLUMN IF NOT EXISTS rate_updated_at TIMESTAMP WITH TIME ZONE;
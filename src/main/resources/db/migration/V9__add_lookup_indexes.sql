@@ -0,0 +1,34 @@
+-- Refuse to enforce uniqueness over duplicate currency pairs rather than delete rows: which copy holds the right rate
+-- cannot be decided here. Resolve the listed pairs by hand and run the migration again.
+DO $$
+DECLARE
+    duplicate_pairs TEXT;
+BEGIN
+    SELECT string_agg(base_code || '->' || target_code || ' (' || copies || ' rows)', ', ' ORDER BY base_code, target_code)
+    INTO duplicate_pairs
+    FROM (
+        SELECT base_code, target_code, COUNT(*) AS copies
+        FROM currency
+        GROUP BY base_code, target_code
+        HAVING COUNT(*) > 1
+    ) duplicates;
+
+    IF duplicate_pairs IS NOT NULL THEN
+        RAISE EXCEPTION 'Cannot add a unique index on currency (base_code, target_code): duplicate pairs %', duplicate_pairs
+            USING HINT = 'Delete all but one currency of each listed pair, then rerun the migration.';
+    END IF;
+END $$;
+
+-- One rate per currency pair; also serves lookups by base code alone
+CREATE UNIQUE INDEX IF NOT EXISTS ux_currency_base_code_target_code ON currency (base_code, target_code);
+
+-- Lookups of the rates into a target currency
+CREATE INDEX IF NOT EXISTS ix_currency_target_code ON currency (target_code);
+
+-- Country lookups by code and by name
+CREATE INDEX IF NOT EXISTS ix_country_code ON country (code);
+CREATE INDEX IF NOT EXISTS ix_country_name ON country (name);
+
+-- Product lookups by name and price range queries
+CREATE INDEX IF NOT EXISTS ix_product_name ON product (name);
+CREATE INDEX IF NOT EXISTS ix_product_price ON product (price);
@@ -0,0 +1,139 @@
+package com.mikejacks.international_currency_converter.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Release gate comparing a JMH result file with a recorded baseline.
+ *
+ * <p>Both files are JMH JSON result files, as written with {@code -rf json}. Each benchmark, identified by its name
+ * and parameters, is compared with the baseline run of the same benchmark in the same mode and unit. A benchmark
+ * regresses when it is slower than its baseline by more than the threshold: a throughput that fell by more than the
+ * threshold fraction, or an average, sample or single-shot time that rose by more than it. Benchmarks without a
+ * baseline are reported but never fail the check.</p>
+ *
+ * <p>This class is run by the {@code benchmark} Maven profile after the benchmarks, with the arguments
+ * {@code <result file> <baseline file> <threshold> <record>}. It exits with status 1 if any benchmark regressed. When
+ * {@code record} is {@code true}, the result file is copied over the baseline instead of being checked.</p>
+ */
+public class BenchmarkRegressionCheck {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The comparison of one benchmark with its baseline.
+     *
+     * @param benchmark The name and parameters of the benchmark.
+     * @param mode The JMH mode of the benchmark, such as {@code thrpt} or {@code avgt}.
+     * @param unit The unit of the scores.
+     * @param baselineScore The score of the baseline run.
+     * @param score The score of the current run.
+     * @param slowdown How much slower the current run is, as a fraction of the baseline; negative if it is faster.
+     * @param regressed Whether the slowdown exceeds the threshold.
+     */
+    record Comparison(String benchmark, String mode, String unit, double baselineScore, double score, double slowdown, boolean regressed) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            throw new IllegalArgumentException("Usage: BenchmarkRegressionCheck <result file> <baseline file> <threshold> <record>");
+        }
+        Path resultFile = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        boolean record = Boolean.parseBoolean(args[3]);
+
+        if (record) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            Files.copy(resultFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Recorded " + resultFile + " as the benchmark baseline " + baselineFile);
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No benchmark baseline at " + baselineFile + ", skipping the regression check. "
+                    + "Record one with -Dbenchmark.record-baseline=true.");
+            return;
+        }
+
+        Map<String, JsonNode> baseline = byBenchmark(OBJECT_MAPPER.readTree(baselineFile.toFile()));
+        Map<String, JsonNode> results = byBenchmark(OBJECT_MAPPER.readTree(resultFile.toFile()));
+        for (String benchmark : results.keySet()) {
+            if (!baseline.containsKey(benchmark)) {
+                System.out.println("NEW        " + benchmark + " has no baseline");
+            }
+        }
+        List<Comparison> comparisons = compare(baseline, results, threshold);
+        boolean regressed = false;
+        for (Comparison comparison : comparisons) {
+            regressed |= comparison.regressed();
+            System.out.printf("%-10s %s [%s] %.3f -> %.3f %s (%+.1f%%)%n", comparison.regressed() ? "REGRESSED" : "OK",
+                    comparison.benchmark(), comparison.mode(), comparison.baselineScore(), comparison.score(),
+                    comparison.unit(), comparison.slowdown() * 100);
+        }
+        if (regressed) {
+            System.out.printf("Benchmarks regressed by more than %.1f%% against %s%n", threshold * 100, baselineFile);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares every benchmark that has a baseline in the same mode and unit with that baseline.
+     *
+     * @param baseline The baseline runs by benchmark, as returned by {@link #byBenchmark(JsonNode)}.
+     * @param results The current runs by benchmark, as returned by {@link #byBenchmark(JsonNode)}.
+     * @param threshold The largest slowdown allowed, as a fraction of the baseline.
+     * @return The comparisons, in the order of the current runs.
+     */
+    static List<Comparison> compare(Map<String, JsonNode> baseline, Map<String, JsonNode> results, double threshold) {
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> result : results.entrySet()) {
+            JsonNode baselineRun = baseline.get(result.getKey());
+            if (baselineRun == null) {
+                continue;
+            }
+            String mode = result.getValue().path("mode").asText();
+            String unit = result.getValue().path("primaryMetric").path("scoreUnit").asText();
+            if (!mode.equals(baselineRun.path("mode").asText()) || !unit.equals(baselineRun.path("primaryMetric").path("scoreUnit").asText())) {
+                continue;
+            }
+            double baselineScore = baselineRun.path("primaryMetric").path("score").asDouble();
+            double score = result.getValue().path("primaryMetric").path("score").asDouble();
+            double slowdown = mode.equals("thrpt")
+                    ? (baselineScore - score) / baselineScore
+                    : (score - baselineScore) / baselineScore;
+            comparisons.add(new Comparison(result.getKey(), mode, unit, baselineScore, score, slowdown, slowdown > threshold));
+        }
+        return comparisons;
+    }
+
+    /**
+     * Indexes the runs of a JMH result file by benchmark name and parameters.
+     *
+     * @param runs The contents of a JMH JSON result file.
+     * @return The runs keyed by the benchmark name, followed by its parameters in name order, if any.
+     */
+    static Map<String, JsonNode> byBenchmark(JsonNode runs) {
+        Map<String, JsonNode> byBenchmark = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = run.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            String benchmark = run.path("benchmark").asText();
+            byBenchmark.put(params.isEmpty() ? benchmark : benchmark + params, run);
+        }
+        return byBenchmark;
+    }
+}
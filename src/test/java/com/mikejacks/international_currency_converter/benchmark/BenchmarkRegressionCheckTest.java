@@ -0,0 +1,68 @@
+package com.mikejacks.international_currency_converter.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@code BenchmarkRegressionCheck}.
+ */
+class BenchmarkRegressionCheckTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static Map<String, JsonNode> runs(String json) throws JsonProcessingException {
+        return BenchmarkRegressionCheck.byBenchmark(OBJECT_MAPPER.readTree(json));
+    }
+
+    private static String run(String benchmark, String mode, String params, double score) {
+        return "{\"benchmark\":\"" + benchmark + "\",\"mode\":\"" + mode + "\"" + (params == null ? "" : ",\"params\":" + params)
+                + ",\"primaryMetric\":{\"score\":" + score + ",\"scoreUnit\":\"" + (mode.equals("thrpt") ? "ops/s" : "ns/op") + "\"}}";
+    }
+
+    /**
+     * Tests that runs are keyed by benchmark name and parameters.
+     */
+    @Test
+    void testByBenchmark() throws JsonProcessingException {
+        Map<String, JsonNode> runs = runs("[" + run("a.B.range", "thrpt", "{\"window\":\"1\",\"products\":\"100\"}", 1)
+                + "," + run("a.B.range", "thrpt", "{\"window\":\"100\",\"products\":\"100\"}", 2)
+                + "," + run("a.C.parse", "avgt", null, 3) + "]");
+
+        assertEquals(List.of("a.B.range{products=100, window=1}", "a.B.range{products=100, window=100}", "a.C.parse"),
+                List.copyOf(runs.keySet()));
+    }
+
+    /**
+     * Tests that a lower throughput or a higher average time beyond the threshold is a regression, and that
+     * benchmarks without a baseline or in another mode are not compared.
+     */
+    @Test
+    void testCompare() throws JsonProcessingException {
+        Map<String, JsonNode> baseline = runs("[" + run("a.B.fast", "thrpt", null, 1000)
+                + "," + run("a.B.slow", "thrpt", null, 1000)
+                + "," + run("a.C.fast", "avgt", null, 100)
+                + "," + run("a.C.slow", "avgt", null, 100)
+                + "," + run("a.D.changed", "avgt", null, 100) + "]");
+        Map<String, JsonNode> results = runs("[" + run("a.B.fast", "thrpt", null, 1200)
+                + "," + run("a.B.slow", "thrpt", null, 850)
+                + "," + run("a.C.fast", "avgt", null, 105)
+                + "," + run("a.C.slow", "avgt", null, 125)
+                + "," + run("a.D.changed", "thrpt", null, 1)
+                + "," + run("a.E.new", "avgt", null, 1) + "]");
+
+        List<BenchmarkRegressionCheck.Comparison> comparisons = BenchmarkRegressionCheck.compare(baseline, results, 0.10);
+
+        assertEquals(List.of("a.B.fast", "a.B.slow", "a.C.fast", "a.C.slow"),
+                comparisons.stream().map(BenchmarkRegressionCheck.Comparison::benchmark).toList());
+        assertEquals(List.of(false, true, false, true),
+                comparisons.stream().map(BenchmarkRegressionCheck.Comparison::regressed).toList());
+        assertEquals(-0.2, comparisons.get(0).slowdown(), 1e-9);
+        assertEquals(0.25, comparisons.get(3).slowdown(), 1e-9);
+    }
+}
@@ -0,0 +1,83 @@
+package com.mikejacks.international_currency_converter.benchmark;
+
+import com.mikejacks.international_currency_converter.landedcost.entity.Country;
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the currency code validation in the entity setters.
+ *
+ * <p>Every entity constructed from a database row, a GraphQL input or an import row goes through these setters, so
+ * their cost is paid once per row on every read and write path. Each operation validates one code, cycling through a
+ * fixed set of valid codes; construction benchmarks include every setter of the entity.</p>
+ *
+ * <p>Run through {@link #main(String[])} on the test classpath, or together with the other benchmarks with
+ * {@code mvn -Pbenchmark verify -Dbenchmark.include=EntityValidationBenchmark}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityValidationBenchmark {
+    private static final String[] CODES = {"USD", "EUR", "JPY", "gbp", " CHF ", "AUD", "cad", "NZD"};
+    private static final UUID ID = UUID.randomUUID();
+
+    private final Currency currency = new Currency("USD", "EUR", 0.92);
+    private final Country country = new Country("Naboo", "NAB", 4.0, 1.0);
+    private final Product product = new Product("LightSaber", 1000.00, "USD");
+    private int next;
+
+    private String nextCode() {
+        next = (next + 1) & (CODES.length - 1);
+        return CODES[next];
+    }
+
+    @Benchmark
+    public Currency currencySetBaseCode() {
+        currency.setBaseCode(nextCode());
+        return currency;
+    }
+
+    @Benchmark
+    public Country countrySetCode() {
+        country.setCode(nextCode());
+        return country;
+    }
+
+    @Benchmark
+    public Product productSetCurrencyCode() {
+        product.setCurrencyCode(nextCode());
+        return product;
+    }
+
+    @Benchmark
+    public Currency newCurrency() {
+        return new Currency(ID, nextCode(), nextCode(), 1.5);
+    }
+
+    @Benchmark
+    public Product newProduct() {
+        return new Product(ID, "LightSaber", 1000.00, nextCode());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EntityValidationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,156 @@
+package com.mikejacks.international_currency_converter.benchmark;
+
+import com.mikejacks.international_currency_converter.landedcost.cache.LandedCostResultCache;
+import com.mikejacks.international_currency_converter.landedcost.client.CurrencyRateCache;
+import com.mikejacks.international_currency_converter.landedcost.client.LocalizationGraphQLClient;
+import com.mikejacks.international_currency_converter.landedcost.entity.Country;
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.model.LandedCost;
+import com.mikejacks.international_currency_converter.landedcost.repository.CountryRepository;
+import com.mikejacks.international_currency_converter.landedcost.repository.ProductRepository;
+import com.mikejacks.international_currency_converter.landedcost.service.impl.BaseLandedCostService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * JMH benchmark of the landed-cost calculations of {@code BaseLandedCostService}, without any I/O.
+ *
+ * <p>The repositories are mocks answering from in-memory maps and every conversion rate is already held by a warm
+ * {@code CurrencyRateCache}, so the benchmark measures the service itself: the repository lookups, the rate cache
+ * hits, the arithmetic and the calculation timers. The landed-cost result cache is disabled, so every operation
+ * calculates. The matrix benchmark calculates {@code 10 x 10 x 3} landed
+ * costs per operation.</p>
+ *
+ * <p>Run through {@link #main(String[])} on the test classpath, or together with the other benchmarks with
+ * {@code mvn -Pbenchmark verify -Dbenchmark.include=LandedCostBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LandedCostBenchmark {
+    private static final List<String> CURRENCY_CODES = List.of("USD", "EUR", "JPY");
+
+    private final Map<UUID, Product> products = new HashMap<>();
+    private final Map<UUID, Country> countries = new HashMap<>();
+    private List<UUID> productIds;
+    private List<UUID> countryIds;
+    private BaseLandedCostService landedCostService;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < 10; i++) {
+            Product product = new Product("product-" + i, 10.0 + i * 7.5, CURRENCY_CODES.get(i % CURRENCY_CODES.size()));
+            products.put(product.getId(), product);
+            Country country = new Country("country-" + i, "C" + (char) ('A' + i) + "X", 1.0 + i, 5.0 + i);
+            countries.put(country.getId(), country);
+        }
+        productIds = List.copyOf(products.keySet());
+        countryIds = List.copyOf(countries.keySet());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("{\"data\":{\"currency\":{\"baseCode\":\"USD\",\"targetCode\":\"EUR\",\"conversionRate\":0.92}}}")
+                        .build()))
+                .build();
+        CurrencyRateCache currencyRateCache = new CurrencyRateCache(new LocalizationGraphQLClient(webClient, meterRegistry),
+                meterRegistry, 1000, Duration.ofHours(1), Duration.ofHours(1));
+        for (String baseCode : CURRENCY_CODES) {
+            for (String targetCode : CURRENCY_CODES) {
+                currencyRateCache.getCurrency(baseCode, targetCode);
+            }
+        }
+        landedCostService = new BaseLandedCostService(productRepository(products),
+                countryRepository(countries), currencyRateCache,
+                new LandedCostResultCache(meterRegistry, false, 0, Duration.ofHours(1)), Runnable::run, meterRegistry);
+    }
+
+    /**
+     * Creates a product repository answering {@code findById} and {@code findAllById} from the specified products.
+     * The mock is stub-only, so it does not record the millions of invocations a benchmark makes.
+     */
+    private static ProductRepository productRepository(Map<UUID, Product> products) {
+        ProductRepository productRepository = mock(ProductRepository.class, withSettings().stubOnly());
+        when(productRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(products.get(invocation.<UUID>getArgument(0))));
+        when(productRepository.findAllById(any())).thenAnswer(invocation -> findAll(products, invocation.getArgument(0)));
+        return productRepository;
+    }
+
+    /**
+     * Creates a country repository answering {@code findById} and {@code findAllById} from the specified countries.
+     * The mock is stub-only, so it does not record the millions of invocations a benchmark makes.
+     */
+    private static CountryRepository countryRepository(Map<UUID, Country> countries) {
+        CountryRepository countryRepository = mock(CountryRepository.class, withSettings().stubOnly());
+        when(countryRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(countries.get(invocation.<UUID>getArgument(0))));
+        when(countryRepository.findAllById(any())).thenAnswer(invocation -> findAll(countries, invocation.getArgument(0)));
+        return countryRepository;
+    }
+
+    /**
+     * Looks up the specified IDs in the specified entities, in order.
+     */
+    private static <T> List<T> findAll(Map<UUID, T> entities, Iterable<UUID> ids) {
+        List<T> found = new ArrayList<>();
+        for (UUID id : ids) {
+            found.add(entities.get(id));
+        }
+        return found;
+    }
+
+    @Benchmark
+    public LandedCost calculateLandedCost() {
+        return landedCostService.calculateLandedCost(productIds.getFirst(), countryIds.getFirst(), "EUR", products.get(productIds.getFirst()).getCurrencyCode());
+    }
+
+    @Benchmark
+    public LandedCost calculateLandedCostAsync() {
+        return landedCostService.calculateLandedCostAsync(productIds.getFirst(), countryIds.getFirst(), "EUR", products.get(productIds.getFirst()).getCurrencyCode()).join();
+    }
+
+    @Benchmark
+    public Collection<LandedCost> calculateLandedCosts() {
+        return landedCostService.calculateLandedCosts(productIds, countryIds, CURRENCY_CODES);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LandedCostBenchmark.class.getSimpleName()).build()).run();
+    }
+}
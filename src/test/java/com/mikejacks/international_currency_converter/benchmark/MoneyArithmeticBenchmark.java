@@ -0,0 +1,123 @@
+package com.mikejacks.international_currency_converter.benchmark;
+
+import com.mikejacks.international_currency_converter.landedcost.money.MoneyMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the landed-cost arithmetic: the boxed {@code Double} formula {@code BaseLandedCostService} used
+ * before, the same calculation in {@code BigDecimal}, and the fixed-point {@code MoneyMath} calculation it uses now.
+ *
+ * <p>Each operation calculates one landed cost, cycling through 1024 random prices, duty and tax rates and conversion
+ * rates between currencies with 2 and 0 fraction digits. The {@code BigDecimal} and fixed-point calculations round the
+ * duty, the tax and the converted total half-even to the minor unit, and setup fails unless the fixed-point results
+ * equal the {@code BigDecimal} results on every input. The {@code Double} formula rounds nothing, as before.</p>
+ *
+ * <p>Run through {@link #main(String[])} on the test classpath, or together with the other benchmarks with
+ * {@code mvn -Pbenchmark verify -Dbenchmark.include=MoneyArithmeticBenchmark}. Add {@code -prof gc} to the JMH
+ * arguments to compare allocation rates.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+    private static final int INPUTS = 1024;
+    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_EVEN;
+
+    private final Double[] prices = new Double[INPUTS];
+    private final Double[] dutyRates = new Double[INPUTS];
+    private final Double[] taxRates = new Double[INPUTS];
+    private final Double[] conversionRates = new Double[INPUTS];
+    private final int[] baseFractionDigits = new int[INPUTS];
+    private final int[] targetFractionDigits = new int[INPUTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < INPUTS; i++) {
+            baseFractionDigits[i] = i % 4 == 0 ? 0 : 2;
+            targetFractionDigits[i] = i % 3 == 0 ? 0 : 2;
+            prices[i] = BigDecimal.valueOf(random.nextLong(1, 10_000_000), baseFractionDigits[i]).doubleValue();
+            dutyRates[i] = random.nextInt(0, 400) / 10.0;
+            taxRates[i] = random.nextInt(0, 300) / 10.0;
+            conversionRates[i] = BigDecimal.valueOf(random.nextLong(1, 200_000_000), 6).doubleValue();
+        }
+
+        for (int i = 0; i < INPUTS; i++) {
+            if (fixedPointLandedCost(i) != bigDecimalLandedCost(i)) {
+                throw new IllegalStateException("Fixed-point landed cost " + fixedPointLandedCost(i) + " differs from "
+                        + bigDecimalLandedCost(i) + " in BigDecimal");
+            }
+        }
+    }
+
+    private int nextInput() {
+        next = (next + 1) & (INPUTS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Double doubleLandedCost() {
+        return doubleLandedCost(nextInput());
+    }
+
+    @Benchmark
+    public double bigDecimalLandedCost() {
+        return bigDecimalLandedCost(nextInput());
+    }
+
+    @Benchmark
+    public double fixedPointLandedCost() {
+        return fixedPointLandedCost(nextInput());
+    }
+
+    private Double doubleLandedCost(int i) {
+        Double duty = prices[i] * (dutyRates[i] / 100);
+        Double tax = prices[i] * (taxRates[i] / 100);
+        Double totalCost = prices[i] + duty + tax;
+        return totalCost * conversionRates[i];
+    }
+
+    private double bigDecimalLandedCost(int i) {
+        BigDecimal price = BigDecimal.valueOf(prices[i]).setScale(baseFractionDigits[i], ROUNDING_MODE);
+        BigDecimal duty = price.multiply(BigDecimal.valueOf(dutyRates[i])).movePointLeft(2).setScale(baseFractionDigits[i], ROUNDING_MODE);
+        BigDecimal tax = price.multiply(BigDecimal.valueOf(taxRates[i])).movePointLeft(2).setScale(baseFractionDigits[i], ROUNDING_MODE);
+        return price.add(duty).add(tax)
+                .multiply(BigDecimal.valueOf(conversionRates[i]))
+                .setScale(targetFractionDigits[i], ROUNDING_MODE)
+                .doubleValue();
+    }
+
+    private double fixedPointLandedCost(int i) {
+        long price = MoneyMath.toMinorUnits(prices[i], baseFractionDigits[i], ROUNDING_MODE);
+        long duty = MoneyMath.multiply(price, MoneyMath.percentToScaledRate(dutyRates[i]), ROUNDING_MODE);
+        long tax = MoneyMath.multiply(price, MoneyMath.percentToScaledRate(taxRates[i]), ROUNDING_MODE);
+        long totalCost = MoneyMath.convert(price + duty + tax, baseFractionDigits[i],
+                MoneyMath.toScaledRate(conversionRates[i]), targetFractionDigits[i], ROUNDING_MODE);
+        return MoneyMath.toMajorUnits(totalCost, targetFractionDigits[i]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MoneyArithmeticBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,156 @@
+package com.mikejacks.international_currency_converter.benchmark;
+
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.index.ProductPriceIndex;
+import com.mikejacks.international_currency_converter.landedcost.repository.ProductRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JMH benchmark of the price range queries, comparing the {@code ProductPriceIndex} with the JPA path it replaces.
+ *
+ * <p>The JPA path runs the same JPQL as {@code ProductRepository.findProductsByPriceBetween} in a new Hibernate session
+ * per query, as a request would, against an embedded Postgres holding the catalog with the Flyway schema and indexes.
+ * Prices are uniform over {@code [0, 10000)}, and each query asks for a random window of {@code window} price units,
+ * about {@code products * window / 10000} rows.</p>
+ *
+ * <p>Run through {@link #main(String[])} on the test classpath, or together with the other benchmarks with
+ * {@code mvn -Pbenchmark verify -Dbenchmark.include=ProductPriceRangeBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductPriceRangeBenchmark {
+    private static final double MAX_PRICE = 10_000;
+
+    @Param({"100000"})
+    public int products;
+
+    @Param({"1", "100"})
+    public double window;
+
+    private EmbeddedPostgres postgres;
+    private SessionFactory sessionFactory;
+    private ProductPriceIndex productPriceIndex;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO product (id, name, price, currency_code) "
+                    + "SELECT gen_random_uuid(), 'product-' || i, random() * " + MAX_PRICE + ", 'USD' FROM generate_series(1, " + products + ") AS i");
+            statement.execute("ANALYZE product");
+        }
+
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Product.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, postgres.getJdbcUrl("postgres", "postgres"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "postgres")
+                .setProperty(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .buildSessionFactory();
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll()).thenAnswer(invocation -> {
+            try (Session session = sessionFactory.openSession()) {
+                return session.createQuery("select p from Product p", Product.class).list();
+            }
+        });
+        productPriceIndex = new ProductPriceIndex(productRepository, true);
+        productPriceIndex.load();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        sessionFactory.close();
+        postgres.close();
+    }
+
+    /**
+     * Per-thread source of random price windows, so that queries do not hit the same rows every time.
+     */
+    @State(Scope.Thread)
+    public static class Window {
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        double minPrice(double window) {
+            return random.nextDouble(MAX_PRICE - window);
+        }
+    }
+
+    @Benchmark
+    public List<Product> jpaRange(Window range) {
+        double minPrice = range.minPrice(window);
+        try (Session session = sessionFactory.openSession()) {
+            return session.createQuery("select p from Product p where p.price between :minPrice and :maxPrice", Product.class)
+                    .setParameter("minPrice", minPrice)
+                    .setParameter("maxPrice", minPrice + window)
+                    .list();
+        }
+    }
+
+    @Benchmark
+    public List<Product> indexRange(Window range) {
+        double minPrice = range.minPrice(window);
+        return productPriceIndex.range(minPrice, minPrice + window);
+    }
+
+    @Benchmark
+    public long jpaCount(Window range) {
+        double minPrice = range.minPrice(window);
+        try (Session session = sessionFactory.openSession()) {
+            return session.createQuery("select count(p) from Product p where p.price between :minPrice and :maxPrice", Long.class)
+                    .setParameter("minPrice", minPrice)
+                    .setParameter("maxPrice", minPrice + window)
+                    .getSingleResult();
+        }
+    }
+
+    @Benchmark
+    public int indexCount(Window range) {
+        double minPrice = range.minPrice(window);
+        return productPriceIndex.count(minPrice, minPrice + window);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProductPriceRangeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,70 @@
+package com.mikejacks.international_currency_converter.benchmark;
+
+import com.mikejacks.international_currency_converter.util.HttpUtils;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of parsing a latest-rates response of the FreecurrencyAPI with {@code HttpUtils.parseJsonResponse}.
+ *
+ * <p>The response holds the rates of the 32 currencies the API supports, as returned when no target currencies are
+ * requested. Each operation parses the whole document, then reads one rate or all of them.</p>
+ *
+ * <p>Run through {@link #main(String[])} on the test classpath, or together with the other benchmarks with
+ * {@code mvn -Pbenchmark verify -Dbenchmark.include=RateParsingBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateParsingBenchmark {
+    private static final String[] CURRENCY_CODES = {"AUD", "BGN", "BRL", "CAD", "CHF", "CNY", "CZK", "DKK", "EUR", "GBP",
+            "HKD", "HRK", "HUF", "IDR", "ILS", "INR", "ISK", "JPY", "KRW", "MXN", "MYR", "NOK", "NZD", "PHP", "PLN", "RON",
+            "RUB", "SEK", "SGD", "THB", "TRY", "ZAR"};
+
+    private final String response = latestRatesResponse();
+
+    private static String latestRatesResponse() {
+        StringBuilder json = new StringBuilder("{\"data\":{");
+        for (int i = 0; i < CURRENCY_CODES.length; i++) {
+            json.append(i == 0 ? "" : ",").append('"').append(CURRENCY_CODES[i]).append("\":").append(0.5 + i * 1.2345678901);
+        }
+        return json.append("}}").toString();
+    }
+
+    @Benchmark
+    public double parseOneRate() throws Exception {
+        return HttpUtils.parseJsonResponse(response).getDouble("EUR");
+    }
+
+    @Benchmark
+    public Map<String, Double> parseAllRates() throws Exception {
+        JSONObject data = HttpUtils.parseJsonResponse(response);
+        Map<String, Double> rates = new HashMap<>(data.length() * 2);
+        for (String code : data.keySet()) {
+            rates.put(code, data.getDouble(code));
+        }
+        return rates;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateParsingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,60 @@
+package com.mikejacks.international_currency_converter.benchmark;
+
+import com.mikejacks.international_currency_converter.landedcost.scalar.UUIDScalar;
+import graphql.language.StringValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the {@code UUID} GraphQL scalar.
+ *
+ * <p>Every ID in a GraphQL response is serialized by {@code UUIDScalar}, and every ID argument is parsed by it, so a
+ * page of {@code n} entities pays for {@code n} serializations. Each operation converts one ID.</p>
+ *
+ * <p>Run through {@link #main(String[])} on the test classpath, or together with the other benchmarks with
+ * {@code mvn -Pbenchmark verify -Dbenchmark.include=UUIDScalarBenchmark}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UUIDScalarBenchmark {
+    private final UUIDScalar scalar = new UUIDScalar();
+    private final UUID id = UUID.fromString("0190a3c4-7b2e-7d41-9f3a-5c1e2d4b6a80");
+    private final String value = id.toString();
+    private final StringValue literal = StringValue.of(value);
+
+    @Benchmark
+    public String serialize() {
+        return scalar.serialize(id);
+    }
+
+    @Benchmark
+    public UUID parseValue() {
+        return scalar.parseValue(value);
+    }
+
+    @Benchmark
+    public UUID parseLiteral() {
+        return scalar.parseLiteral(literal);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UUIDScalarBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,165 @@
+package com.mikejacks.international_currency_converter.landedcost.cache;
+
+import com.mikejacks.international_currency_converter.landedcost.model.LandedCost;
+import com.mikejacks.international_currency_converter.localization.graph.CurrencyRatesChangedEvent;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@code LandedCostResultCache}.
+ */
+class LandedCostResultCacheTest {
+    private static final UUID PRODUCT = UUID.randomUUID();
+    private static final UUID OTHER_PRODUCT = UUID.randomUUID();
+    private static final UUID COUNTRY = UUID.randomUUID();
+    private static final UUID OTHER_COUNTRY = UUID.randomUUID();
+    private static final CurrencyPair PAIR = new CurrencyPair("USD", "EUR");
+    private static final CurrencyPair OTHER_PAIR = new CurrencyPair("USD", "JPY");
+
+    private final LandedCostResultCache landedCostResultCache = new LandedCostResultCache(new SimpleMeterRegistry(), true, 1000, Duration.ofMinutes(10));
+    private final AtomicInteger calculations = new AtomicInteger();
+
+    /**
+     * Tests that a cached landed cost is returned without calculating it again.
+     */
+    @Test
+    void testGetReturnsCachedLandedCost() {
+        LandedCostResultCache.Key key = new LandedCostResultCache.Key(PRODUCT, COUNTRY, PAIR);
+
+        LandedCost landedCost = get(key);
+
+        assertSame(landedCost, get(key));
+        assertSame(landedCost, get(new LandedCostResultCache.Key(PRODUCT, COUNTRY, new CurrencyPair("usd", "eur"))));
+        assertEquals(1, calculations.get());
+        assertEquals(1, landedCostResultCache.size());
+    }
+
+    /**
+     * Tests that invalidating a product, a country or a currency pair discards exactly the landed costs calculated
+     * from it.
+     */
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"product", "country", "pair"})
+    void testInvalidationDiscardsOnlyDependentLandedCosts(String dependency) {
+        List<LandedCostResultCache.Key> keys = List.of(
+                new LandedCostResultCache.Key(PRODUCT, COUNTRY, PAIR),
+                new LandedCostResultCache.Key(PRODUCT, OTHER_COUNTRY, OTHER_PAIR),
+                new LandedCostResultCache.Key(OTHER_PRODUCT, COUNTRY, OTHER_PAIR),
+                new LandedCostResultCache.Key(OTHER_PRODUCT, OTHER_COUNTRY, PAIR),
+                new LandedCostResultCache.Key(OTHER_PRODUCT, OTHER_COUNTRY, OTHER_PAIR));
+        List<LandedCost> cached = keys.stream().map(this::get).toList();
+
+        switch (dependency) {
+            case "product" -> landedCostResultCache.invalidateProducts(List.of(PRODUCT));
+            case "country" -> landedCostResultCache.invalidateCountries(List.of(COUNTRY));
+            default -> landedCostResultCache.invalidatePairs(List.of(PAIR));
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            LandedCostResultCache.Key key = keys.get(i);
+            boolean dependent = switch (dependency) {
+                case "product" -> key.productId().equals(PRODUCT);
+                case "country" -> key.countryId().equals(COUNTRY);
+                default -> key.currencyPair().equals(PAIR);
+            };
+            if (dependent) {
+                assertNotSame(cached.get(i), get(key), key + " should have been discarded");
+            } else {
+                assertSame(cached.get(i), get(key), key + " should have been kept");
+            }
+        }
+        assertEquals(keys.size() + 2, calculations.get());
+    }
+
+    /**
+     * Tests that a rate change event discards the landed costs converted with the changed pairs.
+     */
+    @Test
+    void testCurrencyRatesChangedEventDiscardsLandedCosts() {
+        LandedCostResultCache.Key changed = new LandedCostResultCache.Key(PRODUCT, COUNTRY, PAIR);
+        LandedCostResultCache.Key unchanged = new LandedCostResultCache.Key(PRODUCT, COUNTRY, OTHER_PAIR);
+        LandedCost changedLandedCost = get(changed);
+        LandedCost unchangedLandedCost = get(unchanged);
+
+        landedCostResultCache.onCurrencyRatesChanged(new CurrencyRatesChangedEvent(Set.of(PAIR)));
+
+        assertNotSame(changedLandedCost, get(changed));
+        assertSame(unchangedLandedCost, get(unchanged));
+    }
+
+    /**
+     * Tests that a failed calculation is not cached, and that its exception reaches the caller.
+     */
+    @Test
+    void testFailedCalculationIsNotCached() {
+        LandedCostResultCache.Key key = new LandedCostResultCache.Key(PRODUCT, COUNTRY, PAIR);
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> landedCostResultCache.get(key, () -> {
+            throw new RuntimeException("Product not found");
+        }));
+
+        assertEquals("Product not found", error.getMessage());
+        assertEquals(0, landedCostResultCache.size());
+        get(key);
+        assertEquals(1, calculations.get());
+    }
+
+    /**
+     * Tests that concurrent callers share a pending calculation, and that invalidating it while it is pending keeps
+     * its result out of the cache.
+     */
+    @Test
+    void testPendingCalculationIsSharedAndInvalidated() {
+        LandedCostResultCache.Key key = new LandedCostResultCache.Key(PRODUCT, COUNTRY, PAIR);
+        CompletableFuture<LandedCost> calculation = new CompletableFuture<>();
+
+        CompletableFuture<LandedCost> first = landedCostResultCache.getAsync(key, () -> calculation);
+        CompletableFuture<LandedCost> second = landedCostResultCache.getAsync(key, () -> CompletableFuture.failedFuture(new AssertionError("calculated twice")));
+        assertSame(first, second);
+
+        landedCostResultCache.invalidateProducts(List.of(PRODUCT));
+        calculation.complete(new LandedCost(1.0));
+
+        assertEquals(1.0, first.join().getTotalCost());
+        assertNotSame(first.join(), get(key));
+        assertEquals(1, calculations.get());
+    }
+
+    /**
+     * Tests that a disabled cache calculates on every call.
+     */
+    @Test
+    void testDisabledCacheAlwaysCalculates() {
+        LandedCostResultCache disabled = new LandedCostResultCache(new SimpleMeterRegistry(), false, 0, Duration.ofMinutes(10));
+        LandedCostResultCache.Key key = new LandedCostResultCache.Key(PRODUCT, COUNTRY, PAIR);
+
+        disabled.get(key, this::calculate);
+        disabled.get(key, this::calculate);
+
+        assertEquals(2, calculations.get());
+        assertEquals(0, disabled.size());
+    }
+
+    private LandedCost get(LandedCostResultCache.Key key) {
+        return landedCostResultCache.get(key, this::calculate);
+    }
+
+    private LandedCost calculate() {
+        return new LandedCost((double) calculations.incrementAndGet());
+    }
+}
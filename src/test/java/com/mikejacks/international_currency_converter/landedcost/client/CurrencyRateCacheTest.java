@@ -0,0 +1,149 @@
+package com.mikejacks.international_currency_converter.landedcost.client;
+
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import com.mikejacks.international_currency_converter.localization.graph.CurrencyRatesChangedEvent;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@code CurrencyRateCache}.
+ *
+ * <p>Time is read from a fake ticker that only moves when a test advances it, and background work runs on the calling
+ * thread. The GraphQL client is a stub whose loads stay pending until a test completes them, so every load the cache
+ * makes is recorded and its timing is under the test's control.</p>
+ */
+class CurrencyRateCacheTest {
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+    private static final Duration REFRESH_AFTER = Duration.ofMinutes(1);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<String> loadedPairs = new ArrayList<>();
+    private final List<CompletableFuture<Currency>> loads = new ArrayList<>();
+    private CurrencyRateCache currencyRateCache;
+
+    @BeforeEach
+    void setUp() {
+        LocalizationGraphQLClient localizationGraphQLClient = new LocalizationGraphQLClient(WebClient.create(), new SimpleMeterRegistry()) {
+            @Override
+            public Mono<Currency> getCurrencyAsync(String baseCode, String targetCode) {
+                CompletableFuture<Currency> load = new CompletableFuture<>();
+                loadedPairs.add(baseCode + "->" + targetCode);
+                loads.add(load);
+                return Mono.fromFuture(load);
+            }
+        };
+        currencyRateCache = new CurrencyRateCache(localizationGraphQLClient, new SimpleMeterRegistry(), 100, TIME_TO_LIVE,
+                REFRESH_AFTER, nanos::get, Runnable::run);
+    }
+
+    /**
+     * Tests that concurrent reads of the same pair, in any letter case, share a single pending load, while another pair
+     * is loaded separately.
+     */
+    @Test
+    void testConcurrentLoadsOfSamePairAreCoalesced() {
+        CompletableFuture<Currency> first = currencyRateCache.getCurrencyAsync("USD", "EUR");
+        CompletableFuture<Currency> second = currencyRateCache.getCurrencyAsync("usd", "eur");
+        CompletableFuture<Currency> other = currencyRateCache.getCurrencyAsync("USD", "JPY");
+
+        assertSame(first, second);
+        assertFalse(first.isDone());
+        assertEquals(List.of("USD->EUR", "USD->JPY"), loadedPairs);
+
+        complete(0, "USD", "EUR", 0.92);
+        assertEquals(0.92, second.join().getConversionRate());
+        assertSame(first.join(), currencyRateCache.getCurrency("USD", "EUR"));
+        assertFalse(other.isDone());
+        assertEquals(2, loads.size());
+    }
+
+    /**
+     * Tests that a rate is served from the cache until its time-to-live has passed, and is then loaded again with the
+     * caller waiting for the new rate.
+     */
+    @Test
+    void testRateExpiresAfterTimeToLive() {
+        CompletableFuture<Currency> loaded = currencyRateCache.getCurrencyAsync("USD", "EUR");
+        complete(0, "USD", "EUR", 0.92);
+        assertEquals(0.92, loaded.join().getConversionRate());
+
+        advance(REFRESH_AFTER.minusSeconds(1));
+        assertEquals(0.92, currencyRateCache.getCurrency("USD", "EUR").getConversionRate());
+        assertEquals(1, loads.size());
+
+        advance(TIME_TO_LIVE);
+        CompletableFuture<Currency> reloaded = currencyRateCache.getCurrencyAsync("USD", "EUR");
+        assertFalse(reloaded.isDone());
+        assertEquals(2, loads.size());
+
+        complete(1, "USD", "EUR", 0.95);
+        assertEquals(0.95, reloaded.join().getConversionRate());
+    }
+
+    /**
+     * Tests that a read after the refresh interval is served the cached rate without waiting, starts a single background
+     * reload, and that the reloaded rate is served once the reload completes.
+     */
+    @Test
+    void testRateIsRefreshedAfterWrite() {
+        currencyRateCache.getCurrencyAsync("USD", "EUR");
+        complete(0, "USD", "EUR", 0.92);
+
+        advance(REFRESH_AFTER.plusSeconds(1));
+        assertEquals(0.92, currencyRateCache.getCurrency("USD", "EUR").getConversionRate());
+        assertEquals(0.92, currencyRateCache.getCurrency("USD", "EUR").getConversionRate());
+        assertEquals(2, loads.size());
+
+        complete(1, "USD", "EUR", 0.95);
+        assertEquals(0.95, currencyRateCache.getCurrency("USD", "EUR").getConversionRate());
+        assertEquals(2, loads.size());
+    }
+
+    /**
+     * Tests that a failed load reaches the caller and is not cached, and that a rate change event discards the changed
+     * pair.
+     */
+    @Test
+    void testFailedLoadAndChangedRateAreLoadedAgain() {
+        CompletableFuture<Currency> failed = currencyRateCache.getCurrencyAsync("USD", "EUR");
+        loads.getFirst().completeExceptionally(new RuntimeException("Failed to fetch currency USD to EUR"));
+
+        CompletionException error = assertThrows(CompletionException.class, failed::join);
+        assertEquals("Failed to fetch currency USD to EUR", error.getCause().getMessage());
+        CompletableFuture<Currency> retried = currencyRateCache.getCurrencyAsync("USD", "EUR");
+        assertEquals(2, loads.size());
+
+        complete(1, "USD", "EUR", 0.92);
+        assertEquals(0.92, retried.join().getConversionRate());
+        currencyRateCache.onCurrencyRatesChanged(new CurrencyRatesChangedEvent(Set.of(new CurrencyPair("USD", "EUR"))));
+        CompletableFuture<Currency> reloaded = currencyRateCache.getCurrencyAsync("USD", "EUR");
+        assertEquals(3, loads.size());
+        complete(2, "USD", "EUR", 0.95);
+        assertEquals(0.95, reloaded.join().getConversionRate());
+    }
+
+    private void complete(int load, String baseCode, String targetCode, double conversionRate) {
+        loads.get(load).complete(new Currency(baseCode, targetCode, conversionRate));
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,93 @@
+package com.mikejacks.international_currency_converter.landedcost.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.netty.channel.ChannelOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test class for {@code LocalizationClientConfiguration}, run against a local HTTP server standing in for the
+ * localization GraphQL API.
+ */
+class LocalizationClientConfigurationTest {
+    private final LocalizationClientConfiguration configuration = new LocalizationClientConfiguration();
+    private final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/graphql", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = "{\"data\":{}}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        });
+        server.start();
+        connectionProvider = configuration.localizationConnectionProvider(4, 100, Duration.ofSeconds(1),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(30), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+        server.stop(0);
+    }
+
+    private String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/graphql";
+    }
+
+    /**
+     * Tests that the client uses the configured pool, connect timeout and response timeout, and installs no handlers
+     * on its connections.
+     */
+    @Test
+    void testHttpClientConfiguration() {
+        HttpClient httpClient = LocalizationClientConfiguration.localizationHttpClient(connectionProvider, endpoint(),
+                Duration.ofMillis(1500), Duration.ofMillis(750), false);
+
+        assertSame(connectionProvider, httpClient.configuration().connectionProvider());
+        assertEquals(4, connectionProvider.maxConnections());
+        assertEquals(1500, httpClient.configuration().options().get(ChannelOption.CONNECT_TIMEOUT_MILLIS));
+        assertEquals(Duration.ofMillis(750), httpClient.configuration().responseTimeout());
+        assertNull(httpClient.configuration().doOnConnected());
+    }
+
+    /**
+     * Tests that a pooled connection that has been idle for longer than the read timeout is still reused by the next
+     * request.
+     */
+    @Test
+    void testIdleConnectionOutlivesReadTimeout() throws InterruptedException {
+        WebClient webClient = configuration.localizationWebClient(connectionProvider, endpoint(), Duration.ofSeconds(1),
+                Duration.ofMillis(200), false);
+
+        webClient.post().bodyValue("{}").retrieve().bodyToMono(String.class).block();
+        Thread.sleep(600);
+        webClient.post().bodyValue("{}").retrieve().bodyToMono(String.class).block();
+
+        assertEquals(2, clientPorts.size());
+        assertEquals(clientPorts.get(0), clientPorts.get(1));
+    }
+}
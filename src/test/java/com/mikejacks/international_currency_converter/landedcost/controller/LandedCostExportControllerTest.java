@@ -0,0 +1,89 @@
+package com.mikejacks.international_currency_converter.landedcost.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mikejacks.international_currency_converter.landedcost.entity.Country;
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.service.impl.MockLandedCostService;
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@code LandedCostExportController}.
+ *
+ * <p>This class tests the NDJSON export of the {@code LandedCostExportController} class using mock data.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+class LandedCostExportControllerTest {
+
+    /**
+     * Provides mock data for parameterized tests.
+     *
+     * @return A stream of arguments containing mock data lists and test names.
+     */
+    private static @NotNull Stream<Arguments> mockData() {
+        List<Currency> currencies = Arrays.asList(
+                new Currency("TAT", "COR", 0.5), // Tatooine basecode
+                new Currency("NAB", "COR", 0.5) // Naboo basecode
+        );
+
+        List<Product> products = Arrays.asList(
+                new Product("LightSaber", 1000.00, "TAT"),
+                new Product("ThermalDetonator", 100.00, "NAB"),
+                new Product("X-Wing", 49999.99, "NAB")
+        );
+
+        List<Country> countries = Arrays.asList(
+                new Country("Coruscant", "COR", 5.0, 2.0),
+                new Country("Naboo", "NAB", 4.0, 1.0)
+        );
+
+        return Stream.of(
+                Arguments.of(currencies, products, countries, "Currencies, Products, and Countries List")
+        );
+    }
+
+    /**
+     * Tests the {@code writeLandedCosts} method of {@code LandedCostExportController}.
+     *
+     * @param currencies The list of currencies.
+     * @param products The list of products.
+     * @param countries The list of countries.
+     * @param testName The name of the test.
+     * @throws IOException if writing the export fails.
+     */
+    @ParameterizedTest(name = "{3}")
+    @MethodSource("mockData")
+    void testWriteLandedCosts(List<Currency> currencies, List<Product> products, List<Country> countries, String testName) throws IOException {
+        MockLandedCostService landedCostService = new MockLandedCostService(currencies, products, countries);
+        ObjectMapper objectMapper = new ObjectMapper();
+        LandedCostExportController landedCostExportController = new LandedCostExportController(landedCostService, objectMapper);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        landedCostExportController.writeLandedCosts("COR", outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(products.size() * countries.size(), lines.length);
+
+        JsonNode firstLine = objectMapper.readTree(lines[0]);
+        assertEquals(products.getFirst().getId().toString(), firstLine.get("productId").asText());
+        assertEquals(countries.getFirst().getId().toString(), firstLine.get("countryId").asText());
+        assertEquals("TAT", firstLine.get("baseCurrencyCode").asText());
+        assertEquals("COR", firstLine.get("targetCurrencyCode").asText());
+        assertEquals(535.0, firstLine.get("totalCost").asDouble(), 0.01);
+    }
+}
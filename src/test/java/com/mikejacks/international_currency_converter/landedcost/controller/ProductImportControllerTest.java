@@ -0,0 +1,96 @@
+package com.mikejacks.international_currency_converter.landedcost.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportError;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportResult;
+import com.mikejacks.international_currency_converter.landedcost.service.impl.MockProductService;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@code ProductImportController}.
+ *
+ * <p>This class tests the CSV and NDJSON parsing of the {@code ProductImportController} class against a mock product
+ * service.</p>
+ */
+class ProductImportControllerTest {
+    private final MockProductService productService = new MockProductService(List.of());
+    private final ProductImportController controller = new ProductImportController(productService, new ObjectMapper());
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> importedNames() {
+        return productService.mutableProducts.stream().map(Product::getName).toList();
+    }
+
+    /**
+     * Tests that CSV columns are matched by header name, quoted fields are unquoted, blank lines are skipped, and
+     * malformed rows are reported without stopping the import.
+     */
+    @Test
+    void testImportCsv() throws IOException {
+        ProductImportResult result = controller.importCsv(body("""
+                Currency_Code,name,price
+                TAT,LightSaber,1000.00
+                NAB,"X-Wing, ""T-65\""",49999.99
+
+                HOT,ThermalDetonator,cheap
+                NAB,Aluminum Falcon
+                TATOOINE,Blaster,300.00
+                """));
+
+        assertEquals(2, result.importedCount());
+        assertEquals(List.of("LightSaber", "X-Wing, \"T-65\""), importedNames());
+        assertEquals(List.of(new ProductImportError(3, "Invalid price: cheap"),
+                        new ProductImportError(4, "Expected at least 3 fields, found 2"),
+                        new ProductImportError(5, "Currency code must be exactly 3 characters long and only include letters")),
+                result.errors());
+    }
+
+    /**
+     * Tests that a CSV body without the required columns is rejected as a whole.
+     */
+    @Test
+    void testImportCsvMissingColumn() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> controller.importCsv(body("name,cost,currencyCode\nLightSaber,1000.00,TAT\n")));
+
+        assertEquals("CSV header is missing the price column", exception.getMessage());
+    }
+
+    /**
+     * Tests that each NDJSON line is imported as one product and that invalid JSON is reported by row.
+     */
+    @Test
+    void testImportNdjson() {
+        ProductImportResult result = controller.importNdjson(body("""
+                {"name":"LightSaber","price":1000.00,"currencyCode":"TAT"}
+                {"name":"X-Wing","price":
+                {"name":"ThermalDetonator","price":100.00,"currencyCode":"HOT"}
+                """));
+
+        assertEquals(2, result.importedCount());
+        assertEquals(List.of("LightSaber", "ThermalDetonator"), importedNames());
+        assertEquals(List.of(2L), result.errors().stream().map(ProductImportError::row).toList());
+    }
+
+    /**
+     * Tests the splitting of CSV lines into fields.
+     */
+    @Test
+    void testParseCsvLine() {
+        assertEquals(List.of("a", "", "b,c", "d\"e"), ProductImportController.parseCsvLine("a,,\"b,c\",\"d\"\"e\""));
+        assertThrows(IllegalArgumentException.class, () -> ProductImportController.parseCsvLine("a,\"b"));
+    }
+}
@@ -68,6 +68,32 @@ class CountryMutationDataFetcherTest {
         assertEquals(countriesBeginningListSize+1, mockCountryService.mutableCountries.size());
     }
 
+    /**
+     * Tests the {@code upsertCountries} method of {@code CountryMutationDataFetcher}.
+     *
+     * @param countries The expected list of countries.
+     * @param testName The name of the test.
+     */
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("mockCountriesList")
+    void testUpsertCountries(@NotNull List<Country> countries, String testName) {
+        MockCountryService mockCountryService = new MockCountryService(countries);
+        CountryMutationDataFetcher countryMutationDataFetcher = new CountryMutationDataFetcher(mockCountryService);
+        boolean tatooineExists = countries.stream().anyMatch(country -> country.getCode().equals("TTO"));
+
+        List<Country> upsertedCountries = countryMutationDataFetcher.upsertCountries(List.of(
+                new CountryCreateInput("Alderon", "ALD", 3.3, 5.2),
+                new CountryCreateInput("Tatooine", "TTO", 6.0, 7.0),
+                new CountryCreateInput("Alderaan", "ALD", 3.4, 5.3)));
+
+        assertEquals(List.of("ALD", "TTO"), upsertedCountries.stream().map(Country::getCode).toList());
+        assertEquals("Alderaan", upsertedCountries.get(0).getName());
+        assertEquals(3.4, upsertedCountries.get(0).getDutyRate());
+        assertEquals(6.0, upsertedCountries.get(1).getDutyRate());
+        assertEquals(7.0, upsertedCountries.get(1).getTaxRate());
+        assertEquals(countries.size() + (tatooineExists ? 1 : 2), mockCountryService.mutableCountries.size());
+    }
+
     /**
      * Tests the {@code updateCountry} method of {@code CountryMutationDataFetcher}.
      *
@@ -3,6 +3,8 @@ package com.mikejacks.international_currency_converter.landedcost.datafetcher.mu
 import com.mikejacks.international_currency_converter.landedcost.entity.Product;
 import com.mikejacks.international_currency_converter.landedcost.model.DeleteItemResponse;
 import com.mikejacks.international_currency_converter.landedcost.model.ProductCreateInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportResult;
 import com.mikejacks.international_currency_converter.landedcost.model.ProductUpdateInput;
 import com.mikejacks.international_currency_converter.landedcost.service.impl.MockProductService;
 import com.netflix.graphql.dgs.DgsComponent;
@@ -67,6 +69,27 @@ class ProductMutationDateFetcherTest {
 
     }
 
+    /**
+     * Tests the {@code importProducts} method of {@code ProductMutationDateFetcher}.
+     *
+     * @param expectedProducts The expected list of products.
+     * @param testName The name of the test.
+     */
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("mockProductsLists")
+    void testImportProducts(@NotNull List<Product> expectedProducts, String testName) {
+        MockProductService productService = new MockProductService(expectedProducts);
+        ProductMutationDateFetcher productMutationDataFetcher = new ProductMutationDateFetcher(productService);
+        ProductImportResult result = productMutationDataFetcher.importProducts(List.of(
+                new ProductImportInput("Blaster", 550.00, "TTO"),
+                new ProductImportInput("Y-Wing", 39999.99, "NABOO"),
+                new ProductImportInput("Speeder", 1500.00, "TAT")));
+        assertEquals(2, result.importedCount());
+        assertEquals(1, result.errors().size());
+        assertEquals(2, result.errors().getFirst().row());
+        assertEquals(expectedProducts.size() + 2, productService.mutableProducts.size());
+    }
+
     /**
      * Tests the {@code updateProduct} method of {@code ProductMutationDateFetcher}.
      *
@@ -1,7 +1,15 @@
 package com.mikejacks.international_currency_converter.landedcost.datafetcher.query;
 
+import com.mikejacks.international_currency_converter.landedcost.dataloader.CountryByCodeDataLoader;
+import com.mikejacks.international_currency_converter.landedcost.dataloader.CountryByIdDataLoader;
 import com.mikejacks.international_currency_converter.landedcost.entity.Country;
 import com.mikejacks.international_currency_converter.landedcost.service.impl.MockCountryService;
+import com.mikejacks.international_currency_converter.util.DataLoaderMetrics;
+import com.netflix.graphql.dgs.DgsDataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -10,6 +18,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -42,6 +51,36 @@ public class CountryQueryDataFetcherTest {
         );
     }
 
+    /**
+     * Creates a data fetching environment whose registry holds the country data loaders backed by the specified
+     * service. Batches are loaded on the dispatching thread.
+     *
+     * @param countryService The service the data loaders load countries from.
+     * @return The data fetching environment.
+     */
+    private static DgsDataFetchingEnvironment dataFetchingEnvironment(MockCountryService countryService) {
+        DataLoaderMetrics dataLoaderMetrics = new DataLoaderMetrics(new SimpleMeterRegistry());
+        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
+        dataLoaderRegistry.register(CountryByIdDataLoader.NAME, DataLoaderFactory.newMappedDataLoader(
+                new CountryByIdDataLoader(countryService, dataLoaderMetrics, Runnable::run)));
+        dataLoaderRegistry.register(CountryByCodeDataLoader.NAME, DataLoaderFactory.newMappedDataLoader(
+                new CountryByCodeDataLoader(countryService, dataLoaderMetrics, Runnable::run)));
+        return new DgsDataFetchingEnvironment(DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build());
+    }
+
+    /**
+     * Resolves a future returned by a data fetcher after dispatching the data loaders of its environment.
+     *
+     * @param future The future returned by the data fetcher.
+     * @param dfe The data fetching environment passed to the data fetcher.
+     * @return The resolved country, or {@code null} if there is none.
+     */
+    private static Country dispatch(CompletableFuture<Country> future, DgsDataFetchingEnvironment dfe) {
+        dfe.getDataLoaderRegistry().dispatchAll();
+        return future.join();
+    }
 
     /**
      * Tests the {@code countries} method of {@code CountryQueryDataFetcher}.
@@ -105,10 +144,12 @@ public class CountryQueryDataFetcherTest {
         MockCountryService countryService = new MockCountryService(expectedCountries);
         CountryQueryDataFetcher countryQueryDataFetcher = new CountryQueryDataFetcher(countryService);
         if (expectedCountries.isEmpty()) {
-            assertEquals(null, countryQueryDataFetcher.countryById(UUID.randomUUID()));
+            DgsDataFetchingEnvironment dfe = dataFetchingEnvironment(countryService);
+            assertEquals(null, dispatch(countryQueryDataFetcher.countryById(UUID.randomUUID(), dfe), dfe));
         } else {
             UUID expectedCountryId = expectedCountries.get(0).getId();
-            Country results = countryQueryDataFetcher.countryById(expectedCountryId);
+            DgsDataFetchingEnvironment dfe = dataFetchingEnvironment(countryService);
+            Country results = dispatch(countryQueryDataFetcher.countryById(expectedCountryId, dfe), dfe);
             assertEquals(expectedCountryId, results.getId());
         }
     }
@@ -145,10 +186,12 @@ public class CountryQueryDataFetcherTest {
         MockCountryService countryService = new MockCountryService(expectedCountries);
         CountryQueryDataFetcher countryQueryDataFetcher = new CountryQueryDataFetcher(countryService);
         if (expectedCountries.isEmpty()) {
-            assertEquals(null, countryQueryDataFetcher.countryByCode("TTO"));
+            DgsDataFetchingEnvironment dfe = dataFetchingEnvironment(countryService);
+            assertEquals(null, dispatch(countryQueryDataFetcher.countryByCode("TTO", dfe), dfe));
         } else {
             String expectedCountryCode = expectedCountries.get(0).getCode();
-            Country result = countryQueryDataFetcher.countryByCode(expectedCountryCode);
+            DgsDataFetchingEnvironment dfe = dataFetchingEnvironment(countryService);
+            Country result = dispatch(countryQueryDataFetcher.countryByCode(expectedCountryCode, dfe), dfe);
             assertEquals(expectedCountryCode, result.getCode());
         }
     }
@@ -79,7 +79,34 @@ class LandedCostQueryDataFetcherTest {
         Product product = expectedProducts.getFirst();
         Country country = expectedCountries.getFirst();
 
-        LandedCost landedCost = landedCostQueryDataFetcher.calculateLandedCost(product.getId(), country.getId(), currency.getTargetCode(), currency.getBaseCode());
+        LandedCost landedCost = landedCostQueryDataFetcher.calculateLandedCost(product.getId(), country.getId(), currency.getTargetCode(), currency.getBaseCode()).join();
         assertEquals(2140.0, landedCost.getTotalCost(), 0.01);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests the {@code calculateLandedCosts} method of {@code LandedCostQueryDataFetcher}.
+     *
+     * @param expectedCurrencies The expected list of currencies.
+     * @param expectedProducts The expected list of products.
+     * @param expectedCountries The expected list of countries.
+     * @param testName The name of the test.
+     */
+    @ParameterizedTest(name = "{3}")
+    @MethodSource("mockData")
+    void testCalculateLandedCosts(List<Currency> expectedCurrencies, List<Product> expectedProducts, List<Country> expectedCountries, String testName) {
+        MockLandedCostService landedCostService = new MockLandedCostService(expectedCurrencies, expectedProducts, expectedCountries);
+        LandedCostQueryDataFetcher landedCostQueryDataFetcher = new LandedCostQueryDataFetcher(landedCostService);
+        Product product = expectedProducts.getFirst();
+        Country country = expectedCountries.getFirst();
+
+        List<LandedCost> landedCosts = landedCostQueryDataFetcher.calculateLandedCosts(List.of(product.getId()), List.of(country.getId()), List.of("COR", "NAB"));
+        assertEquals(2, landedCosts.size());
+        assertEquals(product.getId(), landedCosts.get(0).getProductId());
+        assertEquals(country.getId(), landedCosts.get(0).getCountryId());
+        assertEquals("TAT", landedCosts.get(0).getBaseCurrencyCode());
+        assertEquals("COR", landedCosts.get(0).getTargetCurrencyCode());
+        assertEquals(535.0, landedCosts.get(0).getTotalCost(), 0.01);
+        assertEquals("NAB", landedCosts.get(1).getTargetCurrencyCode());
+        assertEquals(1605.0, landedCosts.get(1).getTotalCost(), 0.01);
+    }
+}
@@ -1,8 +1,20 @@
 package com.mikejacks.international_currency_converter.landedcost.datafetcher.query;
 
+import com.mikejacks.international_currency_converter.landedcost.dataloader.ProductDataLoader;
 import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductOrder;
 import com.mikejacks.international_currency_converter.landedcost.service.impl.MockProductService;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
+import com.mikejacks.international_currency_converter.pagination.Connection;
+import com.mikejacks.international_currency_converter.pagination.Edge;
+import com.mikejacks.international_currency_converter.util.DataLoaderMetrics;
+import com.netflix.graphql.dgs.DgsDataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
 import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -10,14 +22,18 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.security.InvalidParameterException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit tests for {@code ProductQueryDataFetcher}.
@@ -45,6 +61,23 @@ public class ProductQueryDataFetcherTest {
         );
     }
 
+    /**
+     * Creates a data fetching environment whose registry holds a {@code ProductDataLoader} backed by the specified
+     * service and metrics. Batches are loaded on the dispatching thread.
+     *
+     * @param productService The service the data loader loads products from.
+     * @param meterRegistry The registry the batch metrics are published to.
+     * @return The data fetching environment.
+     */
+    private static DgsDataFetchingEnvironment dataFetchingEnvironment(MockProductService productService, SimpleMeterRegistry meterRegistry) {
+        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
+        dataLoaderRegistry.register(ProductDataLoader.NAME, DataLoaderFactory.newMappedDataLoader(
+                new ProductDataLoader(productService, new DataLoaderMetrics(meterRegistry), Runnable::run)));
+        return new DgsDataFetchingEnvironment(DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build());
+    }
+
     /**
      * Tests the {@code products} method of {@code ProductQueryDataFetcher}.
      *
@@ -101,6 +134,35 @@ public class ProductQueryDataFetcherTest {
         }
     }
 
+    /**
+     * Tests that paging through {@code productsConnection} visits every product exactly once, in price order.
+     *
+     * @param expectedProducts The expected list of products.
+     * @param testName The name of the test.
+     */
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("mockProductsLists")
+    void testProductsConnection(List<Product> expectedProducts, String testName) {
+        MockProductService productService = new MockProductService(expectedProducts);
+        ProductQueryDataFetcher productQueryDataFetcher = new ProductQueryDataFetcher(productService);
+        List<Product> paged = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        Connection<Product> page;
+        do {
+            page = productQueryDataFetcher.productsConnection(2, after, ProductOrder.PRICE);
+            page.edges().stream().map(Edge::node).forEach(paged::add);
+            after = page.pageInfo().endCursor();
+            pages++;
+        } while (page.pageInfo().hasNextPage());
+
+        assertEquals(expectedProducts.size(), paged.size());
+        assertEquals(Math.max(1, (expectedProducts.size() + 1) / 2), pages);
+        for (int i = 1; i < paged.size(); i++) {
+            assertTrue(paged.get(i - 1).getPrice() <= paged.get(i).getPrice());
+        }
+    }
+
     /**
      * Tests the {@code productById} method of {@code ProductQueryDataFetcher}.
      *
@@ -113,12 +175,45 @@ public class ProductQueryDataFetcherTest {
         MockProductService productService = new MockProductService(expectedProducts);
         ProductQueryDataFetcher productQueryDataFetcher = new ProductQueryDataFetcher(productService);
         UUID expectedProductId = !expectedProducts.isEmpty() ? expectedProducts.get(0).getId() : UUID.randomUUID();
-        Product results = productQueryDataFetcher.productById(expectedProductId);
+        DgsDataFetchingEnvironment dfe = dataFetchingEnvironment(productService, new SimpleMeterRegistry());
+        CompletableFuture<Product> future = productQueryDataFetcher.productById(expectedProductId, dfe);
+        dfe.getDataLoaderRegistry().dispatchAll();
+        Product results = future.join();
         if (results != null) {
             assertEquals(expectedProductId, results.getId());
         }
     }
 
+    /**
+     * Tests that every {@code productById} lookup made before a dispatch is resolved by one batch, and that the batch
+     * is recorded in the data loader metrics.
+     */
+    @Test
+    void testProductByIdBatchesLookups() {
+        List<Product> products = Arrays.asList(
+                new Product("LightSaber", 1000.00, "TTO"),
+                new Product("Blaster", 300.00, "TTO"),
+                new Product("X-Wing", 49999.99, "NAB"));
+        MockProductService productService = new MockProductService(products);
+        ProductQueryDataFetcher productQueryDataFetcher = new ProductQueryDataFetcher(productService);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DgsDataFetchingEnvironment dfe = dataFetchingEnvironment(productService, meterRegistry);
+
+        List<CompletableFuture<Product>> futures = products.stream()
+                .map(product -> productQueryDataFetcher.productById(product.getId(), dfe))
+                .toList();
+        CompletableFuture<Product> missing = productQueryDataFetcher.productById(UUID.randomUUID(), dfe);
+        dfe.getDataLoaderRegistry().dispatchAll();
+
+        for (int i = 0; i < products.size(); i++) {
+            assertEquals(products.get(i).getId(), futures.get(i).join().getId());
+        }
+        assertNull(missing.join());
+        assertEquals(1, productService.productsByIdsCalls);
+        assertEquals(1, meterRegistry.get("graphql.dataloader.batch.size").tag("loader", ProductDataLoader.NAME).summary().count());
+        assertEquals(4.0, meterRegistry.get("graphql.dataloader.batch.size").tag("loader", ProductDataLoader.NAME).summary().totalAmount());
+    }
+
     /**
      * Tests the {@code productByName} method of {@code ProductQueryDataFetcher}.
      *
@@ -233,4 +328,22 @@ public class ProductQueryDataFetcherTest {
         }
     }
 
+    /**
+     * Tests that a converted price range compares every product in the reference currency, ordered by converted price.
+     */
+    @Test
+    void testProductsByConvertedPriceBetween() {
+        Product lightSaber = new Product("LightSaber", 150.00, "USD");
+        Product blaster = new Product("Blaster", 20000.00, "JPY");
+        Product xWing = new Product("X-Wing", 120.00, "EUR");
+        Product thermalDetonator = new Product("ThermalDetonator", 150.00, "JPY");
+        MockProductService productService = new MockProductService(List.of(lightSaber, blaster, xWing, thermalDetonator));
+        productService.conversionRates.put(new CurrencyPair("JPY", "USD"), 0.0067);
+        productService.conversionRates.put(new CurrencyPair("EUR", "USD"), 1.08);
+        ProductQueryDataFetcher productQueryDataFetcher = new ProductQueryDataFetcher(productService);
+
+        List<Product> results = productQueryDataFetcher.productsByConvertedPriceBetween(100.00, 200.00, "USD");
+
+        assertEquals(List.of(xWing.getId(), blaster.getId(), lightSaber.getId()), results.stream().map(Product::getId).toList());
+    }
 }
@@ -0,0 +1,155 @@
+package com.mikejacks.international_currency_converter.landedcost.index;
+
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@code ProductPriceIndex}, checked against a brute-force filter of the same products.
+ */
+class ProductPriceIndexTest {
+    private static final List<String> CURRENCY_CODES = List.of("USD", "EUR", "JPY");
+
+    private final Random random = new Random(7);
+    private final List<Product> products = new ArrayList<>();
+
+    private ProductPriceIndex index(boolean enabled) {
+        for (int i = 0; i < 1_000; i++) {
+            products.add(new Product("product-" + i, (double) random.nextInt(500), CURRENCY_CODES.get(random.nextInt(CURRENCY_CODES.size()))));
+        }
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(products));
+        ProductPriceIndex productPriceIndex = new ProductPriceIndex(productRepository, enabled);
+        productPriceIndex.load();
+        return productPriceIndex;
+    }
+
+    private List<UUID> expectedRange(Double minPrice, Double maxPrice) {
+        return expectedRange(null, minPrice, maxPrice);
+    }
+
+    private List<UUID> expectedRange(String currencyCode, Double minPrice, Double maxPrice) {
+        return products.stream()
+                .filter(product -> currencyCode == null || product.getCurrencyCode().equals(currencyCode))
+                .filter(product -> (minPrice == null || product.getPrice() >= minPrice) && (maxPrice == null || product.getPrice() <= maxPrice))
+                .sorted(Comparator.comparingDouble(Product::getPrice).thenComparing(Product::getId))
+                .map(Product::getId)
+                .toList();
+    }
+
+    private static List<UUID> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    /**
+     * Tests that counts and ranges match a brute-force filter, including open and empty ranges.
+     */
+    @Test
+    void testRangeAndCount() {
+        ProductPriceIndex productPriceIndex = index(true);
+
+        for (int i = 0; i < 200; i++) {
+            double minPrice = random.nextInt(520) - 10;
+            double maxPrice = minPrice + random.nextInt(100) - 5;
+            assertEquals(expectedRange(minPrice, maxPrice), ids(productPriceIndex.range(minPrice, maxPrice)));
+            assertEquals(expectedRange(minPrice, maxPrice).size(), productPriceIndex.count(minPrice, maxPrice));
+        }
+        assertEquals(expectedRange(null, 100.0), ids(productPriceIndex.range(null, 100.0)));
+        assertEquals(expectedRange(400.0, null), ids(productPriceIndex.range(400.0, null)));
+        assertEquals(products.size(), productPriceIndex.count(null, null));
+    }
+
+    /**
+     * Tests that the ranges of each currency partition match a brute-force filter of the products in that currency,
+     * including after mutations that move a product between currencies.
+     */
+    @Test
+    void testCurrencyRange() {
+        ProductPriceIndex productPriceIndex = index(true);
+
+        assertEquals(Set.copyOf(CURRENCY_CODES), productPriceIndex.currencyCodes());
+        for (int i = 0; i < 100; i++) {
+            String currencyCode = CURRENCY_CODES.get(random.nextInt(CURRENCY_CODES.size()));
+            double minPrice = random.nextInt(520) - 10;
+            double maxPrice = minPrice + random.nextInt(100) - 5;
+            assertEquals(expectedRange(currencyCode, minPrice, maxPrice), ids(productPriceIndex.range(currencyCode, minPrice, maxPrice)));
+        }
+
+        Product moved = products.getFirst();
+        moved.setCurrencyCode("GBP");
+        productPriceIndex.put(moved);
+        for (String currencyCode : List.of("USD", "EUR", "JPY", "GBP")) {
+            assertEquals(expectedRange(currencyCode, null, null), ids(productPriceIndex.range(currencyCode, null, null)));
+        }
+        products.remove(moved);
+        productPriceIndex.remove(moved.getId());
+        assertEquals(Set.copyOf(CURRENCY_CODES), productPriceIndex.currencyCodes());
+        assertEquals(List.of(), productPriceIndex.range("CHF", null, null));
+    }
+
+    /**
+     * Tests that pages of a range concatenate to the whole range.
+     */
+    @Test
+    void testPage() {
+        ProductPriceIndex productPriceIndex = index(true);
+        List<UUID> paged = new ArrayList<>();
+        for (int offset = 0; ; offset += 7) {
+            List<Product> page = productPriceIndex.page(100.0, 200.0, offset, 7);
+            if (page.isEmpty()) {
+                break;
+            }
+            paged.addAll(ids(page));
+        }
+
+        assertEquals(expectedRange(100.0, 200.0), paged);
+        assertThrows(IllegalArgumentException.class, () -> productPriceIndex.page(100.0, 200.0, -1, 7));
+    }
+
+    /**
+     * Tests that added, repriced and removed products are reflected in later queries.
+     */
+    @Test
+    void testMutations() {
+        ProductPriceIndex productPriceIndex = index(true);
+        Product added = new Product("added", 250.5, "USD");
+        Product repriced = products.getFirst();
+
+        productPriceIndex.put(added);
+        products.add(added);
+        repriced.setPrice(999.0);
+        productPriceIndex.put(repriced);
+        Product removed = products.remove(1);
+        productPriceIndex.remove(removed.getId());
+
+        assertEquals(expectedRange(null, null), ids(productPriceIndex.range(null, null)));
+        assertEquals(List.of(repriced.getId()), ids(productPriceIndex.range(999.0, 999.0)));
+    }
+
+    /**
+     * Tests that a disabled index is never loaded, so callers fall back to the database.
+     */
+    @Test
+    void testDisabled() {
+        ProductPriceIndex productPriceIndex = index(false);
+
+        assertFalse(productPriceIndex.isReady());
+        assertThrows(IllegalStateException.class, () -> productPriceIndex.count(0.0, 1.0));
+        productPriceIndex.rebuild();
+        assertTrue(productPriceIndex.isReady());
+    }
+}
@@ -0,0 +1,125 @@
+package com.mikejacks.international_currency_converter.landedcost.money;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@code MoneyMath}.
+ */
+class MoneyMathTest {
+
+    /**
+     * Tests that currencies use their ISO 4217 exponent, and that unknown codes use the default.
+     */
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({"USD,2", "EUR,2", "JPY,0", "KWD,3", "CLF,4", "XAU,2", "TAT,2"})
+    void testFractionDigits(String currencyCode, int fractionDigits) {
+        assertEquals(fractionDigits, MoneyMath.fractionDigits(currencyCode));
+    }
+
+    /**
+     * Tests that {@code double} amounts are taken as the decimal they were parsed from, and that extra fraction digits
+     * are rounded with the specified rounding mode.
+     */
+    @ParameterizedTest(name = "{0} {2} -> {3}")
+    @CsvSource({
+            "19.99,2,HALF_EVEN,1999",
+            "0.1,2,UNNECESSARY,10",
+            "1234567.89,2,UNNECESSARY,123456789",
+            "-0.07,2,UNNECESSARY,-7",
+            "150,0,UNNECESSARY,150",
+            "10.125,2,HALF_EVEN,1012",
+            "10.135,2,HALF_EVEN,1014",
+            "10.125,2,HALF_UP,1013",
+            "10.121,2,UP,1013",
+            "-10.129,2,DOWN,-1012",
+            "-10.121,2,FLOOR,-1013"
+    })
+    void testToMinorUnits(double amount, int fractionDigits, RoundingMode roundingMode, long minorUnits) {
+        assertEquals(minorUnits, MoneyMath.toMinorUnits(amount, fractionDigits, roundingMode));
+    }
+
+    /**
+     * Tests that rates and percentages are scaled to nine decimals.
+     */
+    @Test
+    void testScaledRates() {
+        assertEquals(920_000_000L, MoneyMath.toScaledRate(0.92));
+        assertEquals(7_200_000L, MoneyMath.toScaledRate(0.0072));
+        assertEquals(152_345_678_900L, MoneyMath.toScaledRate(152.3456789));
+        assertEquals(55_000_000L, MoneyMath.percentToScaledRate(5.5));
+        assertEquals(1_000_000_000L, MoneyMath.percentToScaledRate(100));
+        assertThrows(ArithmeticException.class, () -> MoneyMath.toScaledRate(Double.NaN));
+    }
+
+    /**
+     * Tests a landed-cost calculation that drifts in {@code double} arithmetic.
+     */
+    @Test
+    void testLandedCostIsExact() {
+        long price = MoneyMath.toMinorUnits(0.1, 2, RoundingMode.HALF_EVEN);
+        long duty = MoneyMath.multiply(price, MoneyMath.percentToScaledRate(10), RoundingMode.HALF_EVEN);
+        long tax = MoneyMath.multiply(price, MoneyMath.percentToScaledRate(20), RoundingMode.HALF_EVEN);
+        long total = MoneyMath.convert(price + duty + tax, 2, MoneyMath.toScaledRate(3), 2, RoundingMode.HALF_EVEN);
+
+        assertEquals(39, total);
+        assertEquals(0.39, MoneyMath.toMajorUnits(total, 2));
+    }
+
+    /**
+     * Tests conversions between currencies with different exponents.
+     */
+    @Test
+    void testConvert() {
+        long oneHundredDollars = 10_000;
+        assertEquals(15_050, MoneyMath.convert(oneHundredDollars, 2, MoneyMath.toScaledRate(150.5), 0, RoundingMode.HALF_EVEN));
+        assertEquals(7_200, MoneyMath.convert(10_000, 0, MoneyMath.toScaledRate(0.0072), 2, RoundingMode.HALF_EVEN));
+        assertEquals(30_750, MoneyMath.convert(oneHundredDollars, 2, MoneyMath.toScaledRate(0.3075), 3, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class,
+                () -> MoneyMath.convert(1, 2, MoneyMath.toScaledRate(0.5), 2, RoundingMode.UNNECESSARY));
+    }
+
+    /**
+     * Tests that products of random amounts and rates, including products wider than 64 bits, are rounded exactly as
+     * {@code BigDecimal} rounds them.
+     */
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+    void testMultiplyAndDivideMatchesBigDecimal(RoundingMode roundingMode) {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long a = i % 2 == 0 ? random.nextLong(-100_000_000_000L, 100_000_000_000L) : random.nextLong() >> random.nextInt(20);
+            long b = random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L);
+            int decimals = random.nextInt(19);
+
+            BigDecimal expected = new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)), decimals)
+                    .setScale(0, roundingMode);
+            if (expected.toBigInteger().bitLength() > 63) {
+                assertThrows(ArithmeticException.class, () -> MoneyMath.multiplyAndDivide(a, b, decimals, roundingMode),
+                        a + " * " + b + " / 10^" + decimals);
+            } else {
+                assertEquals(expected.longValueExact(), MoneyMath.multiplyAndDivide(a, b, decimals, roundingMode),
+                        a + " * " + b + " / 10^" + decimals);
+            }
+        }
+    }
+
+    /**
+     * Tests that results that do not fit in a {@code long} are rejected.
+     */
+    @Test
+    void testOverflow() {
+        assertThrows(ArithmeticException.class, () -> MoneyMath.multiply(Long.MAX_VALUE, 2 * MoneyMath.RATE_SCALE, RoundingMode.HALF_EVEN));
+        assertThrows(ArithmeticException.class, () -> MoneyMath.toMinorUnits(1e20, 2, RoundingMode.HALF_EVEN));
+    }
+}
@@ -0,0 +1,165 @@
+package com.mikejacks.international_currency_converter.landedcost.service.impl;
+
+import com.mikejacks.international_currency_converter.landedcost.cache.LandedCostResultCache;
+import com.mikejacks.international_currency_converter.landedcost.client.CurrencyRateCache;
+import com.mikejacks.international_currency_converter.landedcost.client.LocalizationGraphQLClient;
+import com.mikejacks.international_currency_converter.landedcost.entity.Country;
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.model.LandedCost;
+import com.mikejacks.international_currency_converter.landedcost.repository.CountryRepository;
+import com.mikejacks.international_currency_converter.landedcost.repository.ProductRepository;
+import com.mikejacks.international_currency_converter.util.ConcurrencyLimitedDataSource;
+import com.mikejacks.international_currency_converter.util.JdbcConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Load test for the asynchronous landed-cost pipeline of {@code BaseLandedCostService} on virtual threads.
+ *
+ * <p>This class drives more than a thousand concurrent in-flight {@code calculateLandedCostAsync} calls through the
+ * real service, rate cache and GraphQL client, with a stub HTTP exchange in place of the localization endpoint. The mock
+ * repositories check out a connection from a {@code ConcurrencyLimitedDataSource} for every query and hold it for a
+ * simulated query latency, like a JPA repository outside of a transaction. Data-loader batches, which reach the
+ * repositories without going through the landed-cost service, run against the same data source at the same time.</p>
+ *
+ * <p>The test verifies that every calculation completes correctly, and that no more connections are ever checked out
+ * of the underlying pool than the {@code JdbcConcurrencyLimiter} has permits, from either path, while the queries still
+ * overlap so the whole load finishes faster than its queries would one after another.</p>
+ */
+class BaseLandedCostServiceLoadTest {
+    private static final int IN_FLIGHT_REQUESTS = 2000;
+    private static final int DATA_LOADER_BATCHES = 500;
+    private static final int JDBC_PERMITS = 20;
+    private static final long QUERY_LATENCY_MILLIS = 2;
+
+    private final AtomicInteger activeQueries = new AtomicInteger();
+    private final AtomicInteger maxActiveQueries = new AtomicInteger();
+    private final JdbcConcurrencyLimiter jdbcConcurrencyLimiter = new JdbcConcurrencyLimiter(JDBC_PERMITS, Duration.ofMinutes(1));
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new ConcurrencyLimitedDataSource(poolDataSource(), jdbcConcurrencyLimiter);
+    }
+
+    /**
+     * Tests that {@code calculateLandedCostAsync} sustains 2000 concurrent in-flight calculations alongside 500
+     * data-loader batches without checking out more connections than there are permits.
+     */
+    @Test
+    void testCalculateLandedCostAsyncUnderLoad() {
+        Product product = new Product("LightSaber", 1000.00, "TAT");
+        Country country = new Country("Coruscant", "COR", 5.0, 2.0);
+
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("{\"data\":{\"currency\":{\"baseCode\":\"TAT\",\"targetCode\":\"COR\",\"conversionRate\":0.5}}}")
+                        .build()))
+                .build();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CurrencyRateCache currencyRateCache = new CurrencyRateCache(new LocalizationGraphQLClient(webClient, meterRegistry), meterRegistry, 1000, Duration.ofMinutes(10), Duration.ofMinutes(1));
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findById(product.getId())).thenAnswer(query(Optional.of(product)));
+        when(productRepository.findAllById(any())).thenAnswer(query(List.of(product)));
+        CountryRepository countryRepository = mock(CountryRepository.class);
+        when(countryRepository.findById(country.getId())).thenAnswer(query(Optional.of(country)));
+
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            BaseLandedCostService landedCostService = new BaseLandedCostService(
+                    productRepository,
+                    countryRepository,
+                    currencyRateCache,
+                    new LandedCostResultCache(meterRegistry, false, 0, Duration.ofMinutes(10)),
+                    virtualThreads,
+                    meterRegistry);
+
+            long start = System.nanoTime();
+            List<CompletableFuture<LandedCost>> inFlight = new ArrayList<>(IN_FLIGHT_REQUESTS);
+            for (int i = 0; i < IN_FLIGHT_REQUESTS; i++) {
+                inFlight.add(landedCostService.calculateLandedCostAsync(product.getId(), country.getId(), "COR", "TAT"));
+            }
+            List<CompletableFuture<List<Product>>> batches = new ArrayList<>(DATA_LOADER_BATCHES);
+            for (int i = 0; i < DATA_LOADER_BATCHES; i++) {
+                batches.add(CompletableFuture.supplyAsync(() -> productRepository.findAllById(Set.of(product.getId())), virtualThreads));
+            }
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+            CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            for (CompletableFuture<LandedCost> landedCost : inFlight) {
+                assertEquals(535.0, landedCost.join().getTotalCost(), 0.01);
+            }
+            for (CompletableFuture<List<Product>> batch : batches) {
+                assertEquals(List.of(product), batch.join());
+            }
+            assertEquals(IN_FLIGHT_REQUESTS, meterRegistry.get("landedcost.calculation")
+                    .tags("operation", "calculateLandedCostAsync", "outcome", "success").timer().count());
+            assertTrue(maxActiveQueries.get() <= JDBC_PERMITS, "at most " + JDBC_PERMITS + " connections, was " + maxActiveQueries.get());
+            assertTrue(maxActiveQueries.get() > 1, "lookups should overlap, peak connections was " + maxActiveQueries.get());
+            assertEquals(JDBC_PERMITS, jdbcConcurrencyLimiter.availablePermits());
+            double serialSeconds = (IN_FLIGHT_REQUESTS * 2 + DATA_LOADER_BATCHES) * QUERY_LATENCY_MILLIS / 1000.0;
+            assertTrue(seconds < serialSeconds, "took " + seconds + " s, no faster than " + serialSeconds + " s of serial queries");
+        }
+    }
+
+    /**
+     * Creates an answer that holds a connection from the concurrency-limited data source for a simulated query latency
+     * before returning the specified result.
+     *
+     * @param result The result of the query.
+     * @return An answer simulating a query.
+     */
+    private Answer<Object> query(Object result) {
+        return invocation -> {
+            try (Connection connection = dataSource.getConnection()) {
+                Thread.sleep(QUERY_LATENCY_MILLIS);
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Creates a mock connection pool that counts the connections currently checked out of it.
+     *
+     * @return A data source handing out a mock connection.
+     */
+    private DataSource poolDataSource() throws SQLException {
+        Connection connection = mock(Connection.class);
+        doAnswer(invocation -> activeQueries.decrementAndGet()).when(connection).close();
+        DataSource poolDataSource = mock(DataSource.class);
+        when(poolDataSource.getConnection()).thenAnswer(invocation -> {
+            maxActiveQueries.accumulateAndGet(activeQueries.incrementAndGet(), Math::max);
+            return connection;
+        });
+        return poolDataSource;
+    }
+}
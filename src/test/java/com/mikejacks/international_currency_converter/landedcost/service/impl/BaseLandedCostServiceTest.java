@@ -0,0 +1,240 @@
+package com.mikejacks.international_currency_converter.landedcost.service.impl;
+
+import com.mikejacks.international_currency_converter.landedcost.cache.LandedCostResultCache;
+import com.mikejacks.international_currency_converter.landedcost.client.CurrencyRateCache;
+import com.mikejacks.international_currency_converter.landedcost.client.LocalizationGraphQLClient;
+import com.mikejacks.international_currency_converter.landedcost.entity.Country;
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.model.LandedCost;
+import com.mikejacks.international_currency_converter.landedcost.repository.CountryRepository;
+import com.mikejacks.international_currency_converter.landedcost.repository.ProductRepository;
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the landed-cost arithmetic, itemization, result caching and export of {@code BaseLandedCostService}.
+ *
+ * <p>The repositories are mocks answering from a single entity, and the localization endpoint is a stub HTTP exchange
+ * returning a USD→JPY rate with its update time. The export is run over a mock product stream and entity manager that
+ * record every row read and every time the persistence context is cleared.</p>
+ */
+class BaseLandedCostServiceTest {
+    private static final String RATE_UPDATED_AT = "2026-10-01T12:00:00Z";
+
+    private final Product product = new Product("LightSaber", 19.99, "USD");
+    private final Country country = new Country("Naboo", "NAB", 2.5, 8.25);
+    private SimpleMeterRegistry meterRegistry;
+    private LandedCostResultCache landedCostResultCache;
+    private BaseLandedCostService landedCostService;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("{\"data\":{\"currency\":{\"baseCode\":\"USD\",\"targetCode\":\"JPY\",\"conversionRate\":151.234567,"
+                                + "\"rateUpdatedAt\":\"" + RATE_UPDATED_AT + "\"}}}")
+                        .build()))
+                .build();
+        meterRegistry = new SimpleMeterRegistry();
+        landedCostResultCache = new LandedCostResultCache(meterRegistry, true, 100, Duration.ofMinutes(10));
+        CurrencyRateCache currencyRateCache = new CurrencyRateCache(new LocalizationGraphQLClient(webClient, meterRegistry), meterRegistry, 100, Duration.ofMinutes(10), Duration.ofMinutes(1));
+        landedCostService = new BaseLandedCostService(
+                productRepository(),
+                countryRepository(),
+                currencyRateCache,
+                landedCostResultCache,
+                Runnable::run,
+                meterRegistry);
+    }
+
+    /**
+     * Tests that the duty, tax and subtotal are rounded to cents and the total to whole yen, and that the applied rate
+     * and its update time are returned with them.
+     */
+    @Test
+    void testCalculateLandedCostIsItemized() {
+        LandedCost landedCost = landedCostService.calculateLandedCost(product.getId(), country.getId(), "JPY", "USD");
+
+        assertEquals(0.50, landedCost.getDuty());
+        assertEquals(1.65, landedCost.getTax());
+        assertEquals(22.14, landedCost.getSubtotal());
+        assertEquals(151.234567, landedCost.getConversionRate());
+        assertEquals(Instant.parse(RATE_UPDATED_AT), landedCost.getRateUpdatedAt());
+        assertEquals(3348.0, landedCost.getTotalCost());
+    }
+
+    /**
+     * Tests that the batch calculation itemizes every landed cost of the matrix in the same way.
+     */
+    @Test
+    void testCalculateLandedCostsIsItemized() {
+        List<LandedCost> landedCosts = landedCostService.calculateLandedCosts(List.of(product.getId()), List.of(country.getId()), List.of("JPY"));
+
+        assertEquals(1, landedCosts.size());
+        assertEquals(22.14, landedCosts.getFirst().getSubtotal());
+        assertEquals(3348.0, landedCosts.getFirst().getTotalCost());
+        assertEquals(Instant.parse(RATE_UPDATED_AT), landedCosts.getFirst().getRateUpdatedAt());
+    }
+
+    /**
+     * Tests that a repeated calculation is served from the result cache without being recalculated, and that changing
+     * the product calculates it again.
+     */
+    @Test
+    void testCalculateLandedCostIsCached() {
+        LandedCost first = landedCostService.calculateLandedCost(product.getId(), country.getId(), "JPY", "USD");
+        LandedCost second = landedCostService.calculateLandedCost(product.getId(), country.getId(), "jpy", "usd");
+
+        assertSame(first, second);
+        assertEquals(1, meterRegistry.get("landedcost.calculation").tags("operation", "calculateLandedCost").timer().count());
+
+        landedCostResultCache.invalidateProducts(List.of(product.getId()));
+        assertEquals(first.getTotalCost(), landedCostService.calculateLandedCostAsync(product.getId(), country.getId(), "JPY", "USD").join().getTotalCost());
+        assertEquals(1, meterRegistry.get("landedcost.calculation").tags("operation", "calculateLandedCostAsync").timer().count());
+    }
+
+    /**
+     * Tests that a rate without an update time, such as a triangulated one, leaves the rate time empty.
+     */
+    @Test
+    void testLandedCostWithoutRateTime() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("{\"data\":{\"currency\":{\"baseCode\":\"USD\",\"targetCode\":\"EUR\",\"conversionRate\":0.5,\"rateUpdatedAt\":null}}}")
+                        .build()))
+                .build();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BaseLandedCostService service = new BaseLandedCostService(
+                productRepository(),
+                countryRepository(),
+                new CurrencyRateCache(new LocalizationGraphQLClient(webClient, meterRegistry), meterRegistry, 100, Duration.ofMinutes(10), Duration.ofMinutes(1)),
+                new LandedCostResultCache(meterRegistry, true, 100, Duration.ofMinutes(10)),
+                Runnable::run,
+                meterRegistry);
+
+        LandedCost landedCost = service.calculateLandedCost(product.getId(), country.getId(), "EUR", "USD");
+
+        assertNull(landedCost.getRateUpdatedAt());
+        assertEquals(11.07, landedCost.getTotalCost());
+    }
+
+    /**
+     * Tests that the export reads the product stream chunk by chunk, resolving the rates of each chunk, passing its
+     * landed costs to the consumer and clearing the persistence context before the first row of the next chunk is
+     * read, and that it neither processes nor clears an empty chunk after the last row, including when the number of
+     * products is a multiple of the chunk size or there are no products at all.
+     */
+    @ParameterizedTest(name = "{0} products")
+    @ValueSource(ints = {7, 6, 0})
+    void testStreamLandedCostsProcessesChunks(int productCount) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            products.add(new Product("product-" + i, 10.0 + i, i % 3 == 0 ? "EUR" : "USD"));
+        }
+        List<Country> countries = List.of(country, new Country("Tatooine", "TAT", 5.0, 0.0));
+        List<String> events = new ArrayList<>();
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.streamAllProducts()).thenReturn(products.stream()
+                .peek(product -> events.add("read " + product.getName()))
+                .onClose(() -> events.add("close")));
+        CountryRepository countryRepository = mock(CountryRepository.class);
+        when(countryRepository.findAll()).thenReturn(countries);
+        EntityManager entityManager = mock(EntityManager.class);
+        doAnswer(invocation -> events.add("clear")).when(entityManager).clear();
+        CurrencyRateCache currencyRateCache = new CurrencyRateCache(new LocalizationGraphQLClient(WebClient.create(), meterRegistry),
+                meterRegistry, 100, Duration.ofMinutes(10), Duration.ofMinutes(1)) {
+            @Override
+            public CompletableFuture<Currency> getCurrencyAsync(String baseCode, String targetCode) {
+                events.add("rate " + baseCode + "->" + targetCode);
+                return CompletableFuture.completedFuture(new Currency(baseCode, targetCode, 2.0));
+            }
+        };
+        BaseLandedCostService service = new BaseLandedCostService(productRepository, countryRepository, currencyRateCache,
+                landedCostResultCache, Runnable::run, meterRegistry);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "exportChunkSize", 3);
+
+        List<LandedCost> landedCosts = new ArrayList<>();
+        service.streamLandedCosts("JPY", landedCost -> {
+            events.add("accept " + landedCost.getProductId() + " " + landedCost.getCountryId());
+            landedCosts.add(landedCost);
+        });
+
+        List<String> expected = new ArrayList<>();
+        for (int start = 0; start < productCount; start += 3) {
+            List<Product> chunk = products.subList(start, Math.min(start + 3, productCount));
+            Set<String> rates = new LinkedHashSet<>();
+            for (Product product : chunk) {
+                expected.add("read " + product.getName());
+                rates.add("rate " + product.getCurrencyCode() + "->JPY");
+            }
+            expected.addAll(rates);
+            for (Product product : chunk) {
+                for (Country exportCountry : countries) {
+                    expected.add("accept " + product.getId() + " " + exportCountry.getId());
+                }
+            }
+            expected.add("clear");
+        }
+        expected.add("close");
+        assertEquals(expected, events);
+        assertEquals(productCount * countries.size(), landedCosts.size());
+        assertEquals(1, meterRegistry.get("landedcost.calculation").tags("operation", "streamLandedCosts", "outcome", "success").timer().count());
+    }
+
+    /**
+     * Creates a product repository whose {@code findById} and {@code findAllById} return the test product.
+     *
+     * @return A mock product repository.
+     */
+    private ProductRepository productRepository() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        return productRepository;
+    }
+
+    /**
+     * Creates a country repository whose {@code findById} and {@code findAllById} return the test country.
+     *
+     * @return A mock country repository.
+     */
+    private CountryRepository countryRepository() {
+        CountryRepository countryRepository = mock(CountryRepository.class);
+        when(countryRepository.findById(country.getId())).thenReturn(Optional.of(country));
+        when(countryRepository.findAllById(any())).thenReturn(List.of(country));
+        return countryRepository;
+    }
+}
@@ -0,0 +1,240 @@
+package com.mikejacks.international_currency_converter.landedcost.service.impl;
+
+import com.mikejacks.international_currency_converter.landedcost.cache.LandedCostResultCache;
+import com.mikejacks.international_currency_converter.landedcost.client.CurrencyRateCache;
+import com.mikejacks.international_currency_converter.landedcost.client.LocalizationGraphQLClient;
+import com.mikejacks.international_currency_converter.landedcost.entity.Product;
+import com.mikejacks.international_currency_converter.landedcost.index.ProductPriceIndex;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportError;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportResult;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductOrder;
+import com.mikejacks.international_currency_converter.landedcost.repository.ProductBatchRepository;
+import com.mikejacks.international_currency_converter.landedcost.repository.ProductRepository;
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import com.mikejacks.international_currency_converter.pagination.Connection;
+import com.mikejacks.international_currency_converter.pagination.Edge;
+import com.mikejacks.international_currency_converter.pagination.PaginationSettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the converted price range search, the product connection and the bulk import of
+ * {@code BaseProductService}.
+ *
+ * <p>The search is run both through a loaded {@code ProductPriceIndex} and through a mock repository, and checked
+ * against a brute-force conversion of every product. The keyset queries of the mock repository follow the semantics of
+ * the real queries, including the unsigned byte order Postgres uses for UUIDs. Imports are written to a stub batch
+ * repository.</p>
+ */
+class BaseProductServiceTest {
+    private static final Map<String, Double> RATES_TO_USD = Map.of("USD", 1.0, "EUR", 1.08, "JPY", 0.0067, "GBP", 1.27);
+    private static final Comparator<UUID> UUID_ORDER = Comparator.<UUID>comparingLong(id -> id.getMostSignificantBits() ^ Long.MIN_VALUE)
+            .thenComparingLong(id -> id.getLeastSignificantBits() ^ Long.MIN_VALUE);
+    private static final Comparator<Product> ID_ORDER = Comparator.comparing(Product::getId, UUID_ORDER);
+    private static final Comparator<Product> PRICE_ORDER = Comparator.comparing(Product::getPrice).thenComparing(ID_ORDER);
+
+    private final Random random = new Random(11);
+    private final List<Product> products = new ArrayList<>();
+    private final List<List<Product>> insertedChunks = new ArrayList<>();
+    private final List<List<Object>> keysetQueries = new ArrayList<>();
+    private ProductPriceIndex productPriceIndex;
+
+    private BaseProductService productService(boolean indexed) {
+        List<String> currencyCodes = List.copyOf(RATES_TO_USD.keySet());
+        for (int i = 0; i < 2_000; i++) {
+            String currencyCode = currencyCodes.get(random.nextInt(currencyCodes.size()));
+            double price = Math.round(random.nextDouble() * 500 / RATES_TO_USD.get(currencyCode) * 100) / 100.0;
+            products.add(new Product("product-" + i, price, currencyCode));
+        }
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(products));
+        when(productRepository.findDistinctCurrencyCodes())
+                .thenAnswer(invocation -> products.stream().map(Product::getCurrencyCode).distinct().sorted().toList());
+        when(productRepository.findProductsByCurrencyCodeAndPriceBetween(anyString(), anyDouble(), anyDouble()))
+                .thenAnswer(invocation -> products.stream()
+                        .filter(product -> product.getCurrencyCode().equals(invocation.getArgument(0))
+                                && product.getPrice() >= invocation.<Double>getArgument(1) && product.getPrice() <= invocation.<Double>getArgument(2))
+                        .toList());
+        when(productRepository.findAllByOrderByIdAsc(any()))
+                .thenAnswer(invocation -> keysetPage(invocation, products.stream().sorted(ID_ORDER)));
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenAnswer(invocation -> keysetPage(invocation, products.stream()
+                        .filter(product -> UUID_ORDER.compare(product.getId(), invocation.getArgument(0)) > 0)
+                        .sorted(ID_ORDER)));
+        when(productRepository.findAllByOrderByPriceAscIdAsc(any()))
+                .thenAnswer(invocation -> keysetPage(invocation, products.stream().sorted(PRICE_ORDER)));
+        when(productRepository.findProductsAfterPriceAndId(anyDouble(), any(), any()))
+                .thenAnswer(invocation -> keysetPage(invocation, products.stream()
+                        .filter(product -> product.getPrice() >= invocation.<Double>getArgument(0)
+                                && (product.getPrice() > invocation.<Double>getArgument(0) || UUID_ORDER.compare(product.getId(), invocation.getArgument(1)) > 0))
+                        .sorted(PRICE_ORDER)));
+        productPriceIndex = new ProductPriceIndex(productRepository, indexed);
+        productPriceIndex.load();
+        CurrencyRateCache currencyRateCache = new CurrencyRateCache(new LocalizationGraphQLClient(WebClient.create(), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry(), 1000, Duration.ofMinutes(10), Duration.ofMinutes(1)) {
+            @Override
+            public CompletableFuture<Currency> getCurrencyAsync(String baseCode, String targetCode) {
+                return CompletableFuture.completedFuture(new Currency(baseCode, targetCode, RATES_TO_USD.get(baseCode) / RATES_TO_USD.get(targetCode)));
+            }
+        };
+        ProductBatchRepository productBatchRepository = new ProductBatchRepository(null, 1000, "7") {
+            @Override
+            public void insertAll(List<Product> chunk) {
+                if (chunk.stream().anyMatch(product -> product.getName().equals("poison"))) {
+                    throw new DataIntegrityViolationException("value too long for type character varying(255)");
+                }
+                insertedChunks.add(List.copyOf(chunk));
+            }
+        };
+        return new BaseProductService(productRepository, new PaginationSettings(50, 500, 1000), productPriceIndex,
+                currencyRateCache, productBatchRepository, new LandedCostResultCache(new SimpleMeterRegistry(), true, 1000, Duration.ofMinutes(10)), 3);
+    }
+
+    private List<Product> keysetPage(InvocationOnMock invocation, Stream<Product> rows) {
+        Object[] args = invocation.getArguments();
+        List<Object> queryAndArgs = new ArrayList<>(List.of(invocation.getMethod().getName()));
+        queryAndArgs.addAll(List.of(args));
+        keysetQueries.add(queryAndArgs);
+        return rows.limit(((Limit) args[args.length - 1]).max()).toList();
+    }
+
+    private List<UUID> expectedRange(double minPrice, double maxPrice, String currencyCode) {
+        Comparator<Product> convertedPriceOrder = Comparator.comparingDouble(product -> convertedPrice(product, currencyCode));
+        return products.stream()
+                .filter(product -> convertedPrice(product, currencyCode) >= minPrice && convertedPrice(product, currencyCode) <= maxPrice)
+                .sorted(convertedPriceOrder.thenComparing(Product::getId))
+                .map(Product::getId)
+                .toList();
+    }
+
+    private static double convertedPrice(Product product, String currencyCode) {
+        if (product.getCurrencyCode().equals(currencyCode)) {
+            return product.getPrice();
+        }
+        return product.getPrice() * (RATES_TO_USD.get(product.getCurrencyCode()) / RATES_TO_USD.get(currencyCode));
+    }
+
+    /**
+     * Tests that converted price ranges in several reference currencies match a brute-force conversion of every
+     * product, both with the price index loaded and with the database fallback.
+     */
+    @ParameterizedTest(name = "indexed = {0}")
+    @ValueSource(booleans = {true, false})
+    void testProductsByConvertedPriceBetween(boolean indexed) {
+        BaseProductService productService = productService(indexed);
+
+        for (String currencyCode : List.of("USD", "EUR", "JPY")) {
+            for (int i = 0; i < 50; i++) {
+                double minPrice = random.nextDouble() * 450 / RATES_TO_USD.get(currencyCode);
+                double maxPrice = minPrice + random.nextDouble() * 100 / RATES_TO_USD.get(currencyCode);
+                List<UUID> results = productService.productsByConvertedPriceBetween(minPrice, maxPrice, currencyCode).stream()
+                        .map(Product::getId)
+                        .toList();
+                assertEquals(expectedRange(minPrice, maxPrice, currencyCode), results, currencyCode + " " + minPrice + "-" + maxPrice);
+            }
+        }
+        assertEquals(List.of(), productService.productsByConvertedPriceBetween(200.0, 100.0, "USD"));
+    }
+
+    /**
+     * Tests that paging through the product connection in ID and in price order returns every product exactly once and
+     * in order, even where a page ends inside a run of equal prices, and that the last page has no next page, also when
+     * the number of products is a multiple of the page size.
+     */
+    @ParameterizedTest(name = "{0} order, {1} products")
+    @CsvSource({"ID, 23", "ID, 20", "PRICE, 23", "PRICE, 20"})
+    void testProductsConnectionPagesThroughEveryProduct(ProductOrder orderBy, int productCount) {
+        BaseProductService productService = productService(false);
+        products.clear();
+        for (int i = 0; i < productCount; i++) {
+            products.add(new Product("product-" + i, (double) (i % 3) * 10, "USD"));
+        }
+
+        List<Product> paged = new ArrayList<>();
+        String after = null;
+        Connection<Product> page;
+        do {
+            Product previous = paged.isEmpty() ? null : paged.getLast();
+            page = productService.productsConnection(5, after, orderBy);
+
+            List<Object> query = keysetQueries.getLast();
+            assertEquals(6, ((Limit) query.getLast()).max());
+            if (previous == null) {
+                assertEquals(orderBy == ProductOrder.PRICE ? "findAllByOrderByPriceAscIdAsc" : "findAllByOrderByIdAsc", query.getFirst());
+            } else if (orderBy == ProductOrder.PRICE) {
+                assertEquals(List.of("findProductsAfterPriceAndId", previous.getPrice(), previous.getId()), query.subList(0, 3));
+            } else {
+                assertEquals(List.of("findByIdGreaterThanOrderByIdAsc", previous.getId()), query.subList(0, 2));
+            }
+            assertEquals(previous != null, page.pageInfo().hasPreviousPage());
+            assertEquals(page.edges().getLast().cursor(), page.pageInfo().endCursor());
+            page.edges().stream().map(Edge::node).forEach(paged::add);
+            after = page.pageInfo().endCursor();
+        } while (page.pageInfo().hasNextPage());
+
+        assertEquals((productCount + 4) / 5, keysetQueries.size());
+        assertEquals(productCount - 5 * (keysetQueries.size() - 1), page.edges().size());
+        assertFalse(page.pageInfo().hasNextPage());
+        List<Product> expected = products.stream().sorted(orderBy == ProductOrder.PRICE ? PRICE_ORDER : ID_ORDER).toList();
+        assertEquals(expected.stream().map(Product::getId).toList(), paged.stream().map(Product::getId).toList());
+    }
+
+    /**
+     * Tests that an import inserts its valid rows in chunks, reports invalid rows and the rows of a failed chunk by
+     * position, continues after a failed chunk, and adds the imported products to a loaded price index.
+     */
+    @Test
+    void testImportProducts() {
+        BaseProductService productService = productService(true);
+        int indexedBefore = productPriceIndex.count(null, null);
+        List<ProductImportInput> rows = List.of(
+                new ProductImportInput("LightSaber", 1000.00, "TAT"),
+                new ProductImportInput(" ", 10.0, "TAT"),
+                new ProductImportInput("Blaster", -1.0, "TAT"),
+                new ProductImportInput("X-Wing", 49999.99, "NA"),
+                new ProductImportInput("poison", 1.0, "TAT"),
+                new ProductImportInput("ThermalDetonator", 100.00, "HOT"),
+                new ProductImportInput("Aluminum Falcon", 99999.99, "nab"));
+
+        ProductImportResult result = productService.importProducts(Stream.concat(rows.stream(), Stream.of((ProductImportInput) null)), Function.identity());
+
+        assertEquals(2, result.importedCount());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 8L), result.errors().stream().map(ProductImportError::row).toList());
+        assertEquals("Name must not be blank", result.errors().get(0).message());
+        assertTrue(result.errors().get(3).message().startsWith("Batch insert failed"), result.errors().get(3).message());
+        assertEquals(List.of(List.of("LightSaber"), List.of("Aluminum Falcon")),
+                insertedChunks.stream().map(chunk -> chunk.stream().map(Product::getName).toList()).toList());
+        assertEquals("NAB", insertedChunks.get(1).getFirst().getCurrencyCode());
+        assertEquals(7, insertedChunks.get(1).getFirst().getId().version());
+        assertEquals(indexedBefore + 2, productPriceIndex.count(null, null));
+        assertEquals(List.of("Aluminum Falcon"), productPriceIndex.range(99999.99, 99999.99).stream().map(Product::getName).toList());
+    }
+}
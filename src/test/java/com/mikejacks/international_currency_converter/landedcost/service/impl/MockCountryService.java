@@ -5,12 +5,21 @@ import com.mikejacks.international_currency_converter.landedcost.model.CountryCr
 import com.mikejacks.international_currency_converter.landedcost.model.CountryUpdateInput;
 import com.mikejacks.international_currency_converter.landedcost.model.DeleteItemResponse;
 import com.mikejacks.international_currency_converter.landedcost.service.CountryService;
+import com.mikejacks.international_currency_converter.pagination.Connection;
+import com.mikejacks.international_currency_converter.pagination.Cursors;
+import com.mikejacks.international_currency_converter.pagination.PaginationSettings;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Mock implementation of the {@code CountryService} interface.
@@ -47,6 +56,25 @@ public class MockCountryService implements CountryService {
         return this.countries;
     }
 
+    /**
+     * Retrieves one page of countries in ID order.
+     *
+     * @param first The number of countries of the page, or {@code null} for the default page size.
+     * @param after The cursor of the country after which the page starts, or {@code null} for the first page.
+     * @return The page of countries.
+     */
+    @Override
+    public Connection<Country> countriesConnection(Integer first, String after) {
+        int pageSize = new PaginationSettings(50, 500, 1000).pageSize(first);
+        UUID afterId = Cursors.decodeId(after);
+        List<Country> rows = this.countries.stream()
+                .filter(country -> afterId == null || country.getId().compareTo(afterId) > 0)
+                .sorted(Comparator.comparing(Country::getId))
+                .limit(pageSize + 1)
+                .toList();
+        return Cursors.connection(rows, pageSize, after, country -> Cursors.encodeId(country.getId()));
+    }
+
     /**
      * Retrieves a country based on the specified criteria: countryId, name, or code.
      *
@@ -75,6 +103,28 @@ public class MockCountryService implements CountryService {
     }
 
 
+    /**
+     * Retrieves the countries with the specified IDs.
+     *
+     * @param countryIds The IDs of the countries to retrieve.
+     * @return A map of the found {@code Country} objects by ID.
+     */
+    @Override
+    public Map<UUID, Country> countriesByIds(@NotNull Collection<UUID> countryIds) {
+        return countries.stream().filter(country -> countryIds.contains(country.getId())).collect(Collectors.toMap(Country::getId, Function.identity()));
+    }
+
+    /**
+     * Retrieves the countries with the specified codes.
+     *
+     * @param codes The codes of the countries to retrieve.
+     * @return A map of the found {@code Country} objects by code.
+     */
+    @Override
+    public Map<String, Country> countriesByCodes(@NotNull Collection<String> codes) {
+        return countries.stream().filter(country -> codes.contains(country.getCode())).collect(Collectors.toMap(Country::getCode, Function.identity(), (first, second) -> first));
+    }
+
     /**
      * Adds a new country to the list of mutable countries.
      *
@@ -88,6 +138,30 @@ public class MockCountryService implements CountryService {
         return newCountry;
     }
 
+    /**
+     * Adds or updates many countries in the list of mutable countries, keyed by country code.
+     *
+     * @param countries The {@code CountryCreateInput} objects of the countries to add or update.
+     * @return The added and updated {@code Country} objects, one per distinct code, in the order of their first occurrence.
+     */
+    @Override
+    public List<Country> upsertCountries(@NotNull List<CountryCreateInput> countries) {
+        Map<String, Country> upserted = new LinkedHashMap<>();
+        for (CountryCreateInput input : countries) {
+            Country country = mutableCountries.stream().filter(existing -> existing.getCode().equals(input.getCode())).findFirst().orElse(null);
+            if (country == null) {
+                country = new Country(input.getName(), input.getCode(), input.getDutyRate(), input.getTaxRate());
+                mutableCountries.add(country);
+            } else {
+                country.setName(input.getName());
+                country.setDutyRate(input.getDutyRate());
+                country.setTaxRate(input.getTaxRate());
+            }
+            upserted.putIfAbsent(country.getCode(), country);
+        }
+        return List.copyOf(upserted.values());
+    }
+
 
     /**
      * Updates an existing country based on the specified countryId or name.
@@ -7,8 +7,11 @@ import com.mikejacks.international_currency_converter.landedcost.service.LandedC
 import com.mikejacks.international_currency_converter.localization.entity.Currency;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Mock implementation of the {@code LandedCostService} interface.
@@ -76,6 +79,90 @@ public class MockLandedCostService implements LandedCostService {
 
         Double calculatedTotalCost = totalCost * foundCurrency.getConversionRate();
 
-        return new LandedCost(calculatedTotalCost);
+        LandedCost landedCost = new LandedCost(calculatedTotalCost);
+        landedCost.setDuty(duty);
+        landedCost.setTax(tax);
+        landedCost.setSubtotal(totalCost);
+        landedCost.setConversionRate(foundCurrency.getConversionRate());
+        landedCost.setRateUpdatedAt(foundCurrency.getRateUpdatedAt());
+        return landedCost;
+    }
+
+    /**
+     * Calculates the landed cost of a product when imported into a specified country without blocking the caller.
+     *
+     * <p>This method completes immediately with the result of
+     * {@link #calculateLandedCost(UUID, UUID, String, String)}.</p>
+     *
+     * @param productId The UUID of the product to be imported.
+     * @param countryId The UUID of the destination country.
+     * @param targetCurrencyCode The currency code to which the total cost will be converted.
+     * @param baseCurrencyCode The base currency code from which the conversion will be made.
+     * @return A completed {@code CompletableFuture} of the landed cost, or a failed one if the product, country, or
+     *         currency conversion rates are not found.
+     */
+    @Override
+    public CompletableFuture<LandedCost> calculateLandedCostAsync(UUID productId, UUID countryId, String targetCurrencyCode, String baseCurrencyCode) {
+        try {
+            return CompletableFuture.completedFuture(calculateLandedCost(productId, countryId, targetCurrencyCode, baseCurrencyCode));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Calculates the landed cost of every combination of the specified products, countries and target currencies.
+     *
+     * <p>This method calculates each combination with {@link #calculateLandedCost(UUID, UUID, String, String)},
+     * converting each product's price from the product's own currency code.</p>
+     *
+     * @param productIds The UUIDs of the products to be imported.
+     * @param countryIds The UUIDs of the destination countries.
+     * @param targetCurrencyCodes The currency codes to which the total costs will be converted.
+     * @return A list of {@code LandedCost} objects, one for each product, country and target currency combination.
+     * @throws RuntimeException if a product, country, or currency conversion rate is not found.
+     */
+    @Override
+    public List<LandedCost> calculateLandedCosts(List<UUID> productIds, List<UUID> countryIds, List<String> targetCurrencyCodes) {
+        List<LandedCost> landedCosts = new ArrayList<>();
+        for (UUID productId : productIds) {
+            String baseCurrencyCode = products.stream()
+                    .filter(product -> product.getId().equals(productId))
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("Product not found"))
+                    .getCurrencyCode();
+            for (UUID countryId : countryIds) {
+                for (String targetCurrencyCode : targetCurrencyCodes) {
+                    LandedCost landedCost = calculateLandedCost(productId, countryId, targetCurrencyCode, baseCurrencyCode);
+                    landedCost.setProductId(productId);
+                    landedCost.setCountryId(countryId);
+                    landedCost.setBaseCurrencyCode(baseCurrencyCode);
+                    landedCost.setTargetCurrencyCode(targetCurrencyCode);
+                    landedCosts.add(landedCost);
+                }
+            }
+        }
+        return landedCosts;
+    }
+
+    /**
+     * Calculates the landed cost of every product against every country and passes each result to a consumer.
+     *
+     * @param targetCurrencyCode The currency code to which the total costs will be converted.
+     * @param consumer The consumer each calculated {@code LandedCost} is passed to.
+     * @throws RuntimeException if a currency conversion rate is not found.
+     */
+    @Override
+    public void streamLandedCosts(String targetCurrencyCode, Consumer<LandedCost> consumer) {
+        for (Product product : products) {
+            for (Country country : countries) {
+                LandedCost landedCost = calculateLandedCost(product.getId(), country.getId(), targetCurrencyCode, product.getCurrencyCode());
+                landedCost.setProductId(product.getId());
+                landedCost.setCountryId(country.getId());
+                landedCost.setBaseCurrencyCode(product.getCurrencyCode());
+                landedCost.setTargetCurrencyCode(targetCurrencyCode);
+                consumer.accept(landedCost);
+            }
+        }
     }
 }
@@ -3,16 +3,31 @@ package com.mikejacks.international_currency_converter.landedcost.service.impl;
 import com.mikejacks.international_currency_converter.landedcost.entity.Product;
 import com.mikejacks.international_currency_converter.landedcost.model.DeleteItemResponse;
 import com.mikejacks.international_currency_converter.landedcost.model.ProductCreateInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportError;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportInput;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductImportResult;
+import com.mikejacks.international_currency_converter.landedcost.model.ProductOrder;
 import com.mikejacks.international_currency_converter.landedcost.model.ProductUpdateInput;
 import com.mikejacks.international_currency_converter.landedcost.service.ProductService;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
+import com.mikejacks.international_currency_converter.pagination.Connection;
+import com.mikejacks.international_currency_converter.pagination.Cursors;
+import com.mikejacks.international_currency_converter.pagination.PaginationSettings;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
 
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Mock implementation of the ProductService interface.
@@ -22,6 +37,8 @@ import java.util.UUID;
 public class MockProductService  implements ProductService {
     public List<Product> products;
     public ArrayList<Product> mutableProducts;
+    public int productsByIdsCalls;
+    public Map<CurrencyPair, Double> conversionRates = new HashMap<>();
 
 
     /**
@@ -48,6 +65,36 @@ public class MockProductService  implements ProductService {
         return products;
     }
 
+    /**
+     * Retrieves one page of products in the specified order.
+     *
+     * @param first The number of products of the page, or null for the default page size.
+     * @param after The cursor of the product after which the page starts, or null for the first page.
+     * @param orderBy The order of the products, or null for ID order.
+     * @return The page of products
+     */
+    @Override
+    public Connection<Product> productsConnection(Integer first, String after, ProductOrder orderBy) {
+        int pageSize = new PaginationSettings(50, 500, 1000).pageSize(first);
+        if (orderBy == ProductOrder.PRICE) {
+            Cursors.PriceCursor cursor = Cursors.decodePrice(after);
+            List<Product> rows = products.stream()
+                    .filter(product -> cursor == null || product.getPrice() > cursor.price()
+                            || (product.getPrice() == cursor.price() && product.getId().compareTo(cursor.id()) > 0))
+                    .sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getId))
+                    .limit(pageSize + 1)
+                    .toList();
+            return Cursors.connection(rows, pageSize, after, product -> Cursors.encodePrice(product.getPrice(), product.getId()));
+        }
+        UUID afterId = Cursors.decodeId(after);
+        List<Product> rows = products.stream()
+                .filter(product -> afterId == null || product.getId().compareTo(afterId) > 0)
+                .sorted(Comparator.comparing(Product::getId))
+                .limit(pageSize + 1)
+                .toList();
+        return Cursors.connection(rows, pageSize, after, product -> Cursors.encodeId(product.getId()));
+    }
+
     /**
      * Retrieves a product by its ID or name.
      *
@@ -99,6 +146,18 @@ public class MockProductService  implements ProductService {
         return null;
     }
 
+    /**
+     * Retrieves the products with the specified IDs.
+     *
+     * @param ids The IDs of the products to retrieve.
+     * @return A map of the found {@code Product} objects by ID.
+     */
+    @Override
+    public Map<UUID, Product> productsByIds(@NotNull Collection<UUID> ids) {
+        productsByIdsCalls++;
+        return products.stream().filter(product -> ids.contains(product.getId())).collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
     /**
      * Retrieves a product by its name.
      *
@@ -149,6 +208,38 @@ public class MockProductService  implements ProductService {
         return products.stream().filter(product -> product.getPrice() >= minPrice && product.getPrice() <= maxPrice).toList();
     }
 
+    /**
+     * Retrieves a list of products whose prices, converted with {@code conversionRates}, are between the specified
+     * minimum and maximum prices.
+     *
+     * @param minPrice the minimum price in the reference currency
+     * @param maxPrice the maximum price in the reference currency
+     * @param currencyCode the reference currency code
+     * @return List of products ordered by converted price
+     */
+    @Override
+    public List<Product> productsByConvertedPriceBetween(@NotNull Double minPrice, @NotNull Double maxPrice, @NotNull String currencyCode) {
+        Function<Product, Double> convertedPrice = product -> product.getCurrencyCode().equals(currencyCode)
+                ? product.getPrice()
+                : product.getPrice() * conversionRates.get(new CurrencyPair(product.getCurrencyCode(), currencyCode));
+        return products.stream()
+                .filter(product -> convertedPrice.apply(product) >= minPrice && convertedPrice.apply(product) <= maxPrice)
+                .sorted(Comparator.comparing(convertedPrice))
+                .toList();
+    }
+
+    /**
+     * Counts the products with a price between the specified minimum and maximum prices.
+     *
+     * @param minPrice the minimum price
+     * @param maxPrice the maximum price
+     * @return the number of products in the price range
+     */
+    @Override
+    public long countProductsByPriceBetween(@NotNull Double minPrice, @NotNull Double maxPrice) {
+        return productsByPriceBetween(minPrice, maxPrice).size();
+    }
+
     /**
      * Adds a new product based on the provided input.
      *
@@ -162,6 +253,35 @@ public class MockProductService  implements ProductService {
         return product;
     }
 
+    /**
+     * Imports the parsed rows into the mutable product list, recording the rows that fail to parse or validate.
+     *
+     * @param rows the rows to import
+     * @param parser the function that turns a row into an import input
+     * @param <T> the type of the rows
+     * @return the number of imported products and the errors of the rejected rows
+     */
+    @Override
+    public <T> ProductImportResult importProducts(@NotNull Stream<T> rows, @NotNull Function<T, ProductImportInput> parser) {
+        List<ProductImportError> errors = new ArrayList<>();
+        int importedCount = 0;
+        long row = 0;
+        for (T value : (Iterable<T>) rows::iterator) {
+            row++;
+            try {
+                ProductImportInput input = parser.apply(value);
+                if (input.getName() == null || input.getName().isBlank() || input.getPrice() == null) {
+                    throw new IllegalArgumentException("Name and price are required");
+                }
+                mutableProducts.add(new Product(input.getName(), input.getPrice(), input.getCurrencyCode()));
+                importedCount++;
+            } catch (RuntimeException e) {
+                errors.add(new ProductImportError(row, e.getMessage()));
+            }
+        }
+        return new ProductImportResult(importedCount, errors);
+    }
+
     /**
      * Updates an existing product identified by its ID or name.
      *
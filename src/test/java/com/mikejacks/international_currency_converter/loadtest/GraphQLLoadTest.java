@@ -0,0 +1,359 @@
+package com.mikejacks.international_currency_converter.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mikejacks.international_currency_converter.InternationalCurrencyConverterApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end load test of the {@code /graphql} endpoint.
+ *
+ * <p>This harness boots the whole application on a free port against an embedded Postgres, migrated by Flyway as in
+ * production, with a {@link LocalizationServiceStub} in place of the localization GraphQL endpoint. It imports a
+ * catalog of random products through {@code POST /products/import}, then runs a fixed number of closed-loop clients,
+ * each sending a weighted random mix of queries and mutations and waiting for every response before sending the next
+ * one. After a warmup, the latency of every request is recorded per operation. A request fails on any HTTP status
+ * other than 200 or a response with GraphQL {@code errors}.</p>
+ *
+ * <p>The throughput, error count and latency percentiles of every operation, and of all operations together, are
+ * printed and written as JSON to {@code loadtest.report}. Run it with the {@code loadtest} Maven profile, for
+ * example {@code mvn -Ploadtest verify -DskipTests -Dloadtest.concurrency=128}. The arguments of the harness are
+ * passed on to the application, so {@code -Dloadtest.app-args=--landedcost.price-index.enabled=true} runs the same
+ * workload with the price index enabled. Each argument is split on whitespace and blank arguments are skipped, so the
+ * profile's empty default passes nothing and one property can carry several application arguments.</p>
+ *
+ * <p>Settings, as system properties:</p>
+ * <ul>
+ *     <li>{@code loadtest.duration}: the measured duration, ISO-8601 (default {@code PT60S}).</li>
+ *     <li>{@code loadtest.warmup}: the unmeasured duration before it (default {@code PT15S}).</li>
+ *     <li>{@code loadtest.concurrency}: the number of clients (default 64).</li>
+ *     <li>{@code loadtest.products}: the number of products imported before the run (default 10000).</li>
+ *     <li>{@code loadtest.localization-latency}: the delay of every stub response (default {@code PT0.002S}).</li>
+ *     <li>{@code loadtest.report}: the path of the JSON report (default {@code target/loadtest-report.json}).</li>
+ * </ul>
+ */
+public class GraphQLLoadTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final List<String> CURRENCY_CODES = List.copyOf(LocalizationServiceStub.USD_VALUES.keySet());
+    private static final double MAX_PRICE = 1000;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final URI baseUri;
+    private final List<SeededProduct> products = new ArrayList<>();
+    private final List<String> countryIds = new ArrayList<>();
+    private final List<String> countryCodes = new ArrayList<>();
+
+    /**
+     * A product of the imported catalog.
+     *
+     * @param id The ID of the product.
+     * @param currencyCode The currency of its price.
+     */
+    private record SeededProduct(String id, String currencyCode) {
+    }
+
+    /**
+     * One kind of request of the workload.
+     *
+     * @param name The name the operation is reported under.
+     * @param weight The relative frequency of the operation in the mix.
+     * @param request The supplier of the GraphQL query and variables of each request.
+     */
+    private record Operation(String name, int weight, Supplier<Map<String, Object>> request) {
+    }
+
+    GraphQLLoadTest(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT15S"));
+        int concurrency = Integer.parseInt(System.getProperty("loadtest.concurrency", "64"));
+        int productCount = Integer.parseInt(System.getProperty("loadtest.products", "10000"));
+        Duration localizationLatency = Duration.parse(System.getProperty("loadtest.localization-latency", "PT0.002S"));
+        Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        List<String> extraArgs = Stream.of(args)
+                .flatMap(arg -> Stream.of(arg.trim().split("\\s+")))
+                .filter(arg -> !arg.isEmpty())
+                .toList();
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             LocalizationServiceStub localizationService = new LocalizationServiceStub(localizationLatency)) {
+            String[] applicationArgs = Stream.concat(Stream.of(
+                    "--server.port=0",
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--LOCALIZATION_GRAPHQL_ENDPOINT=" + localizationService.endpoint(),
+                    "--FREECURRENCY_API_URL_HOST=" + localizationService.endpoint() + "?apikey=",
+                    "--FREECURRENCY_API_KEY=loadtest",
+                    "--localization.rate-refresh.enabled=false"), extraArgs.stream()).toArray(String[]::new);
+
+            try (ConfigurableApplicationContext application = SpringApplication.run(InternationalCurrencyConverterApplication.class, applicationArgs)) {
+                int port = application.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                GraphQLLoadTest loadTest = new GraphQLLoadTest(URI.create("http://127.0.0.1:" + port));
+                loadTest.seed(productCount);
+
+                Map<String, Object> results = new LinkedHashMap<>();
+                Map<String, Object> settings = new LinkedHashMap<>();
+                settings.put("duration", duration.toString());
+                settings.put("warmup", warmup.toString());
+                settings.put("concurrency", concurrency);
+                settings.put("products", productCount);
+                settings.put("localizationLatency", localizationLatency.toString());
+                settings.put("applicationArgs", extraArgs);
+                results.put("settings", settings);
+                results.put("operations", loadTest.run(concurrency, warmup, duration));
+                results.put("localizationRequests", localizationService.requests());
+
+                Files.createDirectories(report.toAbsolutePath().getParent());
+                OBJECT_MAPPER.writeValue(report.toFile(), results);
+                System.out.println("Load test report written to " + report.toAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Imports a random catalog of products and reads back the IDs of the products and countries.
+     *
+     * @param productCount The number of products to import.
+     * @throws IOException if a request fails.
+     * @throws InterruptedException if the thread is interrupted while waiting for a response.
+     */
+    void seed(int productCount) throws IOException, InterruptedException {
+        StringBuilder catalog = new StringBuilder();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < productCount; i++) {
+            Map<String, Object> product = Map.of("name", "loadtest-product-" + i,
+                    "price", Math.round(random.nextDouble(MAX_PRICE) * 100) / 100.0,
+                    "currencyCode", CURRENCY_CODES.get(random.nextInt(CURRENCY_CODES.size())));
+            catalog.append(OBJECT_MAPPER.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(product)).append('\n');
+        }
+        HttpResponse<String> imported = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/products/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(catalog.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (imported.statusCode() != 200) {
+            throw new IllegalStateException("Product import failed with HTTP " + imported.statusCode() + ": " + imported.body());
+        }
+        System.out.println("Imported products: " + imported.body());
+
+        String after = null;
+        do {
+            JsonNode connection = graphQL("query($after: String) { productsConnection(first: 500, after: $after) "
+                    + "{ edges { node { id currencyCode } } pageInfo { endCursor hasNextPage } } }", variables("after", after))
+                    .path("data").path("productsConnection");
+            for (JsonNode edge : connection.path("edges")) {
+                products.add(new SeededProduct(edge.path("node").path("id").asText(), edge.path("node").path("currencyCode").asText()));
+            }
+            after = connection.path("pageInfo").path("hasNextPage").asBoolean() ? connection.path("pageInfo").path("endCursor").asText() : null;
+        } while (after != null);
+        for (JsonNode country : graphQL("{ countries { id code } }", Map.of()).path("data").path("countries")) {
+            countryIds.add(country.path("id").asText());
+            countryCodes.add(country.path("code").asText());
+        }
+        if (products.isEmpty() || countryIds.isEmpty()) {
+            throw new IllegalStateException("Seeding found " + products.size() + " products and " + countryIds.size() + " countries");
+        }
+    }
+
+    /**
+     * Runs the workload and summarizes the latencies of the measured requests.
+     *
+     * @param concurrency The number of closed-loop clients.
+     * @param warmup The duration before measuring starts.
+     * @param duration The measured duration.
+     * @return The summary of every operation by name, followed by the summary of all operations under {@code total}.
+     * @throws InterruptedException if the thread is interrupted while waiting for the clients.
+     */
+    Map<String, Map<String, Object>> run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        List<Operation> operations = operations();
+        int totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            recorders.put(operation.name(), new LatencyRecorder());
+        }
+        LatencyRecorder total = new LatencyRecorder();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < measureUntil) {
+                        Operation operation = pick(operations, totalWeight);
+                        long sent = System.nanoTime();
+                        boolean succeeded = send(operation.request().get());
+                        long received = System.nanoTime();
+                        if (sent < measureFrom || received > measureUntil) {
+                            continue;
+                        }
+                        if (succeeded) {
+                            recorders.get(operation.name()).record(received - sent);
+                            total.record(received - sent);
+                        } else {
+                            recorders.get(operation.name()).recordError();
+                            total.recordError();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        Map<String, Map<String, Object>> summaries = new LinkedHashMap<>();
+        recorders.forEach((name, recorder) -> summaries.put(name, recorder.summary(duration.toNanos())));
+        summaries.put("total", total.summary(duration.toNanos()));
+        System.out.printf("%-34s %9s %7s %9s %9s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        summaries.forEach((name, summary) -> System.out.printf("%-34s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                summary.get("requests"), summary.get("errors"), summary.get("throughput"),
+                summary.get("p50"), summary.get("p90"), summary.get("p99"), summary.get("p99.9"), summary.get("max")));
+        return summaries;
+    }
+
+    /**
+     * Returns the operations of the workload: mostly reads, led by landed-cost calculations, with a share of writes.
+     *
+     * @return The weighted operations.
+     */
+    private List<Operation> operations() {
+        return List.of(
+                new Operation("calculateLandedCost", 30, () -> {
+                    SeededProduct product = randomProduct();
+                    return request("query($productId: UUID!, $countryId: UUID!, $target: String!, $base: String!) { "
+                                    + "calculateLandedCost(productId: $productId, countryId: $countryId, targetCurrencyCode: $target, baseCurrencyCode: $base) { totalCost } }",
+                            variables("productId", product.id(), "countryId", random(countryIds), "target", random(CURRENCY_CODES), "base", product.currencyCode()));
+                }),
+                new Operation("calculateLandedCosts", 5, () -> request("query($productIds: [UUID!]!, $countryIds: [UUID!]!, $targets: [String!]!) { "
+                                + "calculateLandedCosts(productIds: $productIds, countryIds: $countryIds, targetCurrencyCodes: $targets) { totalCost } }",
+                        variables("productIds", Stream.generate(() -> randomProduct().id()).limit(10).toList(),
+                                "countryIds", countryIds.subList(0, Math.min(3, countryIds.size())),
+                                "targets", List.of(random(CURRENCY_CODES), random(CURRENCY_CODES))))),
+                new Operation("productById", 15, () -> request("query($productId: UUID!) { productById(productId: $productId) { id name price currencyCode } }",
+                        variables("productId", randomProduct().id()))),
+                new Operation("productsConnection", 8, () -> request("{ productsConnection(first: 20, orderBy: PRICE) "
+                        + "{ edges { node { id name price } } pageInfo { endCursor hasNextPage } } }", Map.of())),
+                new Operation("productsByPriceBetween", 10, () -> {
+                    double minPrice = ThreadLocalRandom.current().nextDouble(MAX_PRICE - 10);
+                    return request("query($min: Float!, $max: Float!) { productsByPriceBetween(minPrice: $min, maxPrice: $max) { id price } }",
+                            variables("min", minPrice, "max", minPrice + 10));
+                }),
+                new Operation("productsByConvertedPriceBetween", 4, () -> {
+                    double minPrice = ThreadLocalRandom.current().nextDouble(MAX_PRICE - 10);
+                    return request("query($min: Float!, $max: Float!) { productsByConvertedPriceBetween(minPrice: $min, maxPrice: $max, currencyCode: \"EUR\") { id price currencyCode } }",
+                            variables("min", minPrice, "max", minPrice + 10));
+                }),
+                new Operation("currency", 10, () -> request("query($base: String!, $target: String!) { currency(baseCode: $base, targetCode: $target) { conversionRate } }",
+                        variables("base", random(CURRENCY_CODES), "target", random(CURRENCY_CODES)))),
+                new Operation("countryByCode", 5, () -> request("query($code: String!) { countryByCode(code: $code) { id name dutyRate taxRate } }",
+                        variables("code", random(countryCodes)))),
+                new Operation("addProduct", 10, () -> request("mutation($product: ProductCreateInput!) { addProduct(product: $product) { id } }",
+                        variables("product", Map.of("name", "loadtest-added-" + ThreadLocalRandom.current().nextLong(Long.MAX_VALUE),
+                                "price", Double.toString(Math.round(ThreadLocalRandom.current().nextDouble(MAX_PRICE) * 100) / 100.0),
+                                "currencyCode", random(CURRENCY_CODES))))),
+                new Operation("upsertCurrencies", 3, () -> {
+                    String target = random(CURRENCY_CODES.stream().filter(code -> !code.equals("USD")).toList());
+                    double rate = LocalizationServiceStub.USD_VALUES.get("USD") / LocalizationServiceStub.USD_VALUES.get(target)
+                            * ThreadLocalRandom.current().nextDouble(0.99, 1.01);
+                    return request("mutation($currencies: [CurrencyCreateInput!]!) { upsertCurrencies(currencies: $currencies) { id conversionRate } }",
+                            variables("currencies", List.of(Map.of("baseCode", "USD", "targetCode", target, "conversionRate", rate))));
+                }));
+    }
+
+    private static Operation pick(List<Operation> operations, int totalWeight) {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up to " + totalWeight);
+    }
+
+    private SeededProduct randomProduct() {
+        return random(products);
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static Map<String, Object> variables(Object... namesAndValues) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            variables.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return variables;
+    }
+
+    private static Map<String, Object> request(String query, Map<String, Object> variables) {
+        return Map.of("query", query, "variables", variables);
+    }
+
+    /**
+     * Sends a GraphQL request during the run.
+     *
+     * @param request The query and variables of the request.
+     * @return Whether the request succeeded with HTTP 200 and without GraphQL errors.
+     */
+    private boolean send(Map<String, Object> request) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(graphQLRequest(request), HttpResponse.BodyHandlers.ofByteArray());
+            return response.statusCode() == 200 && !OBJECT_MAPPER.readTree(response.body()).has("errors");
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Sends a GraphQL request while seeding, failing on any error.
+     *
+     * @param query The GraphQL query.
+     * @param variables The variables of the query.
+     * @return The response body.
+     * @throws IOException if the request fails or the response has GraphQL errors.
+     * @throws InterruptedException if the thread is interrupted while waiting for the response.
+     */
+    private JsonNode graphQL(String query, Map<String, Object> variables) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(graphQLRequest(request(query, variables)), HttpResponse.BodyHandlers.ofByteArray());
+        JsonNode body = OBJECT_MAPPER.readTree(response.body());
+        if (response.statusCode() != 200 || body.has("errors")) {
+            throw new IOException("GraphQL request failed with HTTP " + response.statusCode() + ": " + body);
+        }
+        return body;
+    }
+
+    private HttpRequest graphQLRequest(Map<String, Object> request) throws IOException {
+        return HttpRequest.newBuilder(baseUri.resolve("/graphql"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(request)))
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.mikejacks.international_currency_converter.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the localization GraphQL endpoint called by {@code LocalizationGraphQLClient}.
+ *
+ * <p>The stub answers the {@code currency(baseCode, targetCode)} query the client sends, with a fixed rate derived
+ * from each currency's value in US dollars, after a configurable delay that stands in for the network and the remote
+ * service. Requests are handled on virtual threads, so the delay never limits the throughput of the stub.</p>
+ */
+class LocalizationServiceStub implements AutoCloseable {
+    /**
+     * The value in US dollars of each currency the stub knows.
+     */
+    static final Map<String, Double> USD_VALUES = Map.of("USD", 1.0, "EUR", 1.10, "GBP", 1.25, "JPY", 0.0072, "CHF", 1.10, "CAD", 0.74);
+
+    private static final Pattern CURRENCY_QUERY = Pattern.compile("baseCode: \\\\\"(\\w+)\\\\\", targetCode: \\\\\"(\\w+)\\\\\"");
+
+    private final HttpServer server;
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Starts a stub on a free local port.
+     *
+     * @param latency The delay before each response.
+     * @throws IOException if the server cannot be started.
+     */
+    LocalizationServiceStub(Duration latency) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/graphql", exchange -> {
+            requests.incrementAndGet();
+            String body;
+            try (InputStream requestBody = exchange.getRequestBody()) {
+                body = new String(requestBody.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            Matcher query = CURRENCY_QUERY.matcher(body);
+            byte[] response;
+            if (query.find() && USD_VALUES.containsKey(query.group(1)) && USD_VALUES.containsKey(query.group(2))) {
+                double rate = USD_VALUES.get(query.group(1)) / USD_VALUES.get(query.group(2));
+                response = ("{\"data\":{\"currency\":{\"baseCode\":\"" + query.group(1) + "\",\"targetCode\":\"" + query.group(2)
+                        + "\",\"conversionRate\":" + rate + "}}}").getBytes(StandardCharsets.UTF_8);
+            } else {
+                response = "{\"data\":{\"currency\":null}}".getBytes(StandardCharsets.UTF_8);
+            }
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(response);
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * Returns the URL of the GraphQL endpoint of the stub.
+     *
+     * @return The endpoint URL.
+     */
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/graphql";
+    }
+
+    /**
+     * Returns the number of requests the stub has received.
+     *
+     * @return The request count.
+     */
+    long requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
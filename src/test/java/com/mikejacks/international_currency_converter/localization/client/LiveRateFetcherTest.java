@@ -0,0 +1,102 @@
+package com.mikejacks.international_currency_converter.localization.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for {@code LiveRateFetcher}, run against a local HTTP server standing in for the FreecurrencyAPI.
+ */
+class LiveRateFetcherTest {
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private volatile int failuresBeforeSuccess;
+    private volatile int failureStatusCode;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/latest", exchange -> {
+            int request = requests.incrementAndGet();
+            byte[] body = request <= failuresBeforeSuccess
+                    ? "{\"message\":\"unavailable\"}".getBytes(StandardCharsets.UTF_8)
+                    : "{\"meta\":{\"source\":\"test\",\"tags\":[1,2]},\"data\":{\"AUD\":1.5,\"EUR\":0.92,\"JPY\":151.25}}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(request <= failuresBeforeSuccess ? failureStatusCode : 200, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private LiveRateFetcher fetcher(int maxAttempts) {
+        return new LiveRateFetcher("http://127.0.0.1:" + server.getAddress().getPort() + "/latest?apikey=", "test-key",
+                Duration.ofSeconds(1), Duration.ofSeconds(2), maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5), meterRegistry);
+    }
+
+    /**
+     * Tests that only the requested rates are read from the response.
+     */
+    @Test
+    void testFetchRates() {
+        Map<String, Double> rates = fetcher(1).fetchRates("USD", List.of("EUR", "JPY"));
+
+        assertEquals(Map.of("EUR", 0.92, "JPY", 151.25), rates);
+    }
+
+    /**
+     * Tests that server errors are retried until a request succeeds, and that every attempt is timed by status.
+     */
+    @Test
+    void testFetchRateRetriesServerErrors() {
+        failuresBeforeSuccess = 2;
+        failureStatusCode = 503;
+
+        assertEquals(1.5, fetcher(3).fetchRate("USD", "AUD"));
+        assertEquals(3, requests.get());
+        assertEquals(2, meterRegistry.get("localization.live-rates.requests").tag("status", "503").timer().count());
+        assertEquals(1, meterRegistry.get("localization.live-rates.requests").tag("status", "200").timer().count());
+    }
+
+    /**
+     * Tests that client errors are not retried.
+     */
+    @Test
+    void testFetchRateDoesNotRetryClientErrors() {
+        failuresBeforeSuccess = 1;
+        failureStatusCode = 401;
+
+        assertThrows(RuntimeException.class, () -> fetcher(3).fetchRate("USD", "AUD"));
+        assertEquals(1, requests.get());
+    }
+
+    /**
+     * Tests that a response without the requested rate is rejected.
+     */
+    @Test
+    void testFetchRateMissingTarget() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> fetcher(1).fetchRate("USD", "GBP"));
+
+        assertEquals("Live rates response for USD has no rate for GBP", exception.getMessage());
+    }
+}
@@ -66,6 +66,30 @@ public class CurrencyMutationDataFetcherTest {
         assertEquals(currencies.size() + 1, currencyService.mutableCurrencies.size());
     }
 
+    /**
+     * Tests the {@code upsertCurrencies} method of {@code CurrencyMutationDataFetcher}.
+     *
+     * @param currencies The expected list of currencies.
+     * @param testName The name of the test.
+     */
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("mockCurrenciesLists")
+    void testUpsertCurrencies(List<Currency> currencies, String testName) {
+        MockCurrencyService currencyService = new MockCurrencyService(currencies);
+        CurrencyMutationDataFetcher currencyMutationDataFetcher = new CurrencyMutationDataFetcher(currencyService);
+
+        List<Currency> upsertedCurrencies = currencyMutationDataFetcher.upsertCurrencies(List.of(
+                new CurrencyCreateInput("NAB", "HOT", 3.0),
+                new CurrencyCreateInput("TAT", "COR", 0.4),
+                new CurrencyCreateInput("NAB", "HOT", 3.5)));
+
+        assertEquals(List.of("NAB-HOT", "TAT-COR"),
+                upsertedCurrencies.stream().map(currency -> currency.getBaseCode() + "-" + currency.getTargetCode()).toList());
+        assertEquals(3.5, upsertedCurrencies.get(0).getConversionRate());
+        assertEquals(0.4, upsertedCurrencies.get(1).getConversionRate());
+        assertEquals(currencies.size() + 1, currencyService.mutableCurrencies.size());
+    }
+
     /**
      * Tests the {@code updateCurrencyById} method of {@code CurrencyMutationDataFetcher}.
      *
@@ -113,4 +137,29 @@ public class CurrencyMutationDataFetcherTest {
         assertNotEquals(existingCurrency.getConversionRate(), updatedCurrency.getConversionRate());
         assertEquals(existingCurrency.getConversionRate() + 0.2, updatedCurrency.getConversionRate(), 0.001);
     }
+
+    /**
+     * Test method for {@code updateAllCurrencyRatesToLive} in {@code CurrencyMutationDataFetcher}.
+     *
+     * <p>This test verifies that every currency is returned with its conversion rate updated, while its base code and
+     * target code remain the same.</p>
+     *
+     * @param currencies The list of mock currencies used for testing.
+     * @param testName The name of the test case.
+     */
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("mockCurrenciesLists")
+    void testUpdateAllCurrencyRatesToLive(List<Currency> currencies, String testName) {
+        MockCurrencyService currencyService = new MockCurrencyService(currencies);
+        CurrencyMutationDataFetcher currencyMutationDataFetcher = new CurrencyMutationDataFetcher(currencyService);
+
+        List<Currency> updatedCurrencies = currencyMutationDataFetcher.updateAllCurrencyRatesToLive();
+
+        assertEquals(currencies.size(), updatedCurrencies.size());
+        for (int i = 0; i < currencies.size(); i++) {
+            assertEquals(currencies.get(i).getBaseCode(), updatedCurrencies.get(i).getBaseCode());
+            assertEquals(currencies.get(i).getTargetCode(), updatedCurrencies.get(i).getTargetCode());
+            assertEquals(currencies.get(i).getConversionRate() + 0.2, updatedCurrencies.get(i).getConversionRate(), 0.001);
+        }
+    }
 }
@@ -1,7 +1,14 @@
 package com.mikejacks.international_currency_converter.localization.datafetcher.query;
 
+import com.mikejacks.international_currency_converter.localization.dataloader.CurrencyDataLoader;
 import com.mikejacks.international_currency_converter.localization.entity.Currency;
 import com.mikejacks.international_currency_converter.localization.service.impl.MockCurrencyService;
+import com.mikejacks.international_currency_converter.util.DataLoaderMetrics;
+import com.netflix.graphql.dgs.DgsDataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -55,7 +63,15 @@ class CurrencyQueryDataFetcherTest {
         MockCurrencyService currencyService = new MockCurrencyService(expectedCurrencies);
         CurrencyQueryDataFetcher currencyQueryDataFetcher = new CurrencyQueryDataFetcher(currencyService);
         Currency expectedCurrency = expectedCurrencies.get(0);
-        Currency results = currencyQueryDataFetcher.currency(expectedCurrency.getBaseCode(), expectedCurrency.getTargetCode());
+        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
+        dataLoaderRegistry.register(CurrencyDataLoader.NAME, DataLoaderFactory.newMappedDataLoader(
+                new CurrencyDataLoader(currencyService, new DataLoaderMetrics(new SimpleMeterRegistry()), Runnable::run)));
+        DgsDataFetchingEnvironment dfe = new DgsDataFetchingEnvironment(DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build());
+        CompletableFuture<Currency> future = currencyQueryDataFetcher.currency(expectedCurrency.getBaseCode(), expectedCurrency.getTargetCode(), dfe);
+        dataLoaderRegistry.dispatchAll();
+        Currency results = future.join();
         assertEquals(Currency.class, results.getClass());
         assertEquals(expectedCurrency.getBaseCode(), results.getBaseCode());
         assertEquals(expectedCurrency.getTargetCode(), results.getTargetCode());
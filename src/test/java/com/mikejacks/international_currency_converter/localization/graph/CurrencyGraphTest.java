@@ -0,0 +1,107 @@
+package com.mikejacks.international_currency_converter.localization.graph;
+
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
+import com.mikejacks.international_currency_converter.localization.repository.CurrencyRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@code CurrencyGraph}.
+ *
+ * <p>This class tests triangulation and incremental updates against a mock repository holding a few stored rates.</p>
+ */
+class CurrencyGraphTest {
+    private final Currency eurUsd = new Currency("EUR", "USD", 1.10);
+    private final Currency usdJpy = new Currency("USD", "JPY", 150.0);
+    private final Currency eurJpy = new Currency("EUR", "JPY", 160.0);
+    private final Currency chfGbp = new Currency("CHF", "GBP", 0.88);
+    private final List<Object> publishedEvents = new ArrayList<>();
+
+    private CurrencyGraph graph(Currency... currencies) {
+        CurrencyRepository currencyRepository = mock(CurrencyRepository.class);
+        when(currencyRepository.findAll()).thenReturn(List.of(currencies));
+        return new CurrencyGraph(currencyRepository, publishedEvents::add);
+    }
+
+    /**
+     * Tests that a pair that is not stored is triangulated through a pivot currency, in both directions.
+     */
+    @Test
+    void testTriangulatedRate() {
+        CurrencyGraph currencyGraph = graph(eurUsd, usdJpy);
+
+        assertEquals(165.0, currencyGraph.rate("EUR", "JPY").getAsDouble(), 1e-9);
+        assertEquals(List.of("EUR", "USD", "JPY"), currencyGraph.path("eur", "jpy"));
+        assertEquals(1 / 165.0, currencyGraph.rate("JPY", "EUR").getAsDouble(), 1e-12);
+        assertEquals(1.0, currencyGraph.rate("USD", "USD").getAsDouble());
+    }
+
+    /**
+     * Tests that a stored pair is used directly rather than through a longer path.
+     */
+    @Test
+    void testStoredRatePreferred() {
+        CurrencyGraph currencyGraph = graph(eurUsd, usdJpy, eurJpy);
+
+        assertEquals(160.0, currencyGraph.rate("EUR", "JPY").getAsDouble());
+        assertEquals(List.of("EUR", "JPY"), currencyGraph.path("EUR", "JPY"));
+    }
+
+    /**
+     * Tests that pairs in disconnected parts of the graph and unknown currencies have no rate.
+     */
+    @Test
+    void testUnreachableRate() {
+        CurrencyGraph currencyGraph = graph(eurUsd, chfGbp);
+
+        assertTrue(currencyGraph.rate("EUR", "GBP").isEmpty());
+        assertTrue(currencyGraph.rate("EUR", "XYZ").isEmpty());
+        assertTrue(currencyGraph.path("EUR", "GBP").isEmpty());
+    }
+
+    /**
+     * Tests that changing a stored rate updates every pair whose path uses it, and only those, and publishes those
+     * pairs.
+     */
+    @Test
+    void testUpdateRate() {
+        CurrencyGraph currencyGraph = graph(eurUsd, usdJpy);
+        currencyGraph.rate("EUR", "JPY");
+        publishedEvents.clear();
+
+        Set<CurrencyPair> changedPairs = currencyGraph.update(new Currency(eurUsd.getId(), "EUR", "USD", 1.20));
+
+        assertEquals(Set.of(new CurrencyPair("EUR", "USD"), new CurrencyPair("USD", "EUR"),
+                new CurrencyPair("EUR", "JPY"), new CurrencyPair("JPY", "EUR")), changedPairs);
+        assertEquals(List.of(new CurrencyRatesChangedEvent(changedPairs)), publishedEvents);
+        currencyGraph.update(new Currency(eurUsd.getId(), "EUR", "USD", 1.20));
+        assertEquals(1, publishedEvents.size());
+        assertEquals(180.0, currencyGraph.rate("EUR", "JPY").getAsDouble(), 1e-9);
+        assertEquals(150.0, currencyGraph.rate("USD", "JPY").getAsDouble());
+    }
+
+    /**
+     * Tests that adding a stored pair connects the currencies it links.
+     */
+    @Test
+    void testUpdateNewPair() {
+        CurrencyGraph currencyGraph = graph(eurUsd, chfGbp);
+
+        Set<CurrencyPair> changedPairs = currencyGraph.update(new Currency("USD", "CHF", 0.90));
+
+        assertTrue(changedPairs.contains(new CurrencyPair("EUR", "GBP")));
+        assertFalse(changedPairs.contains(new CurrencyPair("EUR", "USD")));
+        assertEquals(1.10 * 0.90 * 0.88, currencyGraph.rate("EUR", "GBP").getAsDouble(), 1e-9);
+        assertEquals(List.of("EUR", "USD", "CHF", "GBP"), currencyGraph.path("EUR", "GBP"));
+    }
+}
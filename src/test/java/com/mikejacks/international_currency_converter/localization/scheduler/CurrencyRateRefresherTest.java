@@ -0,0 +1,170 @@
+package com.mikejacks.international_currency_converter.localization.scheduler;
+
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import com.mikejacks.international_currency_converter.localization.repository.CurrencyRepository;
+import com.mikejacks.international_currency_converter.localization.service.impl.MockCurrencyService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@code CurrencyRateRefresher}.
+ *
+ * <p>This class drives the refresher with a mock repository, a mock currency service and a manually advanced clock.</p>
+ */
+class CurrencyRateRefresherTest {
+    private static final Duration INTERVAL = Duration.ofSeconds(30);
+    private static final Duration MAX_STALENESS = Duration.ofMinutes(5);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-06-01T00:00:00Z"));
+    private final AtomicReference<Instant> requestedThreshold = new AtomicReference<>();
+    private final Map<String, AtomicInteger> refreshes = new ConcurrentHashMap<>();
+    private final AtomicInteger activeRefreshes = new AtomicInteger();
+    private final AtomicInteger maxActiveRefreshes = new AtomicInteger();
+
+    private final MockCurrencyService currencyService = new MockCurrencyService(List.of(
+            new Currency("USD", "EUR", 0.91),
+            new Currency("EUR", "USD", 1.10),
+            new Currency("GBP", "USD", 1.25),
+            new Currency("CHF", "USD", 1.10),
+            new Currency("JPY", "USD", 0.0072))) {
+        @Override
+        public List<Currency> updateCurrencyRatesToLiveByBaseCode(String baseCode) {
+            refreshes.computeIfAbsent(baseCode, code -> new AtomicInteger()).incrementAndGet();
+            maxActiveRefreshes.accumulateAndGet(activeRefreshes.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                if (baseCode.equals("JPY")) {
+                    throw new RuntimeException("Failed : HTTP error code : 503");
+                }
+                return super.updateCurrencyRatesToLiveByBaseCode(baseCode);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } finally {
+                activeRefreshes.decrementAndGet();
+            }
+        }
+    };
+
+    private CurrencyRateRefresher refresher() {
+        CurrencyRepository currencyRepository = mock(CurrencyRepository.class);
+        when(currencyRepository.findBaseCodesWithRateUpdatedBefore(any())).thenAnswer(invocation -> {
+            requestedThreshold.set(invocation.getArgument(0));
+            return List.of("USD", "EUR", "GBP", "CHF", "JPY");
+        });
+        return new CurrencyRateRefresher(currencyRepository, currencyService, clock, INTERVAL, MAX_STALENESS, 2,
+                Duration.ofMinutes(1), Duration.ofMinutes(10));
+    }
+
+    /**
+     * Tests that every stale base currency is refreshed once, with bounded concurrency, and that rates due before the
+     * next run are considered stale.
+     */
+    @Test
+    void testRefreshStaleRates() {
+        refresher().refreshStaleRates();
+
+        assertEquals(clock.instant().minus(MAX_STALENESS).plus(INTERVAL), requestedThreshold.get());
+        for (String baseCode : List.of("USD", "EUR", "GBP", "CHF", "JPY")) {
+            assertEquals(1, refreshes.get(baseCode).get(), baseCode);
+        }
+        assertTrue(maxActiveRefreshes.get() <= 2, "at most 2 concurrent refreshes, was " + maxActiveRefreshes.get());
+        assertEquals(0.91 + 0.2, currencyService.mutableCurrencies.getFirst().getConversionRate(), 0.001);
+    }
+
+    /**
+     * Tests that a base currency whose refresh failed is skipped until its backoff has elapsed, and that the backoff
+     * grows with consecutive failures.
+     */
+    @Test
+    void testFailedBaseCurrencyBacksOff() {
+        CurrencyRateRefresher refresher = refresher();
+
+        refresher.refreshStaleRates();
+        clock.advance(Duration.ofSeconds(29));
+        refresher.refreshStaleRates();
+        assertEquals(1, refreshes.get("JPY").get());
+        assertEquals(2, refreshes.get("USD").get());
+
+        clock.advance(Duration.ofSeconds(31));
+        refresher.refreshStaleRates();
+        assertEquals(2, refreshes.get("JPY").get());
+
+        clock.advance(Duration.ofSeconds(59));
+        refresher.refreshStaleRates();
+        assertEquals(2, refreshes.get("JPY").get());
+
+        clock.advance(Duration.ofSeconds(61));
+        refresher.refreshStaleRates();
+        assertEquals(3, refreshes.get("JPY").get());
+    }
+
+    /**
+     * Tests that the backoff delay after each number of consecutive failures lies between half of the full delay and
+     * the full delay, that it spreads over that range, and that the full delay doubles up to the maximum backoff.
+     */
+    @Test
+    void testBackoffDelayIsJitteredBetweenHalfAndFullDelay() {
+        CurrencyRateRefresher refresher = refresher();
+
+        for (int failures = 1; failures <= 6; failures++) {
+            Duration fullDelay = Duration.ofMinutes(Math.min(10, 1L << (failures - 1)));
+            Duration minDelay = fullDelay;
+            Duration maxDelay = Duration.ZERO;
+            for (int i = 0; i < 1_000; i++) {
+                Duration delay = refresher.backoffDelay(failures);
+                assertTrue(delay.compareTo(fullDelay.dividedBy(2)) >= 0 && delay.compareTo(fullDelay) <= 0,
+                        failures + " failures: " + delay + " outside [" + fullDelay.dividedBy(2) + ", " + fullDelay + "]");
+                minDelay = delay.compareTo(minDelay) < 0 ? delay : minDelay;
+                maxDelay = delay.compareTo(maxDelay) > 0 ? delay : maxDelay;
+            }
+            assertTrue(minDelay.compareTo(fullDelay.multipliedBy(6).dividedBy(10)) < 0, failures + " failures: smallest delay " + minDelay);
+            assertTrue(maxDelay.compareTo(fullDelay.multipliedBy(9).dividedBy(10)) > 0, failures + " failures: largest delay " + maxDelay);
+        }
+    }
+
+    /**
+     * A clock that only moves when advanced.
+     */
+    private static final class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
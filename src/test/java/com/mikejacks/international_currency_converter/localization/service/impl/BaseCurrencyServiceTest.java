@@ -0,0 +1,163 @@
+package com.mikejacks.international_currency_converter.localization.service.impl;
+
+import com.mikejacks.international_currency_converter.localization.client.LiveRateFetcher;
+import com.mikejacks.international_currency_converter.localization.entity.Currency;
+import com.mikejacks.international_currency_converter.localization.graph.CurrencyGraph;
+import com.mikejacks.international_currency_converter.localization.repository.CurrencyBatchRepository;
+import com.mikejacks.international_currency_converter.localization.repository.CurrencyRepository;
+import com.mikejacks.international_currency_converter.pagination.PaginationSettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the live-rate refresh of {@code BaseCurrencyService}.
+ *
+ * <p>The repository is a mock over an in-memory table, the transaction manager is a mock that only records when a transaction is
+ * open, and the {@code LiveRateFetcher} answers from fixed rates, recording every request and whether a transaction
+ * was open while it was made.</p>
+ */
+class BaseCurrencyServiceTest {
+    private static final Map<String, Map<String, Double>> LIVE_RATES = Map.of(
+            "USD", Map.of("EUR", 0.92, "JPY", 151.25),
+            "EUR", Map.of("GBP", 0.85));
+
+    private final Map<UUID, Currency> table = new LinkedHashMap<>();
+    private final List<String> fetches = new ArrayList<>();
+    private final List<String> events = new ArrayList<>();
+    private boolean inTransaction;
+    private String failingBaseCode;
+    private Runnable duringFetch = () -> { };
+    private BaseCurrencyService currencyService;
+
+    @BeforeEach
+    void setUp() {
+        for (Currency currency : List.of(new Currency("USD", "EUR", 0.9), new Currency("USD", "JPY", 150.0), new Currency("EUR", "GBP", 0.8))) {
+            table.put(currency.getId(), currency);
+        }
+        CurrencyRepository currencyRepository = mock(CurrencyRepository.class);
+        when(currencyRepository.findAll()).thenAnswer(invocation -> List.copyOf(table.values()));
+        when(currencyRepository.findCurrenciesByBaseCode(anyString()))
+                .thenAnswer(invocation -> table.values().stream().filter(currency -> currency.getBaseCode().equals(invocation.getArgument(0))).toList());
+        when(currencyRepository.findAllById(any())).thenAnswer(invocation -> StreamSupport.stream(invocation.<Iterable<UUID>>getArgument(0).spliterator(), false)
+                .map(table::get).filter(currency -> currency != null).toList());
+        when(currencyRepository.saveAll(any())).thenAnswer(invocation -> {
+            events.add("save");
+            List<Currency> saved = new ArrayList<>();
+            invocation.<Iterable<Currency>>getArgument(0).forEach(saved::add);
+            return saved;
+        });
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            events.add("getTransaction");
+            inTransaction = true;
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> endTransaction("commit")).when(transactionManager).commit(any());
+        doAnswer(invocation -> endTransaction("rollback")).when(transactionManager).rollback(any());
+        LiveRateFetcher liveRateFetcher = new LiveRateFetcher("http://127.0.0.1:1/latest?apikey=", "test-key",
+                Duration.ofSeconds(1), Duration.ofSeconds(1), 1, Duration.ofMillis(1), Duration.ofMillis(1), new SimpleMeterRegistry()) {
+            @Override
+            public Map<String, Double> fetchRates(String baseCode, Collection<String> targetCodes) {
+                assertFalse(inTransaction, "rates must be fetched outside of a transaction");
+                events.add("fetch");
+                fetches.add(baseCode + ":" + targetCodes.stream().sorted().collect(Collectors.joining(",")));
+                duringFetch.run();
+                if (baseCode.equals(failingBaseCode)) {
+                    throw new RuntimeException("HTTP 503");
+                }
+                return LIVE_RATES.get(baseCode);
+            }
+        };
+        currencyService = new BaseCurrencyService(currencyRepository, liveRateFetcher, new CurrencyGraph(currencyRepository, event -> { }),
+                new PaginationSettings(50, 500, 1000), new CurrencyBatchRepository(null, 1000, "7"), transactionManager);
+    }
+
+    /**
+     * Tests that every currency is refreshed with one request per base code, made before a single short transaction
+     * writes all rates.
+     */
+    @Test
+    void testUpdateAllCurrencyRatesToLive() {
+        List<Currency> updated = currencyService.updateAllCurrencyRatesToLive();
+
+        assertEquals(List.of("USD:EUR,JPY", "EUR:GBP"), fetches);
+        assertEquals(List.of("fetch", "fetch", "getTransaction", "save", "commit"), events);
+        assertEquals(List.of(0.92, 151.25, 0.85), updated.stream().map(Currency::getConversionRate).toList());
+        for (Currency currency : table.values()) {
+            assertNotNull(currency.getRateUpdatedAt());
+        }
+    }
+
+    /**
+     * Tests that only the currencies of the specified base code are refreshed.
+     */
+    @Test
+    void testUpdateCurrencyRatesToLiveByBaseCode() {
+        List<Currency> updated = currencyService.updateCurrencyRatesToLiveByBaseCode("EUR");
+
+        assertEquals(List.of("EUR:GBP"), fetches);
+        assertEquals(1, updated.size());
+        assertEquals(0.85, updated.getFirst().getConversionRate());
+        assertEquals(List.of(0.9, 150.0), table.values().stream().filter(currency -> currency.getBaseCode().equals("USD")).map(Currency::getConversionRate).toList());
+    }
+
+    /**
+     * Tests that no currency is written, and no transaction is started, if the rates of any base cannot be fetched.
+     */
+    @Test
+    void testFailedFetchUpdatesNothing() {
+        failingBaseCode = "EUR";
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> currencyService.updateAllCurrencyRatesToLive());
+
+        assertEquals("Failed to update currencies with base code EUR to live rates: HTTP 503", error.getMessage());
+        assertEquals(List.of("fetch", "fetch"), events);
+        for (Currency currency : table.values()) {
+            assertNull(currency.getRateUpdatedAt());
+        }
+    }
+
+    /**
+     * Tests that a currency deleted while the rates were being fetched is skipped rather than written back.
+     */
+    @Test
+    void testCurrencyDeletedDuringFetchIsSkipped() {
+        Currency deleted = table.values().stream().filter(currency -> currency.getTargetCode().equals("JPY")).findFirst().orElseThrow();
+        duringFetch = () -> table.remove(deleted.getId());
+
+        List<Currency> updated = currencyService.updateCurrencyRatesToLiveByBaseCode("USD");
+
+        assertEquals(List.of("EUR"), updated.stream().map(Currency::getTargetCode).toList());
+        assertNull(deleted.getRateUpdatedAt());
+    }
+
+    private Object endTransaction(String event) {
+        events.add(event);
+        inTransaction = false;
+        return null;
+    }
+}
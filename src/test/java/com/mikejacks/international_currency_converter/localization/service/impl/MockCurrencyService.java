@@ -2,13 +2,22 @@ package com.mikejacks.international_currency_converter.localization.service.impl
 
 import com.mikejacks.international_currency_converter.localization.entity.Currency;
 import com.mikejacks.international_currency_converter.localization.model.CurrencyCreateInput;
+import com.mikejacks.international_currency_converter.localization.model.CurrencyPair;
 import com.mikejacks.international_currency_converter.localization.model.CurrencyUpdateInput;
 import com.mikejacks.international_currency_converter.localization.service.CurrencyService;
+import com.mikejacks.international_currency_converter.pagination.Connection;
+import com.mikejacks.international_currency_converter.pagination.Cursors;
+import com.mikejacks.international_currency_converter.pagination.PaginationSettings;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -24,15 +33,20 @@ import java.util.UUID;
  * <li>Query Methods:
  *   <ul>
  *     <li>{@link #currencies()}: Retrieves all currencies.</li>
+ *     <li>{@link #currenciesConnection(Integer, String)}: Retrieves one page of currencies in ID order.</li>
  *     <li>{@link #currency(String, String)}: Retrieves a specific currency based on base code and target code.</li>
+ *     <li>{@link #currenciesByPairs(Collection)}: Retrieves the currencies of several base and target code pairs.</li>
  *     <li>{@link #currencies(String, String)}: Retrieves currencies based on base code or target code.</li>
  *   </ul>
  * </li>
  * <li>Mutation Methods:
  *   <ul>
  *     <li>{@link #addCurrency(CurrencyCreateInput)}: Adds a new currency.</li>
+ *     <li>{@link #upsertCurrencies(List)}: Adds or updates many currencies, keyed by base and target code.</li>
  *     <li>{@link #updateCurrencyById(UUID, CurrencyUpdateInput)}: Updates an existing currency's details.</li>
  *     <li>{@link #updateCurrencyRateToLiveById(UUID)}: Updates the conversion rate of an existing currency to a live rate.</li>
+ *     <li>{@link #updateAllCurrencyRatesToLive()}: Updates the conversion rate of every currency to a live rate.</li>
+ *     <li>{@link #updateCurrencyRatesToLiveByBaseCode(String)}: Updates the conversion rate of every currency with a base code to a live rate.</li>
  *   </ul>
  * </li>
  * </ul>
@@ -72,6 +86,25 @@ public class MockCurrencyService implements CurrencyService {
         return currencies.stream().toList();
     }
 
+    /**
+     * Retrieves one page of currencies in ID order.
+     *
+     * @param first The number of currencies of the page, or {@code null} for the default page size.
+     * @param after The cursor of the currency after which the page starts, or {@code null} for the first page.
+     * @return The page of currencies.
+     */
+    @Override
+    public Connection<Currency> currenciesConnection(Integer first, String after) {
+        int pageSize = new PaginationSettings(50, 500, 1000).pageSize(first);
+        UUID afterId = Cursors.decodeId(after);
+        List<Currency> rows = currencies.stream()
+                .filter(currency -> afterId == null || currency.getId().compareTo(afterId) > 0)
+                .sorted(Comparator.comparing(Currency::getId))
+                .limit(pageSize + 1)
+                .toList();
+        return Cursors.connection(rows, pageSize, after, currency -> Cursors.encodeId(currency.getId()));
+    }
+
     /**
      * Retrieves a currency based on the specified base code and target code.
      *
@@ -87,6 +120,24 @@ public class MockCurrencyService implements CurrencyService {
         return currencies.stream().filter(currency -> currency.getBaseCode().equals(baseCode) && currency.getTargetCode().equals(targetCode)).findFirst().orElse(null);
     }
 
+    /**
+     * Retrieves the currencies of the specified base and target code pairs.
+     *
+     * @param pairs The currency pairs to retrieve.
+     * @return A map of the found {@code Currency} objects by pair.
+     */
+    @Override
+    public Map<CurrencyPair, Currency> currenciesByPairs(Collection<CurrencyPair> pairs) {
+        Map<CurrencyPair, Currency> found = new HashMap<>();
+        for (Currency currency : currencies) {
+            CurrencyPair pair = new CurrencyPair(currency.getBaseCode(), currency.getTargetCode());
+            if (pairs.contains(pair)) {
+                found.putIfAbsent(pair, currency);
+            }
+        }
+        return found;
+    }
+
     /**
      * Retrieves a list of currencies based on the specified base code or target code.
      *
@@ -139,6 +190,30 @@ public class MockCurrencyService implements CurrencyService {
         return newCurrency;
     }
 
+    /**
+     * Adds or updates many currencies in the list of mutable currencies, keyed by base and target code.
+     *
+     * @param currencies The {@code CurrencyCreateInput} objects of the currencies to add or update.
+     * @return The added and updated {@code Currency} objects, one per distinct pair, in the order of their first occurrence.
+     */
+    @Override
+    public List<Currency> upsertCurrencies(@NotNull List<CurrencyCreateInput> currencies) {
+        Map<CurrencyPair, Currency> upserted = new LinkedHashMap<>();
+        for (CurrencyCreateInput input : currencies) {
+            Currency currency = mutableCurrencies.stream()
+                    .filter(existing -> existing.getBaseCode().equals(input.getBaseCode()) && existing.getTargetCode().equals(input.getTargetCode()))
+                    .findFirst().orElse(null);
+            if (currency == null) {
+                currency = new Currency(input.getBaseCode(), input.getTargetCode(), input.getConversionRate());
+                mutableCurrencies.add(currency);
+            } else {
+                currency.setConversionRate(input.getConversionRate());
+            }
+            upserted.putIfAbsent(new CurrencyPair(currency.getBaseCode(), currency.getTargetCode()), currency);
+        }
+        return List.copyOf(upserted.values());
+    }
+
     /**
      * Updates an existing currency's details by its ID.
      *
@@ -193,4 +268,36 @@ public class MockCurrencyService implements CurrencyService {
         existingCurrency.setConversionRate(newLiveRate);
         return existingCurrency;
     }
+
+    /**
+     * Updates the conversion rate of every mutable currency to a live rate.
+     *
+     * <p>This method simulates a live rate refresh by incrementing the current rate of every currency by 0.2.</p>
+     *
+     * @return The list of updated {@code Currency} objects.
+     */
+    @Override
+    public List<Currency> updateAllCurrencyRatesToLive() {
+        for (Currency currency : mutableCurrencies) {
+            currency.setConversionRate(currency.getConversionRate() + 0.2);
+        }
+        return mutableCurrencies.stream().toList();
+    }
+
+    /**
+     * Updates the conversion rate of every mutable currency with the specified base code to a live rate.
+     *
+     * <p>This method simulates a live rate refresh by incrementing the current rate of each matching currency by 0.2.</p>
+     *
+     * @param baseCode The base code of the currencies to update.
+     * @return The list of updated {@code Currency} objects.
+     */
+    @Override
+    public List<Currency> updateCurrencyRatesToLiveByBaseCode(String baseCode) {
+        List<Currency> updatedCurrencies = mutableCurrencies.stream().filter(currency -> currency.getBaseCode().equals(baseCode)).toList();
+        for (Currency currency : updatedCurrencies) {
+            currency.setConversionRate(currency.getConversionRate() + 0.2);
+        }
+        return updatedCurrencies;
+    }
 }
@@ -0,0 +1,75 @@
+package com.mikejacks.international_currency_converter.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the V13 migration that makes country codes unique.
+ *
+ * <p>These tests download and start a Postgres server, so they are tagged {@code postgres} and only run with the
+ * {@code postgres-tests} Maven profile: {@code mvn -Ppostgres-tests test}.</p>
+ */
+@Tag("postgres")
+class CountryCodeMigrationTest {
+
+    /**
+     * Tests that the migration fails, naming the duplicate codes and deleting nothing, when country codes are not
+     * unique, and succeeds once the duplicates have been resolved.
+     */
+    @Test
+    void testDuplicateCountryCodesFailMigration() throws IOException, SQLException {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+            DataSource dataSource = postgres.getPostgresDatabase();
+            flyway(dataSource, "12").migrate();
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        INSERT INTO country (id, name, code) VALUES
+                            (gen_random_uuid(), 'Naboo', 'NAB'),
+                            (gen_random_uuid(), 'Naboo (copy)', 'NAB'),
+                            (gen_random_uuid(), 'Tatooine', 'TAT')""");
+            }
+
+            FlywayException error = assertThrows(FlywayException.class, () -> flyway(dataSource, "latest").migrate());
+            assertTrue(error.getMessage().contains("duplicate codes NAB (2 rows)"), error.getMessage());
+            assertEquals(3, countCountries(dataSource));
+
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("DELETE FROM country WHERE name = 'Naboo (copy)'");
+            }
+            flyway(dataSource, "latest").repair();
+            flyway(dataSource, "latest").migrate();
+            assertEquals(2, countCountries(dataSource));
+        }
+    }
+
+    private static Flyway flyway(DataSource dataSource, String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .target(target)
+                .load();
+    }
+
+    private static int countCountries(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM country")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.mikejacks.international_currency_converter.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the V9 migration that makes currency pairs unique.
+ *
+ * <p>These tests download and start a Postgres server, so they are tagged {@code postgres} and only run with the
+ * {@code postgres-tests} Maven profile: {@code mvn -Ppostgres-tests test}.</p>
+ */
+@Tag("postgres")
+class CurrencyPairMigrationTest {
+
+    /**
+     * Tests that the migration fails, naming the duplicate pairs and deleting nothing, when currency pairs are not
+     * unique, and succeeds once the duplicates have been resolved.
+     */
+    @Test
+    void testDuplicateCurrencyPairsFailMigration() throws IOException, SQLException {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+            DataSource dataSource = postgres.getPostgresDatabase();
+            flyway(dataSource, "8").migrate();
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        INSERT INTO currency (id, base_code, target_code, conversion_rate) VALUES
+                            (gen_random_uuid(), 'USD', 'EUR', 0.92),
+                            (gen_random_uuid(), 'USD', 'EUR', 0.9),
+                            (gen_random_uuid(), 'USD', 'JPY', 151.25)""");
+            }
+
+            FlywayException error = assertThrows(FlywayException.class, () -> flyway(dataSource, "latest").migrate());
+            assertTrue(error.getMessage().contains("duplicate pairs USD->EUR (2 rows)"), error.getMessage());
+            assertEquals(3, countCurrencies(dataSource));
+
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("DELETE FROM currency WHERE target_code = 'EUR' AND conversion_rate = 0.9");
+            }
+            flyway(dataSource, "latest").repair();
+            flyway(dataSource, "latest").migrate();
+            assertEquals(2, countCurrencies(dataSource));
+        }
+    }
+
+    private static Flyway flyway(DataSource dataSource, String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .target(target)
+                .load();
+    }
+
+    private static int countCurrencies(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM currency")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
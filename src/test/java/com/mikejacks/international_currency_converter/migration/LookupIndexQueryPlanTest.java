@@ -0,0 +1,162 @@
+package com.mikejacks.international_currency_converter.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query plan tests for the lookup indexes created by the Flyway migrations.
+ *
+ * <p>This class migrates an embedded Postgres with the application's migrations, fills it with one million products,
+ * one hundred thousand countries and forty thousand currency pairs, and checks that the queries issued by the
+ * repositories are planned as index scans rather than sequential scans.</p>
+ *
+ * <p>These tests download and start a Postgres server, so they are tagged {@code postgres} and only run with the
+ * {@code postgres-tests} Maven profile: {@code mvn -Ppostgres-tests test}.</p>
+ */
+@Tag("postgres")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LookupIndexQueryPlanTest {
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+
+    @BeforeAll
+    void migrateAndSeed() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO product (id, name, price, currency_code)
+                    SELECT gen_random_uuid(), 'product-' || i, (i % 100000) + random(), (ARRAY['USD', 'EUR', 'JPY', 'GBP'])[1 + i % 4]
+                    FROM generate_series(1, 1000000) AS i""");
+            statement.execute("""
+                    INSERT INTO country (id, name, code)
+                    SELECT gen_random_uuid(), 'country-' || i, 'C' || i
+                    FROM generate_series(1, 100000) AS i""");
+            statement.execute("""
+                    INSERT INTO currency (id, base_code, target_code, conversion_rate, rate_updated_at)
+                    SELECT gen_random_uuid(), lpad(to_hex(b), 3, '0'), lpad(to_hex(t), 3, '0'), random(), now()
+                    FROM generate_series(0, 199) AS b, generate_series(0, 199) AS t""");
+            statement.execute("ANALYZE product");
+            statement.execute("ANALYZE country");
+            statement.execute("ANALYZE currency");
+        }
+    }
+
+    @AfterAll
+    void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    /**
+     * Provides the lookup queries of the repositories, in the shape Hibernate issues them, with their parameters.
+     *
+     * @return A stream of arguments containing the query, its parameters and the test name.
+     */
+    private static Stream<Arguments> lookupQueries() {
+        return Stream.of(
+                Arguments.of("select * from currency c where c.base_code = ? and c.target_code = ?",
+                        List.of("00a", "0c7"), "findCurrenciesByBaseCodeAndTargetCode"),
+                Arguments.of("select * from currency c where c.base_code = ?",
+                        List.of("00a"), "findCurrenciesByBaseCode"),
+                Arguments.of("select * from currency c where c.target_code = ?",
+                        List.of("0c7"), "findCurrenciesByTargetCode"),
+                Arguments.of("select * from country c where c.code = ?",
+                        List.of("C4242"), "findCountryByCode"),
+                Arguments.of("select * from country c where c.name = ?",
+                        List.of("country-4242"), "findCountryByName"),
+                Arguments.of("select * from product p where p.name = ?",
+                        List.of("product-424242"), "findProductByName"),
+                Arguments.of("select * from product p where p.price between ? and ?",
+                        List.of(500.0, 510.0), "findProductsByPriceBetween"),
+                Arguments.of("select * from product p where p.price <= ?",
+                        List.of(5.0), "findProductsByPriceLessThanEqual"),
+                Arguments.of("select * from product p where p.price >= ?",
+                        List.of(99995.0), "findProductsByPriceGreaterThanEqual"),
+                Arguments.of("select * from product p where p.id > ? order by p.id fetch first ? rows only",
+                        List.of(UUID.fromString("f0000000-0000-4000-8000-000000000000"), 51), "findByIdGreaterThanOrderByIdAsc"),
+                Arguments.of("select * from product p where p.price >= ? and (p.price > ? or p.id > ?) order by p.price, p.id fetch first ? rows only",
+                        List.of(90000.5, 90000.5, UUID.fromString("80000000-0000-4000-8000-000000000000"), 51), "findProductsAfterPriceAndId"),
+                Arguments.of("select * from product p where p.currency_code = ? and p.price between ? and ?",
+                        List.of("EUR", 500.0, 510.0), "findProductsByCurrencyCodeAndPriceBetween"),
+                Arguments.of("""
+                        WITH RECURSIVE codes(currency_code) AS (
+                            (SELECT currency_code FROM product WHERE currency_code IS NOT NULL ORDER BY currency_code LIMIT 1)
+                            UNION ALL
+                            SELECT (SELECT p.currency_code FROM product p WHERE p.currency_code > c.currency_code ORDER BY p.currency_code LIMIT 1)
+                            FROM codes c
+                            WHERE c.currency_code IS NOT NULL
+                        )
+                        SELECT currency_code FROM codes WHERE currency_code IS NOT NULL""",
+                        List.of(), "findDistinctCurrencyCodes")
+        );
+    }
+
+    /**
+     * Tests that each lookup query is planned with an index and without a sequential scan.
+     *
+     * @param query The query issued by the repository.
+     * @param parameters The parameters bound to the query.
+     * @param testName The name of the test.
+     */
+    @ParameterizedTest(name = "{2}")
+    @MethodSource("lookupQueries")
+    void testLookupUsesIndex(String query, List<Object> parameters, String testName) throws SQLException {
+        String plan = explain(query, parameters);
+
+        assertFalse(plan.contains("Seq Scan"), "Expected no sequential scan in plan:\n" + plan);
+        assertTrue(plan.contains("Index Scan") || plan.contains("Index Only Scan"), "Expected an index scan in plan:\n" + plan);
+    }
+
+    /**
+     * Returns the text plan Postgres chooses for the specified query with the specified parameters bound.
+     *
+     * @param query The query to explain.
+     * @param parameters The parameters bound to the query.
+     * @return The lines of the plan, joined by newlines.
+     */
+    private String explain(String query, List<Object> parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            List<String> lines = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    lines.add(resultSet.getString(1));
+                }
+            }
+            return String.join("\n", lines);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.mikejacks.international_currency_converter.migration;
+
+import com.mikejacks.international_currency_converter.util.UuidV7;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of primary-key storage for the entity ids, run against an embedded Postgres.
+ *
+ * <p>This class compares the former layout, random version 4 UUIDs bound and stored as 36-character text, with the
+ * current one, time-ordered version 7 UUIDs bound and stored as native {@code UUID}. For each layout it inserts the same
+ * number of rows in JDBC batches, then looks up a random sample of them by id, and logs insert and lookup throughput
+ * together with the size of the primary-key index. Throughput depends on the machine, so only the index sizes are
+ * asserted.</p>
+ *
+ * <p>Tagged {@code postgres}; run with {@code mvn -Ppostgres-tests test -Dtest=UuidKeyBenchmarkTest}.</p>
+ */
+@Tag("postgres")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UuidKeyBenchmarkTest {
+    private static final Logger logger = Logger.getLogger(UuidKeyBenchmarkTest.class.getName());
+    private static final int ROWS = 500_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int LOOKUPS = 20_000;
+
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+
+    @BeforeAll
+    void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+    }
+
+    @AfterAll
+    void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    /**
+     * Compares text version 4 keys with native version 7 keys.
+     */
+    @Test
+    void testNativeTimeOrderedKeys() throws SQLException {
+        Result text = run("product_char_v4", "CHAR(36)", UUID::randomUUID, true);
+        Result uuid = run("product_uuid_v7", "UUID", UuidV7::generate, false);
+
+        logger.info(() -> String.format("CHAR(36) v4: %,.0f inserts/s, %,.0f lookups/s, pk index %,d bytes",
+                text.insertsPerSecond(), text.lookupsPerSecond(), text.indexBytes()));
+        logger.info(() -> String.format("UUID v7:     %,.0f inserts/s, %,.0f lookups/s, pk index %,d bytes",
+                uuid.insertsPerSecond(), uuid.lookupsPerSecond(), uuid.indexBytes()));
+
+        assertEquals(LOOKUPS, text.found());
+        assertEquals(LOOKUPS, uuid.found());
+        assertTrue(uuid.indexBytes() < text.indexBytes() / 2,
+                "expected the native UUID index to be less than half the size of the text index");
+    }
+
+    /**
+     * Creates a product table with the specified id type, fills it and looks rows up by id.
+     *
+     * @param table The name of the table to create.
+     * @param idType The SQL type of the id column.
+     * @param ids The generator of new ids.
+     * @param bindAsText Whether ids are bound as strings, as with the former CHAR mapping, rather than as UUIDs.
+     * @return The measured throughput and index size.
+     */
+    private Result run(String table, String idType, Supplier<UUID> ids, boolean bindAsText) throws SQLException {
+        List<UUID> inserted = new ArrayList<>(ROWS);
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE " + table + " (id " + idType + " PRIMARY KEY, name VARCHAR(255) NOT NULL, price FLOAT NOT NULL, currency_code VARCHAR(3) NOT NULL)");
+            }
+
+            connection.setAutoCommit(false);
+            long insertStart = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " (id, name, price, currency_code) VALUES (?, ?, ?, ?)")) {
+                for (int i = 0; i < ROWS; i++) {
+                    UUID id = ids.get();
+                    inserted.add(id);
+                    insert.setObject(1, bindAsText ? id.toString() : id);
+                    insert.setString(2, "product-" + i);
+                    insert.setDouble(3, i % 100_000);
+                    insert.setString(4, "USD");
+                    insert.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            double insertSeconds = (System.nanoTime() - insertStart) / 1e9;
+            connection.setAutoCommit(true);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE " + table);
+            }
+
+            Collections.shuffle(inserted, new Random(42));
+            int found = 0;
+            long lookupStart = System.nanoTime();
+            try (PreparedStatement lookup = connection.prepareStatement("SELECT name FROM " + table + " WHERE id = ?")) {
+                for (UUID id : inserted.subList(0, LOOKUPS)) {
+                    lookup.setObject(1, bindAsText ? id.toString() : id);
+                    try (ResultSet resultSet = lookup.executeQuery()) {
+                        if (resultSet.next()) {
+                            found++;
+                        }
+                    }
+                }
+            }
+            double lookupSeconds = (System.nanoTime() - lookupStart) / 1e9;
+
+            long indexBytes;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT pg_relation_size('" + table + "_pkey')")) {
+                resultSet.next();
+                indexBytes = resultSet.getLong(1);
+            }
+            return new Result(ROWS / insertSeconds, LOOKUPS / lookupSeconds, indexBytes, found);
+        }
+    }
+
+    /**
+     * Measurements of one key layout.
+     *
+     * @param insertsPerSecond The insert throughput.
+     * @param lookupsPerSecond The lookup-by-id throughput.
+     * @param indexBytes The size of the primary-key index.
+     * @param found The number of lookups that found their row.
+     */
+    private record Result(double insertsPerSecond, double lookupsPerSecond, long indexBytes, int found) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.mikejacks.international_currency_converter.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@code Cursors} and {@code PaginationSettings}.
+ */
+class CursorsTest {
+
+    /**
+     * Tests that ID and price cursors decode to the keys they were encoded from.
+     */
+    @Test
+    void testRoundTrip() {
+        UUID id = UUID.randomUUID();
+
+        assertEquals(id, Cursors.decodeId(Cursors.encodeId(id)));
+        assertEquals(new Cursors.PriceCursor(1234.56, id), Cursors.decodePrice(Cursors.encodePrice(1234.56, id)));
+        assertNull(Cursors.decodeId(null));
+        assertNull(Cursors.decodePrice(null));
+    }
+
+    /**
+     * Tests that malformed cursors, and cursors of a different order, are rejected.
+     *
+     * @param cursor The invalid cursor.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "aWQ6bm90LWEtdXVpZA", ""})
+    void testInvalidIdCursor(String cursor) {
+        assertThrows(IllegalArgumentException.class, () -> Cursors.decodeId(cursor));
+    }
+
+    /**
+     * Tests that an ID cursor cannot be used to page a connection ordered by price, and vice versa.
+     */
+    @Test
+    void testCursorOfOtherOrder() {
+        UUID id = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> Cursors.decodePrice(Cursors.encodeId(id)));
+        assertThrows(IllegalArgumentException.class, () -> Cursors.decodeId(Cursors.encodePrice(10.0, id)));
+    }
+
+    /**
+     * Tests that a connection holds at most the page size, and that an extra row marks a next page.
+     */
+    @Test
+    void testConnection() {
+        Connection<String> full = Cursors.connection(List.of("a", "b", "c"), 2, null, value -> "cursor-" + value);
+        Connection<String> last = Cursors.connection(List.of("c"), 2, "cursor-b", value -> "cursor-" + value);
+
+        assertEquals(List.of("a", "b"), full.edges().stream().map(Edge::node).toList());
+        assertEquals(new PageInfo(true, false, "cursor-a", "cursor-b"), full.pageInfo());
+        assertEquals(new PageInfo(false, true, "cursor-c", "cursor-c"), last.pageInfo());
+    }
+
+    /**
+     * Tests the page size resolution of {@code PaginationSettings}.
+     */
+    @Test
+    void testPageSize() {
+        PaginationSettings paginationSettings = new PaginationSettings(50, 500, 1000);
+
+        assertEquals(50, paginationSettings.pageSize(null));
+        assertEquals(500, paginationSettings.pageSize(500));
+        assertThrows(IllegalArgumentException.class, () -> paginationSettings.pageSize(0));
+        assertThrows(IllegalArgumentException.class, () -> paginationSettings.pageSize(501));
+        assertTrue(Cursors.connection(List.of(), 10, null, String::valueOf).edges().isEmpty());
+        assertFalse(Cursors.connection(List.of(), 10, null, String::valueOf).pageInfo().hasNextPage());
+    }
+}
@@ -0,0 +1,158 @@
+package com.mikejacks.international_currency_converter.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@code ConcurrencyLimitedDataSource} and {@code ConcurrencyLimitedDataSourceWrapper}.
+ *
+ * <p>The target data source is a mock handing out mock connections, so the tests can count how many connections are
+ * checked out of it at any time.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+    private static final int PERMITS = 4;
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger maxOpenConnections = new AtomicInteger();
+
+    /**
+     * Tests that thousands of virtual threads asking for connections at once never hold more connections than there
+     * are permits, and that every permit is returned once the connections are closed.
+     */
+    @Test
+    void testConnectionsNeverExceedPermits() throws Exception {
+        JdbcConcurrencyLimiter jdbcConcurrencyLimiter = new JdbcConcurrencyLimiter(PERMITS, Duration.ofMinutes(1));
+        DataSource dataSource = new ConcurrencyLimitedDataSource(countingDataSource(), jdbcConcurrencyLimiter);
+
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> queries = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                queries.add(virtualThreads.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        Thread.sleep(1);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> query : queries) {
+                query.get();
+            }
+        }
+
+        assertTrue(maxOpenConnections.get() <= PERMITS, "at most " + PERMITS + " connections, was " + maxOpenConnections.get());
+        assertTrue(maxOpenConnections.get() > 1, "connections should overlap, peak was " + maxOpenConnections.get());
+        assertEquals(0, openConnections.get());
+        assertEquals(PERMITS, jdbcConcurrencyLimiter.availablePermits());
+    }
+
+    /**
+     * Tests that closing a connection twice closes the target connection both times but returns its permit only once.
+     */
+    @Test
+    void testClosingTwiceReturnsPermitOnce() throws SQLException {
+        DataSource targetDataSource = mock(DataSource.class);
+        Connection targetConnection = mock(Connection.class);
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        JdbcConcurrencyLimiter jdbcConcurrencyLimiter = new JdbcConcurrencyLimiter(2, Duration.ofMinutes(1));
+        DataSource dataSource = new ConcurrencyLimitedDataSource(targetDataSource, jdbcConcurrencyLimiter);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(0, jdbcConcurrencyLimiter.availablePermits());
+
+        first.close();
+        first.close();
+        assertEquals(1, jdbcConcurrencyLimiter.availablePermits());
+        verify(targetConnection, times(2)).close();
+        second.close();
+        assertEquals(2, jdbcConcurrencyLimiter.availablePermits());
+    }
+
+    /**
+     * Tests that a caller gives up with a transient connection error once the acquire timeout has passed, and that a
+     * failure of the target data source returns the permit taken for it.
+     */
+    @Test
+    void testTimeoutAndTargetFailure() throws SQLException {
+        DataSource targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection())
+                .thenReturn(mock(Connection.class))
+                .thenThrow(new SQLException("Connection refused"));
+        JdbcConcurrencyLimiter jdbcConcurrencyLimiter = new JdbcConcurrencyLimiter(1, Duration.ofMillis(50));
+        DataSource dataSource = new ConcurrencyLimitedDataSource(targetDataSource, jdbcConcurrencyLimiter);
+
+        Connection held = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        held.close();
+
+        SQLException error = assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals("Connection refused", error.getMessage());
+        assertEquals(1, jdbcConcurrencyLimiter.availablePermits());
+    }
+
+    /**
+     * Tests that the post-processor wraps a data source once and leaves other beans alone.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWrapperWrapsDataSourcesOnly() throws SQLException {
+        JdbcConcurrencyLimiter jdbcConcurrencyLimiter = new JdbcConcurrencyLimiter(PERMITS, Duration.ofMinutes(1));
+        ObjectProvider<JdbcConcurrencyLimiter> limiterProvider = mock(ObjectProvider.class);
+        when(limiterProvider.getObject()).thenReturn(jdbcConcurrencyLimiter);
+        ConcurrencyLimitedDataSourceWrapper wrapper = new ConcurrencyLimitedDataSourceWrapper(limiterProvider);
+        DataSource targetDataSource = mock(DataSource.class);
+        Object other = new Object();
+
+        Object wrapped = wrapper.postProcessAfterInitialization(targetDataSource, "dataSource");
+        assertTrue(wrapped instanceof ConcurrencyLimitedDataSource);
+        assertNotSame(targetDataSource, wrapped);
+        assertSame(wrapped, wrapper.postProcessAfterInitialization(wrapped, "dataSource"));
+        assertSame(other, wrapper.postProcessAfterInitialization(other, "other"));
+
+        when(targetDataSource.getConnection()).thenReturn(mock(Connection.class));
+        ((DataSource) wrapped).getConnection();
+        assertEquals(PERMITS - 1, jdbcConcurrencyLimiter.availablePermits());
+    }
+
+    /**
+     * Creates a mock data source whose connections count how many of them are open.
+     *
+     * @return A mock data source.
+     */
+    private DataSource countingDataSource() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            maxOpenConnections.accumulateAndGet(openConnections.incrementAndGet(), Math::max);
+            Connection connection = mock(Connection.class);
+            doAnswer(close -> openConnections.decrementAndGet()).when(connection).close();
+            return connection;
+        });
+        return dataSource;
+    }
+}
@@ -0,0 +1,94 @@
+package com.mikejacks.international_currency_converter.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@code SqlStatementMetrics}.
+ */
+class SqlStatementMetricsTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static void execute(SqlStatementMetrics metrics, String sql, boolean batch, boolean success) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setBatch(batch);
+        execInfo.setBatchSize(batch ? 50 : 0);
+        execInfo.setSuccess(success);
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        metrics.beforeQuery(execInfo, queries);
+        metrics.afterQuery(execInfo, queries);
+    }
+
+    /**
+     * Tests that every statement is timed under its operation, batch flag and outcome.
+     */
+    @Test
+    void testRecordStatements() {
+        SqlStatementMetrics metrics = new SqlStatementMetrics(meterRegistry, Duration.ofMinutes(1), 0);
+
+        execute(metrics, "select p1_0.id from product p1_0 where p1_0.id=?", false, true);
+        execute(metrics, "select c1_0.id from country c1_0 where c1_0.code=?", false, true);
+        execute(metrics, "insert into product (currency_code,name,price,id) values (?,?,?,?)", true, true);
+        execute(metrics, "update currency set conversion_rate=? where id=?", false, false);
+
+        assertEquals(2, meterRegistry.get("jdbc.statement").tags("operation", "select", "batch", "false", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("jdbc.statement").tags("operation", "insert", "batch", "true").timer().count());
+        assertEquals(1, meterRegistry.get("jdbc.statement").tags("operation", "update", "outcome", "error").timer().count());
+        assertNull(meterRegistry.find("jdbc.statement.slow").counter());
+    }
+
+    /**
+     * Tests that statements at or above the threshold are counted as slow.
+     */
+    @Test
+    void testCountSlowStatements() {
+        SqlStatementMetrics metrics = new SqlStatementMetrics(meterRegistry, Duration.ZERO, 1);
+
+        execute(metrics, "select 1", false, true);
+        execute(metrics, "delete from product where id=?", false, true);
+
+        assertEquals(1, meterRegistry.get("jdbc.statement.slow").tags("operation", "select").counter().count());
+        assertEquals(1, meterRegistry.get("jdbc.statement.slow").tags("operation", "delete").counter().count());
+    }
+
+    /**
+     * Tests the classification of statements by their leading keyword.
+     *
+     * @param sql The SQL text of the statement.
+     * @param operation The expected operation.
+     */
+    @ParameterizedTest(name = "{1}: {0}")
+    @CsvSource(delimiter = '|', value = {
+            "SELECT * FROM product|select",
+            "(select 1)|select",
+            "INSERT INTO country (id, name, code) SELECT * FROM unnest(?::uuid[], ?::varchar[], ?::varchar[])|insert",
+            "update product set price=? where id=?|update",
+            "delete from product where id=?|delete",
+            "WITH RECURSIVE codes AS (SELECT 1) SELECT * FROM codes|other",
+            "create index ix_product_price on product (price)|other",
+            "''|other"
+    })
+    void testOperation(String sql, String operation) {
+        assertEquals(operation, SqlStatementMetrics.operation(sql));
+    }
+
+    /**
+     * Tests that invalid settings are rejected.
+     */
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new SqlStatementMetrics(meterRegistry, Duration.ofMillis(-1), 0.1));
+        assertThrows(IllegalArgumentException.class, () -> new SqlStatementMetrics(meterRegistry, Duration.ofMillis(200), 1.5));
+    }
+}
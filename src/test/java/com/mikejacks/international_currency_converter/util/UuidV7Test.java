@@ -0,0 +1,60 @@
+package com.mikejacks.international_currency_converter.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@code UuidV7}.
+ */
+class UuidV7Test {
+
+    /**
+     * Tests that generated ids carry the version 7 and RFC 9562 variant bits and the current time.
+     */
+    @Test
+    void testGenerateVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = UuidV7.timestamp(uuid);
+        assertTrue(timestamp >= before && timestamp <= after + 1, "timestamp " + timestamp + " outside [" + before + ", " + after + "]");
+    }
+
+    /**
+     * Tests that ids generated in a burst, many within the same millisecond, are strictly increasing both as UUIDs and
+     * in their string form, which is how Postgres orders them.
+     */
+    @Test
+    void testGenerateIsStrictlyIncreasing() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            uuids.add(UuidV7.generate());
+        }
+
+        for (int i = 1; i < uuids.size(); i++) {
+            UUID previous = uuids.get(i - 1);
+            UUID current = uuids.get(i);
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), current.getMostSignificantBits()) < 0,
+                    previous + " is not before " + current);
+            assertTrue(previous.toString().compareTo(current.toString()) < 0, previous + " is not before " + current);
+        }
+    }
+
+    /**
+     * Tests that the timestamp of a random version 4 UUID is rejected.
+     */
+    @Test
+    void testTimestampRejectsOtherVersions() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestamp(UUID.randomUUID()));
+    }
+}